@@ -3,7 +3,10 @@ package com.example.account;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 
-
+/**
+ * 계좌 파일 대량 등록(CLI): java -jar account.jar --account.import.file=partner-accounts.csv
+ * (AccountImportRunner, 끝나면 종료. 중단되면 같은 명령으로 다시 실행하면 이어서 등록)
+ */
 @SpringBootApplication
 public class AccountApplication {
 
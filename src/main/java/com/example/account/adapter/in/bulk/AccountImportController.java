@@ -0,0 +1,47 @@
+package com.example.account.adapter.in.bulk;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 대량 계좌 등록: POST /accounts/import?resumeAfter={checkpoint}
+ * 본문은 CSV (Content-Type: text/csv) 또는 NDJSON (application/x-ndjson), 응답은 진행 상황 NDJSON (ImportEventNdjsonWriter).
+ *
+ * 중간에 끊기면 마지막으로 받은 checkpoint 를 resumeAfter 로 넘겨 같은 파일을 다시 보내면 이어서 등록된다.
+ * 요청 본문을 읽는 동안 응답을 쓰므로 요청 스레드에서 처리한다.
+ */
+@RestController
+@RequestMapping("/accounts")
+public class AccountImportController {
+
+    private final AccountImportPipeline pipeline;
+
+    AccountImportController(AccountImportPipeline pipeline) {
+        this.pipeline = pipeline;
+    }
+
+    @PostMapping(path = "/import", consumes = {"text/csv", ImportEventNdjsonWriter.MEDIA_TYPE})
+    public void importAccounts(@RequestParam(defaultValue = "0") long resumeAfter,
+                               HttpServletRequest request, HttpServletResponse response) throws IOException {
+        if (resumeAfter < 0) {
+            throw new IllegalArgumentException("resumeAfter must not be negative");
+        }
+        AccountImportFormat format = AccountImportFormat.of(request.getContentType());
+        response.setContentType(ImportEventNdjsonWriter.MEDIA_TYPE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+
+        var reader = new BufferedReader(new InputStreamReader(request.getInputStream(), StandardCharsets.UTF_8));
+        try (var writer = new ImportEventNdjsonWriter(response.getOutputStream())) {
+            writer.finish(pipeline.run(reader, format, resumeAfter, writer));
+        }
+    }
+}
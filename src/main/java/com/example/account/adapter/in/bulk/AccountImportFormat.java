@@ -0,0 +1,117 @@
+package com.example.account.adapter.in.bulk;
+
+import com.example.account.adapter.in.web.dto.request.CreateAccountRequest;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 대량 등록 파일 형식. 한 줄에 계좌 하나.
+ *
+ * - CSV: accountNumber,name,balance (큰따옴표로 감싼 필드 안의 쉼표/"" 허용, 첫 줄이 accountNumber 로 시작하면 헤더)
+ * - NDJSON: CreateAccountRequest 와 같은 JSON ({"accountNumber": "...", "name": "...", "balance": 0})
+ */
+enum AccountImportFormat {
+
+    CSV {
+        @Override
+        CreateAccountRequest parse(String line, ObjectMapper mapper) {
+            List<String> fields = splitCsv(line);
+            if (fields.size() != 3) {
+                throw new IllegalArgumentException("Expected 3 fields (accountNumber,name,balance) but got " + fields.size());
+            }
+            long balance;
+            try {
+                balance = Long.parseLong(fields.get(2).trim());
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("balance must be a number: " + fields.get(2));
+            }
+            return new CreateAccountRequest(fields.get(0).trim(), fields.get(1).trim(), balance);
+        }
+
+        @Override
+        boolean isHeader(String line) {
+            return line.regionMatches(true, 0, "accountNumber", 0, "accountNumber".length());
+        }
+    },
+
+    NDJSON {
+        @Override
+        CreateAccountRequest parse(String line, ObjectMapper mapper) {
+            try {
+                CreateAccountRequest request = mapper.readValue(line, CreateAccountRequest.class);
+                if (request == null) {
+                    throw new IllegalArgumentException("Expected a JSON object");
+                }
+                return request;
+            } catch (JsonProcessingException e) {
+                throw new IllegalArgumentException("Malformed JSON line");
+            }
+        }
+
+        @Override
+        boolean isHeader(String line) {
+            return false;
+        }
+    };
+
+    /**
+     * @throws IllegalArgumentException 형식에 맞지 않는 줄
+     */
+    abstract CreateAccountRequest parse(String line, ObjectMapper mapper);
+
+    /**
+     * 파일 첫 줄이 헤더인지
+     */
+    abstract boolean isHeader(String line);
+
+    /**
+     * Content-Type 또는 파일 확장자로 형식을 고른다. (csv → CSV, 그 밖의 ndjson/jsonl/json → NDJSON)
+     *
+     * @throws IllegalArgumentException 알 수 없는 형식
+     */
+    static AccountImportFormat of(String contentTypeOrFileName) {
+        String value = contentTypeOrFileName == null ? "" : contentTypeOrFileName.toLowerCase(Locale.ROOT);
+        if (value.contains("csv")) {
+            return CSV;
+        }
+        if (value.contains("ndjson") || value.contains("jsonl") || value.contains("json")) {
+            return NDJSON;
+        }
+        throw new IllegalArgumentException("Unsupported import format (csv or ndjson): " + contentTypeOrFileName);
+    }
+
+    private static List<String> splitCsv(String line) {
+        List<String> fields = new ArrayList<>(3);
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Unterminated quoted field");
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+}
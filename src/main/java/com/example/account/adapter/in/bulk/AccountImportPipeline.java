@@ -0,0 +1,246 @@
+package com.example.account.adapter.in.bulk;
+
+import com.example.account.adapter.in.web.dto.request.CreateAccountRequest;
+import com.example.account.application.port.in.ImportAccountsUseCase;
+import com.example.account.application.port.in.command.CreateAccountCommand;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * CSV/NDJSON 계좌 파일을 흘려 읽으며 등록하는 파이프라인.
+ *
+ * - 호출 스레드가 줄을 읽어 chunk-size 줄씩 묶고, 묶음의 파싱/검증/저장은 parallelism 개 스레드 풀이 나눠서 한다.
+ * - 처리 중인 묶음이 max-in-flight-chunks 개면 읽기를 멈춘다. → 파일 크기와 관계없이 메모리 사용량이 일정하다.
+ * - 검증은 CreateAccountRequest 의 Bean Validation 규칙 그대로. 통과하지 못한 줄은 reject 로 알리고 건너뛴다.
+ * - 묶음의 유효한 줄은 ImportAccountsUseCase 한 번(saveAll 한 번)으로 저장한다.
+ * - checkpoint = 이 줄 번호까지는 모두 처리됨. 묶음은 순서와 관계없이 끝나므로 앞 묶음이 모두 끝난 곳까지만 올린다.
+ *   resumeAfter 에 checkpoint 를 넘기면 그 다음 줄부터 이어서 한다.
+ *   (checkpoint 뒤에서 이미 끝난 묶음은 다시 등록되고 reject 도 다시 알린다. 등록은 덮어쓰기라 결과는 같다.)
+ * - 저장에 실패한 묶음이 있으면 더 읽지 않고, 처리 중인 묶음이 끝나기를 기다려 실패로 끝낸다.
+ *
+ * listener 는 한 번에 하나씩 호출된다. (풀 스레드에서 호출될 수 있음)
+ */
+class AccountImportPipeline {
+
+    interface Listener {
+
+        void onReject(long line, String reason);
+
+        void onProgress(Progress progress);
+    }
+
+    record Progress(long checkpoint, long imported, long rejected) {
+    }
+
+    /**
+     * @param failure 저장에 실패했으면 그 이유, 끝까지 처리했으면 null
+     */
+    record Result(long checkpoint, long imported, long rejected, String failure) {
+
+        boolean completed() {
+            return failure == null;
+        }
+    }
+
+    private static final Logger log = LoggerFactory.getLogger(AccountImportPipeline.class);
+
+    private final ImportAccountsUseCase importAccountsUseCase;
+    private final Validator validator;
+    private final ObjectMapper mapper;
+    private final int chunkSize;
+    private final int maxInFlightChunks;
+    private final ExecutorService pool;
+
+    AccountImportPipeline(ImportAccountsUseCase importAccountsUseCase, Validator validator, ObjectMapper mapper,
+                          int parallelism, int chunkSize, int maxInFlightChunks) {
+        if (parallelism <= 0 || chunkSize <= 0 || chunkSize > ImportAccountsUseCase.MAX_CHUNK_SIZE) {
+            throw new IllegalArgumentException("parallelism must be positive and chunk-size between 1 and "
+                    + ImportAccountsUseCase.MAX_CHUNK_SIZE);
+        }
+        this.importAccountsUseCase = importAccountsUseCase;
+        this.validator = validator;
+        this.mapper = mapper;
+        this.chunkSize = chunkSize;
+        this.maxInFlightChunks = maxInFlightChunks > 0 ? maxInFlightChunks : parallelism * 2;
+
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.pool = Executors.newFixedThreadPool(parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "account-import-" + threadIndex.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * @param resumeAfter 이전 실행의 checkpoint (이 줄까지는 건너뜀, 처음이면 0)
+     */
+    Result run(BufferedReader reader, AccountImportFormat format, long resumeAfter, Listener listener) throws IOException {
+        Run run = new Run(resumeAfter, listener);
+        Semaphore inFlight = new Semaphore(maxInFlightChunks);
+        long lineNumber = 0;
+        long sequence = 0;
+        long firstLine = 0;
+        List<String> lines = new ArrayList<>(chunkSize);
+        try {
+            String line;
+            while (!run.failed() && (line = reader.readLine()) != null) {
+                lineNumber++;
+                if (lineNumber <= resumeAfter) {
+                    continue;
+                }
+                if (lines.isEmpty()) {
+                    firstLine = lineNumber;
+                }
+                lines.add(line);
+                if (lines.size() == chunkSize) {
+                    submit(new Chunk(sequence++, firstLine, lines), format, run, inFlight);
+                    lines = new ArrayList<>(chunkSize);
+                }
+            }
+            if (!lines.isEmpty() && !run.failed()) {
+                submit(new Chunk(sequence, firstLine, lines), format, run, inFlight);
+            }
+        } finally {
+            // 처리 중인 묶음이 모두 끝날 때까지 기다림
+            inFlight.acquireUninterruptibly(maxInFlightChunks);
+        }
+        return run.result();
+    }
+
+    void shutdown() {
+        pool.shutdownNow();
+    }
+
+    private void submit(Chunk chunk, AccountImportFormat format, Run run, Semaphore inFlight) {
+        inFlight.acquireUninterruptibly();
+        try {
+            pool.execute(() -> {
+                try {
+                    process(chunk, format, run);
+                } finally {
+                    inFlight.release();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            inFlight.release();
+            run.fail(chunk, "Import pool is shutting down");
+        }
+    }
+
+    private void process(Chunk chunk, AccountImportFormat format, Run run) {
+        List<CreateAccountCommand> accounts = new ArrayList<>(chunk.lines.size());
+        for (int i = 0; i < chunk.lines.size(); i++) {
+            long lineNumber = chunk.firstLine + i;
+            String line = chunk.lines.get(i);
+            if (line.isBlank() || (lineNumber == 1 && format.isHeader(line))) {
+                continue;
+            }
+            String reason;
+            CreateAccountRequest request = null;
+            try {
+                request = format.parse(line, mapper);
+                reason = violations(request);
+            } catch (RuntimeException e) {
+                reason = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+            }
+            if (reason != null) {
+                run.reject(lineNumber, reason);
+            } else {
+                accounts.add(new CreateAccountCommand(request.accountNumber(), request.name(), request.balance()));
+            }
+        }
+
+        try {
+            if (!accounts.isEmpty()) {
+                importAccountsUseCase.importAccounts(accounts);
+            }
+        } catch (RuntimeException e) {
+            log.error("Failed to import accounts of lines {}..{}", chunk.firstLine, chunk.lastLine(), e);
+            run.fail(chunk, e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName());
+            return;
+        }
+        run.completed(chunk, accounts.size());
+    }
+
+    private String violations(CreateAccountRequest request) {
+        Set<ConstraintViolation<CreateAccountRequest>> violations = validator.validate(request);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .sorted(Comparator.comparing(violation -> violation.getPropertyPath().toString()))
+                .map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+                .collect(Collectors.joining(", "));
+    }
+
+    private record Chunk(long sequence, long firstLine, List<String> lines) {
+
+        long lastLine() {
+            return firstLine + lines.size() - 1;
+        }
+    }
+
+    /**
+     * 한 번의 실행 상태. 모든 메서드는 synchronized 라 listener 호출도 한 번에 하나씩이다.
+     */
+    private static final class Run {
+        private final Listener listener;
+        // 끝났지만 앞 묶음이 아직 안 끝나 checkpoint 에 반영하지 못한 묶음: sequence → 마지막 줄
+        private final TreeMap<Long, Long> finished = new TreeMap<>();
+        private long nextSequence;
+        private long checkpoint;
+        private long imported;
+        private long rejected;
+        private String failure;
+
+        Run(long resumeAfter, Listener listener) {
+            this.checkpoint = resumeAfter;
+            this.listener = listener;
+        }
+
+        synchronized boolean failed() {
+            return failure != null;
+        }
+
+        synchronized void reject(long line, String reason) {
+            rejected++;
+            listener.onReject(line, reason);
+        }
+
+        synchronized void completed(Chunk chunk, int count) {
+            imported += count;
+            finished.put(chunk.sequence, chunk.lastLine());
+            while (finished.containsKey(nextSequence)) {
+                checkpoint = finished.remove(nextSequence++);
+            }
+            listener.onProgress(new Progress(checkpoint, imported, rejected));
+        }
+
+        synchronized void fail(Chunk chunk, String reason) {
+            if (failure == null) {
+                failure = "Lines " + chunk.firstLine + ".." + chunk.lastLine() + ": " + reason;
+            }
+        }
+
+        synchronized Result result() {
+            return new Result(checkpoint, imported, rejected, failure);
+        }
+    }
+}
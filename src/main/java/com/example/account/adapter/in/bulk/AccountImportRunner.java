@@ -0,0 +1,128 @@
+package com.example.account.adapter.in.bulk;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * 기동 시 파일 하나를 대량 등록하는 CLI 실행기. (account.import.file 이 있을 때만)
+ *
+ *   java -jar account.jar --account.import.file=partner-accounts.csv
+ *
+ * - 형식은 확장자로 고른다. (.csv / .ndjson, .jsonl)
+ * - 진행할 때마다 checkpoint 를 {파일}.checkpoint 에 쓰고, 다음 실행은 그 다음 줄부터 이어서 한다.
+ *   처음부터 다시 등록하려면 .checkpoint 파일을 지운다.
+ * - 거부된 줄은 {파일}.rejects 에 "줄번호<TAB>이유" 로 덧붙인다.
+ * - account.import.exit=true(기본)면 끝난 뒤 애플리케이션을 종료한다. (성공 0, 실패 1)
+ */
+@Component
+@ConditionalOnProperty(name = "account.import.file")
+class AccountImportRunner implements ApplicationRunner {
+
+    static final String CHECKPOINT_SUFFIX = ".checkpoint";
+    static final String REJECTS_SUFFIX = ".rejects";
+
+    private static final Logger log = LoggerFactory.getLogger(AccountImportRunner.class);
+
+    private final AccountImportPipeline pipeline;
+    private final ConfigurableApplicationContext context;
+    private final Path file;
+    private final boolean exit;
+
+    AccountImportRunner(AccountImportPipeline pipeline, ConfigurableApplicationContext context,
+                        @Value("${account.import.file}") String file,
+                        @Value("${account.import.exit:true}") boolean exit) {
+        this.pipeline = pipeline;
+        this.context = context;
+        this.file = Path.of(file);
+        this.exit = exit;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws IOException {
+        AccountImportPipeline.Result result = importFile();
+        if (exit) {
+            int code = result.completed() ? 0 : 1;
+            System.exit(SpringApplication.exit(context, () -> code));
+        }
+    }
+
+    AccountImportPipeline.Result importFile() throws IOException {
+        AccountImportFormat format = AccountImportFormat.of(file.getFileName().toString());
+        Path checkpointFile = Path.of(file + CHECKPOINT_SUFFIX);
+        long resumeAfter = Files.exists(checkpointFile)
+                ? Long.parseLong(Files.readString(checkpointFile, StandardCharsets.UTF_8).trim())
+                : 0;
+        if (resumeAfter > 0) {
+            log.info("Resuming import of {} after line {}", file, resumeAfter);
+        }
+
+        AccountImportPipeline.Result result;
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8);
+             BufferedWriter rejects = Files.newBufferedWriter(Path.of(file + REJECTS_SUFFIX), StandardCharsets.UTF_8,
+                     StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            result = pipeline.run(reader, format, resumeAfter, new AccountImportPipeline.Listener() {
+                @Override
+                public void onReject(long line, String reason) {
+                    try {
+                        rejects.write(line + "\t" + reason);
+                        rejects.newLine();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException("Failed to write rejected line", e);
+                    }
+                }
+
+                @Override
+                public void onProgress(AccountImportPipeline.Progress progress) {
+                    // 거부된 줄이 버퍼에 남은 채 죽으면 다음 실행은 checkpoint 뒤부터 하므로 그 줄이 사라진다.
+                    try {
+                        rejects.flush();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException("Failed to write rejected lines", e);
+                    }
+                    writeCheckpoint(checkpointFile, progress.checkpoint());
+                    log.info("Imported {} accounts, rejected {} lines (checkpoint: line {})",
+                            progress.imported(), progress.rejected(), progress.checkpoint());
+                }
+            });
+        }
+
+        writeCheckpoint(checkpointFile, result.checkpoint());
+        if (result.completed()) {
+            log.info("Finished import of {}: {} accounts imported, {} lines rejected",
+                    file, result.imported(), result.rejected());
+        } else {
+            log.error("Import of {} stopped at line {}: {}", file, result.checkpoint(), result.failure());
+        }
+        return result;
+    }
+
+    /**
+     * .tmp 에 쓰고 rename 해서 중간에 죽어도 이전 checkpoint 가 남게 한다.
+     */
+    private static void writeCheckpoint(Path checkpointFile, long checkpoint) {
+        Path temp = Path.of(checkpointFile + ".tmp");
+        try {
+            Files.writeString(temp, Long.toString(checkpoint), StandardCharsets.UTF_8);
+            Files.move(temp, checkpointFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write import checkpoint: " + checkpointFile, e);
+        }
+    }
+}
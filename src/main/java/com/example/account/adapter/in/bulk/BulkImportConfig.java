@@ -0,0 +1,28 @@
+package com.example.account.adapter.in.bulk;
+
+import com.example.account.application.port.in.ImportAccountsUseCase;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 대량 계좌 등록(POST /accounts/import, account.import.file 실행기)이 함께 쓰는 파이프라인
+ */
+@Configuration
+class BulkImportConfig {
+
+    @Bean(destroyMethod = "shutdown")
+    AccountImportPipeline accountImportPipeline(
+            ImportAccountsUseCase importAccountsUseCase,
+            Validator validator,
+            ObjectMapper objectMapper,
+            @Value("${account.import.parallelism:4}") int parallelism,
+            @Value("${account.import.chunk-size:1000}") int chunkSize,
+            @Value("${account.import.max-in-flight-chunks:0}") int maxInFlightChunks
+    ) {
+        return new AccountImportPipeline(importAccountsUseCase, validator, objectMapper,
+                parallelism, chunkSize, maxInFlightChunks);
+    }
+}
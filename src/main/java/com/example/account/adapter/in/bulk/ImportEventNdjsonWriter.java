@@ -0,0 +1,82 @@
+package com.example.account.adapter.in.bulk;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+
+/**
+ * 대량 등록의 진행 상황을 한 줄씩 쓰는 NDJSON writer.
+ *
+ *   {"type":"reject","line":12,"reason":"name must not be blank"}
+ *   {"type":"progress","checkpoint":5000,"imported":4999,"rejected":1}
+ *   {"type":"done","checkpoint":12000,"imported":11998,"rejected":2,"error":null}   (실패면 type 이 failed)
+ *
+ * progress 마다 flush 하므로 클라이언트는 마지막으로 받은 checkpoint 로 이어서 등록할 수 있다.
+ */
+class ImportEventNdjsonWriter implements AccountImportPipeline.Listener, AutoCloseable {
+
+    static final String MEDIA_TYPE = "application/x-ndjson";
+
+    private static final ObjectMapper mapper = new ObjectMapper();
+
+    private final JsonGenerator generator;
+
+    ImportEventNdjsonWriter(OutputStream out) throws IOException {
+        this.generator = mapper.getFactory().createGenerator(out);
+        this.generator.setRootValueSeparator(null);
+        this.generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    }
+
+    @Override
+    public void onReject(long line, String reason) {
+        try {
+            generator.writeStartObject();
+            generator.writeStringField("type", "reject");
+            generator.writeNumberField("line", line);
+            generator.writeStringField("reason", reason);
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write import reject", e);
+        }
+    }
+
+    @Override
+    public void onProgress(AccountImportPipeline.Progress progress) {
+        try {
+            writeCounts("progress", progress.checkpoint(), progress.imported(), progress.rejected());
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+            generator.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write import progress", e);
+        }
+    }
+
+    void finish(AccountImportPipeline.Result result) {
+        try {
+            writeCounts(result.completed() ? "done" : "failed", result.checkpoint(), result.imported(), result.rejected());
+            generator.writeStringField("error", result.failure());
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write import result", e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        generator.close();
+    }
+
+    private void writeCounts(String type, long checkpoint, long imported, long rejected) throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField("type", type);
+        generator.writeNumberField("checkpoint", checkpoint);
+        generator.writeNumberField("imported", imported);
+        generator.writeNumberField("rejected", rejected);
+    }
+}
@@ -0,0 +1,307 @@
+package com.example.account.adapter.in.reactive;
+
+import com.example.account.adapter.in.web.dto.ApiError;
+import com.example.account.adapter.in.web.dto.request.AmountRequest;
+import com.example.account.adapter.in.web.dto.request.CreateAccountRequest;
+import com.example.account.adapter.in.web.dto.response.AccountPageResponse;
+import com.example.account.adapter.in.web.dto.response.AccountResponse;
+import com.example.account.adapter.in.web.dto.response.ApiResponse;
+import com.example.account.application.exception.AccountLockTimeoutException;
+import com.example.account.application.exception.CommandRejectedException;
+import com.example.account.application.port.in.CreateAccountUseCase;
+import com.example.account.application.port.in.DepositUseCase;
+import com.example.account.application.port.in.GetAccountAsyncQuery;
+import com.example.account.application.port.in.GetAccountQuery;
+import com.example.account.application.port.in.WithdrawUseCase;
+import com.example.account.application.port.in.command.DepositCommand;
+import com.example.account.application.port.in.command.WithdrawCommand;
+import com.example.account.domain.exception.AccountNotFoundException;
+import com.example.account.domain.exception.AccountVersionConflictException;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.codec.CodecException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.server.RequestPredicate;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import org.springframework.web.server.ServerWebInputException;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+
+/**
+ * AccountController 와 같은 /accounts 엔드포인트를 이벤트 루프(Reactor Netty) 위에서 처리하는 함수형 핸들러.
+ *
+ * - 응답 본문은 MVC 와 같은 ApiResponse / AccountResponse 형식이고, 예외 → 상태 코드 매핑도 GlobalExceptionHandler 와 같다.
+ *   (요청 본문 검증 실패와 읽을 수 없는 본문은 400 BAD_REQUEST)
+ * - 유스케이스는 블로킹이므로 이벤트 루프가 아닌 blockingScheduler(bounded elastic)에서 실행한다.
+ *   스케줄러의 대기열까지 가득 차면 503 BUSY.
+ * - 단건 조회는 저장 어댑터가 비블로킹 조회(LoadAccountAsyncPort)를 지원하면 이벤트 루프에서 바로 처리한다.
+ * - NDJSON 내보내기는 클라이언트가 요청(request(n))한 만큼만 읽어 보내므로 느린 클라이언트 때문에 메모리에 쌓이지 않는다.
+ *   대신 내보내는 동안 blockingScheduler 스레드 하나(와 DB 커서)를 점유한다.
+ */
+class ReactiveAccountHandler {
+
+    private static final Logger log = LoggerFactory.getLogger(ReactiveAccountHandler.class);
+
+    private static final String ACCOUNTS = "/accounts";
+    private static final String ACCOUNT = "/accounts/{accountNumber}";
+    private static final int DEFAULT_PAGE_SIZE = 100;
+
+    private final CreateAccountUseCase createAccountUseCase;
+    private final DepositUseCase depositUseCase;
+    private final WithdrawUseCase withdrawUseCase;
+    private final GetAccountQuery getAccountQuery;
+    private final GetAccountAsyncQuery getAccountAsyncQuery;
+    private final Validator validator;
+    private final Scheduler blockingScheduler;
+
+    ReactiveAccountHandler(CreateAccountUseCase createAccountUseCase,
+                           DepositUseCase depositUseCase,
+                           WithdrawUseCase withdrawUseCase,
+                           GetAccountQuery getAccountQuery,
+                           GetAccountAsyncQuery getAccountAsyncQuery,
+                           Validator validator,
+                           Scheduler blockingScheduler) {
+        this.createAccountUseCase = createAccountUseCase;
+        this.depositUseCase = depositUseCase;
+        this.withdrawUseCase = withdrawUseCase;
+        this.getAccountQuery = getAccountQuery;
+        this.getAccountAsyncQuery = getAccountAsyncQuery;
+        this.validator = validator;
+        this.blockingScheduler = blockingScheduler;
+    }
+
+    RouterFunction<ServerResponse> routes() {
+        return RouterFunctions.route()
+                .POST(ACCOUNTS, this::create)
+                .POST(ACCOUNT + "/deposit", this::deposit)
+                .POST(ACCOUNT + "/withdraw", this::withdraw)
+                .GET(ACCOUNT, this::getAccount)
+                .GET(ACCOUNTS, acceptsNdjson(), this::exportAccounts)
+                .GET(ACCOUNTS, this::listAccounts)
+                .build();
+    }
+
+    Mono<ServerResponse> create(ServerRequest request) {
+        return body(request, CreateAccountRequest.class)
+                .flatMap(body -> blocking(() -> AccountResponse.of(
+                        createAccountUseCase.createAccount(body.accountNumber(), body.name(), body.balance()))))
+                .flatMap(ReactiveAccountHandler::ok)
+                .onErrorResume(ReactiveAccountHandler::error);
+    }
+
+    Mono<ServerResponse> deposit(ServerRequest request) {
+        String accountNumber = request.pathVariable("accountNumber");
+        return body(request, AmountRequest.class)
+                .flatMap(body -> blocking(() -> AccountResponse.of(
+                        depositUseCase.deposit(new DepositCommand(accountNumber, body.amount())))))
+                .flatMap(ReactiveAccountHandler::ok)
+                .onErrorResume(ReactiveAccountHandler::error);
+    }
+
+    Mono<ServerResponse> withdraw(ServerRequest request) {
+        String accountNumber = request.pathVariable("accountNumber");
+        return body(request, AmountRequest.class)
+                .flatMap(body -> blocking(() -> AccountResponse.of(
+                        withdrawUseCase.withdraw(new WithdrawCommand(accountNumber, body.amount())))))
+                .flatMap(ReactiveAccountHandler::ok)
+                .onErrorResume(ReactiveAccountHandler::error);
+    }
+
+    Mono<ServerResponse> getAccount(ServerRequest request) {
+        String accountNumber = request.pathVariable("accountNumber");
+        Mono<AccountResponse> account = getAccountAsyncQuery.supportsNonBlocking()
+                ? Mono.fromCompletionStage(() -> getAccountAsyncQuery.getAccountAsync(accountNumber).thenApply(AccountResponse::of))
+                : blocking(() -> AccountResponse.of(getAccountQuery.getAccount(accountNumber)));
+        return account
+                .flatMap(ReactiveAccountHandler::ok)
+                .onErrorResume(ReactiveAccountHandler::error);
+    }
+
+    Mono<ServerResponse> listAccounts(ServerRequest request) {
+        String after = request.queryParam("after").orElse(null);
+        return Mono.fromCallable(() -> request.queryParam("limit").map(Integer::parseInt).orElse(DEFAULT_PAGE_SIZE))
+                .flatMap(limit -> blocking(() -> AccountPageResponse.of(getAccountQuery.listAccounts(after, limit), limit)))
+                .flatMap(ReactiveAccountHandler::ok)
+                .onErrorResume(ReactiveAccountHandler::error);
+    }
+
+    Mono<ServerResponse> exportAccounts(ServerRequest request) {
+        Flux<AccountResponse> accounts = Flux.<AccountResponse>create(sink -> {
+            Demand demand = new Demand();
+            sink.onRequest(demand::add);
+            sink.onDispose(demand::cancel);
+            try {
+                getAccountQuery.exportAccounts(account -> {
+                    demand.take();
+                    sink.next(AccountResponse.of(account));
+                });
+                sink.complete();
+            } catch (CancellationException e) {
+                // 클라이언트가 연결을 끊음
+            } catch (RuntimeException e) {
+                sink.error(e);
+            }
+        }).subscribeOn(blockingScheduler, false); // request(n) 를 이 worker 에 예약하면 take() 에 멈춘 스레드가 받지 못함
+        return ServerResponse.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(accounts, AccountResponse.class);
+    }
+
+    private <T> Mono<T> body(ServerRequest request, Class<T> type) {
+        return request.bodyToMono(type)
+                .switchIfEmpty(Mono.error(() -> new IllegalArgumentException("Request body is required")))
+                .map(this::validate);
+    }
+
+    private <T> T validate(T body) {
+        Set<ConstraintViolation<T>> violations = validator.validate(body);
+        if (!violations.isEmpty()) {
+            throw new IllegalArgumentException(violations.stream()
+                    .map(v -> v.getPropertyPath() + " " + v.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining(", ")));
+        }
+        return body;
+    }
+
+    private <T> Mono<T> blocking(Callable<T> call) {
+        return Mono.fromCallable(call).subscribeOn(blockingScheduler);
+    }
+
+    private static Mono<ServerResponse> ok(Object body) {
+        return ServerResponse.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(ApiResponse.success(body));
+    }
+
+    /**
+     * GlobalExceptionHandler 와 같은 매핑
+     */
+    static Mono<ServerResponse> error(Throwable e) {
+        Throwable cause = Exceptions.unwrap(e);
+        if (cause instanceof CompletionException && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        if (cause instanceof AccountNotFoundException) {
+            return failure(HttpStatus.NOT_FOUND, "NOT_FOUND", cause.getMessage());
+        }
+        if (cause instanceof AccountVersionConflictException) {
+            return failure(HttpStatus.CONFLICT, "VERSION_CONFLICT", cause.getMessage());
+        }
+        if (cause instanceof AccountLockTimeoutException) {
+            return retryLater("LOCK_TIMEOUT", cause.getMessage());
+        }
+        if (cause instanceof CommandRejectedException) {
+            return retryLater("BUSY", cause.getMessage());
+        }
+        if (cause instanceof RejectedExecutionException) {
+            // blockingScheduler 의 스레드와 대기열이 모두 찬 경우
+            return retryLater("BUSY", "Too many pending requests");
+        }
+        if (cause instanceof IllegalArgumentException) {
+            return failure(HttpStatus.BAD_REQUEST, "BAD_REQUEST", cause.getMessage());
+        }
+        if (cause instanceof ServerWebInputException || cause instanceof CodecException) {
+            return failure(HttpStatus.BAD_REQUEST, "BAD_REQUEST", "Malformed request body");
+        }
+        if (cause instanceof IllegalStateException) {
+            return failure(HttpStatus.CONFLICT, "CONFLICT", cause.getMessage());
+        }
+        log.error("Unhandled error in reactive account handler", cause);
+        return failure(HttpStatus.INTERNAL_SERVER_ERROR, "SERVER_ERROR", "Internal Server Error occurred.");
+    }
+
+    private static Mono<ServerResponse> failure(HttpStatus status, String code, String message) {
+        return ServerResponse.status(status)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(ApiResponse.failure(ApiError.of(code, message)));
+    }
+
+    private static Mono<ServerResponse> retryLater(String code, String message) {
+        return ServerResponse.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(ApiResponse.failure(ApiError.of(code, message)));
+    }
+
+    /**
+     * Accept 에 application/x-ndjson 을 명시한 요청만 (와일드카드 Accept 는 목록 조회로)
+     */
+    private static RequestPredicate acceptsNdjson() {
+        return request -> request.headers().accept().stream()
+                .anyMatch(type -> !type.isWildcardType() && !type.isWildcardSubtype()
+                        && type.isCompatibleWith(MediaType.APPLICATION_NDJSON));
+    }
+
+    /**
+     * 구독자가 요청한 개수만큼만 내보내도록 export 스레드를 멈춰 세운다.
+     */
+    private static final class Demand {
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Condition available = lock.newCondition();
+        private long requested;
+        private boolean cancelled;
+
+        void add(long n) {
+            lock.lock();
+            try {
+                requested = requested + n < 0 ? Long.MAX_VALUE : requested + n;
+                available.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void cancel() {
+            lock.lock();
+            try {
+                cancelled = true;
+                available.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * @throws CancellationException 구독이 취소되었거나 기다리는 중 인터럽트된 경우 (내보내기 중단)
+         */
+        void take() {
+            lock.lock();
+            try {
+                while (requested == 0 && !cancelled) {
+                    available.await();
+                }
+                if (cancelled) {
+                    throw new CancellationException("Export cancelled");
+                }
+                if (requested != Long.MAX_VALUE) {
+                    requested--;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CancellationException("Export interrupted");
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
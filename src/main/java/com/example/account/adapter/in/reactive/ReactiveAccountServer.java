@@ -0,0 +1,79 @@
+package com.example.account.adapter.in.reactive;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.http.server.reactive.HttpHandler;
+import org.springframework.http.server.reactive.ReactorHttpHandlerAdapter;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.resources.LoopResources;
+
+import java.time.Duration;
+
+/**
+ * MVC(Tomcat)와 별도 포트로 뜨는 Reactor Netty 서버. (account.reactive.enabled=true)
+ * 연결마다 스레드를 두지 않고 event-loop-threads 개 스레드가 모든 연결을 다루므로,
+ * long poll 이나 느린 클라이언트가 수만 개 붙어 있어도 스레드 수는 늘지 않는다.
+ * idle-timeout 동안 아무것도 주고받지 않은 연결은 닫는다.
+ */
+class ReactiveAccountServer implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(ReactiveAccountServer.class);
+
+    private final HttpHandler httpHandler;
+    private final int port;
+    private final int eventLoopThreads;
+    private final Duration idleTimeout;
+
+    private volatile LoopResources loops;
+    private volatile DisposableServer server;
+
+    ReactiveAccountServer(HttpHandler httpHandler, int port, int eventLoopThreads, Duration idleTimeout) {
+        this.httpHandler = httpHandler;
+        this.port = port;
+        this.eventLoopThreads = eventLoopThreads > 0 ? eventLoopThreads : Runtime.getRuntime().availableProcessors();
+        this.idleTimeout = idleTimeout;
+    }
+
+    @Override
+    public void start() {
+        loops = LoopResources.create("account-reactive", 1, eventLoopThreads, true);
+        server = HttpServer.create()
+                .port(port)
+                .runOn(loops)
+                .idleTimeout(idleTimeout)
+                .handle(new ReactorHttpHandlerAdapter(httpHandler))
+                .bindNow();
+        log.info("Reactive account adapter started on port {} ({} event loop threads)", server.port(), eventLoopThreads);
+    }
+
+    @Override
+    public void stop() {
+        DisposableServer current = server;
+        if (current != null) {
+            current.disposeNow(Duration.ofSeconds(10));
+            server = null;
+        }
+        if (loops != null) {
+            loops.disposeLater().block(Duration.ofSeconds(10));
+            loops = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return server != null;
+    }
+
+    /**
+     * 실제로 바인딩된 포트 (account.reactive.port=0 이면 임의 포트)
+     */
+    int port() {
+        DisposableServer current = server;
+        if (current == null) {
+            throw new IllegalStateException("Reactive account adapter is not running");
+        }
+        return current.port();
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.account.adapter.in.reactive;
+
+import com.example.account.application.port.in.CreateAccountUseCase;
+import com.example.account.application.port.in.DepositUseCase;
+import com.example.account.application.port.in.GetAccountAsyncQuery;
+import com.example.account.application.port.in.GetAccountQuery;
+import com.example.account.application.port.in.WithdrawUseCase;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.web.reactive.function.server.HandlerStrategies;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+
+/**
+ * account.reactive.enabled=true 일 때만 활성화
+ * 기존 MVC 어댑터(AccountController)는 그대로 두고, 같은 유스케이스를 쓰는 비블로킹 HTTP 어댑터를 별도 포트에 띄운다.
+ */
+@Configuration
+@ConditionalOnProperty(name = "account.reactive.enabled", havingValue = "true")
+class ReactiveAdapterConfig {
+
+    /**
+     * 블로킹 유스케이스/저장소 호출 전용 스레드 풀 (0 이면 Reactor 기본값: CPU 코어 수 x 10)
+     */
+    @Bean(destroyMethod = "dispose")
+    Scheduler accountBlockingScheduler(
+            @Value("${account.reactive.blocking-threads:0}") int threads,
+            @Value("${account.reactive.blocking-queue:100000}") int queuedTasks
+    ) {
+        return Schedulers.newBoundedElastic(threads > 0 ? threads : Schedulers.DEFAULT_BOUNDED_ELASTIC_SIZE,
+                queuedTasks, "account-blocking");
+    }
+
+    @Bean
+    ReactiveAccountHandler reactiveAccountHandler(CreateAccountUseCase createAccountUseCase,
+                                                  DepositUseCase depositUseCase,
+                                                  WithdrawUseCase withdrawUseCase,
+                                                  GetAccountQuery getAccountQuery,
+                                                  GetAccountAsyncQuery getAccountAsyncQuery,
+                                                  Validator validator,
+                                                  Scheduler accountBlockingScheduler) {
+        return new ReactiveAccountHandler(createAccountUseCase, depositUseCase, withdrawUseCase,
+                getAccountQuery, getAccountAsyncQuery, validator, accountBlockingScheduler);
+    }
+
+    @Bean
+    ReactiveAccountServer reactiveAccountServer(
+            ReactiveAccountHandler handler,
+            ObjectMapper objectMapper,
+            @Value("${account.reactive.port:8081}") int port,
+            @Value("${account.reactive.event-loop-threads:0}") int eventLoopThreads,
+            @Value("${account.reactive.idle-timeout:60s}") Duration idleTimeout
+    ) {
+        // MVC 와 같은 JSON 직렬화 설정 사용
+        HandlerStrategies strategies = HandlerStrategies.builder()
+                .codecs(codecs -> {
+                    codecs.defaultCodecs().jackson2JsonEncoder(new Jackson2JsonEncoder(objectMapper));
+                    codecs.defaultCodecs().jackson2JsonDecoder(new Jackson2JsonDecoder(objectMapper));
+                })
+                .build();
+        return new ReactiveAccountServer(RouterFunctions.toHttpHandler(handler.routes(), strategies),
+                port, eventLoopThreads, idleTimeout);
+    }
+}
@@ -1,50 +1,97 @@
 package com.example.account.adapter.in.web;
 
+import com.example.account.adapter.in.web.dto.ApiError;
+import com.example.account.adapter.in.web.dto.response.AccountNdjsonWriter;
+import com.example.account.adapter.in.web.dto.response.AccountPageResponse;
 import com.example.account.adapter.in.web.dto.response.AccountResponse;
 import com.example.account.adapter.in.web.dto.response.ApiResponse;
+import com.example.account.adapter.in.web.dto.response.BatchResultNdjsonWriter;
 import com.example.account.adapter.in.web.dto.request.AmountRequest;
 import com.example.account.adapter.in.web.dto.request.CreateAccountRequest;
+import com.example.account.adapter.in.web.dto.request.SplitAccountRequest;
+import com.example.account.application.port.in.BatchCommandUseCase;
 import com.example.account.application.port.in.CreateAccountUseCase;
 import com.example.account.application.port.in.DepositUseCase;
 import com.example.account.application.port.in.GetAccountQuery;
+import com.example.account.application.port.in.IdempotentCommandUseCase;
+import com.example.account.application.port.in.SplitAccountUseCase;
 import com.example.account.application.port.in.WithdrawUseCase;
+import com.example.account.application.port.in.command.BalanceCommand;
 import com.example.account.application.port.in.command.DepositCommand;
 import com.example.account.application.port.in.command.WithdrawCommand;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import jakarta.validation.constraints.NotBlank;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
 @RestController
 @RequestMapping("/accounts")
 @Validated
 public class AccountController {
 
+    static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+
     private final CreateAccountUseCase createAccountUseCase;
     private final DepositUseCase depositUseCase;
     private final WithdrawUseCase withdrawUseCase;
     private final GetAccountQuery getAccountQuery;
+    private final SplitAccountUseCase splitAccountUseCase;
+    private final IdempotentCommandUseCase idempotentCommandUseCase;
+    private final BatchCommandUseCase batchCommandUseCase;
+    private final ObjectMapper objectMapper;
+    private final int batchChunkSize;
 
     public AccountController(CreateAccountUseCase createAccountUseCase,
                               DepositUseCase depositUseCase,
                               WithdrawUseCase withdrawUseCase,
-                             GetAccountQuery getAccountQuery) {
+                             GetAccountQuery getAccountQuery,
+                             SplitAccountUseCase splitAccountUseCase,
+                             IdempotentCommandUseCase idempotentCommandUseCase,
+                             BatchCommandUseCase batchCommandUseCase,
+                             ObjectMapper objectMapper,
+                             @Value("${account.batch.chunk-size:500}") int batchChunkSize) {
+        if (batchChunkSize <= 0 || batchChunkSize > BatchCommandUseCase.MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("account.batch.chunk-size must be between 1 and " + BatchCommandUseCase.MAX_BATCH_SIZE);
+        }
         this.createAccountUseCase = createAccountUseCase;
         this.depositUseCase = depositUseCase;
         this.withdrawUseCase = withdrawUseCase;
         this.getAccountQuery = getAccountQuery;
+        this.splitAccountUseCase = splitAccountUseCase;
+        this.idempotentCommandUseCase = idempotentCommandUseCase;
+        this.batchCommandUseCase = batchCommandUseCase;
+        this.objectMapper = objectMapper;
+        this.batchChunkSize = batchChunkSize;
     }
 
+    /*
+     * 생성/입금/출금은 Idempotency-Key 헤더를 받는다. 같은 key 로 재시도하면 처음 응답을 그대로 돌려준다.
+     * (다른 요청에 같은 key 400, 같은 key 의 요청이 처리 중이면 409)
+     */
+
     @PostMapping
     public ResponseEntity<ApiResponse<AccountResponse>> create(
-            @RequestBody @Valid CreateAccountRequest request
+            @RequestBody @Valid CreateAccountRequest request,
+            @RequestHeader(name = IDEMPOTENCY_KEY, required = false) String idempotencyKey
     ) {
-        var acc = createAccountUseCase.createAccount(
-                request.accountNumber(),
-                request.name(),
-                request.balance()
-        );
+        var acc = idempotencyKey == null
+                ? createAccountUseCase.createAccount(request.accountNumber(), request.name(), request.balance())
+                : idempotentCommandUseCase.createAccount(
+                        idempotencyKey, request.accountNumber(), request.name(), request.balance());
 
         var body = AccountResponse.of(acc);
         return ResponseEntity.ok(ApiResponse.success(body));
@@ -52,9 +99,12 @@ public class AccountController {
 
     @PostMapping("/{accountNumber}/deposit")
     public ResponseEntity<ApiResponse<AccountResponse>> deposit(@PathVariable @NotBlank String accountNumber,
-                                                                @RequestBody @Valid AmountRequest amount) {
+                                                                @RequestBody @Valid AmountRequest amount,
+                                                                @RequestHeader(name = IDEMPOTENCY_KEY, required = false) String idempotencyKey) {
         var depositCommand = new DepositCommand(accountNumber, amount.amount());
-        var acc = depositUseCase.deposit(depositCommand);
+        var acc = idempotencyKey == null
+                ? depositUseCase.deposit(depositCommand)
+                : idempotentCommandUseCase.deposit(idempotencyKey, depositCommand);
         var body = AccountResponse.of(acc);
 
         // HTTP 상태 코드를 OK(200)로 통일하고, ApiResponse.success()로 감싸서 반환
@@ -63,15 +113,85 @@ public class AccountController {
 
     @PostMapping("/{accountNumber}/withdraw")
     public ResponseEntity<ApiResponse<AccountResponse>> withdraw(@PathVariable @NotBlank String accountNumber,
-                                                                 @RequestBody @Valid AmountRequest amount) {
+                                                                 @RequestBody @Valid AmountRequest amount,
+                                                                 @RequestHeader(name = IDEMPOTENCY_KEY, required = false) String idempotencyKey) {
         var withdrawCommand = new WithdrawCommand(accountNumber, amount.amount());
-        var acc = withdrawUseCase.withdraw(withdrawCommand);
+        var acc = idempotencyKey == null
+                ? withdrawUseCase.withdraw(withdrawCommand)
+                : idempotentCommandUseCase.withdraw(idempotencyKey, withdrawCommand);
         var body = AccountResponse.of(acc);
 
         // HTTP 상태 코드를 OK(200)로 통일하고, ApiResponse.success()로 감싸서 반환
         return ResponseEntity.ok(ApiResponse.success(body));
     }
 
+    /**
+     * 입금이 몰리는 계좌의 잔액을 slot 여러 개로 나눈다: POST /accounts/{accountNumber}/slots {"slots": 16}
+     * 저장소가 slot 을 지원하지 않으면 409
+     */
+    @PostMapping("/{accountNumber}/slots")
+    public ResponseEntity<ApiResponse<AccountResponse>> split(@PathVariable @NotBlank String accountNumber,
+                                                              @RequestBody @Valid SplitAccountRequest request) {
+        var acc = splitAccountUseCase.splitAccount(accountNumber, request.slots());
+        return ResponseEntity.ok(ApiResponse.success(AccountResponse.of(acc)));
+    }
+
+    /**
+     * 입금/출금 배치: POST /accounts/commands:batch
+     * 본문은 JSON 배열 또는 NDJSON (Content-Type: application/x-ndjson), 명령 하나는
+     * {"type": "deposit" | "withdraw", "accountNumber": "123", "amount": 1000}
+     *
+     * 응답은 NDJSON 으로 명령마다 한 줄({"index": 요청 안 위치, "success", "data", "error"})을 처리되는 대로 흘려보낸다.
+     * 본문을 chunk-size 개씩 읽어 실행하므로 요청 크기와 관계없이 메모리 사용량이 일정하다.
+     * 명령 하나가 실패해도 나머지는 계속 처리하고 응답 상태는 항상 200 이다.
+     * 형식이 잘못된 명령은 읽는 즉시 실패로 쓰므로, 줄 순서가 아닌 index 로 결과를 맞춰야 한다.
+     */
+    @PostMapping(path = "/commands:batch", consumes = {MediaType.APPLICATION_JSON_VALUE, AccountNdjsonWriter.MEDIA_TYPE})
+    public void executeBatch(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        boolean ndjson = MediaType.parseMediaType(request.getContentType())
+                .isCompatibleWith(MediaType.parseMediaType(AccountNdjsonWriter.MEDIA_TYPE));
+        response.setContentType(AccountNdjsonWriter.MEDIA_TYPE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+
+        try (var reader = ndjson
+                     ? BatchCommandReader.ndjson(objectMapper, request.getInputStream())
+                     : BatchCommandReader.jsonArray(objectMapper, request.getInputStream());
+             var writer = new BatchResultNdjsonWriter(response.getOutputStream(), GlobalExceptionHandler::errorOf)) {
+            List<BalanceCommand> chunk = new ArrayList<>(batchChunkSize);
+            int[] indexes = new int[batchChunkSize];
+            BatchCommandReader.Item item;
+            while ((item = reader.next()) != null) {
+                if (item.command() == null) {
+                    writer.failure(item.index(), ApiError.of("BAD_REQUEST", item.error()));
+                    continue;
+                }
+                indexes[chunk.size()] = item.index();
+                chunk.add(item.command());
+                if (chunk.size() == batchChunkSize) {
+                    executeChunk(chunk, indexes, writer);
+                }
+            }
+            executeChunk(chunk, indexes, writer);
+        }
+    }
+
+    private void executeChunk(List<BalanceCommand> chunk, int[] indexes, BatchResultNdjsonWriter writer) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        writer.beginChunk(indexes);
+        try {
+            batchCommandUseCase.executeBatch(chunk, writer);
+        } catch (RuntimeException e) {
+            // 응답이 이미 나가고 있으므로 이 묶음의 명령만 실패로 쓰고 다음 묶음을 계속 처리
+            for (int i = 0; i < chunk.size(); i++) {
+                writer.onFailure(i, e);
+            }
+        }
+        writer.flush();
+        chunk.clear();
+    }
+
 /*
     @PostMapping
     public ResponseEntity<AccountResponse> create(@RequestParam @NotBlank String accountNumber,
@@ -98,12 +218,72 @@ public class AccountController {
     }
     */
 
+    /**
+     * 계좌 조회. 응답의 ETag 를 If-None-Match 로 보내면 바뀌지 않았을 때 본문 없이 304 Not Modified.
+     * 304 판단은 계좌 전체 대신 버전만 읽는다. (GetAccountQuery.getAccountTag)
+     */
     @GetMapping("/{accountNumber}")
-    public ResponseEntity<ApiResponse<AccountResponse>> getAccount(@PathVariable @NotBlank String accountNumber) {
+    public ResponseEntity<ApiResponse<AccountResponse>> getAccount(
+            @PathVariable @NotBlank String accountNumber,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        if (ifNoneMatch != null) {
+            String eTag = eTagOf(getAccountQuery.getAccountTag(accountNumber));
+            if (matchesAny(ifNoneMatch, eTag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).cacheControl(CacheControl.noCache()).build();
+            }
+        }
         var acc = getAccountQuery.getAccount(accountNumber);
         var body = AccountResponse.of(acc);
-        // 항상 200 OK와 함께 ApiResponse.success()를 반환
-        return ResponseEntity.ok(ApiResponse.success(body));
+        // 폴링하는 쪽이 매번 다시 확인하도록 no-cache
+        return ResponseEntity.ok()
+                .eTag(eTagOf(getAccountQuery.tagOf(acc)))
+                .cacheControl(CacheControl.noCache())
+                .body(ApiResponse.success(body));
+    }
+
+    private static String eTagOf(String tag) {
+        return "\"" + tag + "\"";
+    }
+
+    /**
+     * If-None-Match 는 약한 비교: W/ 접두사는 무시하고, * 는 계좌가 있으면 일치
+     */
+    static boolean matchesAny(String ifNoneMatch, String eTag) {
+        for (String candidate : ifNoneMatch.split(",")) {
+            candidate = candidate.trim();
+            if (candidate.startsWith("W/")) {
+                candidate = candidate.substring(2);
+            }
+            if (candidate.equals("*") || candidate.equals(eTag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 계좌 목록 (keyset pagination): GET /accounts?after={마지막 계좌번호}&limit=100
+     * 응답의 nextAfter 를 다음 요청의 after 로 넘기면 이어서 조회된다.
+     */
+    @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ApiResponse<AccountPageResponse>> listAccounts(
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "100") int limit) {
+        var page = getAccountQuery.listAccounts(after, limit);
+        return ResponseEntity.ok(ApiResponse.success(AccountPageResponse.of(page, limit)));
+    }
+
+    /**
+     * 전체 계좌 내보내기 (Accept: application/x-ndjson): 한 줄에 계좌 하나씩 바로 흘려보낸다.
+     * DB 커서를 트랜잭션 안에서 끝까지 읽어야 하므로 비동기(StreamingResponseBody)가 아닌 요청 스레드에서 쓴다.
+     */
+    @GetMapping(produces = AccountNdjsonWriter.MEDIA_TYPE)
+    public void exportAccounts(HttpServletResponse response) throws IOException {
+        response.setContentType(AccountNdjsonWriter.MEDIA_TYPE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        try (var writer = new AccountNdjsonWriter(response.getOutputStream())) {
+            getAccountQuery.exportAccounts(writer);
+        }
     }
 
 }
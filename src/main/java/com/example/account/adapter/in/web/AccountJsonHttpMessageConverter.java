@@ -0,0 +1,65 @@
+package com.example.account.adapter.in.web;
+
+import com.example.account.adapter.in.web.dto.response.AccountJsonEncoder;
+import com.example.account.adapter.in.web.dto.response.ApiResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StreamUtils;
+
+import java.io.IOException;
+
+/**
+ * ApiResponse 응답 전용 JSON 변환기. 계좌 하나를 돌려주는 응답(생성/입금/출금/조회, 에러)은
+ * 리플렉션 기반 Jackson 직렬화 대신 AccountJsonEncoder 로 UTF-8 바이트를 바로 쓴다.
+ *
+ * - HttpMessageConverter 빈이라 Spring Boot 가 기본 Jackson 변환기보다 앞에 둔다.
+ * - data 가 AccountResponse 가 아닌 ApiResponse(목록 등)는 Spring 의 ObjectMapper 로 그대로 쓴다.
+ * - 읽기(요청 본문)는 하지 않는다. → 요청은 계속 Jackson 변환기가 읽는다.
+ */
+@Component
+class AccountJsonHttpMessageConverter extends AbstractHttpMessageConverter<ApiResponse<?>> {
+
+    private final ObjectMapper fallback;
+
+    AccountJsonHttpMessageConverter(ObjectMapper objectMapper) {
+        super(MediaType.APPLICATION_JSON, new MediaType("application", "*+json"));
+        this.fallback = objectMapper;
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return ApiResponse.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    protected boolean canRead(MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected ApiResponse<?> readInternal(Class<? extends ApiResponse<?>> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("ApiResponse is write-only", inputMessage);
+    }
+
+    @Override
+    protected void writeInternal(ApiResponse<?> response, HttpOutputMessage outputMessage) throws IOException {
+        if (!AccountJsonEncoder.supports(response)) {
+            fallback.writeValue(StreamUtils.nonClosing(outputMessage.getBody()), response);
+            return;
+        }
+        AccountJsonEncoder encoder = AccountJsonEncoder.acquire();
+        try {
+            encoder.write(response);
+            // 본문을 쓰기 전이라 헤더를 아직 바꿀 수 있음
+            outputMessage.getHeaders().setContentLength(encoder.length());
+            encoder.writeTo(outputMessage.getBody());
+        } finally {
+            AccountJsonEncoder.release(encoder);
+        }
+    }
+}
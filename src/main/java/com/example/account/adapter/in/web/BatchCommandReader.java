@@ -0,0 +1,124 @@
+package com.example.account.adapter.in.web;
+
+import com.example.account.adapter.in.web.dto.request.BalanceCommandRequest;
+import com.example.account.application.port.in.command.BalanceCommand;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 배치 요청 본문에서 명령을 하나씩 읽는다. 본문 전체를 메모리에 올리지 않는다.
+ *
+ * - NDJSON: 한 줄에 명령 하나. 빈 줄은 건너뛰고, 읽을 수 없는 줄은 그 명령만 실패한다.
+ * - JSON 배열: 원소를 하나씩 읽는다. 원소가 명령 형식이 아니면 그 명령만 실패하지만,
+ *   JSON 문법 오류는 이후 원소의 경계를 알 수 없으므로 그 자리에서 읽기를 멈춘다.
+ */
+final class BatchCommandReader implements AutoCloseable {
+
+    /**
+     * command 와 error 중 하나만 있음
+     */
+    record Item(int index, BalanceCommand command, String error) {
+    }
+
+    private final ObjectMapper mapper;
+    private final BufferedReader lines;
+    private final JsonParser parser;
+    private int index;
+    private boolean done;
+
+    private BatchCommandReader(ObjectMapper mapper, BufferedReader lines, JsonParser parser) {
+        this.mapper = mapper;
+        this.lines = lines;
+        this.parser = parser;
+    }
+
+    static BatchCommandReader ndjson(ObjectMapper mapper, InputStream in) {
+        return new BatchCommandReader(mapper, new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8)), null);
+    }
+
+    static BatchCommandReader jsonArray(ObjectMapper mapper, InputStream in) throws IOException {
+        return new BatchCommandReader(mapper, null, mapper.getFactory().createParser(in));
+    }
+
+    /**
+     * @return 다음 명령, 끝이면 null
+     */
+    Item next() throws IOException {
+        if (done) {
+            return null;
+        }
+        return parser == null ? nextLine() : nextElement();
+    }
+
+    private Item nextLine() throws IOException {
+        String line;
+        do {
+            line = lines.readLine();
+            if (line == null) {
+                done = true;
+                return null;
+            }
+        } while (line.isBlank());
+
+        int current = index++;
+        JsonNode node;
+        try {
+            node = mapper.readTree(line);
+        } catch (IOException e) {
+            return new Item(current, null, "Malformed JSON line");
+        }
+        return toItem(current, node);
+    }
+
+    private Item nextElement() throws IOException {
+        int current = index;
+        JsonNode node;
+        try {
+            if (current == 0 && parser.nextToken() != JsonToken.START_ARRAY) {
+                done = true;
+                return new Item(current, null, "Request body must be a JSON array");
+            }
+            if (parser.nextToken() == JsonToken.END_ARRAY) {
+                done = true;
+                return null;
+            }
+            node = parser.readValueAsTree();
+        } catch (IOException e) {
+            // 문법 오류 또는 본문이 중간에 끊김
+            done = true;
+            return new Item(current, null, "Malformed JSON, stopped reading at this item");
+        }
+        index++;
+        return toItem(current, node);
+    }
+
+    private Item toItem(int current, JsonNode node) {
+        try {
+            BalanceCommandRequest request = node == null || !node.isObject()
+                    ? null : mapper.treeToValue(node, BalanceCommandRequest.class);
+            if (request == null) {
+                return new Item(current, null, "Invalid command");
+            }
+            return new Item(current, request.toCommand(), null);
+        } catch (IOException e) {
+            return new Item(current, null, "Invalid command");
+        } catch (IllegalArgumentException e) {
+            return new Item(current, null, e.getMessage());
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (parser != null) {
+            parser.close();
+        }
+    }
+}
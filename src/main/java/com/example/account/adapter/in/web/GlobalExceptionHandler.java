@@ -2,7 +2,11 @@ package com.example.account.adapter.in.web;
 
 import com.example.account.adapter.in.web.dto.ApiError;
 import com.example.account.adapter.in.web.dto.response.ApiResponse;
+import com.example.account.application.exception.AccountLockTimeoutException;
+import com.example.account.application.exception.CommandRejectedException;
 import com.example.account.domain.exception.AccountNotFoundException;
+import com.example.account.domain.exception.AccountVersionConflictException;
+import com.example.account.domain.exception.InsufficientBalanceException;
 import org.springframework.http.*;
 import org.springframework.web.bind.annotation.*;
 
@@ -10,6 +14,10 @@ import org.springframework.web.bind.annotation.*;
 @ControllerAdvice
 public class GlobalExceptionHandler {
 
+    // 잔액 부족은 흔한 정상 거절이라 매번 같은 응답 본문을 재사용한다. (ApiResponse/ApiError 는 불변)
+    private static final ApiResponse<Object> INSUFFICIENT_BALANCE =
+            ApiResponse.failure(ApiError.of("CONFLICT", InsufficientBalanceException.MESSAGE));
+
     // 1. AccountNotFoundException (404 Not Found 관련) 처리
     @ExceptionHandler(AccountNotFoundException.class)
     public ResponseEntity<ApiResponse<Object>> handleNotFound(AccountNotFoundException ex) {
@@ -28,6 +36,36 @@ public class GlobalExceptionHandler {
         return responseEntityWithHttpStatus(HttpStatus.CONFLICT, "CONFLICT", ex.getMessage());
     }
 
+    // 3-1. InsufficientBalanceException (409 Conflict, 잔액 부족) 처리
+    @ExceptionHandler(InsufficientBalanceException.class)
+    public ResponseEntity<ApiResponse<Object>> handleInsufficientBalance(InsufficientBalanceException ex) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(INSUFFICIENT_BALANCE);
+    }
+
+    // 4. AccountVersionConflictException (409 Conflict, 재시도 후에도 동시 수정 충돌) 처리
+    @ExceptionHandler(AccountVersionConflictException.class)
+    public ResponseEntity<ApiResponse<Object>> handleVersionConflict(AccountVersionConflictException ex) {
+        return responseEntityWithHttpStatus(HttpStatus.CONFLICT, "VERSION_CONFLICT", ex.getMessage());
+    }
+
+    // 5. AccountLockTimeoutException (503 Service Unavailable, 같은 계좌 요청이 몰려 잠금 대기 시간 초과) 처리
+    @ExceptionHandler(AccountLockTimeoutException.class)
+    public ResponseEntity<ApiResponse<Object>> handleLockTimeout(AccountLockTimeoutException ex) {
+        return ResponseEntity
+                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(ApiResponse.failure(ApiError.of("LOCK_TIMEOUT", ex.getMessage())));
+    }
+
+    // 6. CommandRejectedException (503 Service Unavailable, 입금/출금 명령 대기열이 가득 참) 처리
+    @ExceptionHandler(CommandRejectedException.class)
+    public ResponseEntity<ApiResponse<Object>> handleCommandRejected(CommandRejectedException ex) {
+        return ResponseEntity
+                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(ApiResponse.failure(ApiError.of("BUSY", ex.getMessage())));
+    }
+
 
      /* 최종 fallback: 잡히지 않은 모든 Exception (500 Internal Server Error) 처리 */
     @ExceptionHandler(Exception.class)
@@ -35,6 +73,31 @@ public class GlobalExceptionHandler {
         return responseEntityWithHttpStatus(HttpStatus.INTERNAL_SERVER_ERROR, "SERVER_ERROR", "Internal Server Error occurred.");
     }
 
+    /**
+     * 배치 명령처럼 예외를 응답 상태가 아닌 항목별 에러로 돌려줄 때 쓴다. (위 핸들러와 같은 코드)
+     */
+    static ApiError errorOf(RuntimeException ex) {
+        if (ex instanceof AccountNotFoundException) {
+            return ApiError.of("NOT_FOUND", ex.getMessage());
+        }
+        if (ex instanceof IllegalArgumentException) {
+            return ApiError.of("BAD_REQUEST", ex.getMessage());
+        }
+        if (ex instanceof AccountVersionConflictException) {
+            return ApiError.of("VERSION_CONFLICT", ex.getMessage());
+        }
+        if (ex instanceof IllegalStateException) {
+            return ApiError.of("CONFLICT", ex.getMessage());
+        }
+        if (ex instanceof AccountLockTimeoutException) {
+            return ApiError.of("LOCK_TIMEOUT", ex.getMessage());
+        }
+        if (ex instanceof CommandRejectedException) {
+            return ApiError.of("BUSY", ex.getMessage());
+        }
+        return ApiError.of("SERVER_ERROR", "Internal Server Error occurred.");
+    }
+
     private static ResponseEntity<ApiResponse<Object>> responseEntityWithHttpStatus(HttpStatus notFound, String NOT_FOUND, String ex) {
         return ResponseEntity
                 .status(notFound)      // 🔹 404
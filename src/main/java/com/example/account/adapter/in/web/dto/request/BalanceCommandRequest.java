@@ -0,0 +1,34 @@
+package com.example.account.adapter.in.web.dto.request;
+
+import com.example.account.application.port.in.command.BalanceCommand;
+import com.example.account.application.port.in.command.DepositCommand;
+import com.example.account.application.port.in.command.WithdrawCommand;
+
+/**
+ * 배치의 명령 하나: {"type": "deposit" | "withdraw", "accountNumber": "123", "amount": 1000}
+ */
+public record BalanceCommandRequest(
+        String type,
+        String accountNumber,
+        Long amount
+) {
+
+    /**
+     * @throws IllegalArgumentException type 이 deposit/withdraw 가 아니거나 필드가 빠진 경우
+     */
+    public BalanceCommand toCommand() {
+        if (accountNumber == null || accountNumber.isBlank()) {
+            throw new IllegalArgumentException("accountNumber must not be blank");
+        }
+        if (amount == null) {
+            throw new IllegalArgumentException("amount is required");
+        }
+        if ("deposit".equalsIgnoreCase(type)) {
+            return new DepositCommand(accountNumber, amount);
+        }
+        if ("withdraw".equalsIgnoreCase(type)) {
+            return new WithdrawCommand(accountNumber, amount);
+        }
+        throw new IllegalArgumentException("type must be deposit or withdraw: " + type);
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.account.adapter.in.web.dto.request;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+
+/**
+ * 잔액을 나눌 slot 수 (입금이 몰리는 계좌일수록 크게)
+ */
+public record SplitAccountRequest(
+        @Min(2) @Max(1024) int slots
+) {
+}
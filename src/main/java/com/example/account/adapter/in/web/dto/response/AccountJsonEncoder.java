@@ -0,0 +1,224 @@
+package com.example.account.adapter.in.web.dto.response;
+
+import com.example.account.adapter.in.web.dto.ApiError;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * ApiResponse<AccountResponse> / AccountResponse 를 리플렉션 없이 UTF-8 JSON 바이트로 바로 쓰는 encoder.
+ * 필드 순서, null 표기, 문자열 escape 는 기본 ObjectMapper 출력과 같다.
+ *
+ * - 중간 String 이나 트리 없이 byte[] 버퍼에 바로 쓴다. 버퍼는 acquire/release 로 재사용한다.
+ * - 풀은 스레드 id 로 고른 slot 에서 꺼내고 돌려놓는 lock-free 배열이라 요청당 할당이 없다. (가상 스레드도 같음)
+ *   slot 이 비어 있으면 새로 만들고, 돌려놓을 slot 이 차 있으면 버린다.
+ * - data 가 AccountResponse 나 null 이 아닌 ApiResponse 는 지원하지 않는다. (supports 로 먼저 확인)
+ */
+public final class AccountJsonEncoder {
+
+    private static final int POOL_SLOTS = 64;
+    private static final int INITIAL_CAPACITY = 256;
+    // 이보다 커진 버퍼는 풀에 남기지 않는다. (긴 이름 하나로 큰 버퍼가 계속 남지 않도록)
+    private static final int MAX_POOLED_CAPACITY = 16 * 1024;
+    private static final AtomicReferenceArray<AccountJsonEncoder> pool = new AtomicReferenceArray<>(POOL_SLOTS);
+
+    private static final byte[] SUCCESS_TRUE = ascii("{\"success\":true,\"data\":");
+    private static final byte[] SUCCESS_FALSE = ascii("{\"success\":false,\"data\":");
+    private static final byte[] ERROR = ascii(",\"error\":");
+    private static final byte[] ACCOUNT_NUMBER = ascii("{\"accountNumber\":");
+    private static final byte[] NAME = ascii(",\"name\":");
+    private static final byte[] BALANCE = ascii(",\"balance\":");
+    private static final byte[] CODE = ascii("{\"code\":");
+    private static final byte[] MESSAGE = ascii(",\"message\":");
+    private static final byte[] NULL = ascii("null");
+    private static final byte[] MIN_LONG = ascii(Long.toString(Long.MIN_VALUE));
+    private static final byte[] HEX = ascii("0123456789ABCDEF");
+
+    private byte[] buffer = new byte[INITIAL_CAPACITY];
+    private int length;
+
+    private AccountJsonEncoder() {
+    }
+
+    public static AccountJsonEncoder acquire() {
+        AccountJsonEncoder encoder = pool.getAndSet(slot(), null);
+        return encoder != null ? encoder : new AccountJsonEncoder();
+    }
+
+    public static void release(AccountJsonEncoder encoder) {
+        encoder.length = 0;
+        if (encoder.buffer.length <= MAX_POOLED_CAPACITY) {
+            pool.compareAndSet(slot(), null, encoder);
+        }
+    }
+
+    public static boolean supports(ApiResponse<?> response) {
+        return response.getData() == null || response.getData() instanceof AccountResponse;
+    }
+
+    /**
+     * @throws IllegalArgumentException supports 가 false 인 응답
+     */
+    public AccountJsonEncoder write(ApiResponse<?> response) {
+        Object data = response.getData();
+        if (data != null && !(data instanceof AccountResponse)) {
+            throw new IllegalArgumentException("Unsupported data type: " + data.getClass().getName());
+        }
+        append(response.isSuccess() ? SUCCESS_TRUE : SUCCESS_FALSE);
+        if (data == null) {
+            append(NULL);
+        } else {
+            write((AccountResponse) data);
+        }
+        append(ERROR);
+        ApiError error = response.getError();
+        if (error == null) {
+            append(NULL);
+        } else {
+            append(CODE);
+            appendString(error.getCode());
+            append(MESSAGE);
+            appendString(error.getMessage());
+            appendByte('}');
+        }
+        appendByte('}');
+        return this;
+    }
+
+    public AccountJsonEncoder write(AccountResponse account) {
+        append(ACCOUNT_NUMBER);
+        appendString(account.getAccountNumber());
+        append(NAME);
+        appendString(account.getName());
+        append(BALANCE);
+        appendLong(account.getBalance());
+        appendByte('}');
+        return this;
+    }
+
+    public int length() {
+        return length;
+    }
+
+    public void writeTo(OutputStream out) throws IOException {
+        out.write(buffer, 0, length);
+    }
+
+    @Override
+    public String toString() {
+        return new String(buffer, 0, length, StandardCharsets.UTF_8);
+    }
+
+    private void appendString(String value) {
+        if (value == null) {
+            append(NULL);
+            return;
+        }
+        // 최악의 경우 문자 하나가 6 바이트(\\u00XX)
+        ensureCapacity(value.length() * 6 + 2);
+        byte[] out = buffer;
+        int position = length;
+        out[position++] = '"';
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                if (c >= 0x20 && c != '"' && c != '\\') {
+                    out[position++] = (byte) c;
+                } else {
+                    position = escape(out, position, c);
+                }
+            } else if (c < 0x800) {
+                out[position++] = (byte) (0xC0 | (c >> 6));
+                out[position++] = (byte) (0x80 | (c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < value.length()
+                    && Character.isLowSurrogate(value.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                out[position++] = (byte) (0xF0 | (codePoint >> 18));
+                out[position++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+                out[position++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+                out[position++] = (byte) (0x80 | (codePoint & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                // 짝이 없는 surrogate 는 UTF-8 로 표현할 수 없음
+                out[position++] = '?';
+            } else {
+                out[position++] = (byte) (0xE0 | (c >> 12));
+                out[position++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                out[position++] = (byte) (0x80 | (c & 0x3F));
+            }
+        }
+        out[position++] = '"';
+        length = position;
+    }
+
+    private static int escape(byte[] out, int position, char c) {
+        out[position++] = '\\';
+        switch (c) {
+            case '"' -> out[position++] = '"';
+            case '\\' -> out[position++] = '\\';
+            case '\b' -> out[position++] = 'b';
+            case '\t' -> out[position++] = 't';
+            case '\n' -> out[position++] = 'n';
+            case '\f' -> out[position++] = 'f';
+            case '\r' -> out[position++] = 'r';
+            default -> {
+                out[position++] = 'u';
+                out[position++] = '0';
+                out[position++] = '0';
+                out[position++] = HEX[c >> 4];
+                out[position++] = HEX[c & 0xF];
+            }
+        }
+        return position;
+    }
+
+    private void appendLong(long value) {
+        if (value == Long.MIN_VALUE) {
+            append(MIN_LONG);
+            return;
+        }
+        ensureCapacity(20);
+        if (value < 0) {
+            buffer[length++] = '-';
+            value = -value;
+        }
+        int digits = 1;
+        for (long rest = value / 10; rest > 0; rest /= 10) {
+            digits++;
+        }
+        int position = length + digits;
+        length = position;
+        do {
+            buffer[--position] = (byte) ('0' + value % 10);
+            value /= 10;
+        } while (value > 0);
+    }
+
+    private void append(byte[] bytes) {
+        ensureCapacity(bytes.length);
+        System.arraycopy(bytes, 0, buffer, length, bytes.length);
+        length += bytes.length;
+    }
+
+    private void appendByte(char c) {
+        ensureCapacity(1);
+        buffer[length++] = (byte) c;
+    }
+
+    private void ensureCapacity(int additional) {
+        if (length + additional > buffer.length) {
+            byte[] grown = new byte[Math.max(buffer.length * 2, length + additional)];
+            System.arraycopy(buffer, 0, grown, 0, length);
+            buffer = grown;
+        }
+    }
+
+    private static int slot() {
+        return (int) (Thread.currentThread().getId() & (POOL_SLOTS - 1));
+    }
+
+    private static byte[] ascii(String value) {
+        return value.getBytes(StandardCharsets.US_ASCII);
+    }
+}
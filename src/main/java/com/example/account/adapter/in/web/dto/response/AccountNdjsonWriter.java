@@ -0,0 +1,45 @@
+package com.example.account.adapter.in.web.dto.response;
+
+import com.example.account.domain.model.Account;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+
+/**
+ * 계좌를 받는 즉시 한 줄(AccountResponse JSON + "\n")씩 출력 스트림에 쓰는 NDJSON writer.
+ * 목록 전체를 메모리에 모으지 않으므로 계좌 수와 관계없이 힙 사용량이 일정하다.
+ */
+public class AccountNdjsonWriter implements Consumer<Account>, AutoCloseable {
+
+    public static final String MEDIA_TYPE = "application/x-ndjson";
+
+    private static final ObjectMapper mapper = new ObjectMapper();
+
+    private final JsonGenerator generator;
+
+    public AccountNdjsonWriter(OutputStream out) throws IOException {
+        this.generator = mapper.getFactory().createGenerator(out);
+        // 최상위 값 사이에 기본 구분자(공백)를 넣지 않고 줄바꿈만 직접 쓴다.
+        this.generator.setRootValueSeparator(null);
+        this.generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    }
+
+    @Override
+    public void accept(Account account) {
+        try {
+            generator.writeObject(AccountResponse.of(account));
+            generator.writeRaw('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write account", e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        generator.close();
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.account.adapter.in.web.dto.response;
+
+import com.example.account.domain.model.Account;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// 계좌 목록 한 페이지 (keyset pagination)
+public class AccountPageResponse {
+
+    private final List<AccountResponse> accounts;
+    // 다음 페이지 요청에 after 로 넘길 값. 마지막 페이지면 null
+    private final String nextAfter;
+
+    private AccountPageResponse(List<AccountResponse> accounts, String nextAfter) {
+        this.accounts = accounts;
+        this.nextAfter = nextAfter;
+    }
+
+    public List<AccountResponse> getAccounts() { return accounts; }
+    public String getNextAfter() { return nextAfter; }
+
+    public static AccountPageResponse of(List<Account> page, int limit) {
+        List<AccountResponse> accounts = new ArrayList<>(page.size());
+        for (Account account : page) {
+            accounts.add(AccountResponse.of(account));
+        }
+        String nextAfter = page.size() < limit ? null : page.get(page.size() - 1).getAccountNumber();
+        return new AccountPageResponse(accounts, nextAfter);
+    }
+}
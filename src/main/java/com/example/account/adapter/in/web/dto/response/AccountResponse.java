@@ -1,8 +1,6 @@
 package com.example.account.adapter.in.web.dto.response;
 
 import com.example.account.domain.model.Account;
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.PositiveOrZero;
 
@@ -31,16 +29,16 @@ public class AccountResponse{
         return new AccountResponse(account.getAccountNumber(), account.getName(), account.getBalance());
     }
 
-    private static final ObjectMapper mapper = new ObjectMapper();
-
+    /**
+     * 로그용 JSON. ObjectMapper 대신 AccountJsonEncoder 로 쓴다. (출력은 같음)
+     */
     @Override
     public String toString() {
+        AccountJsonEncoder encoder = AccountJsonEncoder.acquire();
         try {
-            // AccountResponse 객체를 JSON 문자열로 변환
-            return mapper.writeValueAsString(this);
-        } catch (JsonProcessingException e) {
-            // 문제가 생겨도 절대로 예외를 던지지 않고 fallback 문자열 출력
-            return "AccountResponse{error converting to JSON}";
+            return encoder.write(this).toString();
+        } finally {
+            AccountJsonEncoder.release(encoder);
         }
     }
 }
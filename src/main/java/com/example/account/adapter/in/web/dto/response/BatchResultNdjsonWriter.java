@@ -0,0 +1,91 @@
+package com.example.account.adapter.in.web.dto.response;
+
+import com.example.account.adapter.in.web.dto.ApiError;
+import com.example.account.application.port.in.BatchCommandUseCase;
+import com.example.account.domain.model.Account;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.function.Function;
+
+/**
+ * 배치 명령의 결과를 명령마다 한 줄씩 쓰는 NDJSON writer.
+ * 한 줄은 ApiResponse 와 같은 모양에 요청 안의 위치(index)를 더한 것이다.
+ *
+ *   {"index":0,"success":true,"data":{"accountNumber":"123","name":"Alice","balance":1500},"error":null}
+ *   {"index":1,"success":false,"data":null,"error":{"code":"CONFLICT","message":"..."}}
+ *
+ * executeBatch 는 요청을 나눈 묶음(chunk) 단위로 호출되므로, beginChunk 로 묶음 안의 위치 → 요청 안의 위치를 넘겨받는다.
+ */
+public class BatchResultNdjsonWriter implements BatchCommandUseCase.ResultListener, AutoCloseable {
+
+    private static final ObjectMapper mapper = new ObjectMapper();
+
+    private final JsonGenerator generator;
+    private final Function<RuntimeException, ApiError> errorMapper;
+    private int[] indexes = new int[0];
+
+    /**
+     * @param errorMapper 실패한 명령의 예외 → 응답 에러 (단건 API 의 에러 코드와 같게)
+     */
+    public BatchResultNdjsonWriter(OutputStream out, Function<RuntimeException, ApiError> errorMapper) throws IOException {
+        this.generator = mapper.getFactory().createGenerator(out);
+        this.generator.setRootValueSeparator(null);
+        this.generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        this.errorMapper = errorMapper;
+    }
+
+    /**
+     * @param indexes 다음 executeBatch 에 넘기는 명령들의 요청 안 위치 (순서대로)
+     */
+    public void beginChunk(int[] indexes) {
+        this.indexes = indexes;
+    }
+
+    @Override
+    public void onSuccess(int index, Account account) {
+        write(indexes[index], AccountResponse.of(account), null);
+    }
+
+    @Override
+    public void onFailure(int index, RuntimeException error) {
+        write(indexes[index], null, errorMapper.apply(error));
+    }
+
+    /**
+     * 읽을 수 없는 명령(형식 오류 등)처럼 실행 전에 실패한 명령
+     */
+    public void failure(int index, ApiError error) {
+        write(index, null, error);
+    }
+
+    public void flush() {
+        try {
+            generator.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to flush batch results", e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        generator.close();
+    }
+
+    private void write(int index, AccountResponse data, ApiError error) {
+        try {
+            generator.writeStartObject();
+            generator.writeNumberField("index", index);
+            generator.writeBooleanField("success", error == null);
+            generator.writeObjectField("data", data);
+            generator.writeObjectField("error", error);
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write batch result", e);
+        }
+    }
+}
@@ -0,0 +1,328 @@
+package com.example.account.adapter.out.cache;
+
+import com.example.account.domain.model.Account;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+
+/**
+ * 계좌 스냅샷을 담는 크기 제한 캐시. 교체 정책은 W-TinyLFU.
+ *
+ * - window(LRU, 전체의 1%) : 새로 들어온 계좌는 먼저 여기에 머문다. 잠깐 몰리는 계좌를 흡수
+ * - main(SLRU = probation 20% + protected 80%) : window 에서 밀려난 계좌는 빈도 비교를 통과해야 들어온다.
+ *   window 후보와 probation 의 가장 오래된 계좌 중 최근 사용 빈도(count-min sketch)가 높은 쪽을 남긴다.
+ *   → 한 번씩만 조회되는 계좌가 대량으로 지나가도(목록 훑기 등) 자주 조회되는 계좌가 밀려나지 않는다.
+ * - 빈도는 4bit 카운터 count-min sketch 로 세고, 기록 수가 크기의 10배가 되면 모든 카운터를 절반으로 줄인다(aging).
+ * - expireAfterWriteNanos > 0 이면 저장 후 그 시간이 지난 계좌는 조회 시 없는 것으로 본다.
+ *
+ * 조회는 ConcurrentHashMap 으로 잠금 없이 하고, 순서/빈도 갱신은 잠금을 바로 얻을 수 있을 때만 한다.
+ * (경합 중에는 순서 갱신을 건너뛰어도 정확도만 약간 떨어질 뿐 결과는 틀리지 않음)
+ * 저장된 Account 는 외부에서 바꿀 수 없도록 저장/반환 시 복사한다.
+ */
+final class AccountCache {
+
+    private static final int WINDOW = 0;
+    private static final int PROBATION = 1;
+    private static final int PROTECTED = 2;
+
+    private final ConcurrentHashMap<String, Node> data = new ConcurrentHashMap<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Node window = Node.sentinel();
+    private final Node probation = Node.sentinel();
+    private final Node protectedQueue = Node.sentinel();
+
+    private final long maximumSize;
+    private final long windowMaximum;
+    private final long protectedMaximum;
+    private final long expireAfterWriteNanos;
+    private final LongSupplier nanoTime;
+    private final Consumer<Account> onEviction;
+
+    private long windowSize;
+    private long probationSize;
+    private long protectedSize;
+
+    // count-min sketch: long 하나에 4bit 카운터 16개
+    private final long[] sketch;
+    private final int sketchMask;
+    private final long sampleSize;
+    private long additions;
+
+    AccountCache(long maximumSize, long expireAfterWriteNanos, Consumer<Account> onEviction) {
+        this(maximumSize, expireAfterWriteNanos, onEviction, System::nanoTime);
+    }
+
+    AccountCache(long maximumSize, long expireAfterWriteNanos, Consumer<Account> onEviction, LongSupplier nanoTime) {
+        if (maximumSize <= 0) {
+            throw new IllegalArgumentException("maximumSize must be positive");
+        }
+        if (expireAfterWriteNanos < 0) {
+            throw new IllegalArgumentException("expireAfterWrite must not be negative");
+        }
+        this.maximumSize = maximumSize;
+        this.windowMaximum = Math.max(1, maximumSize / 100);
+        this.protectedMaximum = (long) ((maximumSize - windowMaximum) * 0.8);
+        this.expireAfterWriteNanos = expireAfterWriteNanos;
+        this.nanoTime = nanoTime;
+        this.onEviction = onEviction;
+
+        int tableSize = Integer.highestOneBit((int) Math.min(Math.max(maximumSize, 16), 1 << 24) - 1) << 1;
+        this.sketch = new long[tableSize];
+        this.sketchMask = tableSize - 1;
+        this.sampleSize = 10 * maximumSize;
+    }
+
+    /**
+     * @return 캐시된 계좌의 복사본, 없거나 만료됐으면 null
+     */
+    Account get(String accountNumber) {
+        Node node = data.get(accountNumber);
+        if (node == null) {
+            return null;
+        }
+        Account value = node.value;
+        if (isExpired(node)) {
+            lock.lock();
+            try {
+                if (data.get(accountNumber) == node && isExpired(node)) {
+                    remove(node);
+                }
+            } finally {
+                lock.unlock();
+            }
+            return null;
+        }
+        if (lock.tryLock()) {
+            try {
+                if (data.get(accountNumber) == node) {
+                    onAccess(node);
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+        return copy(value);
+    }
+
+    /**
+     * 저장소에서 읽은 계좌를 넣는다. 이미 있으면 (그 사이 저장으로 갱신된 값일 수 있으므로) 덮어쓰지 않는다.
+     */
+    void putIfAbsent(Account account) {
+        put(account, false);
+    }
+
+    /**
+     * 저장된 계좌를 반영한다. 캐시에 더 높은 버전이 이미 있으면 무시한다. (버전 0 = 버전 없는 저장소는 항상 덮어씀)
+     */
+    void putIfNewer(Account account) {
+        put(account, true);
+    }
+
+    void invalidate(String accountNumber) {
+        lock.lock();
+        try {
+            Node node = data.get(accountNumber);
+            if (node != null) {
+                remove(node);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    long size() {
+        return data.size();
+    }
+
+    private void put(Account account, boolean replace) {
+        Account snapshot = copy(account);
+        lock.lock();
+        try {
+            Node node = data.get(snapshot.getAccountNumber());
+            if (node != null && !isExpired(node)) {
+                if (!replace || (node.value.getVersion() > snapshot.getVersion() && snapshot.getVersion() > 0)) {
+                    return;
+                }
+                node.value = snapshot;
+                node.writtenAt = nanoTime.getAsLong();
+                onAccess(node);
+                return;
+            }
+            if (node != null) {
+                remove(node);
+            }
+            node = new Node(snapshot, nanoTime.getAsLong());
+            data.put(snapshot.getAccountNumber(), node);
+            increment(snapshot.getAccountNumber());
+            node.queue = WINDOW;
+            node.linkLast(window);
+            windowSize++;
+            evict();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // --- 잠금 안에서만 호출 ---
+
+    private void onAccess(Node node) {
+        increment(node.value.getAccountNumber());
+        switch (node.queue) {
+            case WINDOW -> node.moveToLast(window);
+            case PROBATION -> {
+                // probation 에서 다시 조회되면 protected 로 승격, 넘치면 protected 의 가장 오래된 계좌를 probation 으로 강등
+                node.unlink();
+                probationSize--;
+                node.queue = PROTECTED;
+                node.linkLast(protectedQueue);
+                protectedSize++;
+                while (protectedSize > protectedMaximum) {
+                    Node demoted = protectedQueue.next;
+                    demoted.unlink();
+                    protectedSize--;
+                    demoted.queue = PROBATION;
+                    demoted.linkLast(probation);
+                    probationSize++;
+                }
+            }
+            default -> node.moveToLast(protectedQueue);
+        }
+    }
+
+    private void evict() {
+        // window 에서 밀려난 계좌는 probation 의 최근 쪽(후보)으로 옮긴다.
+        while (windowSize > windowMaximum) {
+            Node candidate = window.next;
+            candidate.unlink();
+            windowSize--;
+            candidate.queue = PROBATION;
+            candidate.linkLast(probation);
+            probationSize++;
+        }
+        // 전체가 넘치면 후보(probation 최근)와 희생자(probation 가장 오래된) 중 빈도가 낮은 쪽을 내보낸다.
+        while (windowSize + probationSize + protectedSize > maximumSize) {
+            Node victim = probation.next;
+            Node candidate = probation.prev;
+            if (victim == probation) {
+                evicted(protectedQueue.next);
+            } else if (victim == candidate || frequency(candidate) <= frequency(victim)) {
+                evicted(candidate);
+            } else {
+                evicted(victim);
+            }
+        }
+    }
+
+    private void evicted(Node node) {
+        remove(node);
+        onEviction.accept(node.value);
+    }
+
+    private void remove(Node node) {
+        data.remove(node.value.getAccountNumber(), node);
+        node.unlink();
+        switch (node.queue) {
+            case WINDOW -> windowSize--;
+            case PROBATION -> probationSize--;
+            default -> protectedSize--;
+        }
+    }
+
+    private boolean isExpired(Node node) {
+        return expireAfterWriteNanos > 0 && nanoTime.getAsLong() - node.writtenAt >= expireAfterWriteNanos;
+    }
+
+    private int frequency(Node node) {
+        int hash = spread(node.value.getAccountNumber().hashCode());
+        int min = 15;
+        for (int i = 0; i < 4; i++) {
+            int h = rehash(hash, i);
+            min = Math.min(min, (int) ((sketch[h & sketchMask] >>> counterOffset(h)) & 0xF));
+        }
+        return min;
+    }
+
+    private void increment(String accountNumber) {
+        int hash = spread(accountNumber.hashCode());
+        boolean added = false;
+        for (int i = 0; i < 4; i++) {
+            int h = rehash(hash, i);
+            int index = h & sketchMask;
+            int offset = counterOffset(h);
+            if (((sketch[index] >>> offset) & 0xF) < 15) {
+                sketch[index] += 1L << offset;
+                added = true;
+            }
+        }
+        if (added && ++additions >= sampleSize) {
+            // 오래된 빈도가 계속 남지 않도록 모든 카운터를 절반으로
+            for (int i = 0; i < sketch.length; i++) {
+                sketch[i] = (sketch[i] >>> 1) & 0x7777_7777_7777_7777L;
+            }
+            additions /= 2;
+        }
+    }
+
+    private static int spread(int hash) {
+        hash = ((hash >>> 16) ^ hash) * 0x45d9f3b;
+        return (hash >>> 16) ^ hash;
+    }
+
+    private static int rehash(int hash, int i) {
+        long h = (hash + (long) i * 0x9E3779B9L) * 0xBF58476D1CE4E5B9L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    // 배열 인덱스와 겹치지 않도록 상위 비트로 long 안의 카운터(16개 중 하나) 위치를 고른다.
+    private static int counterOffset(int h) {
+        return (h >>> 28) << 2;
+    }
+
+    static Account copy(Account account) {
+        return Account.of(account.getAccountNumber(), account.getName(), account.getBalance(), account.getVersion());
+    }
+
+    /**
+     * 이중 연결 리스트 노드. 각 큐는 sentinel 노드 하나로 시작과 끝을 표시한다. (next = 가장 오래된 쪽)
+     */
+    private static final class Node {
+        volatile Account value;
+        volatile long writtenAt;
+        int queue;
+        Node prev;
+        Node next;
+
+        Node(Account value, long writtenAt) {
+            this.value = value;
+            this.writtenAt = writtenAt;
+        }
+
+        static Node sentinel() {
+            Node node = new Node(null, 0L);
+            node.prev = node;
+            node.next = node;
+            return node;
+        }
+
+        void linkLast(Node head) {
+            prev = head.prev;
+            next = head;
+            head.prev.next = this;
+            head.prev = this;
+        }
+
+        void unlink() {
+            prev.next = next;
+            next.prev = prev;
+            prev = null;
+            next = null;
+        }
+
+        void moveToLast(Node head) {
+            unlink();
+            linkLast(head);
+        }
+    }
+}
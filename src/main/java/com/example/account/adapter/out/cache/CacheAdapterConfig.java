@@ -0,0 +1,46 @@
+package com.example.account.adapter.out.cache;
+
+import com.example.account.application.port.out.LoadAccountPort;
+import com.example.account.application.port.out.MetricsPort;
+import com.example.account.application.port.out.SaveAccountPort;
+import com.example.account.application.port.out.UpdateBalancePort;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import java.time.Duration;
+
+/**
+ * account.cache.enabled=true 일 때 프로파일의 저장 어댑터를 캐시 데코레이터로 감싼다. (프로파일마다 yaml 에서 켬)
+ *
+ * 데코레이터를 @Primary 로 등록하므로 서비스의 LoadAccountPort/SaveAccountPort 주입은 데코레이터로 간다.
+ * 데코레이터 자신을 만드는 팩토리 메서드에 주입되는 LoadAccountPort 는 (자기 자신은 후보에서 빠지므로) 원래 저장 어댑터다.
+ * ListAccountsPort 는 감싸지 않는다. (목록/내보내기는 저장소에서 바로 읽음)
+ */
+@Configuration
+@ConditionalOnProperty(name = "account.cache.enabled", havingValue = "true")
+class CacheAdapterConfig {
+
+    /**
+     * account.cache.maximum-size : 캐시에 담을 최대 계좌 수
+     * account.cache.expire-after-write : 저장 후 이 시간이 지나면 저장소에서 다시 읽음 (0 이면 만료 없음)
+     */
+    @Bean
+    @Primary
+    CachingAccountPersistenceAdapter cachingAccountPersistenceAdapter(
+            LoadAccountPort loadAccountPort,
+            SaveAccountPort saveAccountPort,
+            MetricsPort metricsPort,
+            @Value("${account.cache.maximum-size:10000}") long maximumSize,
+            @Value("${account.cache.expire-after-write:0}") Duration expireAfterWrite
+    ) {
+        if (saveAccountPort instanceof UpdateBalancePort updateBalancePort) {
+            return new CachingBalanceAccountPersistenceAdapter(loadAccountPort, saveAccountPort, updateBalancePort,
+                    metricsPort, maximumSize, expireAfterWrite.toNanos());
+        }
+        return new CachingAccountPersistenceAdapter(loadAccountPort, saveAccountPort,
+                metricsPort, maximumSize, expireAfterWrite.toNanos());
+    }
+}
@@ -0,0 +1,175 @@
+package com.example.account.adapter.out.cache;
+
+import com.example.account.application.port.out.LoadAccountPort;
+import com.example.account.application.port.out.MetricsPort;
+import com.example.account.application.port.out.SaveAccountPort;
+import com.example.account.domain.model.Account;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 어떤 저장 어댑터든 감쌀 수 있는 read-through / write-through 캐시 데코레이터.
+ *
+ * - load : 캐시에 있으면 저장소를 거치지 않고, 없으면 저장소에서 읽어 캐시에 넣는다.
+ * - save : 저장소에 먼저 저장하고, 성공한 값(새 버전)으로 캐시를 갱신한다. 저장이 실패하면 해당 계좌를 캐시에서 뺀다.
+ *   트랜잭션 안이면 커밋된 뒤에 캐시를 갱신한다. (롤백된 잔액이 캐시에 남지 않도록 저장 시점에는 먼저 지워 둔다)
+ * - 없는 계좌(AccountNotFoundException)는 캐시하지 않는다.
+ *
+ * 메트릭: account.cache.requests(result=hit|miss), account.cache.hit.ratio, account.cache.evictions,
+ *        account.cache.size, account.cache.load (저장소 조회 시간)
+ */
+class CachingAccountPersistenceAdapter implements LoadAccountPort, SaveAccountPort {
+
+    private final LoadAccountPort loadDelegate;
+    private final SaveAccountPort saveDelegate;
+    private final MetricsPort metrics;
+    private final AccountCache cache;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    CachingAccountPersistenceAdapter(LoadAccountPort loadDelegate, SaveAccountPort saveDelegate, MetricsPort metrics,
+                                     long maximumSize, long expireAfterWriteNanos) {
+        this.loadDelegate = loadDelegate;
+        this.saveDelegate = saveDelegate;
+        this.metrics = metrics;
+        this.cache = new AccountCache(maximumSize, expireAfterWriteNanos,
+                evicted -> metrics.increment("account.cache.evictions"));
+
+        metrics.gauge("account.cache.size", cache::size);
+        metrics.gauge("account.cache.hit.ratio", this::hitRatio);
+    }
+
+    @Override
+    public Account load(String accountNumber) {
+        Account cached = cache.get(accountNumber);
+        if (cached != null) {
+            hit();
+            return cached;
+        }
+        miss();
+        long start = System.nanoTime();
+        Account account = loadDelegate.load(accountNumber);
+        metrics.recordNanos("account.cache.load", System.nanoTime() - start);
+        cache.putIfAbsent(account);
+        return account;
+    }
+
+    /**
+     * 캐시에 있으면 캐시의 버전, 없으면 저장소에서 버전만 읽는다. (계좌 전체를 읽지 않으므로 캐시에 넣지 않음)
+     */
+    @Override
+    public long loadVersion(String accountNumber) {
+        Account cached = cache.get(accountNumber);
+        if (cached != null) {
+            hit();
+            return cached.getVersion();
+        }
+        miss();
+        return loadDelegate.loadVersion(accountNumber);
+    }
+
+    /**
+     * 캐시에 없는 계좌만 모아 저장소의 loadAll 한 번으로 읽는다.
+     */
+    @Override
+    public List<Account> loadAll(Collection<String> accountNumbers) {
+        List<Account> accounts = new ArrayList<>(accountNumbers.size());
+        List<String> missing = new ArrayList<>();
+        for (String accountNumber : accountNumbers) {
+            Account cached = cache.get(accountNumber);
+            if (cached != null) {
+                hit();
+                accounts.add(cached);
+            } else {
+                miss();
+                missing.add(accountNumber);
+            }
+        }
+        if (!missing.isEmpty()) {
+            long start = System.nanoTime();
+            List<Account> loaded = loadDelegate.loadAll(missing);
+            metrics.recordNanos("account.cache.load", System.nanoTime() - start);
+            for (Account account : loaded) {
+                cache.putIfAbsent(account);
+            }
+            accounts.addAll(loaded);
+        }
+        return accounts;
+    }
+
+    @Override
+    public void save(Account account) {
+        try {
+            saveDelegate.save(account);
+        } catch (RuntimeException e) {
+            cache.invalidate(account.getAccountNumber());
+            throw e;
+        }
+        written(account);
+    }
+
+    @Override
+    public void saveAll(Collection<Account> accounts) {
+        try {
+            saveDelegate.saveAll(accounts);
+        } catch (RuntimeException e) {
+            // 일부만 저장됐을 수 있으므로 모두 지운다.
+            for (Account account : accounts) {
+                cache.invalidate(account.getAccountNumber());
+            }
+            throw e;
+        }
+        for (Account account : accounts) {
+            written(account);
+        }
+    }
+
+    /**
+     * 저장소에 반영된 계좌를 캐시에 반영한다.
+     */
+    void written(Account account) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            cache.putIfNewer(account);
+            return;
+        }
+        Account saved = AccountCache.copy(account); // 커밋 전까지 호출자가 바꿔도 영향 없도록
+        String accountNumber = saved.getAccountNumber();
+        cache.invalidate(accountNumber);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    cache.putIfNewer(saved);
+                } else {
+                    cache.invalidate(accountNumber);
+                }
+            }
+        });
+    }
+
+    void invalidate(String accountNumber) {
+        cache.invalidate(accountNumber);
+    }
+
+    private void hit() {
+        hits.increment();
+        metrics.increment("account.cache.requests", "result", "hit");
+    }
+
+    private void miss() {
+        misses.increment();
+        metrics.increment("account.cache.requests", "result", "miss");
+    }
+
+    private double hitRatio() {
+        long hit = hits.sum();
+        long total = hit + misses.sum();
+        return total == 0 ? 0.0 : (double) hit / total;
+    }
+}
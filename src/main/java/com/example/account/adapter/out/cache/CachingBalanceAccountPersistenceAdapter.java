@@ -0,0 +1,37 @@
+package com.example.account.adapter.out.cache;
+
+import com.example.account.application.port.out.LoadAccountPort;
+import com.example.account.application.port.out.MetricsPort;
+import com.example.account.application.port.out.SaveAccountPort;
+import com.example.account.application.port.out.UpdateBalancePort;
+import com.example.account.domain.model.Account;
+
+/**
+ * 감싼 저장 어댑터가 UpdateBalancePort 를 구현할 때 쓰는 캐시 데코레이터.
+ * (AccountService 는 저장 어댑터가 UpdateBalancePort 인지로 원자적 증감 사용 여부를 정하므로, 캐시가 이를 가리지 않도록 함)
+ * 증감 결과로 돌아온 계좌로 캐시를 갱신한다.
+ */
+class CachingBalanceAccountPersistenceAdapter extends CachingAccountPersistenceAdapter implements UpdateBalancePort {
+
+    private final UpdateBalancePort updateDelegate;
+
+    CachingBalanceAccountPersistenceAdapter(LoadAccountPort loadDelegate, SaveAccountPort saveDelegate,
+                                            UpdateBalancePort updateDelegate, MetricsPort metrics,
+                                            long maximumSize, long expireAfterWriteNanos) {
+        super(loadDelegate, saveDelegate, metrics, maximumSize, expireAfterWriteNanos);
+        this.updateDelegate = updateDelegate;
+    }
+
+    @Override
+    public Account addBalance(String accountNumber, long delta) {
+        Account account;
+        try {
+            account = updateDelegate.addBalance(accountNumber, delta);
+        } catch (RuntimeException e) {
+            invalidate(accountNumber);
+            throw e;
+        }
+        written(account);
+        return account;
+    }
+}
@@ -0,0 +1,120 @@
+package com.example.account.adapter.out.file;
+
+import com.example.account.domain.model.Account;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * text 형식 계좌 파일({계좌번호}.txt)을 binary 형식({계좌번호}.acc)으로 한 번에 변환하는 마이그레이터.
+ *
+ * - 디렉터리를 DirectoryStream 으로 흘려 읽으므로 파일 목록 전체를 메모리에 올리지 않는다.
+ * - 변환은 parallelism 개 스레드가 나눠서 수행하고, 대기 작업 수를 제한해 목록을 읽는 쪽이 앞서 나가지 않게 한다.
+ * - 파일마다 .tmp 에 쓰고 rename 하므로 중간에 중단돼도 다시 실행하면 이어서 변환된다.
+ */
+class AccountFileMigrator {
+
+    private static final Logger log = LoggerFactory.getLogger(AccountFileMigrator.class);
+
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    private final Path directory;
+    private final int parallelism;
+    private final boolean deleteSource;
+
+    /**
+     * @param deleteSource true 면 변환이 끝난 .txt 파일을 삭제한다.
+     */
+    AccountFileMigrator(Path directory, int parallelism, boolean deleteSource) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("parallelism must be positive");
+        }
+        this.directory = directory;
+        this.parallelism = parallelism;
+        this.deleteSource = deleteSource;
+    }
+
+    /**
+     * @return 변환한 계좌 수
+     * @throws IllegalStateException 변환에 실패한 파일이 있는 경우 (실패한 .txt 는 그대로 남는다)
+     */
+    long migrate() {
+        if (!Files.isDirectory(directory)) {
+            return 0;
+        }
+        ExecutorService pool = Executors.newFixedThreadPool(parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "account-file-migrator");
+            thread.setDaemon(true);
+            return thread;
+        });
+        Semaphore inFlight = new Semaphore(parallelism * 4);
+        AtomicLong migrated = new AtomicLong();
+        AtomicLong failed = new AtomicLong();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "*" + FileAccountPersistenceAdapter.TEXT_EXTENSION)) {
+            for (Path source : stream) {
+                inFlight.acquire();
+                pool.execute(() -> {
+                    try {
+                        migrateFile(source);
+                        migrated.incrementAndGet();
+                    } catch (IOException | RuntimeException e) {
+                        failed.incrementAndGet();
+                        log.warn("Failed to migrate account file: {}", source, e);
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to list account files: " + directory, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Account file migration interrupted", e);
+        } finally {
+            pool.shutdown();
+            awaitTermination(pool);
+        }
+
+        if (failed.get() > 0) {
+            throw new IllegalStateException("Failed to migrate " + failed.get() + " account files in " + directory);
+        }
+        log.info("Migrated {} account files to binary format in {}", migrated.get(), directory);
+        return migrated.get();
+    }
+
+    private Account migrateFile(Path source) throws IOException {
+        String fileName = source.getFileName().toString();
+        String accountNumber = fileName.substring(0, fileName.length() - FileAccountPersistenceAdapter.TEXT_EXTENSION.length());
+        Account account = FileAccountPersistenceAdapter.parseText(accountNumber, Files.readString(source));
+
+        Path target = directory.resolve(accountNumber + FileAccountPersistenceAdapter.BINARY_EXTENSION);
+        Path temp = directory.resolve(target.getFileName() + TEMP_SUFFIX);
+        Files.write(temp, AccountRecordCodec.encode(account));
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        if (deleteSource) {
+            Files.delete(source);
+        }
+        return account;
+    }
+
+    private static void awaitTermination(ExecutorService pool) {
+        try {
+            while (!pool.awaitTermination(1, TimeUnit.MINUTES)) {
+                log.info("Waiting for account file migration to finish");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
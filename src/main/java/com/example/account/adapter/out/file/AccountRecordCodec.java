@@ -0,0 +1,103 @@
+package com.example.account.adapter.out.file;
+
+import com.example.account.domain.model.Account;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.CRC32;
+
+/**
+ * 파일 어댑터(계좌 파일, journal 세그먼트, 스냅샷)가 함께 쓰는 계좌 레코드 바이너리 형식.
+ *
+ * v2: [형식 버전 byte][계좌번호 길이 u16][계좌번호 UTF-8][이름 길이 u16][이름 UTF-8][잔액 long][계좌 버전 long][CRC32 int]
+ * v1: 계좌 버전 필드가 없음 (읽으면 계좌 버전 0 = 버전 확인 없이 저장)
+ *
+ * - 문자열은 항상 UTF-8 (플랫폼 기본 charset 에 의존하지 않음)
+ * - 잔액은 고정 8바이트라 파싱이 필요 없음
+ * - CRC32 는 형식 버전부터 CRC 직전까지를 덮는다. 기록 도중 잘린 레코드나 손상된 레코드를 걸러내는 용도
+ * - 형식이 바뀌면 VERSION 을 올리고 decode 에서 이전 버전도 계속 읽을 수 있게 한다.
+ */
+final class AccountRecordCodec {
+
+    static final byte VERSION = 2;
+    private static final byte VERSION_1 = 1;
+    static final int MAX_FIELD_BYTES = 0xFFFF;
+
+    private static final int CHECKSUM_SIZE = Integer.BYTES;
+    // 가장 작은 레코드 (v1, 빈 계좌번호/이름)
+    static final int MIN_RECORD_SIZE = 1 + 2 + 2 + Long.BYTES + CHECKSUM_SIZE;
+
+    private AccountRecordCodec() {
+    }
+
+    static byte[] encode(Account account) {
+        byte[] accountNumber = account.getAccountNumber().getBytes(StandardCharsets.UTF_8);
+        byte[] name = account.getName().getBytes(StandardCharsets.UTF_8);
+        if (accountNumber.length > MAX_FIELD_BYTES || name.length > MAX_FIELD_BYTES) {
+            throw new IllegalArgumentException("Account number or name is too long");
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(MIN_RECORD_SIZE + Long.BYTES + accountNumber.length + name.length);
+        buffer.put(VERSION)
+                .putShort((short) accountNumber.length).put(accountNumber)
+                .putShort((short) name.length).put(name)
+                .putLong(account.getBalance())
+                .putLong(account.getVersion());
+        buffer.putInt(checksum(buffer.array(), 0, buffer.position()));
+        return buffer.array();
+    }
+
+    static Account decode(byte[] record) {
+        return decode(ByteBuffer.wrap(record));
+    }
+
+    /**
+     * record 의 position ~ limit 이 레코드 하나여야 한다. (record 의 position 은 바뀌지 않음)
+     *
+     * @throws IllegalArgumentException 체크섬이 맞지 않거나 알 수 없는 버전인 경우
+     */
+    static Account decode(ByteBuffer record) {
+        if (!isIntact(record)) {
+            throw new IllegalArgumentException("Corrupted account record");
+        }
+        ByteBuffer buffer = record.duplicate();
+        byte format = buffer.get();
+        if (format != VERSION && format != VERSION_1) {
+            throw new IllegalArgumentException("Unsupported account record version: " + format);
+        }
+        String accountNumber = readString(buffer);
+        String name = readString(buffer);
+        long balance = buffer.getLong();
+        long version = format == VERSION ? buffer.getLong() : 0L;
+        return Account.of(accountNumber, name, balance, version);
+    }
+
+    /**
+     * 길이가 최소 크기 이상이고 마지막 4바이트 CRC32 가 앞부분과 일치하는지 확인한다.
+     */
+    static boolean isIntact(ByteBuffer record) {
+        int length = record.remaining();
+        if (length < MIN_RECORD_SIZE) {
+            return false;
+        }
+        int expected = record.getInt(record.limit() - CHECKSUM_SIZE);
+        CRC32 crc = new CRC32();
+        crc.update(record.duplicate().limit(record.limit() - CHECKSUM_SIZE));
+        return (int) crc.getValue() == expected;
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        int length = Short.toUnsignedInt(buffer.getShort());
+        if (length > buffer.remaining() - Long.BYTES - CHECKSUM_SIZE) {
+            throw new IllegalArgumentException("Corrupted account record");
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static int checksum(byte[] bytes, int offset, int length) {
+        CRC32 crc = new CRC32();
+        crc.update(bytes, offset, length);
+        return (int) crc.getValue();
+    }
+}
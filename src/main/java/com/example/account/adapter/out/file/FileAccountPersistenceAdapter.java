@@ -1,32 +1,71 @@
 package com.example.account.adapter.out.file;
 
+import com.example.account.application.port.out.ListAccountsPort;
 import com.example.account.application.port.out.LoadAccountPort;
 import com.example.account.application.port.out.SaveAccountPort;
 import com.example.account.domain.exception.AccountNotFoundException;
 import com.example.account.domain.model.Account;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.*;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.function.Consumer;
 
-public class FileAccountPersistenceAdapter implements LoadAccountPort, SaveAccountPort {
+/**
+ * 계좌당 파일 하나를 쓰는 파일 어댑터.
+ *
+ * - text   : {계좌번호}.txt = 이름 + "\n" + 잔액 (UTF-8)
+ * - binary : {계좌번호}.acc = AccountRecordCodec 레코드 (버전 + 체크섬 포함)
+ *
+ * 기존 text 디렉터리는 AccountFileMigrator 로 binary 로 한 번에 변환할 수 있다.
+ *
+ * 목록 조회는 디렉터리를 한 번 훑으며 after 다음의 파일명 limit 개만 정렬된 상태로 유지하고, 그 파일만 읽는다.
+ *
+ * slot(SubBalancePort): {계좌번호}.slots = slot 수 (text), {계좌번호}.slot{번호} = slot 잔액 (8 byte long)
+ * 잠금과 slot 연산은 StripedSlotStore 가 맡는다.
+ * slot / slot 수 파일은 .tmp 에 쓴 뒤 rename 해서, 쓰는 중에 죽어도 잘린 파일 대신 이전 값이 남게 한다.
+ */
+public class FileAccountPersistenceAdapter extends StripedSlotStore implements LoadAccountPort, SaveAccountPort, ListAccountsPort {
+
+    static final String TEXT_EXTENSION = ".txt";
+    static final String BINARY_EXTENSION = ".acc";
+    static final String SLOT_COUNT_EXTENSION = ".slots";
+    static final String SLOT_EXTENSION = ".slot";
+    private static final String TEMP_SUFFIX = ".tmp";
 
     private final Path basePath;
+    private final boolean binary;
 
     public FileAccountPersistenceAdapter(Path basePath) {
+        this(basePath, false);
+    }
+
+    /**
+     * @param binary true 면 AccountRecordCodec 형식(.acc)으로 읽고 쓴다.
+     */
+    public FileAccountPersistenceAdapter(Path basePath, boolean binary) {
         this.basePath = basePath;
+        this.binary = binary;
     }
 
     @Override
     public Account load(String accountNumber) {
-        Path filePath = basePath.resolve(accountNumber + ".txt");
+        if (binary) {
+            return loadBinary(accountNumber);
+        }
+        Path filePath = basePath.resolve(accountNumber + TEXT_EXTENSION);
         try {
             if (!Files.exists(filePath)) {
-                throw new AccountNotFoundException("Account not found");
+                throw new AccountNotFoundException(accountNumber);
             }
-            String[] lines = Files.readAllLines(filePath).toArray(new String[0]);
-            String name = lines[0];
-            long balance = Long.parseLong(lines[1]);
-            return Account.of(accountNumber, name, balance);
+            return parseText(accountNumber, Files.readString(filePath));
         } catch (IOException e) {
             throw new RuntimeException("Failed to load account", e);
         }
@@ -34,15 +73,180 @@ public class FileAccountPersistenceAdapter implements LoadAccountPort, SaveAccou
 
     @Override
     public void save(Account account) {
-        Path filePath = basePath.resolve(account.getAccountNumber() + ".txt");
+        String fileName = account.getAccountNumber() + (binary ? BINARY_EXTENSION : TEXT_EXTENSION);
+        byte[] content = binary
+                ? AccountRecordCodec.encode(account)
+                : (account.getName() + "\n" + account.getBalance()).getBytes(StandardCharsets.UTF_8);
         try {
             Files.createDirectories(basePath);
-            Files.write(filePath, (account.getName() + "\n" + account.getBalance()).getBytes());
+            Files.write(basePath.resolve(fileName), content);
         } catch (IOException e) {
             throw new RuntimeException("Failed to save account", e);
         }
     }
 
+    @Override
+    public List<Account> listAccounts(String after, int limit) {
+        // 디렉터리 전체를 정렬하지 않고 after 보다 큰 계좌번호 중 가장 작은 limit 개만 유지
+        TreeSet<String> page = new TreeSet<>();
+        try (DirectoryStream<Path> stream = newAccountFileStream()) {
+            for (Path file : stream) {
+                String accountNumber = accountNumberOf(file);
+                if (after != null && accountNumber.compareTo(after) <= 0) {
+                    continue;
+                }
+                if (page.size() < limit) {
+                    page.add(accountNumber);
+                } else if (accountNumber.compareTo(page.last()) < 0) {
+                    page.add(accountNumber);
+                    page.pollLast();
+                }
+            }
+        } catch (NoSuchFileException e) {
+            return List.of();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to list accounts", e);
+        }
+        List<Account> accounts = new ArrayList<>(page.size());
+        for (String accountNumber : page) {
+            accounts.add(load(accountNumber));
+        }
+        return accounts;
+    }
+
+    /**
+     * 디렉터리 순서대로 읽는다. (계좌번호 순서 아님)
+     */
+    @Override
+    public void streamAccounts(Consumer<Account> consumer) {
+        try (DirectoryStream<Path> stream = newAccountFileStream()) {
+            for (Path file : stream) {
+                consumer.accept(load(accountNumberOf(file)));
+            }
+        } catch (NoSuchFileException e) {
+            // 아직 저장된 계좌가 없음
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to list accounts", e);
+        }
+    }
+
+    @Override
+    public Map<String, Integer> loadSlotCounts() {
+        Map<String, Integer> counts = new HashMap<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(basePath, "*" + SLOT_COUNT_EXTENSION)) {
+            for (Path file : stream) {
+                String fileName = file.getFileName().toString();
+                counts.put(fileName.substring(0, fileName.length() - SLOT_COUNT_EXTENSION.length()),
+                        Integer.parseInt(Files.readString(file).strip()));
+            }
+        } catch (NoSuchFileException e) {
+            return Map.of();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to list split accounts", e);
+        }
+        return counts;
+    }
+
+    @Override
+    boolean accountExists(String accountNumber) {
+        return Files.exists(basePath.resolve(accountNumber + extension()));
+    }
+
+    @Override
+    void writeSlotCount(String accountNumber, int slotCount) {
+        try {
+            writeAtomically(basePath.resolve(accountNumber + SLOT_COUNT_EXTENSION),
+                    Integer.toString(slotCount).getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to save slot count", e);
+        }
+    }
+
+    @Override
+    int slotCountOf(String accountNumber) {
+        try {
+            return Integer.parseInt(Files.readString(basePath.resolve(accountNumber + SLOT_COUNT_EXTENSION)).strip());
+        } catch (NoSuchFileException e) {
+            return 0;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to load slot count", e);
+        }
+    }
+
+    @Override
+    long readSlot(String accountNumber, int slot) {
+        try {
+            return ByteBuffer.wrap(Files.readAllBytes(slotPath(accountNumber, slot))).getLong();
+        } catch (NoSuchFileException e) {
+            throw new IllegalStateException("Slot " + slot + " not found for account " + accountNumber);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to load slot", e);
+        }
+    }
+
+    @Override
+    void writeSlot(String accountNumber, int slot, long balance) {
+        try {
+            writeAtomically(slotPath(accountNumber, slot), ByteBuffer.allocate(Long.BYTES).putLong(balance).array());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to save slot", e);
+        }
+    }
+
+    /**
+     * 같은 파일은 한 번에 한 스레드만 쓴다. (slot 은 stripe 잠금, slot 수는 slotCountLock 안에서)
+     */
+    private static void writeAtomically(Path target, byte[] content) throws IOException {
+        Path temp = target.resolveSibling(target.getFileName() + TEMP_SUFFIX);
+        Files.write(temp, content);
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private Path slotPath(String accountNumber, int slot) {
+        return basePath.resolve(accountNumber + SLOT_EXTENSION + slot);
+    }
+
+    private DirectoryStream<Path> newAccountFileStream() throws IOException {
+        return Files.newDirectoryStream(basePath, "*" + extension());
+    }
+
+    private String accountNumberOf(Path file) {
+        String fileName = file.getFileName().toString();
+        return fileName.substring(0, fileName.length() - extension().length());
+    }
+
+    private String extension() {
+        return binary ? BINARY_EXTENSION : TEXT_EXTENSION;
+    }
+
+    private Account loadBinary(String accountNumber) {
+        try {
+            // 존재 확인(Files.exists)을 따로 하지 않고 읽기 실패로 판단한다.
+            return AccountRecordCodec.decode(Files.readAllBytes(basePath.resolve(accountNumber + BINARY_EXTENSION)));
+        } catch (NoSuchFileException e) {
+            throw new AccountNotFoundException(accountNumber);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to load account", e);
+        }
+    }
+
+    /**
+     * text 형식 (이름 + "\n" + 잔액) 파싱. 줄 목록/배열을 만들지 않고 마지막 줄바꿈 위치로 나눈다.
+     */
+    static Account parseText(String accountNumber, String content) {
+        String trimmed = content.stripTrailing();
+        int newline = trimmed.lastIndexOf('\n');
+        if (newline < 0) {
+            throw new IllegalArgumentException("Invalid account file: " + accountNumber);
+        }
+        String name = trimmed.substring(0, newline);
+        if (name.endsWith("\r")) {
+            name = name.substring(0, name.length() - 1);
+        }
+        long balance = Long.parseLong(trimmed, newline + 1, trimmed.length(), 10);
+        return Account.of(accountNumber, name, balance);
+    }
+
     /**
      * 테스트 코스에서 반복 테스트가 가능하도록 기존 테스트 파일을 정리할 수 있도록 Path 정보 제공
       */
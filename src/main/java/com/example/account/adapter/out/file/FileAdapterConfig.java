@@ -1,7 +1,9 @@
 // src/main/java/com/example/account/adapter/out/file/FileAdapterConfig.java
 package com.example.account.adapter.out.file;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationRunner;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
@@ -10,6 +12,7 @@ import org.springframework.context.annotation.Profile;
 
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.time.Duration;
 
 /**
  * 파일 어댑터만 빈으로 노출합니다.
@@ -42,9 +45,55 @@ class FileAdapterConfig {
         return Paths.get(storagePath);
     }
 
+    /**
+     * account.storage.engine=text (기본값) : 계좌당 파일 하나
+     * account.storage.format=text (기본값, 이름/잔액 두 줄) | binary (AccountRecordCodec 레코드)
+     */
     @Bean
     @ConditionalOnMissingBean(FileAccountPersistenceAdapter.class)
-    public FileAccountPersistenceAdapter fileAccountPersistenceAdapter(Path accountsBasePath) {
-        return new FileAccountPersistenceAdapter(accountsBasePath);
+    @ConditionalOnProperty(name = "account.storage.engine", havingValue = "text", matchIfMissing = true)
+    public FileAccountPersistenceAdapter fileAccountPersistenceAdapter(
+            Path accountsBasePath,
+            @Value("${account.storage.format:text}") String format
+    ) {
+        return new FileAccountPersistenceAdapter(accountsBasePath, "binary".equals(format));
+    }
+
+    /**
+     * account.storage.migration.enabled=true : 기동 시 기존 .txt 계좌 파일을 binary(.acc)로 한 번 변환
+     * (변환 후에는 account.storage.format=binary 로 실행)
+     */
+    @Bean
+    @ConditionalOnProperty(name = "account.storage.migration.enabled", havingValue = "true")
+    ApplicationRunner accountFileMigrationRunner(
+            Path accountsBasePath,
+            @Value("${account.storage.migration.parallelism:4}") int parallelism,
+            @Value("${account.storage.migration.delete-source:false}") boolean deleteSource
+    ) {
+        return args -> new AccountFileMigrator(accountsBasePath, parallelism, deleteSource).migrate();
+    }
+
+    /**
+     * account.storage.engine=journal : 세그먼트 파일에 append + 메모리 인덱스
+     * account.storage.durability=group 이면 save 를 배치로 모아 fsync 한 뒤 반환 (none 이면 fsync 없음)
+     * account.storage.snapshot-interval 마다 스냅샷을 만들고 스냅샷이 덮는 세그먼트를 삭제
+     */
+    @Bean
+    @ConditionalOnMissingBean(JournalAccountPersistenceAdapter.class)
+    @ConditionalOnProperty(name = "account.storage.engine", havingValue = "journal")
+    JournalAccountPersistenceAdapter journalAccountPersistenceAdapter(
+            Path accountsBasePath,
+            @Value("${account.storage.segment-size:67108864}") long segmentSize,
+            @Value("${account.storage.durability:none}") String durability,
+            @Value("${account.storage.flush-interval:2ms}") Duration flushInterval,
+            @Value("${account.storage.max-batch-size:512}") int maxBatchSize,
+            @Value("${account.storage.snapshot-interval:0}") Duration snapshotInterval,
+            MeterRegistry meterRegistry
+    ) {
+        Path directory = accountsBasePath.resolve("journal");
+        boolean group = "group".equals(durability);
+        return new JournalAccountPersistenceAdapter(directory, segmentSize,
+                group ? flushInterval : null, maxBatchSize, meterRegistry)
+                .scheduleSnapshots(snapshotInterval);
     }
 }
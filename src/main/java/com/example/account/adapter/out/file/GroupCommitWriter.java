@@ -0,0 +1,167 @@
+package com.example.account.adapter.out.file;
+
+import com.example.account.domain.model.Account;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * 동시에 들어온 save 요청을 모아 한 번에 기록하고 fsync 도 배치당 한 번만 수행하는 group commit 기록기.
+ *
+ * - 호출 스레드는 자신의 요청이 포함된 배치가 디스크에 반영(fsync)될 때까지 대기한다.
+ * - 배치는 maxBatchSize 개가 모이거나, 첫 요청 이후 flushInterval 이 지나면 기록된다.
+ *   (flushInterval 이 0이면 기다리지 않고, 직전 fsync 동안 쌓인 요청만 함께 기록한다.)
+ * - close() 는 기록 스레드를 interrupt 하지 않는다. 기록 중에 interrupt 되면 FileChannel 이 닫혀 버리므로,
+ *   running 을 내리고 대기열이 빌 때까지 기다린다. 제한 시간 안에 끝나지 않으면 남은 요청은 실패시킨다.
+ */
+class GroupCommitWriter implements AutoCloseable {
+
+    static final Duration CLOSE_TIMEOUT = Duration.ofSeconds(10);
+    private static final long IDLE_POLL_MILLIS = 100;
+
+    private final Function<List<Account>, RuntimeException[]> batchWriter;
+    private final long flushIntervalNanos;
+    private final int maxBatchSize;
+    private final BlockingQueue<PendingSave> queue = new LinkedBlockingQueue<>();
+    private final Thread flusher;
+    private volatile boolean running = true;
+
+    /**
+     * @param batchWriter 계좌 목록을 기록하고 fsync 까지 끝낸 뒤 반환해야 한다.
+     *                    계좌별로 거절한 경우(버전 충돌 등) 같은 위치에 예외를 담아 반환한다. (기록된 계좌는 null)
+     */
+    GroupCommitWriter(Function<List<Account>, RuntimeException[]> batchWriter, Duration flushInterval, int maxBatchSize) {
+        if (maxBatchSize <= 0) {
+            throw new IllegalArgumentException("maxBatchSize must be positive");
+        }
+        this.batchWriter = batchWriter;
+        this.flushIntervalNanos = flushInterval.toNanos();
+        this.maxBatchSize = maxBatchSize;
+        this.flusher = new Thread(this::run, "account-group-commit");
+        this.flusher.setDaemon(true);
+        this.flusher.start();
+    }
+
+    /**
+     * 배치가 fsync 될 때까지 대기한다. 기록에 실패하면 원인 예외를 그대로 던진다.
+     */
+    void write(Account account) {
+        if (!running) {
+            throw new IllegalStateException("Group commit writer is closed");
+        }
+        var pending = new PendingSave(account);
+        queue.add(pending);
+        if (!running && queue.remove(pending)) {
+            throw new IllegalStateException("Group commit writer is closed");
+        }
+        try {
+            pending.done.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public void close() {
+        close(CLOSE_TIMEOUT);
+    }
+
+    void close(Duration timeout) {
+        // 기록 스레드는 대기열에 남은 요청까지 기록한 뒤 끝난다.
+        running = false;
+        try {
+            flusher.join(timeout.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // 기록이 멈춰 제한 시간 안에 끝나지 않은 경우: 남은 요청의 호출자가 영원히 기다리지 않도록 실패시킨다.
+        List<PendingSave> rest = new ArrayList<>();
+        queue.drainTo(rest);
+        var closed = new IllegalStateException("Group commit writer is closed");
+        for (PendingSave pending : rest) {
+            pending.done.completeExceptionally(closed);
+        }
+    }
+
+    /**
+     * 기록을 기다리는 요청 수 (테스트용)
+     */
+    int queued() {
+        return queue.size();
+    }
+
+    private void run() {
+        List<PendingSave> batch = new ArrayList<>(maxBatchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingSave first = queue.poll(IDLE_POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + flushIntervalNanos;
+                while (batch.size() < maxBatchSize) {
+                    queue.drainTo(batch, maxBatchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= maxBatchSize || remaining <= 0) {
+                        break;
+                    }
+                    PendingSave next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+            } catch (InterruptedException e) {
+                // close() 는 interrupt 하지 않는다. 모아 둔 배치를 기록하고 running 이 내려갈 때까지 계속한다.
+            }
+            if (!batch.isEmpty()) {
+                flush(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    private void flush(List<PendingSave> batch) {
+        List<Account> accounts = new ArrayList<>(batch.size());
+        for (PendingSave pending : batch) {
+            accounts.add(pending.account);
+        }
+        try {
+            RuntimeException[] rejected = batchWriter.apply(accounts);
+            for (int i = 0; i < batch.size(); i++) {
+                if (rejected[i] == null) {
+                    batch.get(i).done.complete(null);
+                } else {
+                    batch.get(i).done.completeExceptionally(rejected[i]);
+                }
+            }
+        } catch (RuntimeException e) {
+            for (PendingSave pending : batch) {
+                pending.done.completeExceptionally(e);
+            }
+        }
+    }
+
+    /**
+     * 기록 대기 중인 save 요청 (계좌 + 완료 신호)
+     */
+    private static final class PendingSave {
+        private final Account account;
+        private final CompletableFuture<Void> done = new CompletableFuture<>();
+
+        private PendingSave(Account account) {
+            this.account = account;
+        }
+    }
+}
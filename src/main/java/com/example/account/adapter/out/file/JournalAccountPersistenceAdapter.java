@@ -0,0 +1,880 @@
+package com.example.account.adapter.out.file;
+
+import com.example.account.application.port.out.ListAccountsPort;
+import com.example.account.application.port.out.LoadAccountPort;
+import com.example.account.application.port.out.SaveAccountPort;
+import com.example.account.domain.exception.AccountNotFoundException;
+import com.example.account.domain.exception.AccountVersionConflictException;
+import com.example.account.domain.model.Account;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.ObjLongConsumer;
+
+/**
+ * 계좌별 텍스트 파일 대신, 잔액 변경을 세그먼트 파일(journal-00000001.log ...)에 append 하는 파일 어댑터.
+ *
+ * - save : 활성 세그먼트 끝에 레코드를 추가하고, 메모리 인덱스(계좌번호 → 파일/위치)를 갱신
+ * - load : 인덱스로 위치를 찾아 positional read 한 번으로 레코드를 읽음 (Files.exists / 디렉터리 탐색 없음)
+ * - 기동 시 최신 스냅샷을 읽고, 스냅샷 이후의 세그먼트만 순서대로 replay 해서 인덱스를 재구성한다.
+ *   마지막 세그먼트의 깨진 꼬리는 잘라낸다.
+ *
+ * 레코드 형식: [레코드 길이 int][AccountRecordCodec 레코드 (형식 버전, 계좌번호, 이름, 잔액, 계좌 버전, CRC32)]
+ *
+ * 계좌 버전: save 는 append 잠금 안에서 현재 레코드의 버전과 계좌의 버전을 비교하고(0 이면 비교 생략),
+ * 다르면 AccountVersionConflictException 을 던진다. 기록한 새 버전은 Account.markSaved 로 반영한다.
+ *
+ * group commit 을 켜면(account.storage.durability=group) save 는 GroupCommitWriter 를 거쳐
+ * 배치 단위로 기록 + fsync 된 뒤에 반환된다. 끄면 기존 파일 어댑터처럼 fsync 없이 기록만 한다.
+ *
+ * 스냅샷/컴팩션 (snapshot-00000007.snap = 세그먼트 1~7 을 합친 파일)
+ * - 활성 세그먼트를 roll 한 뒤, 봉인된 세그먼트(+이전 스냅샷)에서 아직 최신인 레코드만 스냅샷 파일로 복사한다.
+ * - 복사한 레코드의 인덱스를 스냅샷 위치로 옮기고, 스냅샷을 fsync/rename 한 뒤 봉인된 세그먼트를 삭제한다.
+ * - 스냅샷의 파일 id 는 음수(-cutoff)로 인덱스에 기록해서 세그먼트 id 와 겹치지 않게 한다.
+ *
+ * 인덱스는 계좌번호 순으로 정렬된 ConcurrentSkipListMap 이라, 목록 조회는 after 다음 키부터 limit 개만 걷는다.
+ *
+ * slot(SubBalancePort): 계좌 레코드와 같은 형식의 레코드로 기록한다. (잔액 칸 = 값, 이름 = 빈 문자열)
+ * - {계좌번호}U+0000# = slot 수, {계좌번호}U+0000{번호} = slot 잔액
+ * - 구분자(U+0000)가 든 키는 예약 키라 save 는 거절하고, 조회/목록에서는 없는 계좌로 취급한다.
+ * - 스냅샷/컴팩션/복구는 계좌 레코드와 똑같이 다룬다.
+ */
+class JournalAccountPersistenceAdapter extends StripedSlotStore
+        implements LoadAccountPort, SaveAccountPort, ListAccountsPort, AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(JournalAccountPersistenceAdapter.class);
+
+    static final long DEFAULT_SEGMENT_SIZE = 64L * 1024 * 1024;
+
+    private static final String SEGMENT_PREFIX = "journal-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final String SNAPSHOT_PREFIX = "snapshot-";
+    private static final String SNAPSHOT_SUFFIX = ".snap";
+    private static final String TEMP_SUFFIX = ".tmp";
+    private static final int SNAPSHOT_MAGIC = 0x4143534E; // "ACSN"
+    private static final int SNAPSHOT_FORMAT = 1;
+    private static final int SNAPSHOT_HEADER_SIZE = 16;
+    private static final long MAX_FILE_SIZE = 0xFFFF_FFFFL;
+    private static final char SLOT_SEPARATOR = '\u0000';
+    private static final String SLOT_COUNT_SUFFIX = SLOT_SEPARATOR + "#";
+
+    private static final int HEADER_SIZE = Integer.BYTES;
+    private static final int MAX_PAYLOAD_SIZE = AccountRecordCodec.MIN_RECORD_SIZE + Long.BYTES + 2 * AccountRecordCodec.MAX_FIELD_BYTES;
+    private static final int READ_AHEAD = 256;
+    private static final int SCAN_BUFFER_SIZE = 1024 * 1024;
+
+    private final Path directory;
+    private final long segmentSize;
+
+    // 계좌번호 → (파일 id << 32 | 파일 내 위치), 파일 id: 세그먼트는 양수, 스냅샷은 음수
+    private final ConcurrentNavigableMap<String, Long> index = new ConcurrentSkipListMap<>();
+    private final Map<Integer, FileChannel> files = new ConcurrentHashMap<>();
+
+    // append는 한 번에 하나씩 (I/O 구간이므로 synchronized 대신 ReentrantLock 사용)
+    private final ReentrantLock appendLock = new ReentrantLock();
+    private int activeSegmentId;
+    private FileChannel activeSegment;
+    private long activePosition;
+
+    // 스냅샷은 한 번에 하나만. snapshotCutoff = 최신 스냅샷이 덮는 마지막 세그먼트 id (없으면 0)
+    private final ReentrantLock snapshotLock = new ReentrantLock();
+    private volatile int snapshotCutoff;
+    private ScheduledExecutorService snapshotScheduler;
+
+    private final GroupCommitWriter groupCommitWriter;
+
+    private final Timer snapshotTimer;
+    private final Counter snapshotBytes;
+    private final long recoveryNanos;
+
+    JournalAccountPersistenceAdapter(Path directory) {
+        this(directory, DEFAULT_SEGMENT_SIZE);
+    }
+
+    JournalAccountPersistenceAdapter(Path directory, long segmentSize) {
+        this(directory, segmentSize, null, 0, new SimpleMeterRegistry());
+    }
+
+    /**
+     * group commit 모드: 최대 maxBatchSize 개 또는 flushInterval 동안 모인 save 를 한 번에 기록하고 fsync 한다.
+     */
+    JournalAccountPersistenceAdapter(Path directory, long segmentSize, Duration flushInterval, int maxBatchSize) {
+        this(directory, segmentSize, flushInterval, maxBatchSize, new SimpleMeterRegistry());
+    }
+
+    /**
+     * @param flushInterval null 이면 group commit 을 사용하지 않는다.
+     * @param meterRegistry 스냅샷 소요 시간/기록 바이트, 기동 시 복구 시간을 노출할 레지스트리
+     */
+    JournalAccountPersistenceAdapter(Path directory, long segmentSize, Duration flushInterval, int maxBatchSize,
+                                     MeterRegistry meterRegistry) {
+        if (segmentSize <= HEADER_SIZE || segmentSize > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("segmentSize must be between " + HEADER_SIZE + " and " + Integer.MAX_VALUE);
+        }
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+
+        long started = System.nanoTime();
+        try {
+            Files.createDirectories(directory);
+            recover();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to open account journal: " + directory, e);
+        }
+        this.recoveryNanos = System.nanoTime() - started;
+
+        this.snapshotTimer = Timer.builder("account.journal.snapshot.duration")
+                .description("Time taken to write a journal snapshot and drop the segments it covers")
+                .register(meterRegistry);
+        this.snapshotBytes = Counter.builder("account.journal.snapshot.bytes")
+                .description("Bytes written to journal snapshot files")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        TimeGauge.builder("account.journal.recovery.time", this, TimeUnit.NANOSECONDS, journal -> journal.recoveryNanos)
+                .description("Time taken to rebuild the journal index at startup")
+                .register(meterRegistry);
+
+        this.groupCommitWriter = flushInterval == null
+                ? null
+                : new GroupCommitWriter(this::appendDurably, flushInterval, maxBatchSize);
+    }
+
+    @Override
+    public Account load(String accountNumber) {
+        Account account = isSlotKey(accountNumber) ? null : find(accountNumber);
+        if (account == null) {
+            throw new AccountNotFoundException(accountNumber);
+        }
+        return account;
+    }
+
+    @Override
+    public List<Account> listAccounts(String after, int limit) {
+        var keys = after == null ? index.keySet() : index.tailMap(after, false).keySet();
+        List<Account> accounts = new ArrayList<>(limit);
+        for (String accountNumber : keys) {
+            if (accounts.size() >= limit) {
+                break;
+            }
+            if (isSlotKey(accountNumber)) {
+                continue;
+            }
+            Account account = find(accountNumber);
+            if (account != null) {
+                accounts.add(account);
+            }
+        }
+        return accounts;
+    }
+
+    /**
+     * 인덱스의 계좌번호 순으로 읽는다.
+     */
+    @Override
+    public void streamAccounts(Consumer<Account> consumer) {
+        for (String accountNumber : index.keySet()) {
+            if (isSlotKey(accountNumber)) {
+                continue;
+            }
+            Account account = find(accountNumber);
+            if (account != null) {
+                consumer.accept(account);
+            }
+        }
+    }
+
+    /**
+     * 인덱스가 가리키는 최신 레코드를 읽는다. 없으면 null
+     */
+    private Account find(String accountNumber) {
+        // 컴팩션이 끝난 파일은 닫히므로, 그 사이에 옛 위치를 읽었다면 인덱스를 다시 보고 재시도한다.
+        for (int attempt = 1; ; attempt++) {
+            Long location = index.get(accountNumber);
+            if (location == null) {
+                return null;
+            }
+            FileChannel channel = files.get(fileId(location));
+            try {
+                if (channel != null) {
+                    return readRecord(channel, position(location));
+                }
+            } catch (ClosedChannelException e) {
+                if (attempt >= 3) {
+                    throw new UncheckedIOException("Failed to load account", e);
+                }
+                continue;
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to load account", e);
+            }
+            if (attempt >= 3) {
+                throw new IllegalStateException("Journal file is missing for account: " + accountNumber);
+            }
+        }
+    }
+
+    @Override
+    public void save(Account account) {
+        rejectSlotKey(account);
+        write(account);
+    }
+
+    /**
+     * 계좌와 slot 레코드가 함께 쓰는 단건 기록
+     */
+    private void write(Account account) {
+        if (groupCommitWriter != null) {
+            groupCommitWriter.write(account);
+            return;
+        }
+        appendLock.lock();
+        try {
+            long version = nextVersion(account, null);
+            long location = append(encode(account, version));
+            index.put(account.getAccountNumber(), location);
+            account.markSaved(version);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to save account", e);
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    /**
+     * 여러 계좌를 append 잠금 한 번으로 기록한다. group commit 모드면 fsync 도 한 번만 한다.
+     */
+    @Override
+    public void saveAll(Collection<Account> accounts) {
+        List<Account> list = List.copyOf(accounts);
+        if (list.isEmpty()) {
+            return;
+        }
+        list.forEach(JournalAccountPersistenceAdapter::rejectSlotKey);
+        if (groupCommitWriter != null) {
+            for (RuntimeException rejected : appendDurably(list)) {
+                if (rejected != null) {
+                    throw rejected;
+                }
+            }
+            return;
+        }
+        appendLock.lock();
+        try {
+            // 버전 충돌이 하나라도 있으면 아무것도 기록하지 않는다.
+            Map<String, Long> versions = new HashMap<>();
+            long[] newVersions = new long[list.size()];
+            for (int i = 0; i < newVersions.length; i++) {
+                newVersions[i] = nextVersion(list.get(i), versions);
+            }
+            for (int i = 0; i < newVersions.length; i++) {
+                Account account = list.get(i);
+                index.put(account.getAccountNumber(), append(encode(account, newVersions[i])));
+                account.markSaved(newVersions[i]);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to save accounts", e);
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    /**
+     * GroupCommitWriter 가 모은 배치를 기록하고 fsync 한 뒤 인덱스에 반영한다.
+     * (fsync 가 끝나기 전에는 다른 조회에서도 새 레코드가 보이지 않는다.)
+     *
+     * @return 계좌별 거절 사유 (버전 충돌), 기록된 계좌는 null
+     */
+    private RuntimeException[] appendDurably(List<Account> accounts) {
+        RuntimeException[] rejected = new RuntimeException[accounts.size()];
+        long[] versions = new long[accounts.size()];
+        long[] locations = new long[accounts.size()];
+        appendLock.lock();
+        try {
+            // 같은 배치 안에서 같은 계좌가 여러 번 저장되면 앞선 저장의 새 버전과 비교한다.
+            Map<String, Long> pending = new HashMap<>();
+            for (int i = 0; i < accounts.size(); i++) {
+                Account account = accounts.get(i);
+                try {
+                    versions[i] = nextVersion(account, pending);
+                } catch (AccountVersionConflictException e) {
+                    rejected[i] = e;
+                    continue;
+                }
+                locations[i] = append(encode(account, versions[i]));
+            }
+            activeSegment.force(false);
+            for (int i = 0; i < accounts.size(); i++) {
+                if (rejected[i] == null) {
+                    index.put(accounts.get(i).getAccountNumber(), locations[i]);
+                    accounts.get(i).markSaved(versions[i]);
+                }
+            }
+            return rejected;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to save accounts", e);
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    /**
+     * appendLock 을 잡은 상태에서 호출. 저장된 버전과 계좌의 버전을 비교하고 새로 기록할 버전을 반환한다.
+     *
+     * @param pending 같은 배치에서 먼저 기록할 계좌의 새 버전 (null 이면 단건 저장). 반환값으로 갱신된다.
+     */
+    private long nextVersion(Account account, Map<String, Long> pending) {
+        String accountNumber = account.getAccountNumber();
+        Long pendingVersion = pending == null ? null : pending.get(accountNumber);
+        long current;
+        if (pendingVersion != null) {
+            current = pendingVersion;
+        } else {
+            Account stored = index.containsKey(accountNumber) ? find(accountNumber) : null;
+            current = stored == null ? 0L : stored.getVersion();
+        }
+        if (account.getVersion() > 0 && current > 0 && account.getVersion() != current) {
+            throw new AccountVersionConflictException(accountNumber);
+        }
+        long next = Math.max(current, account.getVersion()) + 1;
+        if (pending != null) {
+            pending.put(accountNumber, next);
+        }
+        return next;
+    }
+
+    @Override
+    public Map<String, Integer> loadSlotCounts() {
+        Map<String, Integer> counts = new HashMap<>();
+        for (String key : index.keySet()) {
+            if (key.endsWith(SLOT_COUNT_SUFFIX)) {
+                String accountNumber = key.substring(0, key.length() - SLOT_COUNT_SUFFIX.length());
+                counts.put(accountNumber, slotCountOf(accountNumber));
+            }
+        }
+        return counts;
+    }
+
+    @Override
+    boolean accountExists(String accountNumber) {
+        return !isSlotKey(accountNumber) && index.containsKey(accountNumber);
+    }
+
+    @Override
+    int slotCountOf(String accountNumber) {
+        Account count = find(accountNumber + SLOT_COUNT_SUFFIX);
+        return count == null ? 0 : (int) count.getBalance();
+    }
+
+    @Override
+    void writeSlotCount(String accountNumber, int slotCount) {
+        write(Account.of(accountNumber + SLOT_COUNT_SUFFIX, "", slotCount));
+    }
+
+    @Override
+    long readSlot(String accountNumber, int slot) {
+        Account record = find(slotKey(accountNumber, slot));
+        if (record == null) {
+            throw new IllegalStateException("Slot " + slot + " not found for account " + accountNumber);
+        }
+        return record.getBalance();
+    }
+
+    /**
+     * 버전 0 (비교 없이 덮어쓰기) 으로 기록한다. 같은 slot 은 StripedSlotStore 의 stripe 잠금 안에서만 쓴다.
+     */
+    @Override
+    void writeSlot(String accountNumber, int slot, long balance) {
+        write(Account.of(slotKey(accountNumber, slot), "", balance));
+    }
+
+    private static String slotKey(String accountNumber, int slot) {
+        return accountNumber + SLOT_SEPARATOR + slot;
+    }
+
+    private static boolean isSlotKey(String key) {
+        return key.indexOf(SLOT_SEPARATOR) >= 0;
+    }
+
+    private static void rejectSlotKey(Account account) {
+        if (isSlotKey(account.getAccountNumber())) {
+            throw new IllegalArgumentException("Account number must not contain U+0000");
+        }
+    }
+
+    /**
+     * appendLock 을 잡은 상태에서 호출. 레코드를 활성 세그먼트 끝에 쓰고 위치를 반환한다.
+     */
+    private long append(ByteBuffer record) throws IOException {
+        if (activePosition > 0 && activePosition + record.remaining() > segmentSize) {
+            roll();
+        }
+        long position = activePosition;
+        writeFully(activeSegment, record, position);
+        activePosition += record.capacity();
+        return location(activeSegmentId, position);
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (snapshotScheduler != null) {
+            // shutdownNow 로 인터럽트하면 FileChannel 이 닫혀 버리므로, 진행 중인 스냅샷은 끝까지 기다린다.
+            snapshotScheduler.shutdown();
+        }
+        if (groupCommitWriter != null) {
+            groupCommitWriter.close();
+        }
+        snapshotLock.lock();
+        appendLock.lock();
+        try {
+            for (FileChannel channel : files.values()) {
+                channel.close();
+            }
+            files.clear();
+        } finally {
+            appendLock.unlock();
+            snapshotLock.unlock();
+        }
+    }
+
+    /**
+     * 테스트에서 세그먼트 파일을 확인할 수 있도록 경로 정보 제공
+     */
+    Path getDirectory() { return directory; }
+
+    int indexedAccountCount() { return index.size(); }
+
+    int snapshotCutoff() { return snapshotCutoff; }
+
+    // ---------------------------------------------------------------- snapshot / compaction
+
+    /**
+     * interval 마다 백그라운드에서 스냅샷을 만든다. (0 이면 사용하지 않음)
+     */
+    JournalAccountPersistenceAdapter scheduleSnapshots(Duration interval) {
+        if (interval.isZero() || interval.isNegative()) {
+            return this;
+        }
+        snapshotScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "account-journal-snapshot");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long millis = interval.toMillis();
+        snapshotScheduler.scheduleWithFixedDelay(() -> {
+            try {
+                snapshot();
+            } catch (RuntimeException e) {
+                // 봉인된 세그먼트는 스냅샷이 끝나기 전에는 지우지 않으므로 다음 주기에 다시 시도하면 된다.
+                log.warn("Journal snapshot failed: {}", directory, e);
+            }
+        }, millis, millis, TimeUnit.MILLISECONDS);
+        return this;
+    }
+
+    /**
+     * 봉인된 세그먼트를 스냅샷 하나로 합치고, 스냅샷이 덮는 세그먼트를 삭제한다.
+     *
+     * @return 새 스냅샷을 만들었으면 true, 다른 스냅샷이 진행 중이거나 마지막 스냅샷 이후 기록이 없으면 false
+     */
+    boolean snapshot() {
+        if (!snapshotLock.tryLock()) {
+            return false;
+        }
+        try {
+            return snapshotTimer.recordCallable(this::compact);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write journal snapshot", e);
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        } finally {
+            snapshotLock.unlock();
+        }
+    }
+
+    private boolean compact() throws IOException {
+        int cutoff;
+        appendLock.lock();
+        try {
+            if (activeSegmentId - 1 == snapshotCutoff && activePosition == 0) {
+                return false;
+            }
+            if (activePosition > 0) {
+                roll();
+            }
+            cutoff = activeSegmentId - 1;
+        } finally {
+            appendLock.unlock();
+        }
+
+        // 이전 스냅샷 + 그 이후 봉인된 세그먼트를 순서대로 읽어, 인덱스가 아직 가리키는 레코드만 복사한다.
+        int previousCutoff = snapshotCutoff;
+        List<Integer> sources = new ArrayList<>();
+        if (previousCutoff > 0) {
+            sources.add(-previousCutoff);
+        }
+        for (int id = previousCutoff + 1; id <= cutoff; id++) {
+            if (files.containsKey(id)) {
+                sources.add(id);
+            }
+        }
+
+        Path target = directory.resolve(snapshotFileName(cutoff));
+        Path temp = directory.resolve(snapshotFileName(cutoff) + TEMP_SUFFIX);
+        int snapshotId = -cutoff;
+        FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        // 쓰는 도중에도 스냅샷으로 옮긴 레코드를 읽을 수 있도록 미리 등록한다.
+        files.put(snapshotId, channel);
+        var writer = new SnapshotWriter(channel, snapshotId, cutoff);
+        try {
+            for (int source : sources) {
+                long start = source < 0 ? SNAPSHOT_HEADER_SIZE : 0;
+                scan(files.get(source), start, (account, position) -> {
+                    Long current = index.get(account.getAccountNumber());
+                    if (current != null && current == location(source, position)) {
+                        writer.write(account, current);
+                    }
+                });
+            }
+            writer.flush();
+            channel.force(true);
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException | RuntimeException e) {
+            // 인덱스를 원래 위치로 되돌리고 스냅샷만 버린다. (원본 세그먼트는 아직 지우지 않았음)
+            writer.rollback();
+            files.remove(snapshotId);
+            channel.close();
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+        snapshotCutoff = cutoff;
+        snapshotBytes.increment(writer.bytesWritten());
+
+        for (Long location : index.values()) {
+            int id = fileId(location);
+            if (id != snapshotId && id <= cutoff) {
+                throw new IllegalStateException("Journal index still points at compacted file " + id);
+            }
+        }
+        for (int source : sources) {
+            FileChannel compacted = files.remove(source);
+            if (compacted != null) {
+                compacted.close();
+            }
+            Files.deleteIfExists(directory.resolve(source < 0 ? snapshotFileName(-source) : segmentFileName(source)));
+        }
+        return true;
+    }
+
+    /**
+     * 스냅샷 파일에 레코드를 버퍼 단위로 기록하고, 버퍼가 파일에 쓰인 뒤에 인덱스를 스냅샷 위치로 옮긴다.
+     * (동시에 새 레코드가 append 된 계좌는 replace 가 실패하므로 최신 위치가 그대로 유지된다.)
+     */
+    private final class SnapshotWriter {
+        private final FileChannel channel;
+        private final int snapshotId;
+        private final ByteBuffer buffer = ByteBuffer.allocate(SCAN_BUFFER_SIZE);
+        private final List<Account> pending = new ArrayList<>();
+        private final List<long[]> pendingLocations = new ArrayList<>();
+        private final List<Account> moved = new ArrayList<>();
+        private final List<long[]> movedLocations = new ArrayList<>();
+        private long filePosition = SNAPSHOT_HEADER_SIZE;
+
+        private SnapshotWriter(FileChannel channel, int snapshotId, int cutoff) throws IOException {
+            this.channel = channel;
+            this.snapshotId = snapshotId;
+            ByteBuffer header = ByteBuffer.allocate(SNAPSHOT_HEADER_SIZE);
+            header.putInt(SNAPSHOT_MAGIC).putInt(SNAPSHOT_FORMAT).putInt(cutoff).putInt(0).flip();
+            writeFully(channel, header, 0);
+        }
+
+        void write(Account account, long previousLocation) {
+            ByteBuffer record = encode(account, account.getVersion());
+            try {
+                if (buffer.remaining() < record.remaining()) {
+                    flush();
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            long position = filePosition + buffer.position();
+            if (position + record.remaining() > MAX_FILE_SIZE) {
+                throw new IllegalStateException("Journal snapshot exceeds " + MAX_FILE_SIZE + " bytes");
+            }
+            buffer.put(record);
+            pending.add(account);
+            pendingLocations.add(new long[]{previousLocation, location(snapshotId, position)});
+        }
+
+        void flush() throws IOException {
+            buffer.flip();
+            int length = buffer.remaining();
+            writeFully(channel, buffer, filePosition);
+            filePosition += length;
+            buffer.clear();
+            for (int i = 0; i < pending.size(); i++) {
+                long[] locations = pendingLocations.get(i);
+                if (index.replace(pending.get(i).getAccountNumber(), locations[0], locations[1])) {
+                    moved.add(pending.get(i));
+                    movedLocations.add(locations);
+                }
+            }
+            pending.clear();
+            pendingLocations.clear();
+        }
+
+        void rollback() {
+            for (int i = 0; i < moved.size(); i++) {
+                long[] locations = movedLocations.get(i);
+                index.replace(moved.get(i).getAccountNumber(), locations[1], locations[0]);
+            }
+        }
+
+        long bytesWritten() {
+            return filePosition;
+        }
+    }
+
+    // ---------------------------------------------------------------- recovery
+
+    private void recover() throws IOException {
+        TreeMap<Integer, Path> snapshots = new TreeMap<>();
+        TreeMap<Integer, Path> segments = new TreeMap<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory)) {
+            for (Path file : stream) {
+                String name = file.getFileName().toString();
+                if (name.startsWith(SNAPSHOT_PREFIX) && name.endsWith(SNAPSHOT_SUFFIX + TEMP_SUFFIX)) {
+                    Files.delete(file); // rename 전에 중단된 스냅샷
+                } else if (name.startsWith(SNAPSHOT_PREFIX) && name.endsWith(SNAPSHOT_SUFFIX)) {
+                    snapshots.put(parseId(name, SNAPSHOT_PREFIX, SNAPSHOT_SUFFIX), file);
+                } else if (name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX)) {
+                    segments.put(parseId(name, SEGMENT_PREFIX, SEGMENT_SUFFIX), file);
+                }
+            }
+        }
+
+        if (!snapshots.isEmpty()) {
+            // 가장 최근 스냅샷만 읽고, 그 스냅샷이 이미 덮고 있는 이전 스냅샷/세그먼트는 정리한다.
+            var latest = snapshots.pollLastEntry();
+            loadSnapshot(latest.getKey(), latest.getValue());
+            for (Path old : snapshots.values()) {
+                Files.delete(old);
+            }
+            var covered = segments.headMap(snapshotCutoff, true);
+            for (Path old : covered.values()) {
+                Files.delete(old);
+            }
+            covered.clear();
+        }
+
+        for (var entry : segments.entrySet()) {
+            int id = entry.getKey();
+            FileChannel channel = FileChannel.open(entry.getValue(), StandardOpenOption.READ, StandardOpenOption.WRITE);
+            files.put(id, channel);
+            long end = scan(channel, 0, (account, position) ->
+                    index.put(account.getAccountNumber(), location(id, position)));
+            if (end < channel.size()) {
+                if (id != segments.lastKey()) {
+                    throw new IllegalStateException("Corrupted journal segment: " + entry.getValue());
+                }
+                // 마지막 세그먼트의 기록 도중 중단된 꼬리(torn write)는 버린다.
+                channel.truncate(end);
+            }
+            activeSegmentId = id;
+            activeSegment = channel;
+            activePosition = end;
+        }
+
+        if (activeSegment == null) {
+            openSegment(snapshotCutoff + 1);
+        }
+    }
+
+    private void loadSnapshot(int cutoff, Path file) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        ByteBuffer header = ByteBuffer.allocate(SNAPSHOT_HEADER_SIZE);
+        readFully(channel, header, 0);
+        header.flip();
+        if (header.getInt() != SNAPSHOT_MAGIC || header.getInt() != SNAPSHOT_FORMAT || header.getInt() != cutoff) {
+            channel.close();
+            throw new IllegalStateException("Invalid journal snapshot: " + file);
+        }
+        int snapshotId = -cutoff;
+        files.put(snapshotId, channel);
+        long end = scan(channel, SNAPSHOT_HEADER_SIZE, (account, position) ->
+                index.put(account.getAccountNumber(), location(snapshotId, position)));
+        if (end < channel.size()) {
+            throw new IllegalStateException("Corrupted journal snapshot: " + file);
+        }
+        snapshotCutoff = cutoff;
+    }
+
+    /**
+     * 파일을 start 부터 읽으며 온전한 레코드마다 visitor(계좌, 위치)를 호출하고, 마지막 온전한 레코드의 끝 위치를 반환한다.
+     * 레코드마다 read 를 호출하지 않도록 큰 버퍼 단위로 순차 읽기한다.
+     */
+    private static long scan(FileChannel channel, long start, ObjLongConsumer<Account> visitor) throws IOException {
+        long size = channel.size();
+        long position = start;
+        ByteBuffer buffer = ByteBuffer.allocate(SCAN_BUFFER_SIZE).flip();
+        while (position + HEADER_SIZE <= size) {
+            if (buffer.remaining() < HEADER_SIZE && !fill(channel, buffer, position, HEADER_SIZE)) {
+                break;
+            }
+            int length = buffer.getInt(buffer.position());
+            if (length < AccountRecordCodec.MIN_RECORD_SIZE || length > MAX_PAYLOAD_SIZE
+                    || position + HEADER_SIZE + length > size) {
+                break;
+            }
+            if (buffer.remaining() < HEADER_SIZE + length && !fill(channel, buffer, position, HEADER_SIZE + length)) {
+                break;
+            }
+            ByteBuffer payload = buffer.slice(buffer.position() + HEADER_SIZE, length);
+            if (!AccountRecordCodec.isIntact(payload)) {
+                break;
+            }
+            visitor.accept(AccountRecordCodec.decode(payload), position);
+            buffer.position(buffer.position() + HEADER_SIZE + length);
+            position += HEADER_SIZE + length;
+        }
+        return position;
+    }
+
+    /**
+     * buffer 에 최소 need 바이트가 남도록 이어서 읽는다. (buffer 의 현재 위치 = 파일의 position)
+     */
+    private static boolean fill(FileChannel channel, ByteBuffer buffer, long position, int need) throws IOException {
+        long readFrom = position + buffer.remaining();
+        buffer.compact();
+        while (buffer.position() < need) {
+            int read = channel.read(buffer, readFrom);
+            if (read < 0) {
+                buffer.flip();
+                return false;
+            }
+            readFrom += read;
+        }
+        buffer.flip();
+        return true;
+    }
+
+    // ---------------------------------------------------------------- segments
+
+    private void roll() throws IOException {
+        activeSegment.force(false);
+        openSegment(activeSegmentId + 1);
+    }
+
+    private void openSegment(int id) throws IOException {
+        Path file = directory.resolve(segmentFileName(id));
+        FileChannel channel = FileChannel.open(file,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        files.put(id, channel);
+        activeSegmentId = id;
+        activeSegment = channel;
+        activePosition = channel.size();
+    }
+
+    static String segmentFileName(int id) {
+        return String.format("%s%08d%s", SEGMENT_PREFIX, id, SEGMENT_SUFFIX);
+    }
+
+    static String snapshotFileName(int cutoff) {
+        return String.format("%s%08d%s", SNAPSHOT_PREFIX, cutoff, SNAPSHOT_SUFFIX);
+    }
+
+    private static int parseId(String name, String prefix, String suffix) {
+        return Integer.parseInt(name.substring(prefix.length(), name.length() - suffix.length()));
+    }
+
+    private static long location(int fileId, long position) {
+        return ((long) fileId << 32) | position;
+    }
+
+    private static int fileId(long location) {
+        return (int) (location >> 32);
+    }
+
+    private static long position(long location) {
+        return location & 0xFFFF_FFFFL;
+    }
+
+    // ---------------------------------------------------------------- record I/O
+
+    private static Account readRecord(FileChannel channel, long position) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(READ_AHEAD);
+        int read = channel.read(buffer, position);
+        if (read < HEADER_SIZE) {
+            throw new IOException("Truncated journal record at " + position);
+        }
+        buffer.flip();
+        int length = buffer.getInt();
+        if (HEADER_SIZE + length > buffer.limit()) {
+            // 짧은 레코드가 대부분이라 한 번에 읽히지만, 긴 이름은 나머지를 이어서 읽는다.
+            ByteBuffer record = ByteBuffer.allocate(length);
+            record.put(buffer);
+            readFully(channel, record, position + HEADER_SIZE + record.position());
+            buffer = record.flip();
+        } else {
+            buffer.limit(HEADER_SIZE + length);
+        }
+        try {
+            return AccountRecordCodec.decode(buffer);
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Corrupted journal record at " + position, e);
+        }
+    }
+
+    private static ByteBuffer encode(Account account, long version) {
+        byte[] record = AccountRecordCodec.encode(
+                Account.of(account.getAccountNumber(), account.getName(), account.getBalance(), version));
+        return ByteBuffer.allocate(HEADER_SIZE + record.length).putInt(record.length).put(record).flip();
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position);
+            if (read < 0) {
+                throw new IOException("Unexpected end of journal file");
+            }
+            position += read;
+        }
+    }
+}
@@ -0,0 +1,447 @@
+package com.example.account.adapter.out.file;
+
+import com.example.account.application.port.out.ListAccountsPort;
+import com.example.account.application.port.out.LoadAccountPort;
+import com.example.account.application.port.out.SaveAccountPort;
+import com.example.account.domain.exception.AccountNotFoundException;
+import com.example.account.domain.model.Account;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+
+/**
+ * 계좌를 고정 크기 슬롯 배열로 담은 파일 하나를 메모리 매핑해서 사용하는 어댑터.
+ *
+ * - 슬롯 위치는 계좌번호 해시 + open addressing(linear probing)으로 찾는다.
+ * - 이름이 같은 계좌의 save(입금/출금)는 슬롯의 잔액 8바이트만 제자리에서 덮어쓴다. (할당/파싱 없음)
+ * - 적재율이 LOAD_FACTOR 를 넘으면 두 배 크기의 임시 파일로 재해시한 뒤 원자적으로 교체하고 다시 매핑한다.
+ * - 기동 시 슬롯을 검사해 체크섬이 깨진 슬롯을 버리고, 남은 임시 파일(.resize)은 지운다.
+ * - 슬롯은 해시 순서라, 목록 조회는 전체 슬롯을 훑으며 after 다음의 계좌 limit 개만 정렬된 상태로 유지한다.
+ *
+ * save 는 매핑된 페이지에 쓰기만 하고 fsync 하지 않는다. 디스크에 내리는 것(force)은 close(종료 시)와 재해시 때뿐이므로,
+ * 그 사이의 잔액은 OS 페이지 캐시까지만 보장된다. 프로세스가 죽어도 남지만 OS/전원 장애 시에는 마지막 변경이 사라질 수 있다.
+ *
+ * 파일 형식
+ *   header(64) : magic, format, capacity, slotSize, count
+ *   slot(256)  : state(1) keyLen(1) nameLen(2) crc(4) balance(8) key(64) name(176)
+ */
+class MappedAccountPersistenceAdapter implements LoadAccountPort, SaveAccountPort, ListAccountsPort, AutoCloseable {
+
+    static final String FILE_NAME = "accounts.mmap";
+    static final int DEFAULT_INITIAL_CAPACITY = 1024;
+
+    static final int HEADER_SIZE = 64;
+    static final int SLOT_SIZE = 256;
+    static final int MAX_KEY_BYTES = 64;
+    static final int MAX_NAME_BYTES = 176;
+
+    private static final int MAGIC = 0x41434D4D; // "ACMM"
+    private static final int FORMAT = 1;
+    private static final int MAX_CAPACITY = (Integer.MAX_VALUE - HEADER_SIZE) / SLOT_SIZE;
+    private static final double LOAD_FACTOR = 0.7;
+
+    private static final byte EMPTY = 0;
+    private static final byte OCCUPIED = 1;
+
+    // slot 내부 offset
+    private static final int STATE = 0;
+    private static final int KEY_LENGTH = 1;
+    private static final int NAME_LENGTH = 2;
+    private static final int CRC = 4;
+    static final int BALANCE = 8;
+    private static final int KEY = 16;
+    private static final int NAME = KEY + MAX_KEY_BYTES;
+
+    private final Path file;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private FileChannel channel;
+    private MappedByteBuffer buffer;
+    private int capacity;
+    private int count;
+
+    MappedAccountPersistenceAdapter(Path directory) {
+        this(directory, DEFAULT_INITIAL_CAPACITY);
+    }
+
+    MappedAccountPersistenceAdapter(Path directory, int initialCapacity) {
+        this.file = directory.resolve(FILE_NAME);
+        try {
+            Files.createDirectories(directory);
+            Files.deleteIfExists(resizeFile());
+            if (Files.exists(file)) {
+                open();
+                recover();
+            } else {
+                create(file, tableSizeFor(initialCapacity));
+                open();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to open account map: " + file, e);
+        }
+    }
+
+    @Override
+    public Account load(String accountNumber) {
+        lock.readLock().lock();
+        try {
+            int slot = findSlot(buffer, capacity, accountNumber);
+            if (slot < 0 || buffer.get(offset(slot) + STATE) != OCCUPIED) {
+                throw new AccountNotFoundException(accountNumber);
+            }
+            int offset = offset(slot);
+            return Account.of(accountNumber, readName(buffer, offset), buffer.getLong(offset + BALANCE));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void save(Account account) {
+        String accountNumber = account.getAccountNumber();
+        // 대부분의 save 는 기존 계좌의 잔액 변경이므로 read lock 에서 8바이트만 덮어쓴다.
+        lock.readLock().lock();
+        try {
+            int slot = findSlot(buffer, capacity, accountNumber);
+            if (slot >= 0 && buffer.get(offset(slot) + STATE) == OCCUPIED && nameMatches(offset(slot), account.getName())) {
+                buffer.putLong(offset(slot) + BALANCE, account.getBalance());
+                return;
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        byte[] key = accountNumber.getBytes(StandardCharsets.UTF_8);
+        byte[] name = account.getName().getBytes(StandardCharsets.UTF_8);
+        if (key.length > MAX_KEY_BYTES || name.length > MAX_NAME_BYTES) {
+            throw new IllegalArgumentException("Account number or name is too long for the mapped store");
+        }
+
+        lock.writeLock().lock();
+        try {
+            int slot = findSlot(buffer, capacity, accountNumber);
+            if (slot < 0 || buffer.get(offset(slot) + STATE) != OCCUPIED) {
+                if (count + 1 > capacity * LOAD_FACTOR) {
+                    grow(capacity * 2);
+                    slot = findSlot(buffer, capacity, accountNumber);
+                }
+                count++;
+                buffer.putInt(16, count);
+            }
+            writeSlot(buffer, offset(slot), key, name, account.getBalance());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to save account", e);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Account> listAccounts(String after, int limit) {
+        TreeMap<String, Account> page = new TreeMap<>();
+        lock.readLock().lock();
+        try {
+            for (int slot = 0; slot < capacity; slot++) {
+                int offset = offset(slot);
+                if (buffer.get(offset + STATE) != OCCUPIED) {
+                    continue;
+                }
+                String accountNumber = readKey(buffer, offset);
+                if (after != null && accountNumber.compareTo(after) <= 0) {
+                    continue;
+                }
+                if (page.size() >= limit) {
+                    if (accountNumber.compareTo(page.lastKey()) > 0) {
+                        continue;
+                    }
+                    page.pollLastEntry();
+                }
+                page.put(accountNumber, Account.of(accountNumber, readName(buffer, offset), buffer.getLong(offset + BALANCE)));
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return new ArrayList<>(page.values());
+    }
+
+    /**
+     * 슬롯 순서대로 읽는다. (계좌번호 순서 아님, 읽는 동안 새 계좌 추가/확장은 대기)
+     */
+    @Override
+    public void streamAccounts(Consumer<Account> consumer) {
+        lock.readLock().lock();
+        try {
+            for (int slot = 0; slot < capacity; slot++) {
+                int offset = offset(slot);
+                if (buffer.get(offset + STATE) == OCCUPIED) {
+                    consumer.accept(Account.of(readKey(buffer, offset), readName(buffer, offset), buffer.getLong(offset + BALANCE)));
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        lock.writeLock().lock();
+        try {
+            buffer.force();
+            channel.close();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    int capacity() { return capacity; }
+
+    int size() { return count; }
+
+    Path getFile() { return file; }
+
+    // ---------------------------------------------------------------- table
+
+    /**
+     * 계좌번호가 있는 슬롯, 없으면 삽입할 빈 슬롯 번호를 반환한다. (테이블이 가득 차면 -1)
+     */
+    private static int findSlot(ByteBuffer table, int capacity, String accountNumber) {
+        int mask = capacity - 1;
+        int slot = hash(accountNumber) & mask;
+        for (int probe = 0; probe < capacity; probe++) {
+            int offset = offset(slot);
+            if (table.get(offset + STATE) == EMPTY || keyMatches(table, offset, accountNumber)) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    private static void writeSlot(ByteBuffer table, int offset, byte[] key, byte[] name, long balance) {
+        table.put(offset + KEY_LENGTH, (byte) key.length);
+        table.putShort(offset + NAME_LENGTH, (short) name.length);
+        table.put(offset + KEY, key);
+        table.put(offset + NAME, name);
+        table.putInt(offset + CRC, checksum(key, name));
+        table.putLong(offset + BALANCE, balance);
+        // 상태 바이트를 마지막에 기록해야 중간에 죽어도 반쯤 쓴 슬롯이 보이지 않는다.
+        table.put(offset + STATE, OCCUPIED);
+    }
+
+    private void grow(int newCapacity) throws IOException {
+        if (newCapacity > MAX_CAPACITY) {
+            throw new IllegalStateException("Mapped account store is full: capacity " + capacity);
+        }
+        Path resize = resizeFile();
+        create(resize, newCapacity);
+        try (FileChannel target = FileChannel.open(resize, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer table = target.map(FileChannel.MapMode.READ_WRITE, 0, target.size());
+            int live = rehash(buffer, capacity, table, newCapacity);
+            table.putInt(16, live);
+            table.force();
+        }
+        channel.close();
+        // 재해시가 끝난 파일로 원자적으로 교체 → 중간에 죽으면 기존 파일이 그대로 남는다.
+        Files.move(resize, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        open();
+    }
+
+    private static int rehash(ByteBuffer source, int sourceCapacity, ByteBuffer target, int targetCapacity) {
+        int live = 0;
+        for (int slot = 0; slot < sourceCapacity; slot++) {
+            int offset = offset(slot);
+            if (source.get(offset + STATE) != OCCUPIED) {
+                continue;
+            }
+            byte[] key = new byte[Byte.toUnsignedInt(source.get(offset + KEY_LENGTH))];
+            byte[] name = new byte[Short.toUnsignedInt(source.getShort(offset + NAME_LENGTH))];
+            source.get(offset + KEY, key);
+            source.get(offset + NAME, name);
+            int targetSlot = findSlot(target, targetCapacity, new String(key, StandardCharsets.UTF_8));
+            writeSlot(target, offset(targetSlot), key, name, source.getLong(offset + BALANCE));
+            live++;
+        }
+        return live;
+    }
+
+    // ---------------------------------------------------------------- recovery
+
+    /**
+     * 체크섬이 맞지 않는 슬롯(기록 중 중단)을 찾으면 온전한 슬롯만 모아 같은 크기로 재구성한다.
+     * (빈 칸이 생기면 linear probing 체인이 끊기므로 해당 슬롯만 지울 수는 없다.)
+     */
+    private void recover() throws IOException {
+        int live = 0;
+        boolean corrupted = false;
+        for (int slot = 0; slot < capacity; slot++) {
+            int offset = offset(slot);
+            byte state = buffer.get(offset + STATE);
+            if (state == EMPTY) {
+                continue;
+            }
+            if (state != OCCUPIED || !slotIntact(offset)) {
+                buffer.put(offset + STATE, EMPTY);
+                corrupted = true;
+                continue;
+            }
+            live++;
+        }
+        count = live;
+        buffer.putInt(16, live);
+        if (corrupted) {
+            grow(capacity);
+        }
+    }
+
+    private boolean slotIntact(int offset) {
+        int keyLength = Byte.toUnsignedInt(buffer.get(offset + KEY_LENGTH));
+        int nameLength = Short.toUnsignedInt(buffer.getShort(offset + NAME_LENGTH));
+        if (keyLength > MAX_KEY_BYTES || nameLength > MAX_NAME_BYTES) {
+            return false;
+        }
+        byte[] key = new byte[keyLength];
+        byte[] name = new byte[nameLength];
+        buffer.get(offset + KEY, key);
+        buffer.get(offset + NAME, name);
+        return checksum(key, name) == buffer.getInt(offset + CRC);
+    }
+
+    // ---------------------------------------------------------------- file
+
+    private static void create(Path target, int capacity) throws IOException {
+        try (FileChannel created = FileChannel.open(target,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            header.putInt(MAGIC).putInt(FORMAT).putInt(capacity).putInt(SLOT_SIZE).putInt(0).flip();
+            created.write(header, 0);
+            // 마지막 바이트를 써서 파일을 슬롯 전체 크기로 늘린다. (sparse file)
+            created.write(ByteBuffer.allocate(1), HEADER_SIZE + (long) capacity * SLOT_SIZE - 1);
+            created.force(true);
+        }
+    }
+
+    private void open() throws IOException {
+        channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        channel.read(header, 0);
+        header.flip();
+        if (header.getInt() != MAGIC || header.getInt() != FORMAT) {
+            throw new IllegalStateException("Not an account map file: " + file);
+        }
+        int fileCapacity = header.getInt();
+        if (header.getInt() != SLOT_SIZE || Integer.bitCount(fileCapacity) != 1
+                || channel.size() < HEADER_SIZE + (long) fileCapacity * SLOT_SIZE) {
+            throw new IllegalStateException("Corrupted account map header: " + file);
+        }
+        capacity = fileCapacity;
+        count = header.getInt();
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE + (long) capacity * SLOT_SIZE);
+    }
+
+    private Path resizeFile() {
+        return file.resolveSibling(FILE_NAME + ".resize");
+    }
+
+    // ---------------------------------------------------------------- helpers
+
+    private static int offset(int slot) {
+        return HEADER_SIZE + slot * SLOT_SIZE;
+    }
+
+    private static int tableSizeFor(int capacity) {
+        int size = Integer.highestOneBit(Math.max(16, capacity - 1)) << 1;
+        return Math.min(size, Integer.highestOneBit(MAX_CAPACITY));
+    }
+
+    /**
+     * FNV-1a 해시 (UTF-8 바이트 기준). ASCII 계좌번호는 문자열을 인코딩하지 않고 바로 계산한다.
+     */
+    private static int hash(String accountNumber) {
+        int h = 0x811C9DC5;
+        if (isAscii(accountNumber)) {
+            for (int i = 0; i < accountNumber.length(); i++) {
+                h = (h ^ accountNumber.charAt(i)) * 0x01000193;
+            }
+        } else {
+            for (byte b : accountNumber.getBytes(StandardCharsets.UTF_8)) {
+                h = (h ^ (b & 0xFF)) * 0x01000193;
+            }
+        }
+        return h ^ (h >>> 16);
+    }
+
+    private static boolean keyMatches(ByteBuffer table, int offset, String accountNumber) {
+        return bytesMatch(table, offset + KEY, Byte.toUnsignedInt(table.get(offset + KEY_LENGTH)), accountNumber);
+    }
+
+    private boolean nameMatches(int offset, String name) {
+        return bytesMatch(buffer, offset + NAME, Short.toUnsignedInt(buffer.getShort(offset + NAME_LENGTH)), name);
+    }
+
+    private static boolean bytesMatch(ByteBuffer table, int position, int length, String value) {
+        if (isAscii(value)) {
+            if (length != value.length()) {
+                return false;
+            }
+            for (int i = 0; i < length; i++) {
+                if (table.get(position + i) != (byte) value.charAt(i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (length != bytes.length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (table.get(position + i) != bytes[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isAscii(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) >= 0x80) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String readKey(ByteBuffer table, int offset) {
+        byte[] key = new byte[Byte.toUnsignedInt(table.get(offset + KEY_LENGTH))];
+        table.get(offset + KEY, key);
+        return new String(key, StandardCharsets.UTF_8);
+    }
+
+    private static String readName(ByteBuffer table, int offset) {
+        byte[] name = new byte[Short.toUnsignedInt(table.getShort(offset + NAME_LENGTH))];
+        table.get(offset + NAME, name);
+        return new String(name, StandardCharsets.UTF_8);
+    }
+
+    private static int checksum(byte[] key, byte[] name) {
+        CRC32 crc = new CRC32();
+        crc.update(key);
+        crc.update(name);
+        return (int) crc.getValue();
+    }
+}
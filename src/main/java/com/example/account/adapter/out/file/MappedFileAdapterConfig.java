@@ -0,0 +1,28 @@
+// src/main/java/com/example/account/adapter/out/file/MappedFileAdapterConfig.java
+package com.example.account.adapter.out.file;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+import java.nio.file.Paths;
+
+/**
+ * mmap 프로파일일 때만 활성화
+ * 계좌 전체를 메모리 매핑된 파일 하나(accounts.mmap)의 고정 크기 슬롯에 저장한다.
+ */
+@Configuration
+@Profile("mmap")
+class MappedFileAdapterConfig {
+
+    @Bean
+    @ConditionalOnMissingBean(MappedAccountPersistenceAdapter.class)
+    MappedAccountPersistenceAdapter mappedAccountPersistenceAdapter(
+            @Value("${account.storage.path:data}") String storagePath,
+            @Value("${account.storage.mmap.initial-capacity:1024}") int initialCapacity
+    ) {
+        return new MappedAccountPersistenceAdapter(Paths.get(storagePath), initialCapacity);
+    }
+}
@@ -0,0 +1,192 @@
+package com.example.account.adapter.out.file;
+
+import com.example.account.application.port.out.SubBalancePort;
+import com.example.account.domain.exception.AccountNotFoundException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 파일 저장소들의 slot(SubBalancePort) 연산. 저장 방식(slot 하나 읽기/쓰기)만 하위 클래스가 정한다.
+ *
+ * slot 은 (계좌번호, slot) 해시로 고른 stripe 잠금 안에서만 읽고 쓴다. 여러 slot 을 함께 잠글 때는 stripe 번호 순서로.
+ * slot 수를 바꾸는 createSlots 끼리는 slotCountLock 으로 직렬화하고, slot 을 모두 만든 뒤에 수를 기록한다.
+ */
+abstract class StripedSlotStore implements SubBalancePort {
+
+    private static final int SLOT_LOCK_STRIPES = 64;
+
+    private final ReentrantLock[] slotLocks = new ReentrantLock[SLOT_LOCK_STRIPES];
+    // I/O 구간이므로 synchronized 대신 ReentrantLock 사용
+    private final ReentrantLock slotCountLock = new ReentrantLock();
+
+    StripedSlotStore() {
+        for (int i = 0; i < slotLocks.length; i++) {
+            slotLocks[i] = new ReentrantLock();
+        }
+    }
+
+    abstract boolean accountExists(String accountNumber);
+
+    /**
+     * 나뉘지 않은 계좌면 0
+     */
+    abstract int slotCountOf(String accountNumber);
+
+    abstract void writeSlotCount(String accountNumber, int slotCount);
+
+    /**
+     * @throws IllegalStateException slot 이 없는 경우
+     */
+    abstract long readSlot(String accountNumber, int slot);
+
+    abstract void writeSlot(String accountNumber, int slot, long balance);
+
+    @Override
+    public void createSlots(String accountNumber, int slotCount) {
+        if (!accountExists(accountNumber)) {
+            throw new AccountNotFoundException(accountNumber);
+        }
+        slotCountLock.lock();
+        try {
+            int existing = slotCountOf(accountNumber);
+            if (slotCount <= existing) {
+                return;
+            }
+            for (int slot = existing; slot < slotCount; slot++) {
+                writeSlot(accountNumber, slot, 0L);
+            }
+            // slot 을 모두 만든 뒤에 수를 기록 (중간에 실패해도 없는 slot 을 가리키지 않도록)
+            writeSlotCount(accountNumber, slotCount);
+        } finally {
+            slotCountLock.unlock();
+        }
+    }
+
+    @Override
+    public void addToSlot(String accountNumber, int slot, long amount) {
+        ReentrantLock lock = slotLock(accountNumber, slot);
+        lock.lock();
+        try {
+            writeSlot(accountNumber, slot, Math.addExact(readSlot(accountNumber, slot), amount));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean takeFromSlot(String accountNumber, int slot, long amount) {
+        ReentrantLock lock = slotLock(accountNumber, slot);
+        lock.lock();
+        try {
+            long balance = readSlot(accountNumber, slot);
+            if (balance < amount) {
+                return false;
+            }
+            writeSlot(accountNumber, slot, balance - amount);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public long takeUpTo(String accountNumber, int slot, long max) {
+        ReentrantLock lock = slotLock(accountNumber, slot);
+        lock.lock();
+        try {
+            long balance = readSlot(accountNumber, slot);
+            long taken = Math.min(balance, max);
+            if (taken > 0) {
+                writeSlot(accountNumber, slot, balance - taken);
+            }
+            return taken;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public long[] loadSlots(String accountNumber) {
+        long[] balances = new long[slotCountOf(accountNumber)];
+        for (int slot = 0; slot < balances.length; slot++) {
+            ReentrantLock lock = slotLock(accountNumber, slot);
+            lock.lock();
+            try {
+                balances[slot] = readSlot(accountNumber, slot);
+            } finally {
+                lock.unlock();
+            }
+        }
+        return balances;
+    }
+
+    @Override
+    public void rebalanceSlots(String accountNumber) {
+        int slots = slotCountOf(accountNumber);
+        List<ReentrantLock> locks = lockAllSlots(accountNumber, slots);
+        try {
+            long total = 0;
+            long[] balances = new long[slots];
+            for (int slot = 0; slot < slots; slot++) {
+                balances[slot] = readSlot(accountNumber, slot);
+                total += balances[slot];
+            }
+            for (int slot = 0; slot < slots; slot++) {
+                // 나머지는 앞 slot 부터 1 씩
+                long target = total / slots + (slot < total % slots ? 1 : 0);
+                if (balances[slot] != target) {
+                    writeSlot(accountNumber, slot, target);
+                }
+            }
+        } finally {
+            unlockAll(locks);
+        }
+    }
+
+    @Override
+    public void clearSlots(String accountNumber) {
+        int slots = slotCountOf(accountNumber);
+        List<ReentrantLock> locks = lockAllSlots(accountNumber, slots);
+        try {
+            for (int slot = 0; slot < slots; slot++) {
+                writeSlot(accountNumber, slot, 0L);
+            }
+        } finally {
+            unlockAll(locks);
+        }
+    }
+
+    private ReentrantLock slotLock(String accountNumber, int slot) {
+        return slotLocks[stripeOf(accountNumber, slot)];
+    }
+
+    private static int stripeOf(String accountNumber, int slot) {
+        int hash = accountNumber.hashCode() * 31 + slot;
+        return (hash ^ (hash >>> 16)) & (SLOT_LOCK_STRIPES - 1);
+    }
+
+    /**
+     * 계좌의 모든 slot 이 쓰는 stripe 를 번호 순서로 잠근다. (다른 다중 잠금과 교착하지 않도록)
+     */
+    private List<ReentrantLock> lockAllSlots(String accountNumber, int slots) {
+        TreeSet<Integer> stripes = new TreeSet<>();
+        for (int slot = 0; slot < slots; slot++) {
+            stripes.add(stripeOf(accountNumber, slot));
+        }
+        List<ReentrantLock> locked = new ArrayList<>(stripes.size());
+        for (int stripe : stripes) {
+            slotLocks[stripe].lock();
+            locked.add(slotLocks[stripe]);
+        }
+        return locked;
+    }
+
+    private static void unlockAll(List<ReentrantLock> locks) {
+        for (int i = locks.size() - 1; i >= 0; i--) {
+            locks.get(i).unlock();
+        }
+    }
+}
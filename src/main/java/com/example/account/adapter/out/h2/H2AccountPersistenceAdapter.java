@@ -1,22 +1,69 @@
 package com.example.account.adapter.out.h2;
 
 import com.example.account.adapter.out.h2.mybatis.AccountRow;
+import com.example.account.application.port.out.ListAccountsPort;
 import com.example.account.application.port.out.LoadAccountPort;
 import com.example.account.application.port.out.SaveAccountPort;
+import com.example.account.application.port.out.SubBalancePort;
+import com.example.account.application.port.out.UpdateBalancePort;
 import com.example.account.domain.exception.AccountNotFoundException;
+import com.example.account.domain.exception.InsufficientBalanceException;
+import com.example.account.domain.exception.AccountVersionConflictException;
 import com.example.account.domain.model.Account;
 import com.example.account.adapter.out.h2.mapper.AccountMapper;
+import com.example.account.adapter.out.h2.mapper.AccountSlotMapper;
+import org.apache.ibatis.cursor.Cursor;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
 /**
  * 쿼리는 모두 MyBatis XML로 분리.
  * 어댑터는 Port 구현과 도메인 변환만 담당.
+ *
+ * loadAll/saveAll 은 chunkSize 개씩 잘라 IN 조회 / 다중 행 MERGE 한 문장으로 보낸다.
+ * (바인딩 파라미터 수와 SQL 길이가 끝없이 커지지 않도록 chunk 단위로 나눔)
+ *
+ * addBalance 는 조건부 UPDATE 한 문장으로 잔액을 증감하므로 동시 입출금에도 갱신 유실이 없다.
+ *
+ * save/saveAll 은 version 이 일치할 때만 갱신하는 조건부 MERGE 이며 (version 0 은 확인 없이 저장),
+ * 갱신되지 않으면 AccountVersionConflictException 을 던진다.
+ *
+ * 목록은 계좌번호(PK) keyset pagination, 전체 내보내기는 MyBatis Cursor 로 한 행씩 읽는다.
+ *
+ * slot(SubBalancePort)은 account_slot 테이블의 행 하나씩이며, 차감은 모두 조건부 UPDATE 라 잔액이 음수가 되지 않는다.
+ * 호출한 쪽 트랜잭션 안에서 실행되고, 재분배만 자기 트랜잭션에서 slot 행을 번호 순서로 잠근 뒤 다시 쓴다.
  */
-class H2AccountPersistenceAdapter implements LoadAccountPort, SaveAccountPort {
+class H2AccountPersistenceAdapter implements LoadAccountPort, SaveAccountPort, UpdateBalancePort, ListAccountsPort,
+        SubBalancePort {
+
+    static final int DEFAULT_CHUNK_SIZE = 500;
 
     private final AccountMapper mapper;
+    private final AccountSlotMapper slotMapper;
+    private final int chunkSize;
+
+    H2AccountPersistenceAdapter(AccountMapper mapper, AccountSlotMapper slotMapper) {
+        this(mapper, slotMapper, DEFAULT_CHUNK_SIZE);
+    }
 
-    H2AccountPersistenceAdapter(AccountMapper mapper) {
+    H2AccountPersistenceAdapter(AccountMapper mapper, AccountSlotMapper slotMapper, int chunkSize) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("chunkSize must be positive");
+        }
         this.mapper = mapper;
+        this.slotMapper = slotMapper;
+        this.chunkSize = chunkSize;
     }
 
     @Override
@@ -24,14 +71,182 @@ class H2AccountPersistenceAdapter implements LoadAccountPort, SaveAccountPort {
         var row = mapper.findByAccountNumber(accountNumber);
 
         if (row == null) {
-            throw new AccountNotFoundException("Account not found: " + accountNumber);
+            throw new AccountNotFoundException(accountNumber);
         }
-        return Account.of(row.getAccountNumber(), row.getName(), row.getBalance());
+        return toAccount(row);
+    }
+
+    @Override
+    public long loadVersion(String accountNumber) {
+        Long version = mapper.findVersion(accountNumber);
+        if (version == null) {
+            throw new AccountNotFoundException(accountNumber);
+        }
+        return version;
     }
 
     @Override
     public void save(Account account) {
         var row = AccountRow.of(account);
-        mapper.upsert(row);
+        Long version = mapper.upsert(row);
+        if (version == null) {
+            throw new AccountVersionConflictException(account.getAccountNumber());
+        }
+        account.markSaved(version);
+    }
+
+    @Override
+    public List<Account> loadAll(Collection<String> accountNumbers) {
+        List<String> distinct = new ArrayList<>(new LinkedHashSet<>(accountNumbers));
+        List<Account> accounts = new ArrayList<>(distinct.size());
+        for (int from = 0; from < distinct.size(); from += chunkSize) {
+            var chunk = distinct.subList(from, Math.min(from + chunkSize, distinct.size()));
+            for (AccountRow row : mapper.findByAccountNumbers(chunk)) {
+                accounts.add(toAccount(row));
+            }
+        }
+        return accounts;
+    }
+
+    /**
+     * 버전이 맞지 않는 계좌가 있으면 AccountVersionConflictException 을 던진다.
+     * (이미 기록된 chunk 는 호출한 쪽 트랜잭션이 롤백해야 함께 취소된다.)
+     */
+    @Override
+    public void saveAll(Collection<Account> accounts) {
+        // 같은 계좌가 여러 번 들어오면 마지막 상태만 남긴다. (한 MERGE 문 안에서 같은 키가 반복되지 않도록)
+        Map<String, Account> latest = new LinkedHashMap<>();
+        for (Account account : accounts) {
+            latest.put(account.getAccountNumber(), account);
+        }
+        List<Account> list = new ArrayList<>(latest.values());
+        for (int from = 0; from < list.size(); from += chunkSize) {
+            var chunk = list.subList(from, Math.min(from + chunkSize, list.size()));
+            List<AccountRow> rows = new ArrayList<>(chunk.size());
+            for (Account account : chunk) {
+                rows.add(AccountRow.of(account));
+            }
+            Map<String, Long> saved = new HashMap<>();
+            for (AccountRow row : mapper.upsertAll(rows)) {
+                saved.put(row.getAccountNumber(), row.getVersion());
+            }
+            for (Account account : chunk) {
+                Long version = saved.get(account.getAccountNumber());
+                if (version == null) {
+                    throw new AccountVersionConflictException(account.getAccountNumber());
+                }
+                account.markSaved(version);
+            }
+        }
+    }
+
+    @Override
+    public Account addBalance(String accountNumber, long delta) {
+        var row = mapper.addBalance(accountNumber, delta);
+        if (row != null) {
+            return toAccount(row);
+        }
+        // 갱신된 행이 없으면: 계좌가 없거나 잔액 부족 (실패한 경우에만 한 번 더 조회)
+        if (mapper.findByAccountNumber(accountNumber) == null) {
+            throw new AccountNotFoundException(accountNumber);
+        }
+        throw new InsufficientBalanceException();
+    }
+
+    @Override
+    public List<Account> listAccounts(String after, int limit) {
+        List<Account> accounts = new ArrayList<>(limit);
+        for (AccountRow row : mapper.findPage(after, limit)) {
+            accounts.add(toAccount(row));
+        }
+        return accounts;
+    }
+
+    /**
+     * Cursor 는 SqlSession 이 열려 있는 동안만 읽을 수 있으므로 트랜잭션 안에서 호출해야 한다.
+     */
+    @Override
+    public void streamAccounts(Consumer<Account> consumer) {
+        try (Cursor<AccountRow> cursor = mapper.scanAll()) {
+            for (AccountRow row : cursor) {
+                consumer.accept(toAccount(row));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to close account cursor", e);
+        }
+    }
+
+    @Override
+    public Map<String, Integer> loadSlotCounts() {
+        Map<String, Integer> counts = new HashMap<>();
+        for (String accountNumber : slotMapper.findSplitAccountNumbers()) {
+            counts.put(accountNumber, slotMapper.countSlots(accountNumber));
+        }
+        return counts;
+    }
+
+    @Override
+    public void createSlots(String accountNumber, int slotCount) {
+        if (mapper.findByAccountNumber(accountNumber) == null) {
+            throw new AccountNotFoundException(accountNumber);
+        }
+        slotMapper.insertMissingSlots(accountNumber, slotCount);
+    }
+
+    @Override
+    public void addToSlot(String accountNumber, int slot, long amount) {
+        if (slotMapper.addToSlot(accountNumber, slot, amount) == 0) {
+            throw new IllegalStateException("Slot " + slot + " not found for account " + accountNumber);
+        }
+    }
+
+    @Override
+    public boolean takeFromSlot(String accountNumber, int slot, long amount) {
+        return slotMapper.takeFromSlot(accountNumber, slot, amount) > 0;
+    }
+
+    @Override
+    public long takeUpTo(String accountNumber, int slot, long max) {
+        Long before = slotMapper.takeUpTo(accountNumber, slot, max);
+        return before == null ? 0 : Math.min(before, max);
+    }
+
+    @Override
+    public long[] loadSlots(String accountNumber) {
+        return toArray(slotMapper.findSlotBalances(accountNumber));
+    }
+
+    @Override
+    @Transactional
+    public void rebalanceSlots(String accountNumber) {
+        long[] balances = toArray(slotMapper.lockSlotBalances(accountNumber));
+        long total = 0;
+        for (long balance : balances) {
+            total += balance;
+        }
+        for (int slot = 0; slot < balances.length; slot++) {
+            // 나머지는 앞 slot 부터 1 씩
+            long target = total / balances.length + (slot < total % balances.length ? 1 : 0);
+            if (balances[slot] != target) {
+                slotMapper.setSlotBalance(accountNumber, slot, target);
+            }
+        }
+    }
+
+    @Override
+    public void clearSlots(String accountNumber) {
+        slotMapper.clearSlots(accountNumber);
+    }
+
+    private static long[] toArray(List<Long> balances) {
+        long[] array = new long[balances.size()];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = balances.get(i);
+        }
+        return array;
+    }
+
+    private static Account toAccount(AccountRow row) {
+        return Account.of(row.getAccountNumber(), row.getName(), row.getBalance(), row.getVersion());
     }
 }
@@ -2,11 +2,17 @@
 package com.example.account.adapter.out.h2;
 
 import com.example.account.adapter.out.h2.mapper.AccountMapper;
+import com.example.account.adapter.out.h2.mapper.AccountSlotMapper;
+import com.example.account.adapter.out.h2.mapper.IdempotencyKeyMapper;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Profile;
 
+import java.time.Duration;
+
 /**
  * persistence.type=h2 일 때만 활성화
  * (yaml에서 전환)
@@ -17,7 +23,24 @@ class H2AdapterConfig {
 
     @Bean
     @ConditionalOnMissingBean(H2AccountPersistenceAdapter.class)
-    public H2AccountPersistenceAdapter h2AccountPersistenceAdapter(AccountMapper mapper) {
-        return new H2AccountPersistenceAdapter(mapper);
+    public H2AccountPersistenceAdapter h2AccountPersistenceAdapter(
+            AccountMapper mapper,
+            AccountSlotMapper slotMapper,
+            @Value("${account.h2.batch-chunk-size:500}") int chunkSize
+    ) {
+        return new H2AccountPersistenceAdapter(mapper, slotMapper, chunkSize);
+    }
+
+    /**
+     * account.idempotency.store=h2 : Idempotency-Key 를 테이블에 보관 (재기동 후에도 유지)
+     */
+    @Bean
+    @ConditionalOnProperty(name = "account.idempotency.store", havingValue = "h2")
+    H2IdempotencyAdapter h2IdempotencyAdapter(
+            IdempotencyKeyMapper mapper,
+            @Value("${account.idempotency.ttl:24h}") Duration ttl,
+            @Value("${account.idempotency.purge-interval:1m}") Duration purgeInterval
+    ) {
+        return new H2IdempotencyAdapter(mapper, ttl, purgeInterval);
     }
 }
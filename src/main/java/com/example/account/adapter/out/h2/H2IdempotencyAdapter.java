@@ -0,0 +1,65 @@
+package com.example.account.adapter.out.h2;
+
+import com.example.account.adapter.out.h2.mapper.IdempotencyKeyMapper;
+import com.example.account.adapter.out.h2.mybatis.IdempotencyKeyRow;
+import com.example.account.application.port.out.IdempotencyPort;
+import com.example.account.domain.model.Account;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Idempotency-Key 를 idempotency_key 테이블에 보관해 재기동 후에도 유지한다. (account.idempotency.store=h2)
+ *
+ * 호출한 쪽 트랜잭션 안에서 기록되므로 잔액 변경과 key 가 함께 커밋/롤백된다.
+ * 만료된 행은 조회에서 제외하고, 저장할 때 purge-interval 에 한 번씩 PURGE_BATCH 개까지 삭제한다.
+ */
+class H2IdempotencyAdapter implements IdempotencyPort {
+
+    static final int PURGE_BATCH = 1000;
+
+    private final IdempotencyKeyMapper mapper;
+    private final Duration ttl;
+    private final long purgeIntervalMillis;
+    private final Clock clock;
+    private final AtomicLong lastPurgeMillis = new AtomicLong();
+
+    H2IdempotencyAdapter(IdempotencyKeyMapper mapper, Duration ttl, Duration purgeInterval) {
+        this(mapper, ttl, purgeInterval, Clock.systemUTC());
+    }
+
+    H2IdempotencyAdapter(IdempotencyKeyMapper mapper, Duration ttl, Duration purgeInterval, Clock clock) {
+        if (ttl.isNegative() || ttl.isZero() || purgeInterval.isNegative()) {
+            throw new IllegalArgumentException("ttl must be positive and purge-interval must not be negative");
+        }
+        this.mapper = mapper;
+        this.ttl = ttl;
+        this.purgeIntervalMillis = purgeInterval.toMillis();
+        this.clock = clock;
+    }
+
+    @Override
+    public Account find(String key, long requestHash) {
+        IdempotencyKeyRow row = mapper.findUnexpired(key, clock.instant());
+        if (row == null) {
+            return null;
+        }
+        if (row.getRequestHash() != requestHash) {
+            throw new IllegalArgumentException("Idempotency-Key was already used for a different request");
+        }
+        return row.toAccount();
+    }
+
+    @Override
+    public void save(String key, long requestHash, Account result) {
+        Instant now = clock.instant();
+        mapper.upsert(IdempotencyKeyRow.of(key, requestHash, result, now.plus(ttl)));
+
+        long last = lastPurgeMillis.get();
+        if (now.toEpochMilli() - last >= purgeIntervalMillis && lastPurgeMillis.compareAndSet(last, now.toEpochMilli())) {
+            mapper.deleteExpired(now, PURGE_BATCH);
+        }
+    }
+}
@@ -3,9 +3,19 @@ package com.example.account.adapter.out.h2.mapper;
 import com.example.account.adapter.out.h2.mybatis.AccountRow;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.cursor.Cursor;
+
+import java.util.Collection;
+import java.util.List;
 
 @Mapper
 public interface AccountMapper {
     AccountRow findByAccountNumber(@Param("accountNumber") String accountNumber);
-    int upsert(AccountRow account);
+    Long findVersion(@Param("accountNumber") String accountNumber);
+    List<AccountRow> findByAccountNumbers(@Param("accountNumbers") Collection<String> accountNumbers);
+    List<AccountRow> findPage(@Param("after") String after, @Param("limit") int limit);
+    Cursor<AccountRow> scanAll();
+    Long upsert(AccountRow account);
+    List<AccountRow> upsertAll(@Param("accounts") List<AccountRow> accounts);
+    AccountRow addBalance(@Param("accountNumber") String accountNumber, @Param("delta") long delta);
 }
@@ -0,0 +1,20 @@
+package com.example.account.adapter.out.h2.mapper;
+
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.List;
+
+@Mapper
+public interface AccountSlotMapper {
+    List<String> findSplitAccountNumbers();
+    int countSlots(@Param("accountNumber") String accountNumber);
+    int insertMissingSlots(@Param("accountNumber") String accountNumber, @Param("slotCount") int slotCount);
+    int addToSlot(@Param("accountNumber") String accountNumber, @Param("slot") int slot, @Param("amount") long amount);
+    int takeFromSlot(@Param("accountNumber") String accountNumber, @Param("slot") int slot, @Param("amount") long amount);
+    Long takeUpTo(@Param("accountNumber") String accountNumber, @Param("slot") int slot, @Param("max") long max);
+    List<Long> findSlotBalances(@Param("accountNumber") String accountNumber);
+    List<Long> lockSlotBalances(@Param("accountNumber") String accountNumber);
+    int setSlotBalance(@Param("accountNumber") String accountNumber, @Param("slot") int slot, @Param("balance") long balance);
+    int clearSlots(@Param("accountNumber") String accountNumber);
+}
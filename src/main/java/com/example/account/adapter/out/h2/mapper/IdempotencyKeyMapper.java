@@ -0,0 +1,14 @@
+package com.example.account.adapter.out.h2.mapper;
+
+import com.example.account.adapter.out.h2.mybatis.IdempotencyKeyRow;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.time.Instant;
+
+@Mapper
+public interface IdempotencyKeyMapper {
+    IdempotencyKeyRow findUnexpired(@Param("idempotencyKey") String idempotencyKey, @Param("now") Instant now);
+    int upsert(IdempotencyKeyRow row);
+    int deleteExpired(@Param("now") Instant now, @Param("limit") int limit);
+}
@@ -4,17 +4,23 @@ import com.example.account.domain.model.Account;
 
 public class AccountRow {
     public AccountRow(String accountNumber, String name, Long balance) {
+        this(accountNumber, name, balance, 0L);
+    }
+
+    public AccountRow(String accountNumber, String name, Long balance, Long version) {
         this.accountNumber = accountNumber;
         this.name = name;
         this.balance = balance;
+        this.version = version;
     }
 
     private String accountNumber;
     private String name;
     private Long balance; // DB에서 Long으로 매핑하면 null-safe
+    private Long version; // 0 = 버전 확인 없이 저장
 
     public static AccountRow of(Account account) {
-        return new AccountRow(account.getAccountNumber(), account.getName(), account.getBalance());
+        return new AccountRow(account.getAccountNumber(), account.getName(), account.getBalance(), account.getVersion());
     }
 
     public String getAccountNumber() { return accountNumber; }
@@ -25,4 +31,7 @@ public class AccountRow {
 
     public Long getBalance() { return balance; }
     public void setBalance(Long balance) { this.balance = balance; }
+
+    public Long getVersion() { return version; }
+    public void setVersion(Long version) { this.version = version; }
 }
\ No newline at end of file
@@ -0,0 +1,59 @@
+package com.example.account.adapter.out.h2.mybatis;
+
+import com.example.account.domain.model.Account;
+
+import java.time.Instant;
+
+public class IdempotencyKeyRow {
+    public IdempotencyKeyRow() {
+    }
+
+    public IdempotencyKeyRow(String idempotencyKey, Long requestHash, String accountNumber, String name,
+                             Long balance, Long version, Instant expiresAt) {
+        this.idempotencyKey = idempotencyKey;
+        this.requestHash = requestHash;
+        this.accountNumber = accountNumber;
+        this.name = name;
+        this.balance = balance;
+        this.version = version;
+        this.expiresAt = expiresAt;
+    }
+
+    private String idempotencyKey;
+    private Long requestHash;
+    private String accountNumber;
+    private String name;
+    private Long balance;
+    private Long version;
+    private Instant expiresAt;
+
+    public static IdempotencyKeyRow of(String idempotencyKey, long requestHash, Account result, Instant expiresAt) {
+        return new IdempotencyKeyRow(idempotencyKey, requestHash, result.getAccountNumber(), result.getName(),
+                result.getBalance(), result.getVersion(), expiresAt);
+    }
+
+    public Account toAccount() {
+        return Account.of(accountNumber, name, balance, version);
+    }
+
+    public String getIdempotencyKey() { return idempotencyKey; }
+    public void setIdempotencyKey(String idempotencyKey) { this.idempotencyKey = idempotencyKey; }
+
+    public Long getRequestHash() { return requestHash; }
+    public void setRequestHash(Long requestHash) { this.requestHash = requestHash; }
+
+    public String getAccountNumber() { return accountNumber; }
+    public void setAccountNumber(String accountNumber) { this.accountNumber = accountNumber; }
+
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+
+    public Long getBalance() { return balance; }
+    public void setBalance(Long balance) { this.balance = balance; }
+
+    public Long getVersion() { return version; }
+    public void setVersion(Long version) { this.version = version; }
+
+    public Instant getExpiresAt() { return expiresAt; }
+    public void setExpiresAt(Instant expiresAt) { this.expiresAt = expiresAt; }
+}
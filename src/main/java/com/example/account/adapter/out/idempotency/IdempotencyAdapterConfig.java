@@ -0,0 +1,25 @@
+package com.example.account.adapter.out.idempotency;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * account.idempotency.store=memory (기본값) : Idempotency-Key 를 프로세스 메모리에만 보관 (모든 프로파일)
+ * 재기동 후에도 유지하려면 h2 프로파일에서 account.idempotency.store=h2 (H2AdapterConfig)
+ */
+@Configuration
+@ConditionalOnProperty(name = "account.idempotency.store", havingValue = "memory", matchIfMissing = true)
+class IdempotencyAdapterConfig {
+
+    @Bean
+    TimeBucketIdempotencyAdapter timeBucketIdempotencyAdapter(
+            @Value("${account.idempotency.ttl:24h}") Duration ttl,
+            @Value("${account.idempotency.buckets:24}") int buckets
+    ) {
+        return new TimeBucketIdempotencyAdapter(ttl, buckets);
+    }
+}
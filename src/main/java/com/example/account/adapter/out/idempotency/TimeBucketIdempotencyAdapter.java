@@ -0,0 +1,225 @@
+package com.example.account.adapter.out.idempotency;
+
+import com.example.account.application.port.out.IdempotencyPort;
+import com.example.account.domain.model.Account;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Idempotency-Key 를 프로세스 메모리에 ttl 동안 보관하는 저장소. (재기동하면 비어 있음)
+ *
+ * - key 마다 Map.Entry 나 만료 타이머를 만들지 않는다. key 는 64비트 해시(long)로만 보관한다.
+ * - ttl 을 buckets 개의 시간 구간으로 나눈 ring 을 쓴다. 구간마다 open addressing 테이블 하나
+ *   (long[] key 해시, long[] 요청 해시, Account[] 결과)가 있고, 새 key 는 현재 구간 테이블에 넣는다.
+ * - 시간이 흘러 ring 이 한 바퀴 돌면 가장 오래된 구간 테이블을 통째로 비우고 재사용한다. → 만료 비용은 구간당 한 번
+ * - 조회는 최근 구간부터 buckets 개를 확인한다. key 는 ttl - ttl/buckets 이상, ttl 미만 동안 유지된다.
+ *
+ * 64비트 해시가 충돌하면 다른 key 의 결과를 돌려줄 수 있지만, 요청 해시까지 같아야 하므로 무시할 수 있는 확률이다.
+ * 모든 연산은 잠금 하나로 직렬화한다. (연산마다 배열 몇 칸만 보므로 짧다)
+ *
+ * 메모리 저장소는 트랜잭션에 참여하지 않으므로, 트랜잭션 안에서 저장하면 커밋된 뒤(afterCommit)에 반영한다.
+ * 커밋 전에 반영하면 롤백된 요청의 결과를 재시도에 돌려주게 된다.
+ */
+class TimeBucketIdempotencyAdapter implements IdempotencyPort {
+
+    static final int INITIAL_CAPACITY = 64;
+
+    private final long bucketNanos;
+    private final Bucket[] ring;
+    private final LongSupplier nanoClock;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    TimeBucketIdempotencyAdapter(Duration ttl, int buckets) {
+        this(ttl, buckets, System::nanoTime);
+    }
+
+    TimeBucketIdempotencyAdapter(Duration ttl, int buckets, LongSupplier nanoClock) {
+        if (buckets < 2 || ttl.toNanos() < buckets) {
+            throw new IllegalArgumentException("buckets must be at least 2 and ttl must be positive");
+        }
+        this.bucketNanos = ttl.toNanos() / buckets;
+        this.ring = new Bucket[buckets];
+        for (int i = 0; i < buckets; i++) {
+            ring[i] = new Bucket();
+        }
+        this.nanoClock = nanoClock;
+    }
+
+    @Override
+    public Account find(String key, long requestHash) {
+        long keyHash = hash(key);
+        lock.lock();
+        try {
+            long epoch = currentEpoch();
+            for (int age = 0; age < ring.length; age++) {
+                Bucket bucket = ring[index(epoch - age)];
+                if (bucket.epoch != epoch - age) {
+                    continue; // 만료된 구간
+                }
+                int slot = bucket.indexOf(keyHash);
+                if (slot < 0) {
+                    continue;
+                }
+                if (bucket.requestHashes[slot] != requestHash) {
+                    throw new IllegalArgumentException("Idempotency-Key was already used for a different request");
+                }
+                return copyOf(bucket.results[slot]);
+            }
+            return null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void save(String key, long requestHash, Account result) {
+        long keyHash = hash(key);
+        Account saved = copyOf(result);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            put(keyHash, requestHash, saved);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                put(keyHash, requestHash, saved);
+            }
+        });
+    }
+
+    private void put(long keyHash, long requestHash, Account saved) {
+        lock.lock();
+        try {
+            long epoch = currentEpoch();
+            Bucket bucket = ring[index(epoch)];
+            if (bucket.epoch != epoch) {
+                bucket.reset(epoch);
+            }
+            bucket.put(keyHash, requestHash, saved);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 만료되지 않은 key 수 (테스트/모니터링용)
+     */
+    int size() {
+        lock.lock();
+        try {
+            long epoch = currentEpoch();
+            int size = 0;
+            for (int age = 0; age < ring.length; age++) {
+                Bucket bucket = ring[index(epoch - age)];
+                if (bucket.epoch == epoch - age) {
+                    size += bucket.size;
+                }
+            }
+            return size;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private long currentEpoch() {
+        return Math.floorDiv(nanoClock.getAsLong(), bucketNanos);
+    }
+
+    private int index(long epoch) {
+        return (int) Math.floorMod(epoch, (long) ring.length);
+    }
+
+    /**
+     * 문자열 key 의 64비트 해시 (FNV-1a + murmur3 finalizer). 0 은 빈 칸 표시라 쓰지 않는다.
+     */
+    static long hash(String key) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < key.length(); i++) {
+            hash = (hash ^ key.charAt(i)) * 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash == 0 ? 1 : hash;
+    }
+
+    private static Account copyOf(Account account) {
+        return Account.of(account.getAccountNumber(), account.getName(), account.getBalance(), account.getVersion());
+    }
+
+    /**
+     * 한 시간 구간의 linear probing 테이블. 적재율이 1/2 을 넘으면 두 배로 늘린다.
+     */
+    private static final class Bucket {
+        long epoch = Long.MIN_VALUE;
+        long[] keyHashes = new long[INITIAL_CAPACITY];
+        long[] requestHashes = new long[INITIAL_CAPACITY];
+        Account[] results = new Account[INITIAL_CAPACITY];
+        int size;
+
+        int indexOf(long keyHash) {
+            int mask = keyHashes.length - 1;
+            for (int i = (int) keyHash & mask; ; i = (i + 1) & mask) {
+                if (keyHashes[i] == keyHash) {
+                    return i;
+                }
+                if (keyHashes[i] == 0) {
+                    return -1;
+                }
+            }
+        }
+
+        void put(long keyHash, long requestHash, Account result) {
+            if ((size + 1) * 2 > keyHashes.length) {
+                grow();
+            }
+            int mask = keyHashes.length - 1;
+            int i = (int) keyHash & mask;
+            while (keyHashes[i] != 0 && keyHashes[i] != keyHash) {
+                i = (i + 1) & mask;
+            }
+            if (keyHashes[i] == 0) {
+                size++;
+            }
+            keyHashes[i] = keyHash;
+            requestHashes[i] = requestHash;
+            results[i] = result;
+        }
+
+        void reset(long newEpoch) {
+            epoch = newEpoch;
+            size = 0;
+            if (keyHashes.length > INITIAL_CAPACITY * 4) {
+                // 몰렸던 구간의 큰 배열은 버리고 다시 작게 시작
+                keyHashes = new long[INITIAL_CAPACITY];
+                requestHashes = new long[INITIAL_CAPACITY];
+                results = new Account[INITIAL_CAPACITY];
+            } else {
+                Arrays.fill(keyHashes, 0L);
+                Arrays.fill(results, null);
+            }
+        }
+
+        private void grow() {
+            long[] oldKeys = keyHashes;
+            long[] oldRequests = requestHashes;
+            Account[] oldResults = results;
+            keyHashes = new long[oldKeys.length * 2];
+            requestHashes = new long[oldKeys.length * 2];
+            results = new Account[oldKeys.length * 2];
+            size = 0;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] != 0) {
+                    put(oldKeys[i], oldRequests[i], oldResults[i]);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,452 @@
+package com.example.account.adapter.out.memory;
+
+import com.example.account.application.port.out.ListAccountsPort;
+import com.example.account.application.port.out.LoadAccountAsyncPort;
+import com.example.account.application.port.out.LoadAccountPort;
+import com.example.account.application.port.out.SaveAccountPort;
+import com.example.account.application.port.out.UpdateBalancePort;
+import com.example.account.domain.exception.AccountNotFoundException;
+import com.example.account.domain.exception.InsufficientBalanceException;
+import com.example.account.domain.exception.AccountVersionConflictException;
+import com.example.account.domain.model.Account;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * 계좌를 원시 타입 배열 기반 open addressing 해시 테이블에 담는 메모리 어댑터. (memory 프로파일, 재기동하면 비어 있음)
+ *
+ * - 계좌마다 객체를 만들지 않는다. 슬롯 i 의 잔액/버전은 long[] 에, 계좌번호/이름은 segment 의 byte 페이지(arena)에
+ *   UTF-8 로 한 번 적고 (offset << 16 | 길이) 참조만 long[] 에 둔다. (Long 박싱, HashMap.Entry 없음)
+ * - 계좌번호 해시로 segment 를 고르고, segment 안에서는 linear probing 으로 슬롯을 찾는다.
+ * - 조회는 잠금 없이 한다. 슬롯마다 seqlock(stamp)을 두어 잔액/버전/이름을 일관된 한 시점의 값으로 읽는다.
+ * - 변경(저장, 증감, 추가)은 segment 잠금 하나로 직렬화한다. 서로 다른 segment 는 동시에 변경된다.
+ * - 적재율이 LOAD_FACTOR 를 넘으면 그 segment 만 두 배 크기 테이블로 복사한 뒤 교체한다.
+ *   복사 중에도 조회는 이전 테이블을 그대로 읽고, 다른 segment 의 변경도 멈추지 않는다.
+ * - 이름이 바뀌면 새 이름을 arena 에 덧붙인다. (이전 이름 바이트는 회수하지 않음)
+ *
+ * 저장 시 버전 확인은 다른 어댑터와 같다. (버전 0 은 확인 없이 저장, 저장된 버전과 다르면 AccountVersionConflictException)
+ * 조회가 잠금도 I/O 도 없으므로 LoadAccountAsyncPort 도 구현한다. (이벤트 루프 스레드에서 바로 조회)
+ */
+class InMemoryAccountPersistenceAdapter
+        implements LoadAccountPort, LoadAccountAsyncPort, SaveAccountPort, UpdateBalancePort, ListAccountsPort {
+
+    static final int DEFAULT_SEGMENTS = 16;
+    static final int DEFAULT_INITIAL_CAPACITY = 1024;
+
+    private static final double LOAD_FACTOR = 0.75;
+    private static final int MAX_STRING_BYTES = 0xFFFF;
+    private static final int PAGE_SHIFT = 16;
+    private static final int PAGE_SIZE = 1 << PAGE_SHIFT;
+
+    private static final VarHandle LONGS = MethodHandles.arrayElementVarHandle(long[].class);
+
+    private final Segment[] segments;
+    private final int segmentShift;
+
+    InMemoryAccountPersistenceAdapter() {
+        this(DEFAULT_SEGMENTS, DEFAULT_INITIAL_CAPACITY);
+    }
+
+    /**
+     * @param segments        2의 거듭제곱으로 올림
+     * @param initialCapacity 전체 계좌 수 예상치 (segment 마다 나눠 가짐)
+     */
+    InMemoryAccountPersistenceAdapter(int segments, int initialCapacity) {
+        if (segments <= 0 || segments > (1 << 16) || initialCapacity <= 0) {
+            throw new IllegalArgumentException("segments must be between 1 and 65536 and initialCapacity must be positive");
+        }
+        int count = tableSizeFor(segments);
+        this.segments = new Segment[count];
+        int perSegment = tableSizeFor((int) Math.ceil(initialCapacity / (double) count / LOAD_FACTOR));
+        for (int i = 0; i < count; i++) {
+            this.segments[i] = new Segment(perSegment);
+        }
+        this.segmentShift = 32 - Integer.numberOfTrailingZeros(count);
+    }
+
+    @Override
+    public Account load(String accountNumber) {
+        int hash = spread(accountNumber.hashCode());
+        Account account = segmentFor(hash).load(accountNumber, hash);
+        if (account == null) {
+            throw new AccountNotFoundException(accountNumber);
+        }
+        return account;
+    }
+
+    @Override
+    public long loadVersion(String accountNumber) {
+        int hash = spread(accountNumber.hashCode());
+        long version = segmentFor(hash).loadVersion(accountNumber, hash);
+        if (version == 0) {
+            throw new AccountNotFoundException(accountNumber);
+        }
+        return version;
+    }
+
+    @Override
+    public CompletionStage<Account> loadAsync(String accountNumber) {
+        try {
+            return CompletableFuture.completedFuture(load(accountNumber));
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    @Override
+    public void save(Account account) {
+        int hash = spread(account.getAccountNumber().hashCode());
+        long version = segmentFor(hash).save(account, hash);
+        account.markSaved(version);
+    }
+
+    @Override
+    public Account addBalance(String accountNumber, long delta) {
+        int hash = spread(accountNumber.hashCode());
+        return segmentFor(hash).addBalance(accountNumber, hash, delta);
+    }
+
+    @Override
+    public List<Account> listAccounts(String after, int limit) {
+        // 해시 순서라 전체를 훑으며 after 다음의 계좌 limit 개만 정렬된 상태로 유지
+        TreeMap<String, Account> page = new TreeMap<>();
+        streamAccounts(account -> {
+            String accountNumber = account.getAccountNumber();
+            if (after != null && accountNumber.compareTo(after) <= 0) {
+                return;
+            }
+            if (page.size() >= limit) {
+                if (accountNumber.compareTo(page.lastKey()) > 0) {
+                    return;
+                }
+                page.pollLastEntry();
+            }
+            page.put(accountNumber, account);
+        });
+        return new ArrayList<>(page.values());
+    }
+
+    /**
+     * segment, 슬롯 순서대로 읽는다. (계좌번호 순서 아님, 읽는 중 추가된 계좌는 보이지 않을 수 있음)
+     */
+    @Override
+    public void streamAccounts(Consumer<Account> consumer) {
+        for (Segment segment : segments) {
+            segment.forEach(consumer);
+        }
+    }
+
+    long size() {
+        long size = 0;
+        for (Segment segment : segments) {
+            size += segment.size;
+        }
+        return size;
+    }
+
+    private Segment segmentFor(int hash) {
+        return segments.length == 1 ? segments[0] : segments[hash >>> segmentShift];
+    }
+
+    private static int spread(int hash) {
+        hash *= 0x9E3779B9;
+        return hash ^ (hash >>> 16);
+    }
+
+    private static int tableSizeFor(int n) {
+        return n <= 1 ? 1 : Integer.highestOneBit(n - 1) << 1;
+    }
+
+    /**
+     * 잠금 하나로 변경을 직렬화하는 테이블 + 문자열 arena. 조회는 잠금 없이 한다.
+     */
+    private static final class Segment {
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private volatile Table table;
+        // arena: PAGE_SIZE 바이트 페이지 목록. 페이지가 늘 때만 배열을 복사해서 교체한다.
+        private volatile byte[][] pages = new byte[1][];
+        // 아래는 lock 을 잡은 상태에서만 바뀐다.
+        private long arenaTop = 1; // 참조 0 은 빈 슬롯을 뜻하므로 offset 0 은 쓰지 않음
+        private volatile int size;
+
+        Segment(int capacity) {
+            this.table = new Table(capacity);
+            this.pages[0] = new byte[PAGE_SIZE];
+        }
+
+        Account load(String accountNumber, int hash) {
+            Table t = table;
+            int slot = t.find(accountNumber, hash, this);
+            return slot < 0 ? null : t.read(slot, accountNumber, this);
+        }
+
+        /**
+         * @return 저장된 버전, 없는 계좌면 0 (저장된 계좌의 버전은 1 이상)
+         */
+        long loadVersion(String accountNumber, int hash) {
+            Table t = table;
+            int slot = t.find(accountNumber, hash, this);
+            return slot < 0 ? 0 : t.readVersion(slot);
+        }
+
+        long save(Account account, int hash) {
+            String accountNumber = account.getAccountNumber();
+            lock.lock();
+            try {
+                Table t = table;
+                int slot = t.find(accountNumber, hash, this);
+                if (slot >= 0) {
+                    long current = t.versions[slot];
+                    if (account.getVersion() > 0 && current > 0 && account.getVersion() != current) {
+                        throw new AccountVersionConflictException(accountNumber);
+                    }
+                    long version = Math.max(current, account.getVersion()) + 1;
+                    long nameRef = t.nameRefs[slot];
+                    if (!stringEquals(nameRef, account.getName())) {
+                        nameRef = append(account.getName());
+                    }
+                    t.write(slot, nameRef, account.getBalance(), version);
+                    return version;
+                }
+                long keyRef = append(accountNumber);
+                long nameRef = append(account.getName());
+                long version = account.getVersion() + 1;
+                if (size + 1 > t.capacity() * LOAD_FACTOR) {
+                    t = resize(t);
+                }
+                t.insert(hash, keyRef, nameRef, account.getBalance(), version);
+                size++;
+                return version;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        Account addBalance(String accountNumber, int hash, long delta) {
+            lock.lock();
+            try {
+                Table t = table;
+                int slot = t.find(accountNumber, hash, this);
+                if (slot < 0) {
+                    throw new AccountNotFoundException(accountNumber);
+                }
+                long balance = t.balances[slot] + delta;
+                if (balance < 0) {
+                    throw new InsufficientBalanceException();
+                }
+                long nameRef = t.nameRefs[slot];
+                long version = t.versions[slot] + 1;
+                t.write(slot, nameRef, balance, version);
+                return Account.of(accountNumber, readString(nameRef), balance, version);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void forEach(Consumer<Account> consumer) {
+            Table t = table;
+            for (int slot = 0; slot < t.capacity(); slot++) {
+                long keyRef = (long) LONGS.getAcquire(t.keyRefs, slot);
+                if (keyRef != 0) {
+                    consumer.accept(t.read(slot, readString(keyRef), this));
+                }
+            }
+        }
+
+        /**
+         * lock 을 잡은 상태에서 호출. 새 테이블을 다 채운 뒤에 교체하므로 그동안 조회는 이전 테이블을 읽는다.
+         */
+        private Table resize(Table old) {
+            Table grown = new Table(old.capacity() * 2);
+            for (int slot = 0; slot < old.capacity(); slot++) {
+                long keyRef = old.keyRefs[slot];
+                if (keyRef != 0) {
+                    grown.insert(old.hashes[slot], keyRef, old.nameRefs[slot], old.balances[slot], old.versions[slot]);
+                }
+            }
+            table = grown;
+            return grown;
+        }
+
+        /**
+         * lock 을 잡은 상태에서 호출. 문자열을 arena 에 UTF-8 로 적고 참조를 반환한다.
+         */
+        private long append(String value) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            if (bytes.length > MAX_STRING_BYTES) {
+                throw new IllegalArgumentException("Account number or name is too long");
+            }
+            long offset = arenaTop;
+            // 문자열이 페이지 경계를 넘지 않도록 남은 공간이 모자라면 다음 페이지 처음부터
+            if ((offset & (PAGE_SIZE - 1)) + bytes.length > PAGE_SIZE) {
+                offset = ((offset >>> PAGE_SHIFT) + 1) << PAGE_SHIFT;
+            }
+            int pageIndex = (int) (offset >>> PAGE_SHIFT);
+            byte[][] current = pages;
+            if (pageIndex >= current.length || current[pageIndex] == null) {
+                byte[][] grown = Arrays.copyOf(current, Math.max(current.length, pageIndex + 1) * 2);
+                grown[pageIndex] = new byte[PAGE_SIZE];
+                current = grown;
+            }
+            System.arraycopy(bytes, 0, current[pageIndex], (int) (offset & (PAGE_SIZE - 1)), bytes.length);
+            pages = current; // 슬롯에 참조를 공개하기 전에 페이지 목록을 공개
+            arenaTop = offset + bytes.length;
+            return (offset << 16) | bytes.length;
+        }
+
+        String readString(long ref) {
+            long offset = ref >>> 16;
+            byte[] page = pages[(int) (offset >>> PAGE_SHIFT)];
+            return new String(page, (int) (offset & (PAGE_SIZE - 1)), (int) (ref & 0xFFFF), StandardCharsets.UTF_8);
+        }
+
+        /**
+         * 문자열을 새로 만들지 않고 arena 의 바이트와 비교한다. (ASCII 는 글자 단위로, 그 외는 UTF-8 인코딩 후 비교)
+         */
+        boolean stringEquals(long ref, String value) {
+            int length = (int) (ref & 0xFFFF);
+            long offset = ref >>> 16;
+            byte[] page = pages[(int) (offset >>> PAGE_SHIFT)];
+            int position = (int) (offset & (PAGE_SIZE - 1));
+            if (value.length() == length) {
+                for (int i = 0; i < length; i++) {
+                    char c = value.charAt(i);
+                    if (c >= 0x80) {
+                        return utf8Equals(page, position, length, value);
+                    }
+                    if (page[position + i] != (byte) c) {
+                        return false;
+                    }
+                }
+                return true;
+            }
+            // UTF-8 바이트 수는 글자 수보다 작을 수 없다.
+            return length > value.length() && utf8Equals(page, position, length, value);
+        }
+
+        private static boolean utf8Equals(byte[] page, int position, int length, String value) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            return Arrays.equals(bytes, 0, bytes.length, page, position, position + length);
+        }
+    }
+
+    /**
+     * 슬롯 배열 묶음. 용량은 고정이며, 커질 때는 새 Table 로 교체한다.
+     *
+     * keyRefs 는 슬롯을 공개하는 필드라 마지막에 release 로 쓰고 acquire 로 읽는다.
+     * stamps 는 슬롯별 seqlock (홀수 = 쓰는 중)
+     */
+    private static final class Table {
+        final int mask;
+        final int[] hashes;
+        final long[] keyRefs;
+        final long[] nameRefs;
+        final long[] balances;
+        final long[] versions;
+        final long[] stamps;
+
+        Table(int capacity) {
+            this.mask = capacity - 1;
+            this.hashes = new int[capacity];
+            this.keyRefs = new long[capacity];
+            this.nameRefs = new long[capacity];
+            this.balances = new long[capacity];
+            this.versions = new long[capacity];
+            this.stamps = new long[capacity];
+        }
+
+        int capacity() {
+            return mask + 1;
+        }
+
+        /**
+         * @return 계좌가 있는 슬롯, 없으면 -1
+         */
+        int find(String accountNumber, int hash, Segment segment) {
+            for (int slot = hash & mask; ; slot = (slot + 1) & mask) {
+                long keyRef = (long) LONGS.getAcquire(keyRefs, slot);
+                if (keyRef == 0) {
+                    return -1;
+                }
+                if (hashes[slot] == hash && segment.stringEquals(keyRef, accountNumber)) {
+                    return slot;
+                }
+            }
+        }
+
+        /**
+         * segment lock 을 잡은 상태에서 호출. 빈 슬롯에 값을 모두 적은 뒤 keyRef 로 공개한다.
+         */
+        void insert(int hash, long keyRef, long nameRef, long balance, long version) {
+            int slot = hash & mask;
+            while (keyRefs[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            hashes[slot] = hash;
+            nameRefs[slot] = nameRef;
+            balances[slot] = balance;
+            versions[slot] = version;
+            LONGS.setRelease(keyRefs, slot, keyRef);
+        }
+
+        /**
+         * segment lock 을 잡은 상태에서 호출.
+         */
+        void write(int slot, long nameRef, long balance, long version) {
+            long stamp = stamps[slot];
+            LONGS.setVolatile(stamps, slot, stamp + 1);
+            VarHandle.storeStoreFence();
+            nameRefs[slot] = nameRef;
+            balances[slot] = balance;
+            versions[slot] = version;
+            LONGS.setRelease(stamps, slot, stamp + 2);
+        }
+
+        /**
+         * 잠금 없이 슬롯의 값을 읽는다. 읽는 도중 쓰기가 있었으면 다시 읽는다.
+         */
+        Account read(int slot, String accountNumber, Segment segment) {
+            while (true) {
+                long stamp = (long) LONGS.getAcquire(stamps, slot);
+                if ((stamp & 1) == 0) {
+                    long nameRef = nameRefs[slot];
+                    long balance = balances[slot];
+                    long version = versions[slot];
+                    VarHandle.acquireFence();
+                    if ((long) LONGS.getVolatile(stamps, slot) == stamp) {
+                        return Account.of(accountNumber, segment.readString(nameRef), balance, version);
+                    }
+                }
+                Thread.onSpinWait();
+            }
+        }
+
+        /**
+         * read 와 같은 방식으로 버전만 읽는다. (이름 문자열을 만들지 않음)
+         */
+        long readVersion(int slot) {
+            while (true) {
+                long stamp = (long) LONGS.getAcquire(stamps, slot);
+                if ((stamp & 1) == 0) {
+                    long version = versions[slot];
+                    VarHandle.acquireFence();
+                    if ((long) LONGS.getVolatile(stamps, slot) == stamp) {
+                        return version;
+                    }
+                }
+                Thread.onSpinWait();
+            }
+        }
+    }
+}
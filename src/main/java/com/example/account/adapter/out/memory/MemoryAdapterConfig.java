@@ -0,0 +1,25 @@
+package com.example.account.adapter.out.memory;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+/**
+ * memory 프로파일일 때만 활성화
+ * 계좌를 프로세스 메모리에만 보관한다. (재기동하면 비어 있음, 지연 시간이 중요한 배포나 벤치마크 기준선 용도)
+ */
+@Configuration
+@Profile("memory")
+class MemoryAdapterConfig {
+
+    @Bean
+    @ConditionalOnMissingBean(InMemoryAccountPersistenceAdapter.class)
+    InMemoryAccountPersistenceAdapter inMemoryAccountPersistenceAdapter(
+            @Value("${account.memory.segments:16}") int segments,
+            @Value("${account.memory.initial-capacity:1024}") int initialCapacity
+    ) {
+        return new InMemoryAccountPersistenceAdapter(segments, initialCapacity);
+    }
+}
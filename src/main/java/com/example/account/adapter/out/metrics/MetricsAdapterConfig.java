@@ -0,0 +1,19 @@
+package com.example.account.adapter.out.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 메트릭 어댑터는 저장소 종류와 무관하므로 프로파일 구분 없이 등록
+ */
+@Configuration
+class MetricsAdapterConfig {
+
+    @Bean
+    @ConditionalOnMissingBean(MicrometerMetricsAdapter.class)
+    MicrometerMetricsAdapter micrometerMetricsAdapter(MeterRegistry meterRegistry) {
+        return new MicrometerMetricsAdapter(meterRegistry);
+    }
+}
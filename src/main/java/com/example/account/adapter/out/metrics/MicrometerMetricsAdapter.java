@@ -0,0 +1,35 @@
+package com.example.account.adapter.out.metrics;
+
+import com.example.account.application.port.out.MetricsPort;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * MetricsPort 를 Micrometer MeterRegistry 로 구현 (actuator 의 /actuator/metrics 로 노출됨)
+ */
+class MicrometerMetricsAdapter implements MetricsPort {
+
+    private final MeterRegistry registry;
+
+    MicrometerMetricsAdapter(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public void increment(String name, String... tags) {
+        registry.counter(name, tags).increment();
+    }
+
+    @Override
+    public void recordNanos(String name, long nanos, String... tags) {
+        registry.timer(name, tags).record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void gauge(String name, Supplier<Number> value, String... tags) {
+        Gauge.builder(name, value).tags(tags).register(registry);
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.account.application.exception;
+
+/**
+ * 같은 계좌의 다른 요청이 잠금을 오래 잡고 있어 제한 시간 안에 잠금을 얻지 못한 경우 (잠시 후 재시도 가능)
+ */
+public class AccountLockTimeoutException extends RuntimeException {
+    public AccountLockTimeoutException(String accountNumber) {
+        super("Timed out waiting for account lock: " + accountNumber);
+    }
+}
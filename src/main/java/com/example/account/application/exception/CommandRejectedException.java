@@ -0,0 +1,10 @@
+package com.example.account.application.exception;
+
+/**
+ * 명령 대기열이 가득 차 입금/출금 명령을 받지 못한 경우 (잠시 후 재시도 가능)
+ */
+public class CommandRejectedException extends RuntimeException {
+    public CommandRejectedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.account.application.port.in;
+
+import com.example.account.application.port.in.command.BalanceCommand;
+import com.example.account.domain.model.Account;
+
+import java.util.List;
+
+/**
+ * 여러 계좌의 입금/출금을 한 번에 처리한다. (정산 등 대량 명령)
+ *
+ * 명령을 계좌별로 묶어 계좌마다 한 번 조회하고 묶음 전체를 한 번에 저장한다.
+ * 명령 하나가 실패해도(잔액 부족, 없는 계좌 등) 나머지는 계속 처리한다.
+ */
+public interface BatchCommandUseCase {
+
+    /**
+     * 한 번에 받을 수 있는 최대 명령 수. 더 큰 요청은 호출하는 쪽이 나눠서 보낸다.
+     */
+    int MAX_BATCH_SIZE = 5000;
+
+    /**
+     * commands 를 실행하고 명령마다 결과를 listener 에 한 번씩 알린다. (index = commands 안의 위치, index 순서로 호출)
+     * 같은 계좌의 명령은 commands 순서대로 적용된다.
+     *
+     * @throws IllegalArgumentException commands 가 MAX_BATCH_SIZE 보다 큰 경우
+     */
+    void executeBatch(List<BalanceCommand> commands, ResultListener listener);
+
+    interface ResultListener {
+
+        /**
+         * @param account 이 명령을 적용한 직후의 계좌
+         */
+        void onSuccess(int index, Account account);
+
+        void onFailure(int index, RuntimeException error);
+    }
+}
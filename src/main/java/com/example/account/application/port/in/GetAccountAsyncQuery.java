@@ -0,0 +1,20 @@
+package com.example.account.application.port.in;
+
+import com.example.account.domain.model.Account;
+
+import java.util.concurrent.CompletionStage;
+
+/**
+ * 비블로킹 인바운드 어댑터용 계좌 조회.
+ * 저장 어댑터가 LoadAccountAsyncPort 를 구현하지 않으면 supportsNonBlocking() 이 false 이며,
+ * 이때 호출자는 getAccountAsync 대신 블로킹 조회(GetAccountQuery)를 별도 스레드에서 실행해야 한다.
+ */
+public interface GetAccountAsyncQuery {
+
+    boolean supportsNonBlocking();
+
+    /**
+     * @throws IllegalStateException supportsNonBlocking() 이 false 일 때
+     */
+    CompletionStage<Account> getAccountAsync(String accountNumber);
+}
@@ -2,6 +2,30 @@ package com.example.account.application.port.in;
 
 import com.example.account.domain.model.Account;
 
+import java.util.List;
+import java.util.function.Consumer;
+
 public interface GetAccountQuery {
     Account getAccount(String accountNumber);
+
+    /**
+     * 조건부 조회(ETag)용 표현 태그. 같은 계좌의 계좌번호/이름/잔액이 바뀌면 태그도 바뀐다.
+     * 가능하면 계좌 전체 대신 저장된 버전만 읽는다.
+     */
+    String getAccountTag(String accountNumber);
+
+    /**
+     * getAccount 로 읽은 계좌의 태그 (getAccountTag 와 같은 규칙)
+     */
+    String tagOf(Account account);
+
+    /**
+     * 계좌번호 오름차순으로 after 다음 계좌부터 최대 limit 개 (after 가 null 이면 처음부터)
+     */
+    List<Account> listAccounts(String after, int limit);
+
+    /**
+     * 모든 계좌를 하나씩 consumer 에 넘긴다. (전체 목록을 메모리에 모으지 않음)
+     */
+    void exportAccounts(Consumer<Account> consumer);
 }
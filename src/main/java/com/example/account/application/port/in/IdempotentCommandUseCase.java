@@ -0,0 +1,22 @@
+package com.example.account.application.port.in;
+
+import com.example.account.application.port.in.command.DepositCommand;
+import com.example.account.application.port.in.command.WithdrawCommand;
+import com.example.account.domain.model.Account;
+
+/**
+ * 클라이언트가 붙인 Idempotency-Key 로 재시도된 요청을 한 번만 반영한다.
+ * 같은 key 로 다시 들어온 요청은 계좌 저장소에 가지 않고 처음 요청의 결과를 그대로 돌려받는다.
+ *
+ * - 같은 key 를 다른 요청(연산/계좌/금액이 다름)에 쓰면 IllegalArgumentException (400)
+ * - 같은 key 의 요청이 아직 처리 중이면 IllegalStateException (409)
+ * - 실패한 요청은 저장하지 않으므로 같은 key 로 다시 시도할 수 있다.
+ */
+public interface IdempotentCommandUseCase {
+
+    Account createAccount(String idempotencyKey, String accountNumber, String name, long initialBalance);
+
+    Account deposit(String idempotencyKey, DepositCommand depositCommand);
+
+    Account withdraw(String idempotencyKey, WithdrawCommand withdrawCommand);
+}
@@ -0,0 +1,24 @@
+package com.example.account.application.port.in;
+
+import com.example.account.application.port.in.command.CreateAccountCommand;
+
+import java.util.List;
+
+/**
+ * 대량 계좌 등록 (제휴 은행 이관 등). 검증이 끝난 계좌를 묶음 단위로 저장한다.
+ */
+public interface ImportAccountsUseCase {
+
+    /**
+     * 한 번에 받을 수 있는 최대 계좌 수
+     */
+    int MAX_CHUNK_SIZE = 10_000;
+
+    /**
+     * accounts 를 한 번에 저장한다. 이미 있는 계좌는 createAccount 와 같이 새 계좌로 덮어쓰고,
+     * 같은 계좌번호가 여러 번 있으면 마지막 것을 저장한다. 저장에 실패하면 묶음 전체가 저장되지 않는다.
+     *
+     * @throws IllegalArgumentException accounts 가 MAX_CHUNK_SIZE 보다 큰 경우
+     */
+    void importAccounts(List<CreateAccountCommand> accounts);
+}
@@ -0,0 +1,15 @@
+package com.example.account.application.port.in;
+
+import com.example.account.domain.model.Account;
+
+/**
+ * 입금이 몰리는 계좌의 잔액을 여러 slot 으로 나눠 쓰기를 분산한다.
+ */
+public interface SplitAccountUseCase {
+
+    /**
+     * @param slots 2 이상. 이미 나뉜 계좌면 slot 수를 늘리기만 한다.
+     * @throws IllegalStateException 저장 어댑터가 slot 을 지원하지 않는 경우
+     */
+    Account splitAccount(String accountNumber, int slots);
+}
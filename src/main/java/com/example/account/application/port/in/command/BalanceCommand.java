@@ -0,0 +1,11 @@
+package com.example.account.application.port.in.command;
+
+/**
+ * 잔액을 바꾸는 명령 (입금 또는 출금). 배치로 섞어서 보낼 때 쓴다.
+ */
+public sealed interface BalanceCommand permits DepositCommand, WithdrawCommand {
+
+    String accountNumber();
+
+    long amount();
+}
@@ -0,0 +1,8 @@
+package com.example.account.application.port.in.command;
+
+public record CreateAccountCommand(
+        String accountNumber,
+        String name,
+        long initialBalance
+) {
+}
@@ -0,0 +1,19 @@
+package com.example.account.application.port.out;
+
+import com.example.account.domain.model.Account;
+
+/**
+ * Idempotency-Key → 처리 결과 저장소. 정해진 시간(ttl)이 지난 key 는 없는 것으로 본다.
+ *
+ * requestHash 는 요청 내용(연산, 계좌번호, 금액 등)의 해시이며, 같은 key 가 다른 요청에 다시 쓰였는지 확인하는 데 쓴다.
+ */
+public interface IdempotencyPort {
+
+    /**
+     * @return key 로 저장된 결과, 없거나 만료됐으면 null
+     * @throws IllegalArgumentException 같은 key 가 다른 요청(requestHash)의 결과로 저장돼 있는 경우
+     */
+    Account find(String key, long requestHash);
+
+    void save(String key, long requestHash, Account result);
+}
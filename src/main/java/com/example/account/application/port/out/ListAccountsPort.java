@@ -0,0 +1,25 @@
+package com.example.account.application.port.out;
+
+import com.example.account.domain.model.Account;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * 계좌 목록 조회 포트 (정산/대사 작업용)
+ */
+public interface ListAccountsPort {
+
+    /**
+     * 계좌번호 오름차순으로 after 보다 큰 계좌를 최대 limit 개 반환한다. (keyset pagination)
+     *
+     * @param after null 이면 처음부터
+     */
+    List<Account> listAccounts(String after, int limit);
+
+    /**
+     * 모든 계좌를 하나씩 consumer 에 넘긴다. 전체 목록을 메모리에 모으지 않는다.
+     * (순서는 어댑터마다 다를 수 있음)
+     */
+    void streamAccounts(Consumer<Account> consumer);
+}
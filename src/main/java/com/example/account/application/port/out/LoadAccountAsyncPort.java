@@ -0,0 +1,14 @@
+package com.example.account.application.port.out;
+
+import com.example.account.domain.model.Account;
+
+import java.util.concurrent.CompletionStage;
+
+/**
+ * 호출 스레드를 막지 않는 계좌 조회. (선택 포트, 지원하는 어댑터만 구현)
+ * 반환은 즉시 하고, 결과나 예외(AccountNotFoundException 등)는 CompletionStage 로 전달한다.
+ * 이벤트 루프 스레드에서 그대로 호출되므로 구현은 I/O 대기나 잠금 대기를 하지 않아야 한다.
+ */
+public interface LoadAccountAsyncPort {
+    CompletionStage<Account> loadAsync(String accountNumber);
+}
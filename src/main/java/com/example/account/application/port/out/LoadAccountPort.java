@@ -1,7 +1,38 @@
 package com.example.account.application.port.out;
 
+import com.example.account.domain.exception.AccountNotFoundException;
 import com.example.account.domain.model.Account;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
 public interface LoadAccountPort {
     Account load(String accountNumber);
+
+    /**
+     * 계좌의 저장된 버전만 조회한다. (조건부 조회용, 0 = 버전을 기록하지 않는 저장소)
+     * 기본 구현은 load 로 계좌 전체를 읽으며, 버전만 따로 읽을 수 있는 어댑터는 재정의한다.
+     *
+     * @throws AccountNotFoundException 없는 계좌
+     */
+    default long loadVersion(String accountNumber) {
+        return load(accountNumber).getVersion();
+    }
+
+    /**
+     * 여러 계좌를 한 번에 조회한다. 존재하지 않는 계좌번호는 결과에서 빠진다. (결과 순서는 보장하지 않음)
+     * 기본 구현은 load 를 반복 호출하며, 한 번의 왕복으로 묶을 수 있는 어댑터는 재정의한다.
+     */
+    default List<Account> loadAll(Collection<String> accountNumbers) {
+        List<Account> accounts = new ArrayList<>(accountNumbers.size());
+        for (String accountNumber : accountNumbers) {
+            try {
+                accounts.add(load(accountNumber));
+            } catch (AccountNotFoundException e) {
+                // 없는 계좌는 건너뜀
+            }
+        }
+        return accounts;
+    }
 }
@@ -0,0 +1,19 @@
+package com.example.account.application.port.out;
+
+import java.util.function.Supplier;
+
+/**
+ * 애플리케이션 계층이 메트릭 라이브러리(Micrometer 등)에 직접 의존하지 않고 지표를 남기기 위한 포트.
+ * tags 는 key, value 순서의 쌍으로 넘긴다. 예) increment("account.retry", "operation", "deposit")
+ */
+public interface MetricsPort {
+
+    void increment(String name, String... tags);
+
+    void recordNanos(String name, long nanos, String... tags);
+
+    /**
+     * 조회할 때마다 value 를 호출해서 현재 값을 읽는 게이지를 등록한다.
+     */
+    void gauge(String name, Supplier<Number> value, String... tags);
+}
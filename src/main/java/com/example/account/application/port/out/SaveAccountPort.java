@@ -2,6 +2,18 @@ package com.example.account.application.port.out;
 
 import com.example.account.domain.model.Account;
 
+import java.util.Collection;
+
 public interface SaveAccountPort {
     void save(Account account);
+
+    /**
+     * 여러 계좌를 한 번에 저장한다.
+     * 기본 구현은 save 를 반복 호출하며, 배치로 기록할 수 있는 어댑터는 재정의한다.
+     */
+    default void saveAll(Collection<Account> accounts) {
+        for (Account account : accounts) {
+            save(account);
+        }
+    }
 }
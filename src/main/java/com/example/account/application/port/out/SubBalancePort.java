@@ -0,0 +1,54 @@
+package com.example.account.application.port.out;
+
+import java.util.Map;
+
+/**
+ * 몰리는 계좌의 잔액을 여러 slot 에 나눠 담는 포트. (LongAdder 처럼 쓰기를 여러 행/파일로 분산)
+ *
+ * 계좌 잔액 = 계좌 자체의 잔액(LoadAccountPort 가 돌려주는 값) + 모든 slot 잔액의 합.
+ * slot 잔액은 어떤 연산으로도 음수가 되지 않는다. 구현이 없는 어댑터에서는 계좌를 나눌 수 없다.
+ */
+public interface SubBalancePort {
+
+    /**
+     * slot 으로 나뉜 계좌번호 → slot 수 (기동 시 한 번 읽음)
+     */
+    Map<String, Integer> loadSlotCounts();
+
+    /**
+     * 잔액 0 인 slot 을 0 ~ slotCount-1 번까지 만든다. 이미 있는 slot 은 그대로 둔다.
+     *
+     * @throws com.example.account.domain.exception.AccountNotFoundException 계좌가 없는 경우
+     */
+    void createSlots(String accountNumber, int slotCount);
+
+    /**
+     * slot 잔액에 amount(양수)를 더한다.
+     */
+    void addToSlot(String accountNumber, int slot, long amount);
+
+    /**
+     * slot 잔액이 amount 이상이면 빼고 true, 아니면 그대로 두고 false
+     */
+    boolean takeFromSlot(String accountNumber, int slot, long amount);
+
+    /**
+     * slot 잔액에서 최대 max 까지 빼고 실제로 뺀 금액(0 ~ max)을 돌려준다.
+     */
+    long takeUpTo(String accountNumber, int slot, long max);
+
+    /**
+     * slot 별 잔액 (배열 index = slot 번호). 나뉘지 않은 계좌면 빈 배열
+     */
+    long[] loadSlots(String accountNumber);
+
+    /**
+     * 합계는 그대로 두고 slot 잔액을 고르게 다시 나눈다. 그 계좌의 slot 을 모두 잠근 채 수행한다.
+     */
+    void rebalanceSlots(String accountNumber);
+
+    /**
+     * 모든 slot 잔액을 0 으로 만든다. (계좌를 새로 저장할 때)
+     */
+    void clearSlots(String accountNumber);
+}
@@ -0,0 +1,19 @@
+package com.example.account.application.port.out;
+
+import com.example.account.domain.exception.InsufficientBalanceException;
+import com.example.account.domain.model.Account;
+
+/**
+ * 조회 → 변경 → 저장 없이 잔액 증감을 한 번에(원자적으로) 반영하는 포트.
+ * 구현이 없는 어댑터에서는 서비스가 Load/SaveAccountPort 로 처리한다.
+ */
+public interface UpdateBalancePort {
+
+    /**
+     * 잔액에 delta 를 더하고 갱신된 계좌를 반환한다. 결과 잔액이 음수가 되면 반영하지 않는다.
+     *
+     * @throws com.example.account.domain.exception.AccountNotFoundException 계좌가 없는 경우
+     * @throws InsufficientBalanceException 잔액이 부족한 경우
+     */
+    Account addBalance(String accountNumber, long delta);
+}
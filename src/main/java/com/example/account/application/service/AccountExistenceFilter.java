@@ -0,0 +1,97 @@
+package com.example.account.application.service;
+
+import com.example.account.application.port.out.ListAccountsPort;
+import com.example.account.application.port.out.MetricsPort;
+import com.example.account.domain.exception.AccountNotFoundException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * 존재하지 않는 계좌번호 요청을 저장소 조회 없이 걸러내는 Bloom filter.
+ *
+ * - 기동이 끝나면(ApplicationReadyEvent) ListAccountsPort 로 전체 계좌번호를 한 번 읽어 채우고,
+ *   이후에는 createAccount 가 새 계좌번호를 추가한다.
+ * - 채우기가 끝나기 전이나 account.bloom.enabled=false 면 모든 계좌를 "있을 수도 있음"으로 본다. (저장소가 판단)
+ * - 다른 프로세스가 같은 저장소에 계좌를 만들면 이 필터가 알 수 없으므로, 저장소를 혼자 쓰는 프로파일에서만 켠다.
+ *
+ * 메트릭: account.bloom.rejections (저장소 조회 없이 404), account.bloom.false.positives (통과했지만 저장소에 없음),
+ *        account.bloom.expected.fpp, account.bloom.memory.bytes, account.bloom.size
+ */
+@Component
+class AccountExistenceFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(AccountExistenceFilter.class);
+
+    private final ListAccountsPort listAccountsPort;
+    private final MetricsPort metrics;
+    private final boolean enabled;
+    private final ScalableBloomFilter filter;
+    private volatile boolean ready;
+
+    AccountExistenceFilter(ListAccountsPort listAccountsPort, MetricsPort metrics,
+                           @Value("${account.bloom.enabled:false}") boolean enabled,
+                           @Value("${account.bloom.expected-insertions:100000}") long expectedInsertions,
+                           @Value("${account.bloom.fpp:0.01}") double fpp) {
+        this.listAccountsPort = listAccountsPort;
+        this.metrics = metrics;
+        this.enabled = enabled;
+        this.filter = new ScalableBloomFilter(expectedInsertions, fpp);
+        if (enabled) {
+            metrics.gauge("account.bloom.expected.fpp", filter::expectedFpp);
+            metrics.gauge("account.bloom.memory.bytes", filter::memoryBytes);
+            metrics.gauge("account.bloom.size", filter::size);
+        }
+    }
+
+    /**
+     * 저장소의 전체 계좌번호로 필터를 채운다. (DB 어댑터가 커서를 끝까지 읽을 수 있도록 읽기 트랜잭션 안에서)
+     * 실패하면 필터를 쓰지 않고 계속 저장소로 판단한다.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void seed() {
+        if (!enabled) {
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            listAccountsPort.streamAccounts(account -> filter.add(account.getAccountNumber()));
+        } catch (RuntimeException e) {
+            log.warn("Failed to seed account bloom filter, lookups will go to storage", e);
+            return;
+        }
+        ready = true;
+        log.info("Seeded account bloom filter with {} accounts in {} ms ({} bytes)",
+                filter.size(), (System.nanoTime() - start) / 1_000_000, filter.memoryBytes());
+    }
+
+    void add(String accountNumber) {
+        if (enabled) {
+            filter.add(accountNumber);
+        }
+    }
+
+    /**
+     * @throws AccountNotFoundException 필터에 없는 계좌번호 (확실히 없는 계좌)
+     */
+    void rejectIfAbsent(String accountNumber) {
+        if (ready && !filter.mightContain(accountNumber)) {
+            metrics.increment("account.bloom.rejections");
+            throw new AccountNotFoundException(accountNumber);
+        }
+    }
+
+    /**
+     * 필터를 통과했지만 저장소에 없던 경우 호출 (실제 오탐률 확인용)
+     */
+    void falsePositive() {
+        if (ready) {
+            metrics.increment("account.bloom.false.positives");
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.account.application.service;
+
+import com.example.account.application.port.in.ImportAccountsUseCase;
+import com.example.account.application.port.in.command.CreateAccountCommand;
+import com.example.account.application.port.out.MetricsPort;
+import com.example.account.application.port.out.SaveAccountPort;
+import com.example.account.domain.model.Account;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 대량 계좌 등록. 묶음 하나를 saveAll 한 번(트랜잭션 하나)으로 저장하고,
+ * createAccount 와 같이 AccountExistenceFilter / BalanceCommandExecutor / SplitBalanceLedger 에 새 계좌를 알린다.
+ *
+ * 메트릭: account.import.chunk (묶음 저장 시간)
+ */
+@Service
+@Transactional
+class AccountImportService implements ImportAccountsUseCase {
+
+    private final SaveAccountPort saveAccountPort;
+    private final BalanceCommandExecutor commandExecutor;
+    private final AccountExistenceFilter existenceFilter;
+    private final SplitBalanceLedger ledger;
+    private final MetricsPort metrics;
+
+    AccountImportService(SaveAccountPort saveAccountPort, BalanceCommandExecutor commandExecutor,
+                         AccountExistenceFilter existenceFilter, SplitBalanceLedger ledger, MetricsPort metrics) {
+        this.saveAccountPort = saveAccountPort;
+        this.commandExecutor = commandExecutor;
+        this.existenceFilter = existenceFilter;
+        this.ledger = ledger;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public void importAccounts(List<CreateAccountCommand> commands) {
+        if (commands.size() > MAX_CHUNK_SIZE) {
+            throw new IllegalArgumentException("Import chunk must not contain more than " + MAX_CHUNK_SIZE + " accounts");
+        }
+        // 같은 계좌번호는 마지막 것만 (한 문장으로 저장하는 어댑터에서 키가 겹치지 않도록)
+        Map<String, Account> accounts = new LinkedHashMap<>();
+        for (CreateAccountCommand command : commands) {
+            accounts.put(command.accountNumber(),
+                    Account.of(command.accountNumber(), command.name(), command.initialBalance()));
+        }
+        if (accounts.isEmpty()) {
+            return;
+        }
+
+        long start = System.nanoTime();
+        saveAccountPort.saveAll(accounts.values());
+        metrics.recordNanos("account.import.chunk", System.nanoTime() - start);
+
+        for (String accountNumber : accounts.keySet()) {
+            existenceFilter.add(accountNumber);
+            commandExecutor.accountReplaced(accountNumber);
+            ledger.accountReplaced(accountNumber);
+        }
+    }
+}
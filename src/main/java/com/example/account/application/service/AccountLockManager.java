@@ -0,0 +1,132 @@
+package com.example.account.application.service;
+
+import com.example.account.application.exception.AccountLockTimeoutException;
+import com.example.account.application.port.out.MetricsPort;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * 계좌번호 해시로 고른 잠금(stripe) 하나로 같은 계좌의 조회 → 변경 → 저장을 직렬화한다.
+ *
+ * - 전역 잠금이 없으므로 서로 다른 stripe 의 계좌는 동시에 처리된다. (같은 stripe 에 걸린 다른 계좌끼리만 기다림)
+ * - stripe 수는 2의 거듭제곱으로 올림 (account.lock.stripes)
+ * - fair=true 면 먼저 기다린 요청이 먼저 잠금을 얻는다. (처리량은 줄고 대기 시간 편차는 줄어듦)
+ * - timeout 안에 잠금을 얻지 못하면 AccountLockTimeoutException
+ * - 여러 계좌를 한 번에 잠글 때(withLocks)는 stripe 번호 오름차순으로 잡아 교착을 막는다.
+ * - 이 프로세스 안에서만 유효하다. 여러 프로세스가 같은 저장소를 쓰면 버전 확인(OptimisticRetry)이 최종 보호선
+ *
+ * 메트릭: account.lock.wait (바로 얻지 못했을 때 잠금을 얻기까지 기다린 시간), account.lock.contended (바로 얻지 못한 횟수),
+ *        account.lock.timeouts
+ * - contended 의 bucket 태그 = stripe 번호 % 16. stripe 수(최대 65536)와 관계없이 시계열은 16 개 이하이고,
+ *   한 bucket 만 튀면 그 안의 hot 계좌를 의심한다.
+ */
+@Component
+class AccountLockManager {
+
+    private static final int METRIC_BUCKETS = 16;
+
+    private final ReentrantLock[] stripes;
+    private final int mask;
+    private final long timeoutNanos;
+    private final MetricsPort metrics;
+    private final String[] bucketTags;
+
+    AccountLockManager(MetricsPort metrics,
+                       @Value("${account.lock.stripes:64}") int stripes,
+                       @Value("${account.lock.fair:false}") boolean fair,
+                       @Value("${account.lock.timeout:1s}") Duration timeout) {
+        if (stripes <= 0 || stripes > (1 << 16)) {
+            throw new IllegalArgumentException("stripes must be between 1 and 65536");
+        }
+        int size = stripes == 1 ? 1 : Integer.highestOneBit(stripes - 1) << 1;
+        this.stripes = new ReentrantLock[size];
+        for (int i = 0; i < size; i++) {
+            this.stripes[i] = new ReentrantLock(fair);
+        }
+        this.mask = size - 1;
+        this.timeoutNanos = timeout.toNanos();
+        this.metrics = metrics;
+        this.bucketTags = new String[Math.min(size, METRIC_BUCKETS)];
+        for (int i = 0; i < bucketTags.length; i++) {
+            bucketTags[i] = Integer.toString(i);
+        }
+    }
+
+    <T> T withLock(String accountNumber, Supplier<T> action) {
+        int stripe = stripeOf(accountNumber);
+        ReentrantLock lock = stripes[stripe];
+        // 경합이 없으면 시각을 재지 않고 바로 얻는다. (fair 잠금도 tryLock() 은 순서를 무시하므로 fair 면 건너뜀)
+        if (lock.isFair() || !lock.tryLock()) {
+            lockContended(accountNumber, stripe, lock);
+        }
+        try {
+            return action.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 계좌들의 stripe 를 모두 잡고 action 을 실행한다. 도중에 timeout 이면 잡은 잠금을 풀고 AccountLockTimeoutException
+     */
+    <T> T withLocks(Collection<String> accountNumbers, Supplier<T> action) {
+        // stripe → 그 stripe 의 계좌 하나 (timeout 메시지용)
+        TreeMap<Integer, String> needed = new TreeMap<>();
+        for (String accountNumber : accountNumbers) {
+            needed.putIfAbsent(stripeOf(accountNumber), accountNumber);
+        }
+        int[] held = new int[needed.size()];
+        int count = 0;
+        try {
+            for (Map.Entry<Integer, String> entry : needed.entrySet()) {
+                int stripe = entry.getKey();
+                ReentrantLock lock = stripes[stripe];
+                if (lock.isFair() || !lock.tryLock()) {
+                    lockContended(entry.getValue(), stripe, lock);
+                }
+                held[count++] = stripe;
+            }
+            return action.get();
+        } finally {
+            while (count > 0) {
+                stripes[held[--count]].unlock();
+            }
+        }
+    }
+
+    int stripeCount() {
+        return stripes.length;
+    }
+
+    int stripeOf(String accountNumber) {
+        int h = accountNumber.hashCode();
+        return (h ^ (h >>> 16)) & mask;
+    }
+
+    private void lockContended(String accountNumber, int stripe, ReentrantLock lock) {
+        if (lock.isLocked()) {
+            metrics.increment("account.lock.contended", "bucket", bucketTags[stripe % bucketTags.length]);
+        }
+        long start = System.nanoTime();
+        boolean acquired;
+        try {
+            acquired = lock.tryLock(timeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for account lock", e);
+        }
+        metrics.recordNanos("account.lock.wait", System.nanoTime() - start);
+        if (!acquired) {
+            metrics.increment("account.lock.timeouts");
+            throw new AccountLockTimeoutException(accountNumber);
+        }
+    }
+}
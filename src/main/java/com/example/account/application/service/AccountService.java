@@ -2,10 +2,10 @@ package com.example.account.application.service;
 
 import com.example.account.application.port.in.CreateAccountUseCase;
 import com.example.account.application.port.in.DepositUseCase;
+import com.example.account.application.port.in.SplitAccountUseCase;
 import com.example.account.application.port.in.WithdrawUseCase;
 import com.example.account.application.port.in.command.DepositCommand;
 import com.example.account.application.port.in.command.WithdrawCommand;
-import com.example.account.application.port.out.LoadAccountPort;
 import com.example.account.application.port.out.SaveAccountPort;
 import com.example.account.domain.model.Account;
 import com.example.account.domain.model.Amount;
@@ -18,39 +18,69 @@ import org.springframework.transaction.annotation.Transactional;
  *
  * - package-private: 외부 패키지에서 직접 접근 금지.
  * - 외부에서는 오직 Port 인터페이스(Create/Deposit/WithdrawUseCase)로만 접근합니다.
+ *
+ * 입금/출금은 금액을 검증해 증감값으로 바꾼 뒤 BalanceCommandExecutor 에 맡깁니다.
+ * (요청 스레드에서 바로 처리할지, 계좌별 단일 스레드 shard 가 처리할지는 account.command.mode 로 선택)
+ *
+ * 입금/출금 전에 AccountExistenceFilter 로 확실히 없는 계좌번호를 저장소 조회 없이 거릅니다.
+ *
+ * slot 으로 나뉜 계좌(SplitAccountUseCase)의 입금/출금은 SplitBalanceLedger 가 처리합니다.
+ *
+ * 입금/출금은 여기서 트랜잭션을 열지 않습니다. (필요한 트랜잭션은 executor 가 연다)
+ * sharded/ring/coalescing 방식은 다른 스레드가 저장하는 동안 요청 스레드가 기다리므로,
+ * 요청 스레드가 트랜잭션(DB 커넥션)을 잡고 기다리면 커넥션 풀이 바닥났을 때 저장 스레드가 커넥션을 얻지 못합니다.
  */
 @Service // 유스케이스 구현은 애플리케이션 계층의 빈
-@Transactional
-class AccountService implements CreateAccountUseCase, DepositUseCase, WithdrawUseCase {
+class AccountService implements CreateAccountUseCase, DepositUseCase, WithdrawUseCase, SplitAccountUseCase {
 
-    private final LoadAccountPort loadAccountPort;
     private final SaveAccountPort saveAccountPort;
+    private final BalanceCommandExecutor commandExecutor;
+    private final AccountExistenceFilter existenceFilter;
+    private final SplitBalanceLedger ledger;
 
-    AccountService(LoadAccountPort loadAccountPort, SaveAccountPort saveAccountPort) {
-        this.loadAccountPort = loadAccountPort;
+    AccountService(SaveAccountPort saveAccountPort, BalanceCommandExecutor commandExecutor,
+                   AccountExistenceFilter existenceFilter, SplitBalanceLedger ledger) {
         this.saveAccountPort = saveAccountPort;
+        this.commandExecutor = commandExecutor;
+        this.existenceFilter = existenceFilter;
+        this.ledger = ledger;
     }
 
     @Override
+    @Transactional
     public Account createAccount(String accountNumber, String name, long initialBalance) {
         Account account = Account.of(accountNumber, name, initialBalance);
         saveAccountPort.save(account);
+        existenceFilter.add(accountNumber);
+        commandExecutor.accountReplaced(accountNumber);
+        ledger.accountReplaced(accountNumber);
         return account;
     }
 
     @Override
     public Account deposit(DepositCommand depositCommand) {
-        Account account = loadAccountPort.load(depositCommand.accountNumber());
-        account.deposit(new Amount(depositCommand.amount()));
-        saveAccountPort.save(account);
-        return account;
+        existenceFilter.rejectIfAbsent(depositCommand.accountNumber());
+        long delta = Account.depositDelta(new Amount(depositCommand.amount()));
+        if (ledger.isSplit(depositCommand.accountNumber())) {
+            return ledger.deposit(depositCommand.accountNumber(), delta);
+        }
+        return commandExecutor.apply(depositCommand.accountNumber(), delta);
     }
 
     @Override
     public Account withdraw(WithdrawCommand withdrawCommand) {
-        Account account = loadAccountPort.load(withdrawCommand.accountNumber());
-        account.withdraw(new Amount(withdrawCommand.amount()));
-        saveAccountPort.save(account);
-        return account;
+        existenceFilter.rejectIfAbsent(withdrawCommand.accountNumber());
+        long delta = Account.withdrawDelta(new Amount(withdrawCommand.amount()));
+        if (ledger.isSplit(withdrawCommand.accountNumber())) {
+            return ledger.withdraw(withdrawCommand.accountNumber(), -delta);
+        }
+        return commandExecutor.apply(withdrawCommand.accountNumber(), delta);
+    }
+
+    @Override
+    @Transactional
+    public Account splitAccount(String accountNumber, int slots) {
+        existenceFilter.rejectIfAbsent(accountNumber);
+        return ledger.split(accountNumber, slots);
     }
-}
\ No newline at end of file
+}
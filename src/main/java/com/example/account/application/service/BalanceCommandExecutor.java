@@ -0,0 +1,84 @@
+package com.example.account.application.service;
+
+import com.example.account.domain.model.Account;
+import com.example.account.domain.model.Amount;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * 입금/출금(잔액 증감)을 실제로 수행하는 방식. account.command.mode 로 하나를 고른다.
+ *
+ * - direct  : 요청 스레드에서 바로 수행 (DirectBalanceCommandExecutor, 기본값)
+ * - sharded : 계좌 해시로 고른 단일 스레드 shard 가 수행 (ShardedBalanceCommandExecutor)
+ * - ring    : 링 버퍼 위 apply → persist → complete 파이프라인이 수행 (RingBufferBalanceCommandExecutor)
+ * - coalescing : 계좌별로 짧은 시간 안의 명령을 모아 조회/저장 한 번으로 수행 (CoalescingBalanceCommandExecutor)
+ */
+interface BalanceCommandExecutor {
+
+    /**
+     * 계좌 잔액에 delta 를 반영하고 반영된 계좌를 반환한다. (delta 는 Account.depositDelta/withdrawDelta 로 검증된 값)
+     */
+    Account apply(String accountNumber, long delta);
+
+    /**
+     * 명령을 호출 스레드에서 실행하는지. false 면 다른 스레드가 실행(저장)하고 호출 스레드는 결과를 기다린다.
+     * 이때 호출 스레드가 트랜잭션(DB 커넥션)을 잡고 기다리면 실행 스레드가 커넥션을 얻지 못할 수 있으므로
+     * 호출하는 쪽은 트랜잭션을 열지 않아야 한다.
+     */
+    default boolean runsOnCallerThread() {
+        return true;
+    }
+
+    /**
+     * 여러 명령을 한 번에 반영한다. (배치) 명령 i 의 결과는 results[i] 에, 실패는 failures[i] 에 적는다.
+     * 단건 apply 와 같은 방식으로 직렬화되므로 같은 계좌의 단건 명령과 섞여도 갱신이 유실되지 않는다.
+     * 같은 계좌의 명령은 들어온 순서대로 반영되고, 잔액이 모자란 출금 등은 그 명령만 실패한다.
+     *
+     * 기본 구현은 apply 를 하나씩 호출한다.
+     */
+    default void applyAll(List<String> accountNumbers, long[] deltas, Account[] results, RuntimeException[] failures) {
+        for (int i = 0; i < accountNumbers.size(); i++) {
+            try {
+                results[i] = apply(accountNumbers.get(i), deltas[i]);
+            } catch (RuntimeException e) {
+                failures[i] = e;
+            }
+        }
+    }
+
+    /**
+     * createAccount, 가져오기처럼 executor 를 거치지 않고 계좌를 저장했을 때 호출된다. 계좌 상태를 메모리에 들고 있는 방식은 이를 버려야 한다.
+     */
+    default void accountReplaced(String accountNumber) {
+    }
+
+    /**
+     * 대기열 방식의 applyAll: 명령을 모두 넣은 뒤(submit 에서 거절되면 그 명령만 실패) 결과를 차례로 기다린다.
+     */
+    static void awaitAll(List<CompletableFuture<Account>> futures, Account[] results, RuntimeException[] failures) {
+        for (int i = 0; i < futures.size(); i++) {
+            try {
+                results[i] = futures.get(i).join();
+            } catch (CompletionException e) {
+                failures[i] = e.getCause() instanceof RuntimeException cause ? cause : e;
+            }
+        }
+    }
+
+    /**
+     * 도메인 규칙(잔액 부족 등)대로 delta 를 계좌에 반영한다.
+     */
+    static void applyDelta(Account account, long delta) {
+        if (delta >= 0) {
+            account.deposit(new Amount(delta));
+        } else {
+            account.withdraw(new Amount(-delta));
+        }
+    }
+
+    static String operationOf(long delta) {
+        return delta >= 0 ? "deposit" : "withdraw";
+    }
+}
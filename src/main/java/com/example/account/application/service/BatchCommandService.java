@@ -0,0 +1,108 @@
+package com.example.account.application.service;
+
+import com.example.account.application.port.in.BatchCommandUseCase;
+import com.example.account.application.port.in.command.BalanceCommand;
+import com.example.account.application.port.in.command.DepositCommand;
+import com.example.account.application.port.out.MetricsPort;
+import com.example.account.domain.exception.AccountNotFoundException;
+import com.example.account.domain.model.Account;
+import com.example.account.domain.model.Amount;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 입금/출금 배치.
+ *
+ * - 금액 검증, AccountExistenceFilter 확인은 명령마다 하고 실패한 명령만 결과를 실패로 남긴다.
+ * - slot 으로 나뉜 계좌의 명령은 SplitBalanceLedger 로 하나씩 처리한다.
+ * - 나머지는 BalanceCommandExecutor.applyAll 로 한 번에 넘긴다. 단건 입금/출금과 같은 실행 방식(잠금, shard, 링 등)을 거치므로
+ *   같은 계좌의 단건 명령과 동시에 들어와도 갱신이 유실되지 않는다. (direct 방식은 loadAll/saveAll 한 번으로 묶음)
+ *   잔액이 모자란 출금은 그 명령만 실패한다.
+ *
+ * 메트릭: account.batch.duration (결과 전달 전까지의 배치 처리 시간)
+ */
+@Service
+class BatchCommandService implements BatchCommandUseCase {
+
+    private final BalanceCommandExecutor commandExecutor;
+    private final AccountExistenceFilter existenceFilter;
+    private final SplitBalanceLedger ledger;
+    private final MetricsPort metrics;
+
+    BatchCommandService(BalanceCommandExecutor commandExecutor, AccountExistenceFilter existenceFilter,
+                        SplitBalanceLedger ledger, MetricsPort metrics) {
+        this.commandExecutor = commandExecutor;
+        this.existenceFilter = existenceFilter;
+        this.ledger = ledger;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public void executeBatch(List<BalanceCommand> commands, ResultListener listener) {
+        if (commands.size() > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("Batch must not contain more than " + MAX_BATCH_SIZE + " commands");
+        }
+        long start = System.nanoTime();
+        int size = commands.size();
+        Account[] results = new Account[size];
+        RuntimeException[] failures = new RuntimeException[size];
+        // executor 로 넘길 명령 (positions[j] = 배치에서의 index)
+        List<String> accountNumbers = new ArrayList<>(size);
+        long[] deltas = new long[size];
+        int[] positions = new int[size];
+
+        for (int i = 0; i < size; i++) {
+            BalanceCommand command = commands.get(i);
+            try {
+                long delta = deltaOf(command);
+                existenceFilter.rejectIfAbsent(command.accountNumber());
+                if (ledger.isSplit(command.accountNumber())) {
+                    results[i] = delta >= 0
+                            ? ledger.deposit(command.accountNumber(), delta)
+                            : ledger.withdraw(command.accountNumber(), -delta);
+                    continue;
+                }
+                deltas[accountNumbers.size()] = delta;
+            } catch (RuntimeException e) {
+                failures[i] = e;
+                continue;
+            }
+            positions[accountNumbers.size()] = i;
+            accountNumbers.add(command.accountNumber());
+        }
+
+        if (!accountNumbers.isEmpty()) {
+            int count = accountNumbers.size();
+            Account[] applied = new Account[count];
+            RuntimeException[] rejected = new RuntimeException[count];
+            commandExecutor.applyAll(accountNumbers, Arrays.copyOf(deltas, count), applied, rejected);
+            for (int j = 0; j < count; j++) {
+                results[positions[j]] = applied[j];
+                failures[positions[j]] = rejected[j];
+                if (rejected[j] instanceof AccountNotFoundException) {
+                    existenceFilter.falsePositive();
+                }
+            }
+        }
+
+        metrics.recordNanos("account.batch.duration", System.nanoTime() - start);
+        for (int i = 0; i < size; i++) {
+            if (failures[i] == null) {
+                listener.onSuccess(i, results[i]);
+            } else {
+                listener.onFailure(i, failures[i]);
+            }
+        }
+    }
+
+    private static long deltaOf(BalanceCommand command) {
+        if (command.accountNumber() == null || command.accountNumber().isBlank()) {
+            throw new IllegalArgumentException("accountNumber must not be blank");
+        }
+        Amount amount = new Amount(command.amount());
+        return command instanceof DepositCommand ? Account.depositDelta(amount) : Account.withdrawDelta(amount);
+    }
+}
@@ -0,0 +1,283 @@
+package com.example.account.application.service;
+
+import com.example.account.application.exception.CommandRejectedException;
+import com.example.account.application.port.out.LoadAccountPort;
+import com.example.account.application.port.out.MetricsPort;
+import com.example.account.application.port.out.SaveAccountPort;
+import com.example.account.domain.model.Account;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 같은 계좌로 짧은 시간(window) 안에 들어온 입금/출금을 모아 조회 → 변경 → 저장 한 번으로 처리한다.
+ * (account.command.mode=coalescing)
+ *
+ * - 계좌의 첫 명령이 들어오면 window 뒤에 flush 를 예약하고, 그 사이에 들어온 명령은 같은 묶음에 쌓는다.
+ * - flush 는 계좌를 한 번 읽어 명령을 들어온 순서대로 도메인 규칙(Account.deposit/withdraw)으로 적용하고 한 번 저장한다.
+ *   잔액이 모자란 출금은 그 명령만 실패(409)하고 나머지는 계속 적용한다.
+ * - 요청마다 자기 명령 직후의 잔액을 돌려받는다. (버전은 묶음 저장 후 버전)
+ * - 한 계좌의 flush 는 한 번에 하나만 실행되어 순서가 유지된다. flush 중에 들어온 명령은 다음 묶음이 되고,
+ *   가장 먼저 들어온 명령이 window 만큼 기다렸으면 바로 다음 flush 를 한다. → 몰리는 계좌일수록 묶음이 커진다.
+ * - 저장 시 버전이 달라졌으면(다른 경로가 먼저 저장) OptimisticRetry 로 묶음 전체를 조회부터 다시 적용한다.
+ *   저장에 실패하면 그 묶음의 명령은 모두 실패한다.
+ * - 한 계좌에 max-pending-per-account 개가 쌓여 있으면 CommandRejectedException (503)
+ *
+ * 메트릭: account.command.flush (묶음 저장 시간), account.command.coalescing.accounts (대기 중인 계좌 수),
+ *        account.command.coalescing.batch (묶음 크기 태그), account.command.rejected
+ */
+@Component
+@ConditionalOnProperty(name = "account.command.mode", havingValue = "coalescing")
+class CoalescingBalanceCommandExecutor implements BalanceCommandExecutor {
+
+    private static final Logger log = LoggerFactory.getLogger(CoalescingBalanceCommandExecutor.class);
+
+    private final LoadAccountPort loadAccountPort;
+    private final SaveAccountPort saveAccountPort;
+    private final OptimisticRetry optimisticRetry;
+    private final MetricsPort metrics;
+    private final long windowNanos;
+    private final int maxBatchSize;
+    private final int maxPendingPerAccount;
+    private final ConcurrentHashMap<String, AccountQueue> queues = new ConcurrentHashMap<>();
+    private final ScheduledThreadPoolExecutor flusher;
+
+    CoalescingBalanceCommandExecutor(LoadAccountPort loadAccountPort, SaveAccountPort saveAccountPort,
+                                     OptimisticRetry optimisticRetry, MetricsPort metrics,
+                                     @Value("${account.command.coalescing.window:2ms}") Duration window,
+                                     @Value("${account.command.coalescing.max-batch-size:1024}") int maxBatchSize,
+                                     @Value("${account.command.coalescing.max-pending-per-account:10000}") int maxPendingPerAccount,
+                                     @Value("${account.command.coalescing.flush-threads:0}") int flushThreads) {
+        if (window.isNegative() || maxBatchSize <= 0 || maxPendingPerAccount <= 0) {
+            throw new IllegalArgumentException("window must not be negative, max-batch-size and max-pending-per-account must be positive");
+        }
+        this.loadAccountPort = loadAccountPort;
+        this.saveAccountPort = saveAccountPort;
+        this.optimisticRetry = optimisticRetry;
+        this.metrics = metrics;
+        this.windowNanos = window.toNanos();
+        this.maxBatchSize = maxBatchSize;
+        this.maxPendingPerAccount = maxPendingPerAccount;
+
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.flusher = new ScheduledThreadPoolExecutor(
+                flushThreads > 0 ? flushThreads : Runtime.getRuntime().availableProcessors(), runnable -> {
+            Thread thread = new Thread(runnable, "account-coalescer-" + threadIndex.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.flusher.setRemoveOnCancelPolicy(true);
+        metrics.gauge("account.command.coalescing.accounts", queues::size);
+    }
+
+    @Override
+    public Account apply(String accountNumber, long delta) {
+        CompletableFuture<Account> result = new CompletableFuture<>();
+        submit(new Command(delta, System.nanoTime(), result), accountNumber);
+        try {
+            return result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public boolean runsOnCallerThread() {
+        return false;
+    }
+
+    /**
+     * 명령을 모두 계좌별 묶음에 넣은 뒤 결과를 기다린다. (같은 계좌의 명령은 한 묶음으로 합쳐짐)
+     */
+    @Override
+    public void applyAll(List<String> accountNumbers, long[] deltas, Account[] results, RuntimeException[] failures) {
+        List<CompletableFuture<Account>> futures = new ArrayList<>(accountNumbers.size());
+        for (int i = 0; i < accountNumbers.size(); i++) {
+            CompletableFuture<Account> result = new CompletableFuture<>();
+            try {
+                submit(new Command(deltas[i], System.nanoTime(), result), accountNumbers.get(i));
+            } catch (RuntimeException e) {
+                result.completeExceptionally(e);
+            }
+            futures.add(result);
+        }
+        BalanceCommandExecutor.awaitAll(futures, results, failures);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        // 예약된 flush 는 마저 실행한 뒤 종료
+        flusher.shutdown();
+        try {
+            if (!flusher.awaitTermination(10, TimeUnit.SECONDS)) {
+                log.warn("Account coalescer did not finish pending flushes within 10s");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void submit(Command command, String accountNumber) {
+        while (true) {
+            AccountQueue queue = queues.computeIfAbsent(accountNumber, AccountQueue::new);
+            queue.lock.lock();
+            try {
+                if (queue.retired) {
+                    // flush 가 막 비운 큐를 맵에서 뺐음 → 새 큐로 다시 시도
+                    continue;
+                }
+                if (queue.pending.size() >= maxPendingPerAccount) {
+                    metrics.increment("account.command.rejected", "mode", "coalescing");
+                    throw new CommandRejectedException("Too many pending commands for account " + accountNumber);
+                }
+                queue.pending.add(command);
+                if (!queue.scheduled) {
+                    queue.scheduled = true;
+                    schedule(queue, windowNanos);
+                }
+                return;
+            } finally {
+                queue.lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * queue.lock 을 잡은 상태에서 호출
+     */
+    private void schedule(AccountQueue queue, long delayNanos) {
+        try {
+            flusher.schedule(() -> flush(queue), Math.max(0, delayNanos), TimeUnit.NANOSECONDS);
+        } catch (RejectedExecutionException e) {
+            // 종료 중
+            failAll(queue.pending, new CommandRejectedException("Account coalescer is shutting down"));
+            queue.pending.clear();
+            queue.scheduled = false;
+        }
+    }
+
+    private void flush(AccountQueue queue) {
+        List<Command> batch = new ArrayList<>(Math.min(maxBatchSize, 64));
+        queue.lock.lock();
+        try {
+            while (batch.size() < maxBatchSize && !queue.pending.isEmpty()) {
+                batch.add(queue.pending.poll());
+            }
+        } finally {
+            queue.lock.unlock();
+        }
+
+        try {
+            process(queue.accountNumber, batch);
+        } catch (RuntimeException | Error e) {
+            log.error("Failed to flush coalesced commands for account {}", queue.accountNumber, e);
+            failAll(batch, e);
+        }
+
+        queue.lock.lock();
+        try {
+            Command oldest = queue.pending.peek();
+            if (oldest == null) {
+                queue.scheduled = false;
+                queue.retired = true;
+                queues.remove(queue.accountNumber, queue);
+            } else {
+                schedule(queue, windowNanos - (System.nanoTime() - oldest.enqueuedAt));
+            }
+        } finally {
+            queue.lock.unlock();
+        }
+    }
+
+    private void process(String accountNumber, List<Command> batch) {
+        long[] balances = new long[batch.size()];
+        RuntimeException[] rejections = new RuntimeException[batch.size()];
+        long start = System.nanoTime();
+        Account saved;
+        try {
+            saved = optimisticRetry.execute("coalesced", () -> {
+                Account account = loadAccountPort.load(accountNumber);
+                boolean changed = false;
+                for (int i = 0; i < batch.size(); i++) {
+                    try {
+                        BalanceCommandExecutor.applyDelta(account, batch.get(i).delta);
+                    } catch (RuntimeException e) {
+                        // 이 명령만 실패 (잔액 부족 등), 계좌는 바뀌지 않음
+                        rejections[i] = e;
+                        continue;
+                    }
+                    rejections[i] = null;
+                    balances[i] = account.getBalance();
+                    changed = true;
+                }
+                if (changed) {
+                    saveAccountPort.save(account);
+                }
+                return account;
+            });
+        } catch (RuntimeException e) {
+            failAll(batch, e);
+            return;
+        }
+        metrics.recordNanos("account.command.flush", System.nanoTime() - start);
+        metrics.increment("account.command.coalescing.batch", "size", sizeBucket(batch.size()));
+
+        for (int i = 0; i < batch.size(); i++) {
+            Command command = batch.get(i);
+            if (rejections[i] != null) {
+                command.result.completeExceptionally(rejections[i]);
+            } else {
+                command.result.complete(Account.of(saved.getAccountNumber(), saved.getName(), balances[i], saved.getVersion()));
+            }
+        }
+    }
+
+    /**
+     * 묶음 크기 분포를 태그 수를 늘리지 않고 보기 위한 2의 거듭제곱 구간 (1, 2, 4, ..., 1024+)
+     */
+    private static String sizeBucket(int size) {
+        int bucket = Integer.highestOneBit(size);
+        return bucket >= 1024 ? "1024+" : Integer.toString(bucket);
+    }
+
+    private static void failAll(Iterable<Command> commands, Throwable error) {
+        for (Command command : commands) {
+            command.result.completeExceptionally(error);
+        }
+    }
+
+    private record Command(long delta, long enqueuedAt, CompletableFuture<Account> result) {
+    }
+
+    private static final class AccountQueue {
+        final String accountNumber;
+        final ReentrantLock lock = new ReentrantLock();
+        // 아래 값은 lock 안에서만 접근
+        final ArrayDeque<Command> pending = new ArrayDeque<>();
+        boolean scheduled; // flush 가 예약됐거나 실행 중
+        boolean retired;   // 맵에서 빠짐, 더 이상 명령을 받지 않음
+
+        AccountQueue(String accountNumber) {
+            this.accountNumber = accountNumber;
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package com.example.account.application.service;
+
+import com.example.account.application.port.out.LoadAccountPort;
+import com.example.account.application.port.out.SaveAccountPort;
+import com.example.account.application.port.out.UpdateBalancePort;
+import com.example.account.domain.exception.AccountNotFoundException;
+import com.example.account.domain.model.Account;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 요청 스레드에서 바로 잔액을 증감한다. (account.command.mode=direct, 기본값)
+ *
+ * 어댑터가 UpdateBalancePort 를 제공하면 잔액 증감 한 번으로 처리하고 (왕복 1회, 갱신 유실 없음),
+ * 제공하지 않으면 조회 → 도메인 변경 → 저장으로 처리합니다.
+ * 이때 같은 계좌의 조회 → 변경 → 저장은 AccountLockManager 의 계좌별 잠금 안에서 수행합니다.
+ * (@Transactional 이 아무 일도 하지 않는 파일 저장소에서도 두 출금이 같은 잔액을 보고 함께 통과하지 않도록)
+ * 저장 시점에 버전이 달라졌으면(다른 프로세스가 먼저 저장) OptimisticRetry 로 조회부터 다시 수행합니다.
+ * 재시도 대기 중에는 잠금을 잡고 있지 않습니다.
+ *
+ * 배치(applyAll)는 계좌별로 묶어 loadAll 한 번으로 읽고, 계좌마다 명령을 순서대로 적용한 뒤 saveAll 한 번으로 저장합니다.
+ * 단건과 같은 기준으로 직렬화합니다. UpdateBalancePort 가 없는 저장소에서는 배치의 계좌들을 모두 잠근 채로 처리하고,
+ * 있는 저장소는 버전 확인으로 충돌을 드러냅니다.
+ * 조회 → 적용 → 저장은 시도마다 트랜잭션 하나로 묶고, 버전 충돌이면 롤백 후 조회부터 다시 합니다.
+ */
+@Component
+@ConditionalOnProperty(name = "account.command.mode", havingValue = "direct", matchIfMissing = true)
+class DirectBalanceCommandExecutor implements BalanceCommandExecutor {
+
+    private final LoadAccountPort loadAccountPort;
+    private final SaveAccountPort saveAccountPort;
+    private final UpdateBalancePort updateBalancePort; // 저장 어댑터가 지원하지 않으면 null
+    private final OptimisticRetry optimisticRetry;
+    private final AccountLockManager lockManager;
+    private final TransactionOperations transactionOperations;
+
+    DirectBalanceCommandExecutor(LoadAccountPort loadAccountPort, SaveAccountPort saveAccountPort,
+                                 OptimisticRetry optimisticRetry, AccountLockManager lockManager) {
+        this(loadAccountPort, saveAccountPort, optimisticRetry, lockManager, TransactionOperations.withoutTransaction());
+    }
+
+    @Autowired
+    DirectBalanceCommandExecutor(LoadAccountPort loadAccountPort, SaveAccountPort saveAccountPort,
+                                 OptimisticRetry optimisticRetry, AccountLockManager lockManager,
+                                 TransactionOperations transactionOperations) {
+        this.loadAccountPort = loadAccountPort;
+        this.saveAccountPort = saveAccountPort;
+        this.optimisticRetry = optimisticRetry;
+        this.lockManager = lockManager;
+        this.transactionOperations = transactionOperations;
+        // 증감은 계좌를 저장하는 바로 그 저장소에 반영해야 하므로, 저장 어댑터 자신이 구현한 경우에만 사용
+        this.updateBalancePort = saveAccountPort instanceof UpdateBalancePort port ? port : null;
+    }
+
+    @Override
+    @Transactional
+    public Account apply(String accountNumber, long delta) {
+        if (updateBalancePort != null) {
+            return updateBalancePort.addBalance(accountNumber, delta);
+        }
+        return optimisticRetry.execute(BalanceCommandExecutor.operationOf(delta), () -> lockManager.withLock(accountNumber, () -> {
+            Account account = loadAccountPort.load(accountNumber);
+            BalanceCommandExecutor.applyDelta(account, delta);
+            saveAccountPort.save(account);
+            return account;
+        }));
+    }
+
+    @Override
+    public void applyAll(List<String> accountNumbers, long[] deltas, Account[] results, RuntimeException[] failures) {
+        // 계좌번호 → 그 계좌 명령의 index (들어온 순서)
+        Map<String, List<Integer>> groups = new LinkedHashMap<>();
+        for (int i = 0; i < accountNumbers.size(); i++) {
+            groups.computeIfAbsent(accountNumbers.get(i), accountNumber -> new ArrayList<>()).add(i);
+        }
+        if (groups.isEmpty()) {
+            return;
+        }
+        try {
+            optimisticRetry.execute("batch", () -> updateBalancePort != null
+                    ? applyGroupsInTransaction(groups, deltas, results, failures)
+                    : lockManager.withLocks(groups.keySet(), () -> applyGroupsInTransaction(groups, deltas, results, failures)));
+        } catch (RuntimeException e) {
+            // 저장하지 못했으므로 모두 실패
+            for (List<Integer> indexes : groups.values()) {
+                for (int i : indexes) {
+                    results[i] = null;
+                    failures[i] = e;
+                }
+            }
+        }
+    }
+
+    private List<Account> applyGroupsInTransaction(Map<String, List<Integer>> groups, long[] deltas,
+                                                   Account[] results, RuntimeException[] failures) {
+        return transactionOperations.execute(status -> applyGroups(groups, deltas, results, failures));
+    }
+
+    /**
+     * 한 번의 시도: 조회 → 계좌별 순서대로 적용 → 바뀐 계좌 저장. 저장된 계좌 목록을 돌려준다.
+     */
+    private List<Account> applyGroups(Map<String, List<Integer>> groups, long[] deltas,
+                                      Account[] results, RuntimeException[] failures) {
+        Map<String, Account> accounts = new HashMap<>();
+        for (Account account : loadAccountPort.loadAll(groups.keySet())) {
+            accounts.put(account.getAccountNumber(), account);
+        }
+
+        List<Account> changed = new ArrayList<>();
+        // 명령별 적용 직후 잔액 (버전은 저장 후 채움)
+        long[] balances = new long[deltas.length];
+        for (Map.Entry<String, List<Integer>> group : groups.entrySet()) {
+            for (int i : group.getValue()) {
+                // 이전 시도의 결과는 버림
+                results[i] = null;
+                failures[i] = null;
+            }
+            Account account = accounts.get(group.getKey());
+            if (account == null) {
+                for (int i : group.getValue()) {
+                    failures[i] = new AccountNotFoundException(group.getKey());
+                }
+                continue;
+            }
+            boolean applied = false;
+            for (int i : group.getValue()) {
+                try {
+                    BalanceCommandExecutor.applyDelta(account, deltas[i]);
+                } catch (RuntimeException e) {
+                    failures[i] = e;
+                    continue;
+                }
+                balances[i] = account.getBalance();
+                applied = true;
+            }
+            if (applied) {
+                changed.add(account);
+            }
+        }
+
+        if (!changed.isEmpty()) {
+            saveAccountPort.saveAll(changed);
+        }
+        for (Account account : changed) {
+            for (int i : groups.get(account.getAccountNumber())) {
+                if (failures[i] == null) {
+                    results[i] = Account.of(account.getAccountNumber(), account.getName(), balances[i], account.getVersion());
+                }
+            }
+        }
+        return changed;
+    }
+}
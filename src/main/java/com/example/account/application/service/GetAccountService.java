@@ -1,24 +1,133 @@
 package com.example.account.application.service;
 
+import com.example.account.application.port.in.GetAccountAsyncQuery;
 import com.example.account.application.port.in.GetAccountQuery;
+import com.example.account.application.port.out.ListAccountsPort;
+import com.example.account.application.port.out.LoadAccountAsyncPort;
 import com.example.account.application.port.out.LoadAccountPort;
+import com.example.account.domain.exception.AccountNotFoundException;
 import com.example.account.domain.model.Account;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Consumer;
+
 @Service
 @Transactional(readOnly = true)
-class GetAccountService implements GetAccountQuery {
+class GetAccountService implements GetAccountQuery, GetAccountAsyncQuery {
+
+    static final int MAX_PAGE_SIZE = 1000;
 
     private final LoadAccountPort loadAccountPort;
+    private final ListAccountsPort listAccountsPort;
+    private final AccountExistenceFilter existenceFilter;
+    // 저장 어댑터가 비블로킹 조회를 지원할 때만 있음
+    private final LoadAccountAsyncPort loadAccountAsyncPort;
+    private final SplitBalanceLedger ledger;
 
-    GetAccountService(LoadAccountPort loadAccountPort) {
+    GetAccountService(LoadAccountPort loadAccountPort, ListAccountsPort listAccountsPort,
+                      AccountExistenceFilter existenceFilter, ObjectProvider<LoadAccountAsyncPort> loadAccountAsyncPort,
+                      SplitBalanceLedger ledger) {
         this.loadAccountPort = loadAccountPort;
+        this.listAccountsPort = listAccountsPort;
+        this.existenceFilter = existenceFilter;
+        this.loadAccountAsyncPort = loadAccountAsyncPort.getIfUnique();
+        this.ledger = ledger;
     }
 
 
     @Override
     public Account getAccount(String accountNumber) {
-        return loadAccountPort.load(accountNumber);
+        existenceFilter.rejectIfAbsent(accountNumber);
+        try {
+            // slot 으로 나뉜 계좌는 base + slot 합계
+            return ledger.isSplit(accountNumber) ? ledger.total(accountNumber) : loadAccountPort.load(accountNumber);
+        } catch (AccountNotFoundException e) {
+            existenceFilter.falsePositive();
+            throw e;
+        }
+    }
+
+    /*
+     * 태그는 저장된 버전이면 충분하다. (저장할 때마다 버전이 오름)
+     * 버전을 기록하지 않는 저장소(버전 0)와 slot 으로 나뉜 계좌(slot 변경은 base 버전을 올리지 않음)는
+     * 계좌를 읽어 잔액과 이름까지 태그에 넣는다.
+     */
+    @Override
+    public String getAccountTag(String accountNumber) {
+        if (!ledger.isSplit(accountNumber)) {
+            existenceFilter.rejectIfAbsent(accountNumber);
+            long version;
+            try {
+                version = loadAccountPort.loadVersion(accountNumber);
+            } catch (AccountNotFoundException e) {
+                existenceFilter.falsePositive();
+                throw e;
+            }
+            if (version > 0) {
+                return Long.toString(version);
+            }
+        }
+        return tagOf(getAccount(accountNumber));
+    }
+
+    @Override
+    public String tagOf(Account account) {
+        if (account.getVersion() > 0 && !ledger.isSplit(account.getAccountNumber())) {
+            return Long.toString(account.getVersion());
+        }
+        return account.getVersion() + "-" + Long.toHexString(account.getBalance())
+                + "-" + Integer.toHexString(account.getName().hashCode());
+    }
+
+    /*
+     * 비블로킹 조회는 이벤트 루프 스레드에서 호출되므로 트랜잭션(커넥션 획득)을 시작하지 않는다.
+     * 비동기 포트는 base 잔액만 돌려주므로 slot 을 지원하는 저장소에서는 쓰지 않는다.
+     */
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public boolean supportsNonBlocking() {
+        return loadAccountAsyncPort != null && !ledger.supportsSplit();
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public CompletionStage<Account> getAccountAsync(String accountNumber) {
+        if (loadAccountAsyncPort == null) {
+            throw new IllegalStateException("Storage adapter does not support non-blocking lookups");
+        }
+        try {
+            existenceFilter.rejectIfAbsent(accountNumber);
+        } catch (AccountNotFoundException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        return loadAccountAsyncPort.loadAsync(accountNumber).whenComplete((account, error) -> {
+            Throwable cause = error instanceof CompletionException ? error.getCause() : error;
+            if (cause instanceof AccountNotFoundException) {
+                existenceFilter.falsePositive();
+            }
+        });
+    }
+
+    @Override
+    public List<Account> listAccounts(String after, int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        return listAccountsPort.listAccounts(after, limit).stream().map(ledger::withSlots).toList();
+    }
+
+    /**
+     * 트랜잭션 안에서 스트리밍해야 DB 어댑터가 커서를 끝까지 읽을 수 있다. (호출한 스레드에서 끝까지 소비할 것)
+     */
+    @Override
+    public void exportAccounts(Consumer<Account> consumer) {
+        listAccountsPort.streamAccounts(account -> consumer.accept(ledger.withSlots(account)));
     }
 }
@@ -0,0 +1,151 @@
+package com.example.account.application.service;
+
+import com.example.account.application.port.in.CreateAccountUseCase;
+import com.example.account.application.port.in.DepositUseCase;
+import com.example.account.application.port.in.IdempotentCommandUseCase;
+import com.example.account.application.port.in.WithdrawUseCase;
+import com.example.account.application.port.in.command.DepositCommand;
+import com.example.account.application.port.in.command.WithdrawCommand;
+import com.example.account.application.port.out.IdempotencyPort;
+import com.example.account.application.port.out.MetricsPort;
+import com.example.account.domain.model.Account;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Idempotency-Key 가 붙은 생성/입금/출금.
+ *
+ * - 먼저 IdempotencyPort 에서 key 를 찾고, 있으면 저장된 결과를 그대로 돌려준다. (계좌 저장소 조회 없음)
+ * - 없으면 key 를 이 프로세스의 처리 중 목록에 올리고 유스케이스를 실행한 뒤, 같은 트랜잭션 안에서 결과를 저장한다.
+ *   (DB 저장소면 잔액 변경과 key 가 함께 커밋/롤백된다.)
+ *   단, 명령을 다른 스레드가 저장하는 실행 방식(BalanceCommandExecutor.runsOnCallerThread 가 false)이면
+ *   잔액 변경은 어차피 따로 커밋되므로 트랜잭션을 열지 않는다. (요청 스레드가 커넥션을 잡고 기다리지 않도록)
+ * - 처리 중 목록에서는 트랜잭션이 끝난 뒤에 뺀다. 커밋 전에 빼면 그 사이 들어온 재시도가 저장된 key 를 못 보고 다시 실행된다.
+ *
+ * 처리 중 확인은 프로세스 안에서만 한다. (같은 key 가 여러 인스턴스에 동시에 들어오는 경우는 막지 못함)
+ *
+ * 메트릭: account.idempotency (result 태그: stored, replayed, in_progress)
+ */
+@Service
+class IdempotentCommandService implements IdempotentCommandUseCase {
+
+    static final int MAX_KEY_LENGTH = 255;
+
+    private final IdempotencyPort idempotencyPort;
+    private final CreateAccountUseCase createAccountUseCase;
+    private final DepositUseCase depositUseCase;
+    private final WithdrawUseCase withdrawUseCase;
+    private final MetricsPort metrics;
+    private final TransactionOperations transactionOperations;
+    private final Set<String> inFlight = ConcurrentHashMap.newKeySet();
+
+    @Autowired
+    IdempotentCommandService(IdempotencyPort idempotencyPort, CreateAccountUseCase createAccountUseCase,
+                             DepositUseCase depositUseCase, WithdrawUseCase withdrawUseCase, MetricsPort metrics,
+                             BalanceCommandExecutor commandExecutor, TransactionOperations transactionOperations) {
+        this(idempotencyPort, createAccountUseCase, depositUseCase, withdrawUseCase, metrics,
+                commandExecutor.runsOnCallerThread() ? transactionOperations : TransactionOperations.withoutTransaction());
+    }
+
+    IdempotentCommandService(IdempotencyPort idempotencyPort, CreateAccountUseCase createAccountUseCase,
+                             DepositUseCase depositUseCase, WithdrawUseCase withdrawUseCase, MetricsPort metrics) {
+        this(idempotencyPort, createAccountUseCase, depositUseCase, withdrawUseCase, metrics,
+                TransactionOperations.withoutTransaction());
+    }
+
+    private IdempotentCommandService(IdempotencyPort idempotencyPort, CreateAccountUseCase createAccountUseCase,
+                                     DepositUseCase depositUseCase, WithdrawUseCase withdrawUseCase, MetricsPort metrics,
+                                     TransactionOperations transactionOperations) {
+        this.idempotencyPort = idempotencyPort;
+        this.createAccountUseCase = createAccountUseCase;
+        this.depositUseCase = depositUseCase;
+        this.withdrawUseCase = withdrawUseCase;
+        this.metrics = metrics;
+        this.transactionOperations = transactionOperations;
+    }
+
+    @Override
+    public Account createAccount(String idempotencyKey, String accountNumber, String name, long initialBalance) {
+        return execute(idempotencyKey, requestHash("create", accountNumber, initialBalance, name),
+                () -> createAccountUseCase.createAccount(accountNumber, name, initialBalance));
+    }
+
+    @Override
+    public Account deposit(String idempotencyKey, DepositCommand depositCommand) {
+        return execute(idempotencyKey, requestHash("deposit", depositCommand.accountNumber(), depositCommand.amount(), ""),
+                () -> depositUseCase.deposit(depositCommand));
+    }
+
+    @Override
+    public Account withdraw(String idempotencyKey, WithdrawCommand withdrawCommand) {
+        return execute(idempotencyKey, requestHash("withdraw", withdrawCommand.accountNumber(), withdrawCommand.amount(), ""),
+                () -> withdrawUseCase.withdraw(withdrawCommand));
+    }
+
+    private Account execute(String key, long requestHash, Supplier<Account> operation) {
+        return transactionOperations.execute(status -> executeOnce(key, requestHash, operation));
+    }
+
+    private Account executeOnce(String key, long requestHash, Supplier<Account> operation) {
+        if (key == null || key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new IllegalArgumentException("Idempotency-Key must be 1 to " + MAX_KEY_LENGTH + " characters");
+        }
+        Account replayed = idempotencyPort.find(key, requestHash);
+        if (replayed != null) {
+            metrics.increment("account.idempotency", "result", "replayed");
+            return replayed;
+        }
+        if (!inFlight.add(key)) {
+            metrics.increment("account.idempotency", "result", "in_progress");
+            throw new IllegalStateException("A request with the same Idempotency-Key is in progress");
+        }
+        try {
+            // 앞선 요청이 방금 끝났을 수 있으므로 처리 중 목록에 올린 뒤 한 번 더 확인
+            replayed = idempotencyPort.find(key, requestHash);
+            if (replayed != null) {
+                metrics.increment("account.idempotency", "result", "replayed");
+                return replayed;
+            }
+            Account result = operation.get();
+            idempotencyPort.save(key, requestHash, result);
+            metrics.increment("account.idempotency", "result", "stored");
+            return result;
+        } finally {
+            releaseAfterCompletion(key);
+        }
+    }
+
+    private void releaseAfterCompletion(String key) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            inFlight.remove(key);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                inFlight.remove(key);
+            }
+        });
+    }
+
+    /**
+     * 요청 내용의 64비트 해시 (FNV-1a). 같은 key 가 다른 요청에 쓰였는지 확인하는 용도
+     */
+    static long requestHash(String operation, String accountNumber, long amount, String name) {
+        long hash = 0xcbf29ce484222325L;
+        for (String part : new String[]{operation, accountNumber, Long.toString(amount), name}) {
+            for (int i = 0; i < part.length(); i++) {
+                hash = (hash ^ part.charAt(i)) * 0x100000001b3L;
+            }
+            hash = (hash ^ 0xFFFF) * 0x100000001b3L; // 구분자
+        }
+        return hash;
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.account.application.service;
+
+import com.example.account.application.port.out.MetricsPort;
+import com.example.account.domain.exception.AccountVersionConflictException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * 버전 충돌(AccountVersionConflictException) 시 조회부터 다시 수행하도록 제한된 횟수만큼 재시도한다.
+ *
+ * - 대기 시간: 0 ~ min(maxBackoff, initialBackoff * 2^(시도-1)) 사이 임의값 (full jitter)
+ *   같은 계좌를 두고 충돌한 요청들이 동시에 다시 충돌하지 않도록 흩어 준다.
+ * - 메트릭: account.version.conflicts / account.version.retries / account.version.retries.exhausted (operation 태그)
+ */
+@Component
+class OptimisticRetry {
+
+    private final MetricsPort metrics;
+    private final int maxAttempts;
+    private final long initialBackoffNanos;
+    private final long maxBackoffNanos;
+
+    OptimisticRetry(MetricsPort metrics,
+                    @Value("${account.retry.max-attempts:5}") int maxAttempts,
+                    @Value("${account.retry.initial-backoff:2ms}") Duration initialBackoff,
+                    @Value("${account.retry.max-backoff:50ms}") Duration maxBackoff) {
+        if (maxAttempts <= 0) {
+            throw new IllegalArgumentException("maxAttempts must be positive");
+        }
+        this.metrics = metrics;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoffNanos = initialBackoff.toNanos();
+        this.maxBackoffNanos = maxBackoff.toNanos();
+    }
+
+    <T> T execute(String operation, Supplier<T> action) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return action.get();
+            } catch (AccountVersionConflictException e) {
+                metrics.increment("account.version.conflicts", "operation", operation);
+                if (attempt >= maxAttempts) {
+                    metrics.increment("account.version.retries.exhausted", "operation", operation);
+                    throw e;
+                }
+                metrics.increment("account.version.retries", "operation", operation);
+                backoff(attempt);
+            }
+        }
+    }
+
+    private void backoff(int attempt) {
+        long ceiling = Math.min(maxBackoffNanos, initialBackoffNanos << Math.min(attempt - 1, 20));
+        if (ceiling <= 0) {
+            return;
+        }
+        long nanos = ThreadLocalRandom.current().nextLong(ceiling + 1);
+        try {
+            Thread.sleep(nanos / 1_000_000, (int) (nanos % 1_000_000));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting to retry", e);
+        }
+    }
+}
@@ -0,0 +1,437 @@
+package com.example.account.application.service;
+
+import com.example.account.application.exception.CommandRejectedException;
+import com.example.account.application.port.out.LoadAccountPort;
+import com.example.account.application.port.out.MetricsPort;
+import com.example.account.application.port.out.SaveAccountPort;
+import com.example.account.domain.model.Account;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 미리 할당한 slot 링 버퍼 위에서 입금/출금을 3단계 파이프라인으로 처리한다. (account.command.mode=ring, Disruptor 방식)
+ *
+ *   요청 스레드 ──publish──▶ [apply] ──▶ [persist] ──▶ [complete] ──▶ slot 재사용
+ *
+ * - publish  : 여러 요청 스레드가 CAS 로 sequence 를 받아 그 slot 에 명령을 채운다. (slot 객체는 재사용)
+ *              링이 가득 차 있으면 기다리지 않고 CommandRejectedException (503 + Retry-After)
+ * - apply    : 단일 스레드. 계좌 상태를 메모리에 들고 도메인 규칙을 적용하고 결과(잔액/오류)를 slot 에 적는다.
+ * - persist  : 단일 스레드. apply 가 끝난 slot 들을 batch-size 개까지 모아, 계좌별 마지막 상태만 saveAll 한 번으로 저장한다.
+ * - complete : 단일 스레드. 저장이 끝난 slot 의 결과로 요청을 완료하고 slot 을 돌려준다.
+ *
+ * 각 단계는 앞 단계의 sequence 만 보고 진행하므로 단계 사이에 잠금이나 대기열 할당이 없다.
+ * 저장은 버전을 확인하는 조건부 저장이다. apply 단계는 계좌를 읽어 온 회차와 그때의 버전을 slot 에 적고,
+ * persist 단계는 같은 회차에서 자신이 마지막으로 저장한 버전을 이어 쓴다. 그래서 createAccount, 가져오기처럼
+ * 계좌를 바꾸는 저장이 accountReplaced 보다 먼저 커밋돼도 오래된 잔액으로 덮어쓰지 않고 버전 충돌로 드러난다.
+ * 배치 저장은 트랜잭션 하나이며, 실패하면(충돌 포함) 그 배치와, 이미 메모리에 반영됐지만 아직 저장되지 않은 명령을
+ * 모두 실패시키고 apply 단계는 메모리의 계좌를 모두 버려 저장소에서 다시 읽는다.
+ *
+ * 메트릭: account.command.ring.remaining, account.command.flush, account.command.rejected
+ */
+@Component
+@ConditionalOnProperty(name = "account.command.mode", havingValue = "ring")
+class RingBufferBalanceCommandExecutor implements BalanceCommandExecutor {
+
+    private static final Logger log = LoggerFactory.getLogger(RingBufferBalanceCommandExecutor.class);
+
+    private final LoadAccountPort loadAccountPort;
+    private final SaveAccountPort saveAccountPort;
+    private final MetricsPort metrics;
+    private final TransactionOperations transactionOperations;
+
+    private final Slot[] slots;
+    private final int mask;
+    private final int indexShift;
+    private final int maxBatchSize;
+    private final long waitNanos;
+    // slot 마다 마지막으로 publish 된 회차 (여러 요청 스레드가 순서 없이 publish 하므로)
+    private final AtomicIntegerArray published;
+
+    private final AtomicLong claimed = new AtomicLong(-1);
+    private volatile long applied = -1;
+    private volatile long persisted = -1;
+    private volatile long completed = -1;
+
+    // 저장 실패 시 persist 단계가 올린다. apply 단계는 값이 바뀌면 메모리의 계좌를 모두 버린다.
+    private volatile long resetEpoch;
+    private volatile RuntimeException lastFlushError;
+
+    // apply 단계만 접근: 계좌를 저장소에서 읽어 온 횟수 (읽은 회차 구분용)
+    private long loads;
+    // persist 단계만 접근: 계좌번호 → 읽은 회차와 그 회차에서 마지막으로 저장한 버전
+    private final Map<String, Saved> savedVersions = new HashMap<>();
+
+    private final Thread[] stages;
+    private volatile boolean running = true;
+
+    RingBufferBalanceCommandExecutor(LoadAccountPort loadAccountPort, SaveAccountPort saveAccountPort, MetricsPort metrics,
+                                     int size, int maxBatchSize, Duration idleWait) {
+        this(loadAccountPort, saveAccountPort, metrics, TransactionOperations.withoutTransaction(), size, maxBatchSize, idleWait);
+    }
+
+    @Autowired
+    RingBufferBalanceCommandExecutor(LoadAccountPort loadAccountPort, SaveAccountPort saveAccountPort, MetricsPort metrics,
+                                     TransactionOperations transactionOperations,
+                                     @Value("${account.command.ring.size:4096}") int size,
+                                     @Value("${account.command.ring.max-batch-size:256}") int maxBatchSize,
+                                     @Value("${account.command.ring.idle-wait:50us}") Duration idleWait) {
+        if (size <= 0 || Integer.bitCount(size) != 1) {
+            throw new IllegalArgumentException("ring size must be a power of two");
+        }
+        if (maxBatchSize <= 0) {
+            throw new IllegalArgumentException("max-batch-size must be positive");
+        }
+        this.loadAccountPort = loadAccountPort;
+        this.saveAccountPort = saveAccountPort;
+        this.metrics = metrics;
+        this.transactionOperations = transactionOperations;
+        this.slots = new Slot[size];
+        for (int i = 0; i < size; i++) {
+            slots[i] = new Slot();
+        }
+        this.mask = size - 1;
+        this.indexShift = Integer.numberOfTrailingZeros(size);
+        this.maxBatchSize = maxBatchSize;
+        this.waitNanos = idleWait.toNanos();
+        this.published = new AtomicIntegerArray(size);
+        for (int i = 0; i < size; i++) {
+            published.set(i, -1);
+        }
+        metrics.gauge("account.command.ring.remaining", () -> slots.length - (claimed.get() - completed));
+
+        this.stages = new Thread[]{
+                stage("account-ring-apply", this::applyLoop),
+                stage("account-ring-persist", this::persistLoop),
+                stage("account-ring-complete", this::completeLoop)
+        };
+        for (Thread thread : stages) {
+            thread.start();
+        }
+    }
+
+    @Override
+    public Account apply(String accountNumber, long delta) {
+        CompletableFuture<Account> result = new CompletableFuture<>();
+        publish(accountNumber, delta, result);
+        try {
+            return result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public boolean runsOnCallerThread() {
+        return false;
+    }
+
+    /**
+     * 명령을 모두 링에 publish 한 뒤 결과를 기다린다. 링이 가득 차 거절된 명령만 실패한다.
+     */
+    @Override
+    public void applyAll(List<String> accountNumbers, long[] deltas, Account[] results, RuntimeException[] failures) {
+        List<CompletableFuture<Account>> futures = new ArrayList<>(accountNumbers.size());
+        for (int i = 0; i < accountNumbers.size(); i++) {
+            CompletableFuture<Account> result = new CompletableFuture<>();
+            try {
+                publish(accountNumbers.get(i), deltas[i], result);
+            } catch (RuntimeException e) {
+                result.completeExceptionally(e);
+            }
+            futures.add(result);
+        }
+        BalanceCommandExecutor.awaitAll(futures, results, failures);
+    }
+
+    @Override
+    public void accountReplaced(String accountNumber) {
+        publish(accountNumber, 0L, null);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        running = false;
+        for (Thread thread : stages) {
+            try {
+                thread.join(TimeUnit.SECONDS.toMillis(10));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    // --- publish (요청 스레드) ---
+
+    private void publish(String accountNumber, long delta, CompletableFuture<Account> result) {
+        long sequence;
+        long current;
+        do {
+            current = claimed.get();
+            sequence = current + 1;
+            if (sequence - slots.length > completed) {
+                metrics.increment("account.command.rejected");
+                throw new CommandRejectedException("Account command ring is full");
+            }
+        } while (!claimed.compareAndSet(current, sequence));
+
+        int index = (int) (sequence & mask);
+        Slot slot = slots[index];
+        slot.accountNumber = accountNumber;
+        slot.delta = delta;
+        slot.result = result;
+        slot.error = null;
+        published.set(index, (int) (sequence >>> indexShift));
+    }
+
+    private boolean isPublished(long sequence) {
+        return published.get((int) (sequence & mask)) == (int) (sequence >>> indexShift);
+    }
+
+    // --- apply 단계 ---
+
+    private void applyLoop() {
+        Map<String, Loaded> accounts = new HashMap<>();
+        long epoch = resetEpoch;
+        while (running || applied < claimed.get()) {
+            long next = applied + 1;
+            long last = next - 1;
+            while (last - next + 1 < maxBatchSize && isPublished(last + 1)) {
+                last++;
+            }
+            if (last < next) {
+                idle();
+                continue;
+            }
+            if (epoch != resetEpoch) {
+                accounts.clear();
+                epoch = resetEpoch;
+            }
+            loadMissing(accounts, next, last);
+            for (long sequence = next; sequence <= last; sequence++) {
+                applyOne(accounts, slots[(int) (sequence & mask)], epoch);
+            }
+            applied = last;
+        }
+    }
+
+    private void loadMissing(Map<String, Loaded> accounts, long from, long to) {
+        Set<String> missing = new LinkedHashSet<>();
+        for (long sequence = from; sequence <= to; sequence++) {
+            Slot slot = slots[(int) (sequence & mask)];
+            if (slot.result != null && !accounts.containsKey(slot.accountNumber)) {
+                missing.add(slot.accountNumber);
+            }
+        }
+        if (missing.isEmpty()) {
+            return;
+        }
+        try {
+            for (Account account : loadAccountPort.loadAll(missing)) {
+                accounts.put(account.getAccountNumber(), new Loaded(account, ++loads));
+            }
+        } catch (RuntimeException e) {
+            // 계좌별 load 로 다시 시도하면서 해당 slot 에 오류가 기록된다.
+            log.warn("Failed to load accounts for the command ring", e);
+        }
+    }
+
+    private void applyOne(Map<String, Loaded> accounts, Slot slot, long epoch) {
+        slot.epoch = epoch;
+        if (slot.result == null) {
+            accounts.remove(slot.accountNumber);
+            return;
+        }
+        try {
+            Loaded loaded = accounts.get(slot.accountNumber);
+            if (loaded == null) {
+                loaded = new Loaded(loadAccountPort.load(slot.accountNumber), ++loads);
+                accounts.put(slot.accountNumber, loaded);
+            }
+            Account account = loaded.account;
+            BalanceCommandExecutor.applyDelta(account, slot.delta);
+            slot.name = account.getName();
+            slot.balance = account.getBalance();
+            // 메모리의 계좌는 저장해도 버전이 그대로이므로 읽었을 때의 버전이다.
+            slot.loadId = loaded.id;
+            slot.loadedVersion = account.getVersion();
+        } catch (RuntimeException e) {
+            slot.error = e;
+        }
+    }
+
+    // --- persist 단계 ---
+
+    private void persistLoop() {
+        Map<String, Slot> latest = new LinkedHashMap<>();
+        while (running || persisted < claimed.get()) {
+            long next = persisted + 1;
+            long last = Math.min(applied, next + maxBatchSize - 1);
+            if (last < next) {
+                idle();
+                continue;
+            }
+            long epoch = resetEpoch;
+            for (long sequence = next; sequence <= last; sequence++) {
+                Slot slot = slots[(int) (sequence & mask)];
+                if (slot.result == null || slot.error != null) {
+                    continue;
+                }
+                if (slot.epoch != epoch) {
+                    // 앞선 저장 실패로 메모리 상태가 버려졌으므로 이 명령도 저장되지 않은 것으로 처리
+                    slot.error = lastFlushError;
+                    continue;
+                }
+                // 같은 계좌는 배치의 마지막 상태만 저장
+                latest.put(slot.accountNumber, slot);
+            }
+            if (!latest.isEmpty()) {
+                flush(latest, next, last);
+                latest.clear();
+            }
+            persisted = last;
+        }
+    }
+
+    private void flush(Map<String, Slot> latest, long from, long to) {
+        List<Account> accounts = new ArrayList<>(latest.size());
+        for (Slot slot : latest.values()) {
+            Saved saved = savedVersions.get(slot.accountNumber);
+            long expected = saved != null && saved.loadId == slot.loadId ? saved.version : slot.loadedVersion;
+            accounts.add(Account.of(slot.accountNumber, slot.name, slot.balance, expected));
+        }
+        long start = System.nanoTime();
+        try {
+            transactionOperations.executeWithoutResult(status -> saveAccountPort.saveAll(accounts));
+            metrics.recordNanos("account.command.flush", System.nanoTime() - start);
+        } catch (RuntimeException e) {
+            log.warn("Failed to persist {} accounts from the command ring", latest.size(), e);
+            savedVersions.clear();
+            lastFlushError = e;
+            resetEpoch = resetEpoch + 1;
+            for (long sequence = from; sequence <= to; sequence++) {
+                Slot slot = slots[(int) (sequence & mask)];
+                if (slot.result != null && slot.error == null) {
+                    slot.error = e;
+                }
+            }
+            return;
+        }
+
+        Map<String, Long> versions = new HashMap<>();
+        int i = 0;
+        for (Slot slot : latest.values()) {
+            long version = accounts.get(i++).getVersion();
+            savedVersions.put(slot.accountNumber, new Saved(slot.loadId, version));
+            versions.put(slot.accountNumber, version);
+        }
+        // 명령마다 그 명령 직후의 잔액과 배치 저장 후 버전을 돌려준다.
+        for (long sequence = from; sequence <= to; sequence++) {
+            Slot slot = slots[(int) (sequence & mask)];
+            if (slot.result != null && slot.error == null) {
+                slot.version = versions.get(slot.accountNumber);
+            }
+        }
+    }
+
+    // --- complete 단계 ---
+
+    private void completeLoop() {
+        while (running || completed < claimed.get()) {
+            long next = completed + 1;
+            long last = persisted;
+            if (last < next) {
+                idle();
+                continue;
+            }
+            for (long sequence = next; sequence <= last; sequence++) {
+                Slot slot = slots[(int) (sequence & mask)];
+                CompletableFuture<Account> result = slot.result;
+                if (result != null) {
+                    if (slot.error != null) {
+                        result.completeExceptionally(slot.error);
+                    } else {
+                        result.complete(Account.of(slot.accountNumber, slot.name, slot.balance, slot.version));
+                    }
+                }
+                // slot 이 다시 쓰이기 전에 참조를 끊는다.
+                slot.result = null;
+                slot.error = null;
+            }
+            completed = last;
+        }
+    }
+
+    private void idle() {
+        if (waitNanos > 0) {
+            LockSupport.parkNanos(waitNanos);
+        } else {
+            Thread.onSpinWait();
+        }
+    }
+
+    private Thread stage(String name, Runnable loop) {
+        Thread thread = new Thread(() -> {
+            try {
+                loop.run();
+            } catch (RuntimeException | Error e) {
+                log.error("Command ring stage {} stopped", name, e);
+                throw e;
+            }
+        }, name);
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    /**
+     * 링의 칸 하나. sequence 가 단계를 넘어갈 때(volatile 쓰기/읽기) 앞 단계가 적은 값이 다음 단계에 보인다.
+     */
+    private static final class Slot {
+        String accountNumber;
+        long delta;
+        CompletableFuture<Account> result; // null 이면 accountReplaced
+        long epoch;
+        String name;
+        long balance;
+        long loadId;
+        long loadedVersion;
+        long version; // 저장 후 버전
+        RuntimeException error;
+    }
+
+    /**
+     * apply 단계가 메모리에 든 계좌와 그 계좌를 읽어 온 회차
+     */
+    private record Loaded(Account account, long id) {
+    }
+
+    /**
+     * persist 단계가 회차 loadId 의 계좌를 마지막으로 저장한 버전
+     */
+    private record Saved(long loadId, long version) {
+    }
+}
@@ -0,0 +1,165 @@
+package com.example.account.application.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 원소 수를 미리 몰라도 오탐률을 유지하는 Scalable Bloom Filter. (Almeida et al. 2007)
+ *
+ * - 현재 slice 가 용량(capacity)만큼 차면 용량 2배, 오탐률 절반짜리 slice 를 새로 붙인다.
+ *   → 전체 오탐률은 fpp * (1 + 1/2 + 1/4 + ...) ≤ 2 * fpp 로 묶인다.
+ * - 조회는 모든 slice 를 확인하고 잠금을 잡지 않는다. 추가는 한 번에 하나씩(synchronized) 한다.
+ * - 삭제는 지원하지 않는다. (false 면 확실히 없음, true 면 있을 수도 있음)
+ */
+final class ScalableBloomFilter {
+
+    private static final int GROWTH = 2;
+    private static final double TIGHTENING_RATIO = 0.5;
+
+    private final double fpp;
+    private volatile Slice[] slices;
+    private volatile long size;
+
+    ScalableBloomFilter(long initialCapacity, double fpp) {
+        if (initialCapacity <= 0) {
+            throw new IllegalArgumentException("initialCapacity must be positive");
+        }
+        if (fpp <= 0 || fpp >= 1) {
+            throw new IllegalArgumentException("fpp must be between 0 and 1");
+        }
+        this.fpp = fpp;
+        this.slices = new Slice[]{new Slice(initialCapacity, fpp)};
+    }
+
+    boolean mightContain(String key) {
+        long hash = hash(key);
+        for (Slice slice : slices) {
+            if (slice.mightContain(hash)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return 새로 추가했으면 true (이미 있을 수도 있다고 판단되면 추가하지 않고 false)
+     */
+    synchronized boolean add(String key) {
+        long hash = hash(key);
+        Slice[] current = slices;
+        for (Slice slice : current) {
+            if (slice.mightContain(hash)) {
+                return false;
+            }
+        }
+        Slice last = current[current.length - 1];
+        if (last.count >= last.capacity) {
+            last = new Slice(last.capacity * GROWTH, fpp * Math.pow(TIGHTENING_RATIO, current.length));
+            Slice[] grown = Arrays.copyOf(current, current.length + 1);
+            grown[current.length] = last;
+            slices = grown;
+        }
+        last.put(hash);
+        size++;
+        return true;
+    }
+
+    long size() {
+        return size;
+    }
+
+    /**
+     * 현재 채워진 비트 비율로 추정한 오탐률. 1 - Π(1 - (채워진 비트 / 전체 비트)^k)
+     */
+    double expectedFpp() {
+        double miss = 1.0;
+        for (Slice slice : slices) {
+            miss *= 1.0 - Math.pow((double) slice.bitsSet / slice.numBits, slice.numHashes);
+        }
+        return 1.0 - miss;
+    }
+
+    long memoryBytes() {
+        long bytes = 0;
+        for (Slice slice : slices) {
+            bytes += (long) slice.bits.length() * Long.BYTES;
+        }
+        return bytes;
+    }
+
+    /**
+     * UTF-8 바이트에 대한 64bit FNV-1a 후 murmur3 fmix64 로 섞는다.
+     */
+    private static long hash(String key) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            h ^= b & 0xFF;
+            h *= 0x100000001b3L;
+        }
+        return fmix64(h);
+    }
+
+    private static long fmix64(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    /**
+     * 고정 크기 Bloom filter 하나. k 개의 위치는 두 해시값으로 만든다. (h1 + i * h2, Kirsch–Mitzenmacher)
+     */
+    private static final class Slice {
+        final long capacity;
+        final long numBits;
+        final int numHashes;
+        final AtomicLongArray bits;
+        // 아래 값은 추가(synchronized) 중에만 바뀐다.
+        volatile long count;
+        volatile long bitsSet;
+
+        Slice(long capacity, double fpp) {
+            long words = Math.max(1, (long) Math.ceil(-capacity * Math.log(fpp) / (Math.log(2) * Math.log(2)) / 64));
+            if (words > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Bloom filter slice is too large");
+            }
+            this.capacity = capacity;
+            this.numBits = words * 64;
+            this.numHashes = Math.max(1, (int) Math.round((double) numBits / capacity * Math.log(2)));
+            this.bits = new AtomicLongArray((int) words);
+        }
+
+        boolean mightContain(long hash) {
+            long h1 = hash;
+            long h2 = fmix64(hash ^ 0x9E3779B97F4A7C15L) | 1;
+            for (int i = 0; i < numHashes; i++) {
+                long bit = Long.remainderUnsigned(h1 + i * h2, numBits);
+                if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        void put(long hash) {
+            long h1 = hash;
+            long h2 = fmix64(hash ^ 0x9E3779B97F4A7C15L) | 1;
+            long newlySet = 0;
+            for (int i = 0; i < numHashes; i++) {
+                long bit = Long.remainderUnsigned(h1 + i * h2, numBits);
+                int index = (int) (bit >>> 6);
+                long mask = 1L << bit;
+                long word = bits.get(index);
+                if ((word & mask) == 0) {
+                    bits.set(index, word | mask);
+                    newlySet++;
+                }
+            }
+            bitsSet += newlySet;
+            count++;
+        }
+    }
+}
@@ -0,0 +1,350 @@
+package com.example.account.application.service;
+
+import com.example.account.application.exception.CommandRejectedException;
+import com.example.account.application.port.out.LoadAccountPort;
+import com.example.account.application.port.out.MetricsPort;
+import com.example.account.application.port.out.SaveAccountPort;
+import com.example.account.domain.model.Account;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 계좌번호 해시로 고른 shard 스레드 하나가 그 계좌의 모든 입금/출금을 순서대로 처리한다. (account.command.mode=sharded)
+ *
+ * - shard 스레드만 자기 계좌를 바꾸므로 잠금 없이 도메인 규칙(Account.deposit/withdraw)을 적용한다.
+ * - 계좌 상태는 shard 메모리에 유지하고(최근 사용 순으로 max-accounts-per-shard 개), 없을 때만 배치 단위로 loadAll 한다.
+ * - 대기열에서 꺼낸 명령들을 모두 적용한 뒤 바뀐 계좌를 트랜잭션 하나에서 saveAll 로 저장하고, 저장이 끝나야 결과를 돌려준다.
+ *   saveAll 이 실패하면 (앞서 쓴 chunk 까지 롤백된 뒤) 계좌마다 따로 저장해서, 저장하지 못한 계좌의 명령만 실패시킨다.
+ *   실패한 계좌는 메모리에서 버려 다음 명령 때 저장소에서 다시 읽는다.
+ * - 같은 계좌의 명령은 같은 shard 대기열(FIFO)을 거치므로 들어온 순서대로 반영된다.
+ * - 대기열이 enqueue-timeout 동안 가득 차 있으면 CommandRejectedException (503)
+ *
+ * 유스케이스 인터페이스(동기 반환)는 그대로 두고, 요청 스레드는 shard 가 완료한 CompletableFuture 를 기다린다.
+ * 이 프로세스가 계좌를 혼자 바꾼다는 전제이며, 다른 경로의 저장은 버전 충돌로 드러난다. (그 배치는 실패)
+ *
+ * 메트릭: account.command.queue.depth (shard 태그), account.command.flush (배치 저장 시간), account.command.rejected
+ */
+@Component
+@ConditionalOnProperty(name = "account.command.mode", havingValue = "sharded")
+class ShardedBalanceCommandExecutor implements BalanceCommandExecutor {
+
+    private static final Logger log = LoggerFactory.getLogger(ShardedBalanceCommandExecutor.class);
+
+    private final Shard[] shards;
+    private final long enqueueTimeoutNanos;
+    private final MetricsPort metrics;
+
+    ShardedBalanceCommandExecutor(LoadAccountPort loadAccountPort, SaveAccountPort saveAccountPort, MetricsPort metrics,
+                                  int shardCount, int queueCapacity, int maxBatchSize, int maxAccountsPerShard,
+                                  Duration enqueueTimeout) {
+        this(loadAccountPort, saveAccountPort, metrics, TransactionOperations.withoutTransaction(),
+                shardCount, queueCapacity, maxBatchSize, maxAccountsPerShard, enqueueTimeout);
+    }
+
+    @Autowired
+    ShardedBalanceCommandExecutor(LoadAccountPort loadAccountPort, SaveAccountPort saveAccountPort, MetricsPort metrics,
+                                  TransactionOperations transactionOperations,
+                                  @Value("${account.command.sharded.shards:0}") int shardCount,
+                                  @Value("${account.command.sharded.queue-capacity:4096}") int queueCapacity,
+                                  @Value("${account.command.sharded.max-batch-size:256}") int maxBatchSize,
+                                  @Value("${account.command.sharded.max-accounts-per-shard:100000}") int maxAccountsPerShard,
+                                  @Value("${account.command.sharded.enqueue-timeout:100ms}") Duration enqueueTimeout) {
+        int count = shardCount > 0 ? shardCount : Runtime.getRuntime().availableProcessors();
+        if (queueCapacity <= 0 || maxBatchSize <= 0 || maxAccountsPerShard <= 0) {
+            throw new IllegalArgumentException("queue-capacity, max-batch-size and max-accounts-per-shard must be positive");
+        }
+        this.metrics = metrics;
+        this.enqueueTimeoutNanos = enqueueTimeout.toNanos();
+        this.shards = new Shard[count];
+        for (int i = 0; i < count; i++) {
+            Shard shard = new Shard(i, loadAccountPort, saveAccountPort, metrics, transactionOperations,
+                    queueCapacity, maxBatchSize, maxAccountsPerShard);
+            metrics.gauge("account.command.queue.depth", shard.queue::size, "shard", Integer.toString(i));
+            shards[i] = shard;
+            shard.thread.start();
+        }
+    }
+
+    @Override
+    public Account apply(String accountNumber, long delta) {
+        CompletableFuture<Account> result = new CompletableFuture<>();
+        submit(new Command(accountNumber, delta, result));
+        try {
+            return result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public boolean runsOnCallerThread() {
+        return false;
+    }
+
+    /**
+     * 명령을 모두 각자의 shard 대기열에 넣은 뒤 결과를 기다린다. (shard 가 자기 배치로 묶어 저장)
+     */
+    @Override
+    public void applyAll(List<String> accountNumbers, long[] deltas, Account[] results, RuntimeException[] failures) {
+        List<CompletableFuture<Account>> futures = new ArrayList<>(accountNumbers.size());
+        for (int i = 0; i < accountNumbers.size(); i++) {
+            CompletableFuture<Account> result = new CompletableFuture<>();
+            try {
+                submit(new Command(accountNumbers.get(i), deltas[i], result));
+            } catch (RuntimeException e) {
+                result.completeExceptionally(e);
+            }
+            futures.add(result);
+        }
+        BalanceCommandExecutor.awaitAll(futures, results, failures);
+    }
+
+    @Override
+    public void accountReplaced(String accountNumber) {
+        // 앞서 들어온 명령들이 처리된 뒤에 메모리의 계좌를 버리도록 같은 대기열로 보낸다.
+        submit(new Command(accountNumber, 0L, null));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        for (Shard shard : shards) {
+            shard.running = false;
+        }
+        for (Shard shard : shards) {
+            try {
+                shard.thread.join(TimeUnit.SECONDS.toMillis(10));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void submit(Command command) {
+        Shard shard = shards[shardOf(command.accountNumber)];
+        boolean accepted;
+        try {
+            accepted = shard.queue.offer(command, enqueueTimeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while submitting account command", e);
+        }
+        if (!accepted) {
+            metrics.increment("account.command.rejected", "shard", Integer.toString(shard.index));
+            throw new CommandRejectedException("Account command queue is full");
+        }
+    }
+
+    private int shardOf(String accountNumber) {
+        int h = accountNumber.hashCode();
+        return Math.floorMod(h ^ (h >>> 16), shards.length);
+    }
+
+    /**
+     * result 가 null 이면 accountReplaced (메모리의 계좌를 버림)
+     */
+    private record Command(String accountNumber, long delta, CompletableFuture<Account> result) {
+    }
+
+    private static final class Shard implements Runnable {
+
+        final int index;
+        final BlockingQueue<Command> queue;
+        final Thread thread;
+        volatile boolean running = true;
+
+        private final LoadAccountPort loadAccountPort;
+        private final SaveAccountPort saveAccountPort;
+        private final MetricsPort metrics;
+        private final TransactionOperations transactionOperations;
+        private final int maxBatchSize;
+        // shard 스레드만 접근
+        private final Map<String, Account> accounts;
+
+        Shard(int index, LoadAccountPort loadAccountPort, SaveAccountPort saveAccountPort, MetricsPort metrics,
+              TransactionOperations transactionOperations, int queueCapacity, int maxBatchSize, int maxAccounts) {
+            this.index = index;
+            this.queue = new ArrayBlockingQueue<>(queueCapacity);
+            this.loadAccountPort = loadAccountPort;
+            this.saveAccountPort = saveAccountPort;
+            this.metrics = metrics;
+            this.transactionOperations = transactionOperations;
+            this.maxBatchSize = maxBatchSize;
+            this.accounts = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Account> eldest) {
+                    return size() > maxAccounts;
+                }
+            };
+            this.thread = new Thread(this, "account-shard-" + index);
+            this.thread.setDaemon(true);
+        }
+
+        @Override
+        public void run() {
+            List<Command> batch = new ArrayList<>(maxBatchSize);
+            while (running || !queue.isEmpty()) {
+                try {
+                    Command first = queue.poll(100, TimeUnit.MILLISECONDS);
+                    if (first == null) {
+                        continue;
+                    }
+                    batch.add(first);
+                    queue.drainTo(batch, maxBatchSize - 1);
+                    process(batch);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                } catch (RuntimeException | Error e) {
+                    // 어떤 경우에도 기다리는 요청이 남지 않도록
+                    log.error("Account shard {} failed to process a batch", index, e);
+                    failAll(batch, e);
+                    accounts.clear();
+                } finally {
+                    batch.clear();
+                }
+            }
+        }
+
+        private void process(List<Command> batch) {
+            loadMissing(batch);
+
+            Map<String, Account> dirty = new LinkedHashMap<>();
+            List<Command> applied = new ArrayList<>(batch.size());
+            long[] balances = new long[batch.size()];
+            for (Command command : batch) {
+                if (command.result == null) {
+                    accounts.remove(command.accountNumber);
+                    continue;
+                }
+                Account account;
+                try {
+                    account = accounts.get(command.accountNumber);
+                    if (account == null) {
+                        // 같은 배치에서 accountReplaced 로 버려졌거나 없는 계좌
+                        account = loadAccountPort.load(command.accountNumber);
+                        accounts.put(command.accountNumber, account);
+                    }
+                    BalanceCommandExecutor.applyDelta(account, command.delta);
+                } catch (RuntimeException e) {
+                    command.result.completeExceptionally(e);
+                    continue;
+                }
+                dirty.put(command.accountNumber, account);
+                balances[applied.size()] = account.getBalance();
+                applied.add(command);
+            }
+            if (dirty.isEmpty()) {
+                return;
+            }
+
+            long start = System.nanoTime();
+            Map<String, RuntimeException> failed = flush(dirty);
+            metrics.recordNanos("account.command.flush", System.nanoTime() - start);
+
+            for (int i = 0; i < applied.size(); i++) {
+                Command command = applied.get(i);
+                RuntimeException failure = failed.get(command.accountNumber);
+                if (failure != null) {
+                    command.result.completeExceptionally(failure);
+                    continue;
+                }
+                Account saved = dirty.get(command.accountNumber);
+                // 명령마다 그 명령 직후의 잔액을 돌려준다. (버전은 배치 저장 후 버전)
+                command.result.complete(Account.of(saved.getAccountNumber(), saved.getName(), balances[i], saved.getVersion()));
+            }
+        }
+
+        /**
+         * 바뀐 계좌를 저장하고, 저장하지 못한 계좌 → 원인을 돌려준다. 저장한 계좌는 dirty 에서 저장된 상태로 바꾼다.
+         * 저장소에는 복사본을 넘긴다. (롤백된 저장이 메모리 계좌의 버전을 올려 두지 않도록)
+         */
+        private Map<String, RuntimeException> flush(Map<String, Account> dirty) {
+            try {
+                List<Account> copies = transactionOperations.execute(status -> {
+                    List<Account> batch = new ArrayList<>(dirty.size());
+                    for (Account account : dirty.values()) {
+                        batch.add(copyOf(account));
+                    }
+                    saveAccountPort.saveAll(batch);
+                    return batch;
+                });
+                for (Account saved : copies) {
+                    dirty.put(saved.getAccountNumber(), saved);
+                    accounts.put(saved.getAccountNumber(), saved);
+                }
+                return Map.of();
+            } catch (RuntimeException e) {
+                if (dirty.size() == 1) {
+                    accounts.keySet().removeAll(dirty.keySet());
+                    return Map.of(dirty.keySet().iterator().next(), e);
+                }
+                log.debug("Account shard {} failed to save a batch, saving accounts one by one", index, e);
+            }
+
+            Map<String, RuntimeException> failed = new LinkedHashMap<>();
+            for (Account account : new ArrayList<>(dirty.values())) {
+                Account copy = copyOf(account);
+                try {
+                    transactionOperations.executeWithoutResult(status -> saveAccountPort.save(copy));
+                    dirty.put(copy.getAccountNumber(), copy);
+                    accounts.put(copy.getAccountNumber(), copy);
+                } catch (RuntimeException e) {
+                    // 메모리에만 반영된 잔액을 버리고 다음 명령 때 저장소에서 다시 읽는다.
+                    accounts.remove(account.getAccountNumber());
+                    failed.put(account.getAccountNumber(), e);
+                }
+            }
+            return failed;
+        }
+
+        private static Account copyOf(Account account) {
+            return Account.of(account.getAccountNumber(), account.getName(), account.getBalance(), account.getVersion());
+        }
+
+        private void loadMissing(List<Command> batch) {
+            Set<String> missing = new LinkedHashSet<>();
+            for (Command command : batch) {
+                if (command.result != null && !accounts.containsKey(command.accountNumber)) {
+                    missing.add(command.accountNumber);
+                }
+            }
+            if (missing.isEmpty()) {
+                return;
+            }
+            for (Account account : loadAccountPort.loadAll(missing)) {
+                accounts.put(account.getAccountNumber(), account);
+            }
+        }
+
+        private static void failAll(List<Command> batch, Throwable error) {
+            for (Command command : batch) {
+                if (command.result != null) {
+                    command.result.completeExceptionally(error);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,280 @@
+package com.example.account.application.service;
+
+import com.example.account.application.port.out.LoadAccountPort;
+import com.example.account.application.port.out.MetricsPort;
+import com.example.account.application.port.out.SubBalancePort;
+import com.example.account.domain.model.Account;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 입금이 몰리는 계좌의 잔액을 여러 slot 으로 나눠 쓰는 분할 원장. (LongAdder 와 같은 방식)
+ *
+ * - 계좌 잔액 = 계좌 자체의 잔액(base) + slot 잔액의 합. 나누는 순간 base 는 그대로 두고 잔액 0 인 slot 을 만든다.
+ * - 입금은 임의의 slot 하나에만 더한다. → 같은 계좌의 입금이 서로 다른 행/파일에 쓰여 경합하지 않는다.
+ * - 출금은 잔액이 어디서도 음수가 되지 않도록 다음 순서로 꺼낸다.
+ *   1) 임의의 slot 하나에서 전액 (조건부 차감, 대부분 여기서 끝남)
+ *   2) 모자라면 slot 0 번부터 순서대로 남은 금액만큼 빌려옴 (잠금 순서를 고정해 교착을 막음)
+ *   3) 그래도 모자라면 나머지를 base 에서 BalanceCommandExecutor 로 출금
+ *   4) 합계가 모자라면 빌려온 금액을 되돌리고 IllegalStateException (잔액 부족, 409)
+ *   빌려온 출금이 있으면 rebalance-interval 뒤에 slot 잔액을 고르게 다시 나눈다. (계좌별로 한 번만 예약)
+ * - 조회는 base 와 slot 을 모두 더한다. total-cache-ttl 이 0 보다 크면 그 시간 동안 합계를 재사용한다.
+ *   (입금/출금 응답은 캐시를 쓰지 않고 항상 다시 더한 값, 버전은 base 의 버전)
+ *
+ * 저장 어댑터가 SubBalancePort 를 구현하지 않으면 계좌를 나눌 수 없다. (나누기 요청은 409)
+ *
+ * 메트릭: account.ledger.split.accounts (나뉜 계좌 수), account.ledger.withdraw (출금이 끝난 단계 태그),
+ *        account.ledger.rebalance (slot 재분배 시간)
+ */
+@Component
+class SplitBalanceLedger {
+
+    static final int MIN_SLOTS = 2;
+    static final int MAX_SLOTS = 1024;
+
+    private static final Logger log = LoggerFactory.getLogger(SplitBalanceLedger.class);
+
+    // 저장 어댑터가 slot 을 지원할 때만 있음
+    private final SubBalancePort subBalancePort;
+    private final LoadAccountPort loadAccountPort;
+    private final BalanceCommandExecutor commandExecutor;
+    private final MetricsPort metrics;
+    private final long totalCacheTtlNanos;
+    private final long rebalanceIntervalNanos;
+    private final ConcurrentHashMap<String, Integer> slotCounts = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, CachedTotal> totals = new ConcurrentHashMap<>();
+    private final Map<String, Boolean> rebalanceScheduled = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService rebalancer;
+
+    @Autowired
+    SplitBalanceLedger(ObjectProvider<SubBalancePort> subBalancePort, LoadAccountPort loadAccountPort,
+                       BalanceCommandExecutor commandExecutor, MetricsPort metrics,
+                       @Value("${account.ledger.total-cache-ttl:0}") Duration totalCacheTtl,
+                       @Value("${account.ledger.rebalance-interval:100ms}") Duration rebalanceInterval) {
+        this(subBalancePort.getIfUnique(), loadAccountPort, commandExecutor, metrics, totalCacheTtl, rebalanceInterval);
+    }
+
+    SplitBalanceLedger(SubBalancePort subBalancePort, LoadAccountPort loadAccountPort,
+                       BalanceCommandExecutor commandExecutor, MetricsPort metrics,
+                       Duration totalCacheTtl, Duration rebalanceInterval) {
+        if (totalCacheTtl.isNegative() || rebalanceInterval.isNegative()) {
+            throw new IllegalArgumentException("total-cache-ttl and rebalance-interval must not be negative");
+        }
+        this.subBalancePort = subBalancePort;
+        this.loadAccountPort = loadAccountPort;
+        this.commandExecutor = commandExecutor;
+        this.metrics = metrics;
+        this.totalCacheTtlNanos = totalCacheTtl.toNanos();
+        this.rebalanceIntervalNanos = rebalanceInterval.toNanos();
+
+        ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "account-ledger-rebalancer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+        this.rebalancer = executor;
+        metrics.gauge("account.ledger.split.accounts", slotCounts::size);
+    }
+
+    /**
+     * 저장소에 이미 나뉘어 있는 계좌를 읽어 둔다. 읽기 전에는 모든 계좌를 base 로만 처리한다.
+     * (base 에만 입금해도 합계는 맞고, 출금만 slot 잔액을 못 쓸 수 있음)
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void seed() {
+        if (subBalancePort == null) {
+            return;
+        }
+        try {
+            slotCounts.putAll(subBalancePort.loadSlotCounts());
+        } catch (RuntimeException e) {
+            log.warn("Failed to load split accounts, they are handled as plain accounts", e);
+            return;
+        }
+        if (!slotCounts.isEmpty()) {
+            log.info("Loaded {} split accounts", slotCounts.size());
+        }
+    }
+
+    /**
+     * 저장 어댑터가 slot 을 지원하는지
+     */
+    boolean supportsSplit() {
+        return subBalancePort != null;
+    }
+
+    boolean isSplit(String accountNumber) {
+        return slotCounts.containsKey(accountNumber);
+    }
+
+    /**
+     * @throws IllegalArgumentException slots 가 MIN_SLOTS ~ MAX_SLOTS 범위 밖
+     * @throws IllegalStateException 저장 어댑터가 slot 을 지원하지 않음
+     */
+    Account split(String accountNumber, int slots) {
+        if (slots < MIN_SLOTS || slots > MAX_SLOTS) {
+            throw new IllegalArgumentException("slots must be between " + MIN_SLOTS + " and " + MAX_SLOTS);
+        }
+        if (subBalancePort == null) {
+            throw new IllegalStateException("Storage adapter does not support split accounts");
+        }
+        subBalancePort.createSlots(accountNumber, slots);
+        slotCounts.merge(accountNumber, slots, Math::max);
+        return freshTotal(accountNumber);
+    }
+
+    Account deposit(String accountNumber, long amount) {
+        int slots = slotCountOf(accountNumber);
+        subBalancePort.addToSlot(accountNumber, ThreadLocalRandom.current().nextInt(slots), amount);
+        return freshTotal(accountNumber);
+    }
+
+    Account withdraw(String accountNumber, long amount) {
+        int slots = slotCountOf(accountNumber);
+        if (subBalancePort.takeFromSlot(accountNumber, ThreadLocalRandom.current().nextInt(slots), amount)) {
+            metrics.increment("account.ledger.withdraw", "source", "slot");
+            return freshTotal(accountNumber);
+        }
+
+        // 빌려온 금액 (실패하면 되돌림)
+        long[] taken = new long[slots];
+        long remaining = amount;
+        for (int slot = 0; slot < slots && remaining > 0; slot++) {
+            taken[slot] = subBalancePort.takeUpTo(accountNumber, slot, remaining);
+            remaining -= taken[slot];
+        }
+        if (remaining == 0) {
+            metrics.increment("account.ledger.withdraw", "source", "borrow");
+            scheduleRebalance(accountNumber);
+            return freshTotal(accountNumber);
+        }
+
+        try {
+            commandExecutor.apply(accountNumber, -remaining);
+        } catch (RuntimeException e) {
+            refund(accountNumber, taken);
+            throw e;
+        }
+        metrics.increment("account.ledger.withdraw", "source", "base");
+        return freshTotal(accountNumber);
+    }
+
+    /**
+     * 조회용 합계. total-cache-ttl 동안은 마지막으로 더한 값을 그대로 돌려준다.
+     */
+    Account total(String accountNumber) {
+        if (totalCacheTtlNanos > 0) {
+            CachedTotal cached = totals.get(accountNumber);
+            if (cached != null && System.nanoTime() - cached.loadedAt < totalCacheTtlNanos) {
+                return copyOf(cached.account);
+            }
+        }
+        return freshTotal(accountNumber);
+    }
+
+    /**
+     * 목록/내보내기용: 나뉜 계좌면 slot 합계를 더한 계좌, 아니면 그대로
+     */
+    Account withSlots(Account base) {
+        if (!isSplit(base.getAccountNumber())) {
+            return base;
+        }
+        return Account.of(base.getAccountNumber(), base.getName(),
+                base.getBalance() + sum(subBalancePort.loadSlots(base.getAccountNumber())), base.getVersion());
+    }
+
+    /**
+     * createAccount 가 계좌를 새로 저장했을 때: 새 잔액은 base 에만 있으므로 slot 을 비운다.
+     */
+    void accountReplaced(String accountNumber) {
+        totals.remove(accountNumber);
+        if (isSplit(accountNumber)) {
+            subBalancePort.clearSlots(accountNumber);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        rebalancer.shutdownNow();
+    }
+
+    private Account freshTotal(String accountNumber) {
+        Account account = withSlots(loadAccountPort.load(accountNumber));
+        if (totalCacheTtlNanos > 0) {
+            totals.put(accountNumber, new CachedTotal(copyOf(account), System.nanoTime()));
+        }
+        return account;
+    }
+
+    private void refund(String accountNumber, long[] taken) {
+        for (int slot = 0; slot < taken.length; slot++) {
+            if (taken[slot] > 0) {
+                subBalancePort.addToSlot(accountNumber, slot, taken[slot]);
+            }
+        }
+    }
+
+    /**
+     * 요청 트랜잭션과 분리해 별도 스레드에서 재분배한다. (요청이 잡은 slot 잠금과 순서가 엇갈리지 않도록)
+     */
+    private void scheduleRebalance(String accountNumber) {
+        if (rebalanceScheduled.putIfAbsent(accountNumber, Boolean.TRUE) != null) {
+            return;
+        }
+        try {
+            rebalancer.schedule(() -> {
+                rebalanceScheduled.remove(accountNumber);
+                long start = System.nanoTime();
+                try {
+                    subBalancePort.rebalanceSlots(accountNumber);
+                    metrics.recordNanos("account.ledger.rebalance", System.nanoTime() - start);
+                } catch (RuntimeException e) {
+                    log.warn("Failed to rebalance slots of account {}", accountNumber, e);
+                }
+            }, rebalanceIntervalNanos, TimeUnit.NANOSECONDS);
+        } catch (RejectedExecutionException e) {
+            // 종료 중, 재분배는 다음 기동 후 출금에서 다시 예약된다.
+            rebalanceScheduled.remove(accountNumber);
+        }
+    }
+
+    private int slotCountOf(String accountNumber) {
+        Integer slots = slotCounts.get(accountNumber);
+        if (slots == null) {
+            throw new IllegalStateException("Account is not split: " + accountNumber);
+        }
+        return slots;
+    }
+
+    private static long sum(long[] balances) {
+        long total = 0;
+        for (long balance : balances) {
+            total += balance;
+        }
+        return total;
+    }
+
+    private static Account copyOf(Account account) {
+        return Account.of(account.getAccountNumber(), account.getName(), account.getBalance(), account.getVersion());
+    }
+
+    private record CachedTotal(Account account, long loadedAt) {
+    }
+}
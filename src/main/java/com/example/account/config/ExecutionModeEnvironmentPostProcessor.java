@@ -0,0 +1,52 @@
+package com.example.account.config;
+
+import org.apache.commons.logging.Log;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.env.EnvironmentPostProcessor;
+import org.springframework.boot.logging.DeferredLogFactory;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.MapPropertySource;
+
+import java.util.Map;
+
+/**
+ * account.execution 값으로 요청 처리 스레드 방식을 고른다.
+ *
+ * - platform (기본): Tomcat 스레드 풀(server.tomcat.threads.max)이 요청을 처리한다.
+ * - virtual: spring.threads.virtual.enabled=true 로 요청마다 가상 스레드를 쓴다. (Java 21 이상)
+ *   어댑터 I/O(JDBC, 파일 저널)는 요청 스레드에서 그대로 실행되므로 함께 가상 스레드에서 돈다.
+ *   Java 17 에서 실행하면 경고를 남기고 platform 으로 동작한다. (빌드: ./gradlew -PjavaVersion=21)
+ *
+ * 가상 스레드가 carrier 스레드에 고정(pinning)되지 않도록 I/O 를 감싸는 잠금은 synchronized 대신 ReentrantLock 을 쓴다.
+ * 동시 요청 수가 스레드 풀에 묶이지 않으므로 H2 모드에서는 커넥션 풀(spring.datasource.hikari.maximum-pool-size)이 상한이 된다.
+ */
+public class ExecutionModeEnvironmentPostProcessor implements EnvironmentPostProcessor {
+
+    static final String PROPERTY = "account.execution";
+    static final String VIRTUAL_THREADS = "spring.threads.virtual.enabled";
+
+    private final Log log;
+
+    public ExecutionModeEnvironmentPostProcessor(DeferredLogFactory logFactory) {
+        this.log = logFactory.getLog(ExecutionModeEnvironmentPostProcessor.class);
+    }
+
+    @Override
+    public void postProcessEnvironment(ConfigurableEnvironment environment, SpringApplication application) {
+        String mode = environment.getProperty(PROPERTY, "platform").trim();
+        switch (mode) {
+            case "platform" -> {
+            }
+            case "virtual" -> {
+                if (Runtime.version().feature() < 21) {
+                    log.warn(PROPERTY + "=virtual requires Java 21+, running on platform threads (Java "
+                            + Runtime.version().feature() + ")");
+                    return;
+                }
+                environment.getPropertySources().addFirst(
+                        new MapPropertySource("accountExecution", Map.of(VIRTUAL_THREADS, "true")));
+            }
+            default -> throw new IllegalArgumentException("Unknown " + PROPERTY + ": " + mode + " (platform | virtual)");
+        }
+    }
+}
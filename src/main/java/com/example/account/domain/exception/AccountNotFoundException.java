@@ -1,7 +1,10 @@
 package com.example.account.domain.exception;
 
+/**
+ * 없는 계좌번호 (404). 흔히 일어나는 정상 거절이므로 stack trace 를 만들지 않는다.
+ */
 public class AccountNotFoundException extends RuntimeException {
     public AccountNotFoundException(String accountNumber) {
-        super("Account not found: " + accountNumber);
+        super("Account not found: " + accountNumber, null, false, false);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,11 @@
+package com.example.account.domain.exception;
+
+/**
+ * 조회한 뒤 저장하기 전에 다른 요청이 같은 계좌를 먼저 저장한 경우 (낙관적 동시성 충돌)
+ * 몰리는 계좌에서는 재시도마다 생기므로 stack trace 를 만들지 않는다.
+ */
+public class AccountVersionConflictException extends RuntimeException {
+    public AccountVersionConflictException(String accountNumber) {
+        super("Account was modified concurrently: " + accountNumber, null, false, false);
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.account.domain.exception;
+
+/**
+ * 잔액보다 큰 출금 (409). 흔히 일어나는 정상 거절이므로 stack trace 를 만들지 않는다.
+ * 기존 처리와 같게 IllegalStateException 으로도 잡힌다.
+ */
+public class InsufficientBalanceException extends IllegalStateException {
+
+    public static final String MESSAGE = "Insufficient balance";
+
+    public InsufficientBalanceException() {
+        super(MESSAGE);
+    }
+
+    /**
+     * IllegalStateException 에는 stack trace 를 끄는 생성자가 없어 여기서 건너뛴다.
+     */
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return this;
+    }
+}
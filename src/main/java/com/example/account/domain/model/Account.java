@@ -1,37 +1,64 @@
 package com.example.account.domain.model;
 
+import com.example.account.domain.exception.InsufficientBalanceException;
+
 import java.util.Objects;
 
 public class Account {
     private final String accountNumber;
     private final String name;
     private long balance;
+    // 저장소에 기록된 버전 (낙관적 동시성 제어용). 0 = 아직 저장되지 않았거나 버전을 모르는 상태 → 버전 확인 없이 저장
+    private long version;
 
     // 생성자는 외부에서 직접 못 쓰게 private
-    private Account(String accountNumber, String name, long balance) {
+    private Account(String accountNumber, String name, long balance, long version) {
         this.accountNumber = Objects.requireNonNull(accountNumber);
         this.name = Objects.requireNonNull(name);
         this.balance = balance;
+        this.version = version;
     }
 
     // 영속 어댑터/테스트가 사용할 수 있도록 공개 팩토리 제공
     public static Account of(String accountNumber, String name, long balance) {
-        return new Account(accountNumber, name, balance);
+        return new Account(accountNumber, name, balance, 0L);
+    }
+
+    public static Account of(String accountNumber, String name, long balance, long version) {
+        if (version < 0) throw new IllegalArgumentException("Version must not be negative");
+        return new Account(accountNumber, name, balance, version);
     }
 
     public String getAccountNumber() { return accountNumber; }
     public String getName() { return name; }
     public long getBalance() { return balance; }
+    public long getVersion() { return version; }
+
+    // 영속 어댑터가 저장에 성공한 뒤, 저장소에 기록된 새 버전을 반영
+    public void markSaved(long savedVersion) {
+        if (savedVersion <= version) throw new IllegalArgumentException("Saved version must increase");
+        this.version = savedVersion;
+    }
 
     // 변경 메서드를 공개해서 Rich Aggregate로 사용
     public void deposit(Amount amount) {
-        if (amount.getValue() <= 0) throw new IllegalArgumentException("Deposit must be positive");
-        balance += amount.getValue();
+        balance += depositDelta(amount);
     }
 
     public void withdraw(Amount amount) {
+        long delta = withdrawDelta(amount);
+        if (balance + delta < 0) throw new InsufficientBalanceException();
+        balance += delta;
+    }
+
+    // 계좌를 읽지 않고 저장소에서 잔액을 바로 증감할 때 사용할 증감값 (금액 검증 규칙은 deposit/withdraw 와 동일)
+    public static long depositDelta(Amount amount) {
+        if (amount.getValue() <= 0) throw new IllegalArgumentException("Deposit must be positive");
+        return amount.getValue();
+    }
+
+    public static long withdrawDelta(Amount amount) {
         if (amount.getValue() <= 0) throw new IllegalArgumentException("Withdraw must be positive");
-        if (balance < amount.getValue()) throw new IllegalStateException("Insufficient balance");
-        balance -= amount.getValue();
+        return -amount.getValue();
     }
 }
\ No newline at end of file
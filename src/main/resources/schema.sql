@@ -2,5 +2,28 @@
 CREATE TABLE IF NOT EXISTS account (
     account_number VARCHAR(64) PRIMARY KEY,
     name           VARCHAR(255) NOT NULL,
-    balance        BIGINT       NOT NULL
-);
\ No newline at end of file
+    balance        BIGINT       NOT NULL,
+    version        BIGINT       NOT NULL DEFAULT 1   -- 낙관적 동시성 제어용 버전 (저장할 때마다 +1)
+);
+
+-- 입금이 몰리는 계좌의 잔액 slot: 계좌 잔액 = account.balance + 해당 계좌 slot 잔액의 합
+CREATE TABLE IF NOT EXISTS account_slot (
+    account_number VARCHAR(64) NOT NULL,
+    slot           INT         NOT NULL,
+    balance        BIGINT      NOT NULL DEFAULT 0,
+    PRIMARY KEY (account_number, slot),
+    FOREIGN KEY (account_number) REFERENCES account (account_number) ON DELETE CASCADE,
+    CHECK (balance >= 0)
+);
+
+-- Idempotency-Key 별 처리 결과 (account.idempotency.store=h2), expires_at 이 지난 행은 없는 것으로 보고 주기적으로 삭제
+CREATE TABLE IF NOT EXISTS idempotency_key (
+    idempotency_key VARCHAR(255) PRIMARY KEY,
+    request_hash    BIGINT       NOT NULL,   -- 같은 key 가 다른 요청에 쓰였는지 확인
+    account_number  VARCHAR(64)  NOT NULL,
+    name            VARCHAR(255) NOT NULL,
+    balance         BIGINT       NOT NULL,
+    version         BIGINT       NOT NULL,
+    expires_at      TIMESTAMP    NOT NULL
+);
+CREATE INDEX IF NOT EXISTS idx_idempotency_key_expires_at ON idempotency_key (expires_at);
@@ -0,0 +1,51 @@
+package com.example.account.adapter.in.bulk;
+
+import com.example.account.adapter.in.web.dto.response.AccountResponse;
+import com.example.account.adapter.in.web.dto.response.ApiResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class AccountImportControllerTest {
+
+    @LocalServerPort int port;
+    @Autowired TestRestTemplate restTemplate;
+
+    private String url(String path) { return "http://localhost:" + port + path; }
+
+    @Test
+    void CSV_를_등록하고_진행_상황을_NDJSON_으로_돌려준다() {
+        var headers = new HttpHeaders();
+        headers.setContentType(MediaType.parseMediaType("text/csv"));
+        var csv = """
+                accountNumber,name,balance
+                import-001,Alice,100
+                import-002,,5
+                import-003,Carol,300
+                """;
+
+        var response = restTemplate.exchange(url("/accounts/import"), HttpMethod.POST,
+                new HttpEntity<>(csv, headers), String.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        var lines = response.getBody().lines().toList();
+        assertThat(lines).anyMatch(line -> line.startsWith("{\"type\":\"reject\",\"line\":3,"));
+        assertThat(lines.get(lines.size() - 1))
+                .isEqualTo("{\"type\":\"done\",\"checkpoint\":4,\"imported\":2,\"rejected\":1,\"error\":null}");
+
+        var account = restTemplate.exchange(url("/accounts/import-003"), HttpMethod.GET, null,
+                new ParameterizedTypeReference<ApiResponse<AccountResponse>>() {});
+        assertThat(account.getBody().getData().getBalance()).isEqualTo(300L);
+    }
+}
@@ -0,0 +1,120 @@
+package com.example.account.adapter.in.bulk;
+
+import com.example.account.application.port.in.ImportAccountsUseCase;
+import com.example.account.application.port.in.command.CreateAccountCommand;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AccountImportPipelineTest {
+
+    static final Validator VALIDATOR = Validation.buildDefaultValidatorFactory().getValidator();
+
+    /**
+     * 저장된 계좌를 모아 두는 ImportAccountsUseCase. failOn 계좌번호가 든 묶음은 저장에 실패한다.
+     */
+    static class RecordingUseCase implements ImportAccountsUseCase {
+        final Map<String, CreateAccountCommand> saved = new ConcurrentHashMap<>();
+        volatile String failOn;
+
+        @Override
+        public void importAccounts(List<CreateAccountCommand> accounts) {
+            for (CreateAccountCommand account : accounts) {
+                if (account.accountNumber().equals(failOn)) {
+                    throw new IllegalStateException("storage down");
+                }
+            }
+            for (CreateAccountCommand account : accounts) {
+                saved.put(account.accountNumber(), account);
+            }
+        }
+    }
+
+    static class RecordingListener implements AccountImportPipeline.Listener {
+        final Map<Long, String> rejects = new TreeMap<>();
+        final List<AccountImportPipeline.Progress> progress = new ArrayList<>();
+
+        @Override
+        public void onReject(long line, String reason) {
+            rejects.put(line, reason);
+        }
+
+        @Override
+        public void onProgress(AccountImportPipeline.Progress progress) {
+            this.progress.add(progress);
+        }
+    }
+
+    final RecordingUseCase useCase = new RecordingUseCase();
+    final AccountImportPipeline pipeline = new AccountImportPipeline(useCase, VALIDATOR, new ObjectMapper(), 3, 2, 2);
+
+    @AfterEach
+    void tearDown() {
+        pipeline.shutdown();
+    }
+
+    @Test
+    void CSV_를_묶음으로_나눠_등록하고_규칙에_맞지_않는_줄만_거부한다() throws Exception {
+        String csv = """
+                accountNumber,name,balance
+                100,Alice,1000
+                200,"Kim, Bob",0
+                300,,10
+
+                400,Carol,-1
+                500,Dave,many
+                600,"Erin \"\"E\"\"",5
+                """;
+        var listener = new RecordingListener();
+
+        var result = pipeline.run(new BufferedReader(new StringReader(csv)), AccountImportFormat.CSV, 0, listener);
+
+        assertTrue(result.completed());
+        assertEquals(8, result.checkpoint());
+        assertEquals(3, result.imported());
+        assertEquals(3, result.rejected());
+        assertEquals(List.of(4L, 6L, 7L), List.copyOf(listener.rejects.keySet()));
+        assertEquals("Kim, Bob", useCase.saved.get("200").name());
+        assertEquals("Erin \"E\"", useCase.saved.get("600").name());
+        assertEquals(1000L, useCase.saved.get("100").initialBalance());
+        // checkpoint 는 줄어들지 않는다.
+        for (int i = 1; i < listener.progress.size(); i++) {
+            assertTrue(listener.progress.get(i).checkpoint() >= listener.progress.get(i - 1).checkpoint());
+        }
+    }
+
+    @Test
+    void 저장에_실패하면_멈추고_checkpoint_부터_이어서_등록한다() throws Exception {
+        StringBuilder ndjson = new StringBuilder();
+        for (int i = 1; i <= 40; i++) {
+            ndjson.append("{\"accountNumber\":\"").append(i).append("\",\"name\":\"n").append(i).append("\",\"balance\":").append(i).append("}\n");
+        }
+        useCase.failOn = "21";
+
+        var failed = pipeline.run(new BufferedReader(new StringReader(ndjson.toString())), AccountImportFormat.NDJSON,
+                0, new RecordingListener());
+        assertFalse(failed.completed());
+        assertTrue(failed.checkpoint() < 21, "checkpoint must stop before the failed chunk: " + failed.checkpoint());
+        assertFalse(useCase.saved.containsKey("21"));
+
+        useCase.failOn = null;
+        var resumed = pipeline.run(new BufferedReader(new StringReader(ndjson.toString())), AccountImportFormat.NDJSON,
+                failed.checkpoint(), new RecordingListener());
+        assertTrue(resumed.completed());
+        assertEquals(40, resumed.checkpoint());
+        assertEquals(40 - failed.checkpoint(), resumed.imported());
+        assertEquals(40, useCase.saved.size());
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.account.adapter.in.bulk;
+
+import com.example.account.application.port.in.ImportAccountsUseCase;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AccountImportRunnerTest {
+
+    @TempDir
+    Path dir;
+
+    final AccountImportPipelineTest.RecordingUseCase useCase = new AccountImportPipelineTest.RecordingUseCase();
+    final AccountImportPipeline pipeline = new AccountImportPipeline(useCase, AccountImportPipelineTest.VALIDATOR,
+            new ObjectMapper(), 2, 2, 0);
+
+    @AfterEach
+    void tearDown() {
+        pipeline.shutdown();
+    }
+
+    @Test
+    void checkpoint_와_거부된_줄을_파일에_남기고_다시_실행하면_이어서_한다() throws Exception {
+        Path file = dir.resolve("partner.csv");
+        Files.writeString(file, """
+                1,Alice,10
+                2,,20
+                3,Carol,30
+                """, StandardCharsets.UTF_8);
+        var runner = new AccountImportRunner(pipeline, null, file.toString(), false);
+
+        var first = runner.importFile();
+        assertTrue(first.completed());
+        assertEquals(2, useCase.saved.size());
+        assertEquals("3", Files.readString(Path.of(file + AccountImportRunner.CHECKPOINT_SUFFIX)));
+        assertTrue(Files.readString(Path.of(file + AccountImportRunner.REJECTS_SUFFIX)).startsWith("2\t"));
+
+        // 덧붙인 줄만 등록된다.
+        Files.writeString(file, "4,Dave,40\n", StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+        useCase.saved.clear();
+        var second = runner.importFile();
+        assertEquals(1, second.imported());
+        assertEquals(4, second.checkpoint());
+        assertEquals(Set.of("4"), useCase.saved.keySet());
+    }
+
+    @Test
+    void checkpoint_를_쓰기_전에_거부된_줄을_먼저_파일에_쓴다() throws Exception {
+        Path file = dir.resolve("partner.csv");
+        Path checkpointFile = Path.of(file + AccountImportRunner.CHECKPOINT_SUFFIX);
+        Path rejectsFile = Path.of(file + AccountImportRunner.REJECTS_SUFFIX);
+        Files.writeString(file, """
+                1,Alice,10
+                2,,20
+                3,Carol,30
+                """, StandardCharsets.UTF_8);
+        // 한 줄씩 차례로 처리하면서, 3번 줄을 저장할 때 (그때 죽었다면 남았을) 두 파일을 읽어 둔다.
+        List<String> snapshot = new ArrayList<>();
+        ImportAccountsUseCase useCase = accounts -> {
+            if (accounts.get(0).accountNumber().equals("3")) {
+                try {
+                    snapshot.add(Files.readString(checkpointFile));
+                    snapshot.add(Files.readString(rejectsFile));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        };
+        var serial = new AccountImportPipeline(useCase, AccountImportPipelineTest.VALIDATOR, new ObjectMapper(), 1, 1, 1);
+        try {
+            assertTrue(new AccountImportRunner(serial, null, file.toString(), false).importFile().completed());
+        } finally {
+            serial.shutdown();
+        }
+
+        assertEquals("2", snapshot.get(0));
+        assertTrue(snapshot.get(1).startsWith("2\t"));
+    }
+}
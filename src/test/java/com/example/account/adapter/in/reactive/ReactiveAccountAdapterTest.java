@@ -0,0 +1,120 @@
+package com.example.account.adapter.in.reactive;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * memory 프로파일: 단건 조회는 비블로킹 포트(LoadAccountAsyncPort)로, 나머지는 blocking 스케줄러로 처리된다.
+ */
+@SpringBootTest(properties = {"account.reactive.enabled=true", "account.reactive.port=0"})
+@ActiveProfiles("memory")
+class ReactiveAccountAdapterTest {
+
+    private final HttpClient client = HttpClient.newHttpClient();
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    @Autowired ReactiveAccountServer server;
+
+    @Test
+    void 생성_입금_출금_조회가_MVC와_같은_응답_형식으로_처리된다() throws Exception {
+        HttpResponse<String> created = post("/accounts", "{\"accountNumber\":\"rx-001\",\"name\":\"Bob\",\"balance\":1000}");
+        assertThat(created.statusCode()).isEqualTo(200);
+        JsonNode body = mapper.readTree(created.body());
+        assertThat(body.get("success").asBoolean()).isTrue();
+        assertThat(body.get("data").get("accountNumber").asText()).isEqualTo("rx-001");
+        assertThat(body.get("data").get("balance").asLong()).isEqualTo(1000L);
+
+        assertThat(balanceOf(post("/accounts/rx-001/deposit", "{\"amount\":500}"))).isEqualTo(1500L);
+        assertThat(balanceOf(post("/accounts/rx-001/withdraw", "{\"amount\":200}"))).isEqualTo(1300L);
+        assertThat(balanceOf(get("/accounts/rx-001", "application/json"))).isEqualTo(1300L);
+    }
+
+    @Test
+    void 예외는_GlobalExceptionHandler와_같은_상태코드와_에러코드로_응답한다() throws Exception {
+        post("/accounts", "{\"accountNumber\":\"rx-002\",\"name\":\"Amy\",\"balance\":100}");
+
+        assertError(get("/accounts/rx-none", "application/json"), 404, "NOT_FOUND");
+        assertError(post("/accounts/rx-002/withdraw", "{\"amount\":1000}"), 409, "CONFLICT");
+        assertError(post("/accounts/rx-002/deposit", "{\"amount\":0}"), 400, "BAD_REQUEST");
+        assertError(post("/accounts", "{\"accountNumber\":\"\",\"name\":\"Amy\",\"balance\":100}"), 400, "BAD_REQUEST");
+        assertError(post("/accounts", "{not json"), 400, "BAD_REQUEST");
+        assertError(get("/accounts?limit=0", "application/json"), 400, "BAD_REQUEST");
+    }
+
+    @Test
+    void 동시_입금은_모두_반영된다() throws Exception {
+        post("/accounts", "{\"accountNumber\":\"rx-003\",\"name\":\"Cat\",\"balance\":0}");
+
+        List<CompletableFuture<HttpResponse<String>>> pending = IntStream.range(0, 200)
+                .mapToObj(i -> client.sendAsync(request("/accounts/rx-003/deposit")
+                                .header("Content-Type", "application/json")
+                                .POST(HttpRequest.BodyPublishers.ofString("{\"amount\":1}")).build(),
+                        HttpResponse.BodyHandlers.ofString()))
+                .toList();
+        for (CompletableFuture<HttpResponse<String>> response : pending) {
+            assertThat(response.get().statusCode()).isEqualTo(200);
+        }
+
+        assertThat(balanceOf(get("/accounts/rx-003", "application/json"))).isEqualTo(200L);
+    }
+
+    @Test
+    void 목록은_JSON_페이지로_내보내기는_NDJSON으로_응답한다() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            post("/accounts", "{\"accountNumber\":\"rx-list-" + i + "\",\"name\":\"n\",\"balance\":" + i + "}");
+        }
+
+        JsonNode page = mapper.readTree(get("/accounts?after=rx-list-0&limit=2", "application/json").body()).get("data");
+        assertThat(page.get("accounts")).hasSize(2);
+        assertThat(page.get("accounts").get(0).get("accountNumber").asText()).isEqualTo("rx-list-1");
+        assertThat(page.get("nextAfter").asText()).isEqualTo("rx-list-2");
+
+        HttpResponse<String> exported = get("/accounts", "application/x-ndjson");
+        assertThat(exported.headers().firstValue("Content-Type")).hasValueSatisfying(
+                type -> assertThat(type).startsWith("application/x-ndjson"));
+        List<String> lines = exported.body().lines().filter(line -> line.contains("rx-list-")).toList();
+        assertThat(lines).hasSize(5);
+        assertThat(mapper.readTree(lines.get(0)).has("balance")).isTrue();
+    }
+
+    private long balanceOf(HttpResponse<String> response) throws Exception {
+        assertThat(response.statusCode()).isEqualTo(200);
+        return mapper.readTree(response.body()).get("data").get("balance").asLong();
+    }
+
+    private void assertError(HttpResponse<String> response, int status, String code) throws Exception {
+        assertThat(response.statusCode()).isEqualTo(status);
+        JsonNode body = mapper.readTree(response.body());
+        assertThat(body.get("success").asBoolean()).isFalse();
+        assertThat(body.get("error").get("code").asText()).isEqualTo(code);
+    }
+
+    private HttpResponse<String> post(String path, String json) throws Exception {
+        return client.send(request(path)
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(json)).build(),
+                HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpResponse<String> get(String path, String accept) throws Exception {
+        return client.send(request(path).header("Accept", accept).GET().build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + server.port() + path));
+    }
+}
@@ -1,9 +1,13 @@
 package com.example.account.adapter.in.web;
 
+import com.example.account.application.port.in.BatchCommandUseCase;
 import com.example.account.application.port.in.CreateAccountUseCase;
 import com.example.account.application.port.in.DepositUseCase;
 import com.example.account.application.port.in.GetAccountQuery;
+import com.example.account.application.port.in.IdempotentCommandUseCase;
+import com.example.account.application.port.in.SplitAccountUseCase;
 import com.example.account.application.port.in.WithdrawUseCase;
+import com.example.account.application.port.in.command.BalanceCommand;
 import com.example.account.application.port.in.command.DepositCommand;
 import com.example.account.application.port.in.command.WithdrawCommand;
 import com.example.account.domain.model.Account;
@@ -15,7 +19,13 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -38,6 +48,15 @@ class AccountControllerMockTest {
     @MockBean
     private GetAccountQuery getAccountQuery;
 
+    @MockBean
+    private SplitAccountUseCase splitAccountUseCase;
+
+    @MockBean
+    private IdempotentCommandUseCase idempotentCommandUseCase;
+
+    @MockBean
+    private BatchCommandUseCase batchCommandUseCase;
+
     @Test
     void createAccount_shouldReturnCreatedAccount() throws Exception {
         // given
@@ -102,6 +121,37 @@ class AccountControllerMockTest {
                 .andExpect(jsonPath("$.data.balance").value(1200));
     }
 
+    @Test
+    void deposit_withIdempotencyKey_shouldUseIdempotentUseCase() throws Exception {
+        // given
+        given(idempotentCommandUseCase.deposit(ArgumentMatchers.eq("retry-1"), ArgumentMatchers.any(DepositCommand.class)))
+                .willReturn(Account.of("123", "Alice", 1500L));
+
+        // when & then
+        mockMvc.perform(post("/accounts/123/deposit")
+                        .header("Idempotency-Key", "retry-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"amount\": 500}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.balance").value(1500));
+        verifyNoInteractions(depositUseCase);
+    }
+
+    @Test
+    void splitAccount_shouldReturnTotalBalance() throws Exception {
+        // given
+        given(splitAccountUseCase.splitAccount("123", 16))
+                .willReturn(Account.of("123", "Alice", 1000L));
+
+        // when & then
+        mockMvc.perform(post("/accounts/123/slots")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"slots\": 16}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success").value(true))
+                .andExpect(jsonPath("$.data.balance").value(1000));
+    }
+
     @Test
     void getAccount_shouldReturnAccount() throws Exception {
         // given
@@ -115,4 +165,69 @@ class AccountControllerMockTest {
                 .andExpect(jsonPath("$.success").value(true))
                 .andExpect(jsonPath("$.data.balance").value(800));
     }
-}
\ No newline at end of file
+
+    @Test
+    void listAccounts_shouldReturnPageWithNextAfter() throws Exception {
+        // given
+        given(getAccountQuery.listAccounts(null, 2))
+                .willReturn(List.of(Account.of("100", "Alice", 1L), Account.of("200", "Bob", 2L)));
+
+        // when & then (Accept 를 지정하지 않으면 JSON 페이지)
+        mockMvc.perform(get("/accounts").param("limit", "2").accept(MediaType.ALL))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success").value(true))
+                .andExpect(jsonPath("$.data.accounts.length()").value(2))
+                .andExpect(jsonPath("$.data.accounts[1].accountNumber").value("200"))
+                .andExpect(jsonPath("$.data.nextAfter").value("200"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void exportAccounts_shouldStreamNdjson() throws Exception {
+        // given
+        willAnswer(invocation -> {
+            Consumer<Account> consumer = invocation.getArgument(0);
+            consumer.accept(Account.of("100", "Alice", 1L));
+            consumer.accept(Account.of("200", "밥", 2L));
+            return null;
+        }).given(getAccountQuery).exportAccounts(any(Consumer.class));
+
+        // when & then
+        mockMvc.perform(get("/accounts").accept("application/x-ndjson"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson;charset=UTF-8"))
+                .andExpect(content().string("""
+                        {"accountNumber":"100","name":"Alice","balance":1}
+                        {"accountNumber":"200","name":"밥","balance":2}
+                        """));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void executeBatch_shouldStreamResultPerCommand() throws Exception {
+        // given: 읽을 수 없는 줄(1)은 실행하지 않고, 나머지 두 명령(0, 2)만 한 묶음으로 실행
+        willAnswer(invocation -> {
+            List<BalanceCommand> commands = invocation.getArgument(0);
+            BatchCommandUseCase.ResultListener listener = invocation.getArgument(1);
+            listener.onSuccess(0, Account.of(commands.get(0).accountNumber(), "Alice", 1500L));
+            listener.onFailure(1, new IllegalStateException("Insufficient balance"));
+            return null;
+        }).given(batchCommandUseCase).executeBatch(any(List.class), any(BatchCommandUseCase.ResultListener.class));
+
+        // when & then
+        mockMvc.perform(post("/accounts/commands:batch")
+                        .contentType("application/x-ndjson")
+                        .content("""
+                            {"type":"deposit","accountNumber":"123","amount":500}
+                            {"type":"deposit",
+                            {"type":"withdraw","accountNumber":"123","amount":9999}
+                            """))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson;charset=UTF-8"))
+                .andExpect(content().string("""
+                        {"index":1,"success":false,"data":null,"error":{"code":"BAD_REQUEST","message":"Malformed JSON line"}}
+                        {"index":0,"success":true,"data":{"accountNumber":"123","name":"Alice","balance":1500},"error":null}
+                        {"index":2,"success":false,"data":null,"error":{"code":"CONFLICT","message":"Insufficient balance"}}
+                        """));
+    }
+}
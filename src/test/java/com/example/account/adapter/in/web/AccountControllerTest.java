@@ -15,8 +15,13 @@ import org.springframework.boot.test.web.client.TestRestTemplate;
 import org.springframework.boot.test.web.server.LocalServerPort;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+
+import java.util.Comparator;
+import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -138,5 +143,87 @@ public class AccountControllerTest {
         AccountTestHelper.printData(this, response);
     }
 
+    @Test @Order(6)
+    void 같은_Idempotency_Key_로_재시도한_입금은_한_번만_반영된다() {
+        var headers = new HttpHeaders();
+        headers.set("Idempotency-Key", "deposit-" + UUID.randomUUID());
+        var entity = new HttpEntity<>(new AmountRequest(100), headers);
+
+        var first = AccountTestHelper.extractData(restTemplate.exchange(
+                url("/accounts/" + ACC_NO + "/deposit"), HttpMethod.POST, entity, ACCOUNT_API_RESPONSE_TYPE));
+        var retried = AccountTestHelper.extractData(restTemplate.exchange(
+                url("/accounts/" + ACC_NO + "/deposit"), HttpMethod.POST, entity, ACCOUNT_API_RESPONSE_TYPE));
+        assertThat(first.getBalance()).isEqualTo(1300L);
+        assertThat(retried.getBalance()).isEqualTo(1300L);
+
+        // 같은 key 를 다른 금액에 쓰면 400
+        var reused = restTemplate.exchange(url("/accounts/" + ACC_NO + "/deposit"), HttpMethod.POST,
+                new HttpEntity<>(new AmountRequest(1), headers), ACCOUNT_API_RESPONSE_TYPE);
+        assertThat(reused.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+
+        var account = AccountTestHelper.extractData(restTemplate.exchange(
+                url("/accounts/" + ACC_NO), HttpMethod.GET, null, ACCOUNT_API_RESPONSE_TYPE));
+        assertThat(account.getBalance()).isEqualTo(1300L);
+    }
 
-}
\ No newline at end of file
+    @Test @Order(7)
+    void 배치_명령은_명령마다_결과를_한_줄씩_돌려준다() {
+        var headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        var body = """
+                [
+                  {"type": "deposit", "accountNumber": "%1$s", "amount": 200},
+                  {"type": "withdraw", "accountNumber": "%1$s", "amount": 100000},
+                  {"type": "transfer", "accountNumber": "%1$s", "amount": 1},
+                  {"type": "withdraw", "accountNumber": "%1$s", "amount": 500},
+                  {"type": "deposit", "accountNumber": "batch-404", "amount": 1}
+                ]
+                """.formatted(ACC_NO);
+
+        var response = restTemplate.exchange(url("/accounts/commands:batch"), HttpMethod.POST,
+                new HttpEntity<>(body, headers), String.class);
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+
+        var lines = response.getBody().lines()
+                .sorted(Comparator.comparing(line -> line.substring(0, line.indexOf(','))))
+                .toList();
+        assertThat(lines).hasSize(5);
+        assertThat(lines.get(0)).startsWith("{\"index\":0,\"success\":true").contains("\"balance\":1500");
+        assertThat(lines.get(1)).startsWith("{\"index\":1,\"success\":false").contains("\"code\":\"CONFLICT\"");
+        assertThat(lines.get(2)).startsWith("{\"index\":2,\"success\":false").contains("\"code\":\"BAD_REQUEST\"");
+        assertThat(lines.get(3)).startsWith("{\"index\":3,\"success\":true").contains("\"balance\":1000");
+        assertThat(lines.get(4)).startsWith("{\"index\":4,\"success\":false").contains("\"code\":\"NOT_FOUND\"");
+
+        var account = AccountTestHelper.extractData(restTemplate.exchange(
+                url("/accounts/" + ACC_NO), HttpMethod.GET, null, ACCOUNT_API_RESPONSE_TYPE));
+        assertThat(account.getBalance()).isEqualTo(1000L);
+    }
+
+    @Test @Order(8)
+    void ETag_가_같으면_본문_없이_304_를_돌려준다() {
+        var first = restTemplate.exchange(url("/accounts/" + ACC_NO), HttpMethod.GET, null, String.class);
+        var eTag = first.getHeaders().getETag();
+        assertThat(eTag).isNotNull().startsWith("\"");
+
+        var headers = new HttpHeaders();
+        headers.setIfNoneMatch(eTag);
+        var notModified = restTemplate.exchange(url("/accounts/" + ACC_NO), HttpMethod.GET,
+                new HttpEntity<>(headers), String.class);
+        assertThat(notModified.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(notModified.getBody()).isNull();
+        assertThat(notModified.getHeaders().getETag()).isEqualTo(eTag);
+
+        // 잔액이 바뀌면 새 ETag 와 함께 200
+        restTemplate.postForEntity(url("/accounts/" + ACC_NO + "/deposit"), new AmountRequest(1), String.class);
+        var changed = restTemplate.exchange(url("/accounts/" + ACC_NO), HttpMethod.GET,
+                new HttpEntity<>(headers), ACCOUNT_API_RESPONSE_TYPE);
+        assertThat(changed.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(changed.getHeaders().getETag()).isNotEqualTo(eTag);
+        assertThat(AccountTestHelper.extractData(changed).getBalance()).isEqualTo(1001L);
+
+        // 없는 계좌는 If-None-Match 가 있어도 404
+        var missing = restTemplate.exchange(url("/accounts/etag-404"), HttpMethod.GET,
+                new HttpEntity<>(headers), String.class);
+        assertThat(missing.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.account.adapter.in.web;
+
+import com.example.account.adapter.in.web.dto.ApiError;
+import com.example.account.adapter.in.web.dto.response.AccountPageResponse;
+import com.example.account.adapter.in.web.dto.response.AccountResponse;
+import com.example.account.adapter.in.web.dto.response.ApiResponse;
+import com.example.account.domain.model.Account;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AccountJsonHttpMessageConverterTest {
+
+    final ObjectMapper mapper = new ObjectMapper();
+    final AccountJsonHttpMessageConverter converter = new AccountJsonHttpMessageConverter(mapper);
+
+    private String write(ApiResponse<?> response) throws Exception {
+        var output = new MockHttpOutputMessage();
+        converter.write(response, MediaType.APPLICATION_JSON, output);
+        return output.getBodyAsString(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void 계좌_응답은_ObjectMapper_와_같은_JSON_을_쓴다() throws Exception {
+        List<ApiResponse<?>> responses = List.of(
+                ApiResponse.success(AccountResponse.of(Account.of("123", "Alice", 1000L))),
+                ApiResponse.success(AccountResponse.of(Account.of("가-1", "김\"철수\"\\ \n\t\u0001\u001f 😀 é", 0L))),
+                ApiResponse.success(AccountResponse.of(Account.of("max", "m", Long.MAX_VALUE))),
+                ApiResponse.success(AccountResponse.of(Account.of("min", "m", Long.MIN_VALUE))),
+                ApiResponse.success(AccountResponse.of(Account.of("neg", "", -42L))),
+                ApiResponse.failure(ApiError.of("NOT_FOUND", "Account not found: 404")),
+                ApiResponse.failure(ApiError.of("SERVER_ERROR", null)),
+                ApiResponse.success(null));
+
+        for (ApiResponse<?> response : responses) {
+            assertEquals(mapper.writeValueAsString(response), write(response));
+        }
+    }
+
+    @Test
+    void 계좌가_아닌_data_는_ObjectMapper_로_쓴다() throws Exception {
+        var page = ApiResponse.success(AccountPageResponse.of(
+                List.of(Account.of("1", "a", 1L), Account.of("2", "b", 2L)), 2));
+
+        assertEquals(mapper.writeValueAsString(page), write(page));
+        assertFalse(converter.canRead(ApiResponse.class, MediaType.APPLICATION_JSON));
+        assertFalse(converter.canWrite(AccountResponse.class, MediaType.APPLICATION_JSON));
+    }
+
+    @Test
+    void toString_도_같은_JSON_이다() throws Exception {
+        var response = AccountResponse.of(Account.of("123", "밥", 7L));
+        assertEquals(mapper.writeValueAsString(response), response.toString());
+    }
+}
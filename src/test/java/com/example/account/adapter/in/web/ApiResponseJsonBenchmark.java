@@ -0,0 +1,99 @@
+package com.example.account.adapter.in.web;
+
+import com.example.account.adapter.in.web.dto.response.AccountResponse;
+import com.example.account.adapter.in.web.dto.response.ApiResponse;
+import com.example.account.domain.model.Account;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * GET /accounts/{accountNumber} 응답(ApiResponse<AccountResponse>) 하나를 쓸 때 요청당 할당 바이트와 시간을 비교한다.
+ *
+ * - jackson: Spring MVC 기본 변환기 (MappingJackson2HttpMessageConverter)
+ * - encoder: AccountJsonHttpMessageConverter
+ * - 둘 다 같은 HttpOutputMessage(버리는 OutputStream)에 쓰고, 할당량은 현재 스레드의 누적 할당 바이트 차이로 잰다.
+ *
+ * 실행: ./gradlew benchmark (기본 test 에서는 제외)
+ */
+@Tag("benchmark")
+class ApiResponseJsonBenchmark {
+
+    private static final int WARMUP = 200_000;
+    private static final int ITERATIONS = 1_000_000;
+
+    /**
+     * 헤더 객체를 재사용하고 본문은 버리는 응답 (하네스 자체의 할당을 빼기 위해)
+     */
+    static class DiscardingOutputMessage implements HttpOutputMessage {
+        final HttpHeaders headers = new HttpHeaders();
+
+        @Override
+        public OutputStream getBody() {
+            return OutputStream.nullOutputStream();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+    }
+
+    @Test
+    void 계좌_응답_한_건을_쓸_때의_할당량_비교() throws Exception {
+        var threads = ManagementFactory.getThreadMXBean();
+        assumeTrue(threads instanceof com.sun.management.ThreadMXBean,
+                "per-thread allocation counter is not available on this JVM");
+        var allocation = (com.sun.management.ThreadMXBean) threads;
+
+        ObjectMapper mapper = Jackson2ObjectMapperBuilder.json().build();
+        ApiResponse<AccountResponse> response =
+                ApiResponse.success(AccountResponse.of(Account.of("110-123-456789", "홍길동", 1_234_567L)));
+
+        Result jackson = run("jackson", new MappingJackson2HttpMessageConverter(mapper), response, allocation);
+        Result encoder = run("encoder", new AccountJsonHttpMessageConverter(mapper), response, allocation);
+        System.out.println(jackson);
+        System.out.println(encoder);
+        System.out.printf("allocation: %.1fx less, time: %.1fx faster%n",
+                jackson.bytesPerOp() / Math.max(encoder.bytesPerOp(), 1.0), jackson.nanosPerOp() / encoder.nanosPerOp());
+
+        assertTrue(encoder.bytesPerOp() < jackson.bytesPerOp());
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private Result run(String name, HttpMessageConverter converter, ApiResponse<AccountResponse> response,
+                       com.sun.management.ThreadMXBean allocation) throws Exception {
+        var output = new DiscardingOutputMessage();
+        for (int i = 0; i < WARMUP; i++) {
+            converter.write(response, MediaType.APPLICATION_JSON, output);
+        }
+        long threadId = Thread.currentThread().getId();
+        long startBytes = allocation.getThreadAllocatedBytes(threadId);
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            converter.write(response, MediaType.APPLICATION_JSON, output);
+        }
+        long elapsed = System.nanoTime() - start;
+        long allocated = allocation.getThreadAllocatedBytes(threadId) - startBytes;
+        return new Result(name, (double) allocated / ITERATIONS, (double) elapsed / ITERATIONS);
+    }
+
+    record Result(String name, double bytesPerOp, double nanosPerOp) {
+        @Override
+        public String toString() {
+            return String.format("%-8s %8.1f bytes/op %8.1f ns/op", name, bytesPerOp, nanosPerOp);
+        }
+    }
+}
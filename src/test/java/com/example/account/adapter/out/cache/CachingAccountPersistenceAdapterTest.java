@@ -0,0 +1,128 @@
+package com.example.account.adapter.out.cache;
+
+import com.example.account.application.port.out.LoadAccountPort;
+import com.example.account.application.port.out.SaveAccountPort;
+import com.example.account.domain.exception.AccountNotFoundException;
+import com.example.account.domain.model.Account;
+import com.example.account.domain.model.Amount;
+import com.example.account.support.NoOpMetricsPort;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CachingAccountPersistenceAdapterTest {
+
+    /**
+     * 조회 횟수를 세는 메모리 저장소
+     */
+    static class CountingStore implements LoadAccountPort, SaveAccountPort {
+        final Map<String, Account> accounts = new HashMap<>();
+        final AtomicInteger loads = new AtomicInteger();
+
+        @Override
+        public Account load(String accountNumber) {
+            loads.incrementAndGet();
+            Account account = accounts.get(accountNumber);
+            if (account == null) {
+                throw new AccountNotFoundException(accountNumber);
+            }
+            return AccountCache.copy(account);
+        }
+
+        @Override
+        public void save(Account account) {
+            accounts.put(account.getAccountNumber(), AccountCache.copy(account));
+        }
+    }
+
+    @Test
+    void 두번째_조회는_저장소를_거치지_않는다() {
+        CountingStore store = new CountingStore();
+        store.save(Account.of("123", "Alice", 1000L));
+        var cache = new CachingAccountPersistenceAdapter(store, store, NoOpMetricsPort.INSTANCE, 100, 0);
+
+        assertEquals(1000L, cache.load("123").getBalance());
+        assertEquals(1000L, cache.load("123").getBalance());
+        assertEquals(1, store.loads.get());
+    }
+
+    @Test
+    void 저장하면_캐시도_새_잔액으로_갱신된다() {
+        CountingStore store = new CountingStore();
+        store.save(Account.of("123", "Alice", 1000L));
+        var cache = new CachingAccountPersistenceAdapter(store, store, NoOpMetricsPort.INSTANCE, 100, 0);
+
+        Account account = cache.load("123");
+        account.deposit(new Amount(500L));
+        // 저장 전에 바꾼 값은 캐시에 보이지 않음
+        assertEquals(1000L, cache.load("123").getBalance());
+
+        cache.save(account);
+        assertEquals(1500L, cache.load("123").getBalance());
+        assertEquals(1, store.loads.get());
+    }
+
+    @Test
+    void 없는_계좌는_캐시하지_않는다() {
+        CountingStore store = new CountingStore();
+        var cache = new CachingAccountPersistenceAdapter(store, store, NoOpMetricsPort.INSTANCE, 100, 0);
+
+        assertThrows(AccountNotFoundException.class, () -> cache.load("404"));
+        store.save(Account.of("404", "Late", 1L));
+        assertEquals(1L, cache.load("404").getBalance());
+    }
+
+    @Test
+    void 자주_조회되는_계좌는_한번씩_훑는_계좌에_밀려나지_않는다() {
+        AtomicLong evictions = new AtomicLong();
+        var cache = new AccountCache(100, 0, evicted -> evictions.incrementAndGet());
+        for (int i = 0; i < 50; i++) {
+            cache.putIfAbsent(Account.of("hot-" + i, "hot", i));
+        }
+        for (int round = 0; round < 5; round++) {
+            for (int i = 0; i < 50; i++) {
+                assertNotNull(cache.get("hot-" + i));
+            }
+        }
+
+        for (int i = 0; i < 500; i++) {
+            cache.putIfAbsent(Account.of("scan-" + i, "scan", i));
+        }
+
+        assertEquals(100, cache.size());
+        assertTrue(evictions.get() >= 450);
+        for (int i = 0; i < 50; i++) {
+            assertNotNull(cache.get("hot-" + i), "hot-" + i);
+        }
+    }
+
+    @Test
+    void 저장_후_만료시간이_지나면_다시_저장소에서_읽는다() {
+        AtomicLong now = new AtomicLong();
+        var cache = new AccountCache(100, Duration.ofSeconds(30).toNanos(), evicted -> { }, now::get);
+        cache.putIfAbsent(Account.of("123", "Alice", 1000L));
+
+        now.addAndGet(Duration.ofSeconds(29).toNanos());
+        assertNotNull(cache.get("123"));
+        now.addAndGet(Duration.ofSeconds(1).toNanos());
+        assertNull(cache.get("123"));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void 캐시에_더_높은_버전이_있으면_낮은_버전으로_덮어쓰지_않는다() {
+        var cache = new AccountCache(100, 0, evicted -> { });
+        cache.putIfNewer(Account.of("123", "Alice", 1300L, 3));
+        cache.putIfNewer(Account.of("123", "Alice", 1200L, 2));
+        assertEquals(1300L, cache.get("123").getBalance());
+
+        cache.putIfAbsent(Account.of("123", "Alice", 1000L, 1));
+        assertEquals(1300L, cache.get("123").getBalance());
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.account.adapter.out.file;
+
+import com.example.account.domain.exception.AccountNotFoundException;
+import com.example.account.domain.model.Account;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AccountRecordCodecTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void encode_decode() {
+        byte[] record = AccountRecordCodec.encode(Account.of("계좌-1", "홍길동", Long.MAX_VALUE));
+
+        assertEquals(AccountRecordCodec.VERSION, record[0]);
+        Account decoded = AccountRecordCodec.decode(record);
+        assertEquals("계좌-1", decoded.getAccountNumber());
+        assertEquals("홍길동", decoded.getName());
+        assertEquals(Long.MAX_VALUE, decoded.getBalance());
+    }
+
+    @Test
+    void 손상되거나_잘린_레코드는_거부() {
+        byte[] record = AccountRecordCodec.encode(Account.of("123", "Alice", 1000L));
+        record[record.length - 6] ^= 1;  // 잔액 한 비트
+
+        assertThrows(IllegalArgumentException.class, () -> AccountRecordCodec.decode(record));
+        assertFalse(AccountRecordCodec.isIntact(ByteBuffer.wrap(record, 0, record.length - 1)));
+    }
+
+    @Test
+    void binary_형식_파일_어댑터() throws Exception {
+        var adapter = new FileAccountPersistenceAdapter(dir, true);
+        adapter.save(Account.of("123", "Alice", 1000L));
+        adapter.save(Account.of("123", "Alice", 1500L));
+
+        assertTrue(Files.exists(dir.resolve("123" + FileAccountPersistenceAdapter.BINARY_EXTENSION)));
+        assertEquals(1500L, adapter.load("123").getBalance());
+        assertThrows(AccountNotFoundException.class, () -> adapter.load("noAccount"));
+    }
+
+    @Test
+    void migrator_는_text_파일을_binary_로_변환() throws Exception {
+        var text = new FileAccountPersistenceAdapter(dir);
+        for (int i = 0; i < 50; i++) {
+            text.save(Account.of("acc-" + i, "이름-" + i, i * 10L));
+        }
+        Files.write(dir.resolve("broken.txt"), "no-balance".getBytes(StandardCharsets.UTF_8));
+
+        var migrator = new AccountFileMigrator(dir, 4, true);
+        assertThrows(IllegalStateException.class, migrator::migrate);
+
+        var binary = new FileAccountPersistenceAdapter(dir, true);
+        assertEquals(420L, binary.load("acc-42").getBalance());
+        assertEquals("이름-7", binary.load("acc-7").getName());
+        assertFalse(Files.exists(dir.resolve("acc-42.txt")));
+        assertTrue(Files.exists(dir.resolve("broken.txt")));
+
+        Files.delete(dir.resolve("broken.txt"));
+        assertEquals(0, migrator.migrate());
+    }
+}
@@ -1,9 +1,17 @@
 package com.example.account.adapter.out.file;
 
+import com.example.account.domain.exception.AccountNotFoundException;
 import com.example.account.domain.model.Account;
 import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
 
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -33,4 +41,47 @@ class FileAccountPersistenceAdapterTest {
 
         Assertions.assertEquals(1000L, account.getBalance());
     }
-}
\ No newline at end of file
+
+    @Test @Order(3)
+    void slot_동시_입출금에도_합계가_맞고_음수가_되지_않는다(@TempDir Path dir) throws Exception {
+        FileAccountPersistenceAdapter adapter = new FileAccountPersistenceAdapter(dir, true);
+        adapter.save(Account.of("hot", "Hot", 0L));
+        assertThrows(AccountNotFoundException.class, () -> adapter.createSlots("none", 4));
+        adapter.createSlots("hot", 4);
+        assertEquals(4, adapter.loadSlotCounts().get("hot"));
+
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Long>> futures = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                int slot = t % 4;
+                futures.add(pool.submit(() -> {
+                    long taken = 0;
+                    for (int i = 0; i < 100; i++) {
+                        adapter.addToSlot("hot", slot, 2L);
+                        taken += adapter.takeUpTo("hot", (slot + 1) % 4, 3L);
+                    }
+                    return taken;
+                }));
+            }
+            long taken = 0;
+            for (Future<Long> future : futures) {
+                taken += future.get();
+            }
+            long[] slots = adapter.loadSlots("hot");
+            assertEquals(8 * 100 * 2L, taken + Arrays.stream(slots).sum());
+            assertTrue(Arrays.stream(slots).allMatch(balance -> balance >= 0));
+        } finally {
+            pool.shutdown();
+        }
+
+        adapter.clearSlots("hot");
+        adapter.addToSlot("hot", 0, 10L);
+        adapter.rebalanceSlots("hot");
+        assertArrayEquals(new long[]{3, 3, 2, 2}, adapter.loadSlots("hot"));
+        assertFalse(adapter.takeFromSlot("hot", 0, 4L));
+        assertTrue(adapter.takeFromSlot("hot", 0, 3L));
+        // 계좌 목록에는 slot 파일이 섞이지 않는다.
+        assertEquals(1, adapter.listAccounts(null, 10).size());
+    }
+}
@@ -0,0 +1,124 @@
+package com.example.account.adapter.out.file;
+
+import com.example.account.domain.model.Account;
+import com.example.account.support.Concurrently;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.*;
+
+class GroupCommitWriterTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void 동시_save는_배치로_묶여_한번에_기록된다() throws Exception {
+        List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+        int writers = 32;
+
+        try (var writer = new GroupCommitWriter(batch -> {
+            batchSizes.add(batch.size());
+            return new RuntimeException[batch.size()];
+        }, Duration.ofMillis(50), 512)) {
+            Concurrently.run(writers, n -> writer.write(Account.of("acc-" + n, "name", n)));
+        }
+
+        assertEquals(writers, batchSizes.stream().mapToInt(Integer::intValue).sum());
+        assertThat(batchSizes.size()).isLessThan(writers);
+    }
+
+    @Test
+    void 기록_실패는_배치의_모든_호출자에게_전달된다() {
+        try (var writer = new GroupCommitWriter(batch -> { throw new IllegalStateException("disk full"); },
+                Duration.ZERO, 16)) {
+            var error = assertThrows(IllegalStateException.class,
+                    () -> writer.write(Account.of("123", "Alice", 1000L)));
+            assertEquals("disk full", error.getMessage());
+        }
+    }
+
+    @Test
+    void close_는_기록_중인_배치를_끊지_않고_끝나기를_기다린다() throws Exception {
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicBoolean interrupted = new AtomicBoolean();
+        var writer = new GroupCommitWriter(batch -> {
+            entered.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                // 기록 중 interrupt 되면 FileChannel 은 닫혀 버린다.
+                interrupted.set(true);
+            }
+            return new RuntimeException[batch.size()];
+        }, Duration.ZERO, 16);
+
+        CompletableFuture<Void> write = CompletableFuture.runAsync(() -> writer.write(Account.of("123", "Alice", 1000L)));
+        assertTrue(entered.await(5, TimeUnit.SECONDS));
+        CompletableFuture<Void> close = CompletableFuture.runAsync(writer::close);
+        Thread.sleep(100);
+        assertFalse(close.isDone());
+        release.countDown();
+
+        close.get(5, TimeUnit.SECONDS);
+        write.get(5, TimeUnit.SECONDS);
+        assertFalse(interrupted.get());
+    }
+
+    @Test
+    void close_가_제한_시간을_넘기면_대기열에_남은_요청은_실패한다() throws Exception {
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        var writer = new GroupCommitWriter(batch -> {
+            entered.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return new RuntimeException[batch.size()];
+        }, Duration.ZERO, 16);
+        try {
+            CompletableFuture.runAsync(() -> writer.write(Account.of("123", "Alice", 1000L)));
+            assertTrue(entered.await(5, TimeUnit.SECONDS));
+            CompletableFuture<Void> queued = CompletableFuture.runAsync(() -> writer.write(Account.of("456", "Bob", 1L)));
+            assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+                while (writer.queued() == 0) {
+                    Thread.sleep(1);
+                }
+            });
+
+            writer.close(Duration.ofMillis(50));
+
+            var error = assertThrows(ExecutionException.class, () -> queued.get(5, TimeUnit.SECONDS));
+            assertInstanceOf(IllegalStateException.class, error.getCause());
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    void journal_group_commit_모드에서도_저장과_재기동이_동작한다() throws Exception {
+        try (var journal = new JournalAccountPersistenceAdapter(dir, JournalAccountPersistenceAdapter.DEFAULT_SEGMENT_SIZE,
+                Duration.ofMillis(1), 64)) {
+            journal.save(Account.of("123", "Alice", 1000L));
+            journal.save(Account.of("123", "Alice", 1300L));
+            assertEquals(1300L, journal.load("123").getBalance());
+        }
+        try (var reopened = new JournalAccountPersistenceAdapter(dir)) {
+            assertEquals(1300L, reopened.load("123").getBalance());
+        }
+    }
+}
@@ -0,0 +1,240 @@
+package com.example.account.adapter.out.file;
+
+import com.example.account.domain.exception.AccountNotFoundException;
+import com.example.account.domain.exception.AccountVersionConflictException;
+import com.example.account.domain.model.Account;
+import com.example.account.domain.model.Amount;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.*;
+
+class JournalAccountPersistenceAdapterTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void save_and_load_latest_record() throws Exception {
+        try (var journal = new JournalAccountPersistenceAdapter(dir)) {
+            journal.save(Account.of("123", "Alice", 1000L));
+            journal.save(Account.of("123", "Alice", 1500L));
+            journal.save(Account.of("456", "밥", 300L));
+
+            assertEquals(1500L, journal.load("123").getBalance());
+            assertEquals("밥", journal.load("456").getName());
+            assertThrows(AccountNotFoundException.class, () -> journal.load("noAccount"));
+        }
+    }
+
+    @Test
+    void 재기동시_인덱스_재구성() throws Exception {
+        try (var journal = new JournalAccountPersistenceAdapter(dir)) {
+            journal.save(Account.of("123", "Alice", 1000L));
+            journal.save(Account.of("123", "Alice", 1200L));
+        }
+
+        try (var reopened = new JournalAccountPersistenceAdapter(dir)) {
+            assertEquals(1, reopened.indexedAccountCount());
+            assertEquals(1200L, reopened.load("123").getBalance());
+        }
+    }
+
+    @Test
+    void 세그먼트_크기를_넘으면_다음_세그먼트로_roll() throws Exception {
+        try (var journal = new JournalAccountPersistenceAdapter(dir, 128)) {
+            for (int i = 0; i < 20; i++) {
+                journal.save(Account.of("acc-" + i, "name-" + i, i));
+            }
+            assertEquals(19L, journal.load("acc-19").getBalance());
+        }
+
+        assertThat(Files.exists(dir.resolve(JournalAccountPersistenceAdapter.segmentFileName(2)))).isTrue();
+        try (var reopened = new JournalAccountPersistenceAdapter(dir, 128)) {
+            assertEquals(20, reopened.indexedAccountCount());
+            assertEquals(7L, reopened.load("acc-7").getBalance());
+        }
+    }
+
+    @Test
+    void 기록_도중_중단된_꼬리는_버린다() throws Exception {
+        try (var journal = new JournalAccountPersistenceAdapter(dir)) {
+            journal.save(Account.of("123", "Alice", 1000L));
+            journal.save(Account.of("123", "Alice", 2000L));
+        }
+        Path segment = dir.resolve(JournalAccountPersistenceAdapter.segmentFileName(1));
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 3);
+        }
+
+        try (var reopened = new JournalAccountPersistenceAdapter(dir)) {
+            assertEquals(1000L, reopened.load("123").getBalance());
+            reopened.save(Account.of("123", "Alice", 1100L));
+        }
+        try (var reopened = new JournalAccountPersistenceAdapter(dir)) {
+            assertEquals(1100L, reopened.load("123").getBalance());
+        }
+    }
+
+    @Test
+    void 스냅샷_이후_세그먼트는_삭제되고_재기동은_스냅샷과_꼬리만_읽는다() throws Exception {
+        try (var journal = new JournalAccountPersistenceAdapter(dir, 128)) {
+            for (int i = 0; i < 20; i++) {
+                journal.save(Account.of("acc-" + i, "name-" + i, i));
+            }
+            journal.save(Account.of("acc-3", "name-3", 300L));
+
+            assertTrue(journal.snapshot());
+            int cutoff = journal.snapshotCutoff();
+            assertThat(Files.exists(dir.resolve(JournalAccountPersistenceAdapter.snapshotFileName(cutoff)))).isTrue();
+            assertThat(Files.exists(dir.resolve(JournalAccountPersistenceAdapter.segmentFileName(1)))).isFalse();
+            assertEquals(300L, journal.load("acc-3").getBalance());
+
+            // 스냅샷 이후의 변경(꼬리)
+            journal.save(Account.of("acc-3", "name-3", 333L));
+            journal.save(Account.of("new", "신규", 1L));
+        }
+
+        try (var reopened = new JournalAccountPersistenceAdapter(dir, 128)) {
+            assertEquals(21, reopened.indexedAccountCount());
+            assertEquals(333L, reopened.load("acc-3").getBalance());
+            assertEquals(19L, reopened.load("acc-19").getBalance());
+            assertEquals("신규", reopened.load("new").getName());
+        }
+    }
+
+    @Test
+    void 스냅샷을_거듭해도_이전_스냅샷의_최신_레코드는_유지된다() throws Exception {
+        try (var journal = new JournalAccountPersistenceAdapter(dir, 128)) {
+            journal.save(Account.of("123", "Alice", 1000L));
+            journal.save(Account.of("456", "Bob", 500L));
+            assertTrue(journal.snapshot());
+            assertFalse(journal.snapshot()); // 새 기록이 없으면 건너뜀
+
+            journal.save(Account.of("456", "Bob", 700L));
+            assertTrue(journal.snapshot());
+            assertEquals(1000L, journal.load("123").getBalance());
+        }
+        // 중단된 임시 스냅샷은 기동 시 정리
+        Files.writeString(dir.resolve(JournalAccountPersistenceAdapter.snapshotFileName(99) + ".tmp"), "partial");
+
+        try (var reopened = new JournalAccountPersistenceAdapter(dir, 128)) {
+            assertEquals(1000L, reopened.load("123").getBalance());
+            assertEquals(700L, reopened.load("456").getBalance());
+        }
+        try (var files = Files.list(dir)) {
+            assertThat(files.map(path -> path.getFileName().toString()))
+                    .filteredOn(name -> name.startsWith("snapshot-"))
+                    .hasSize(1);
+        }
+    }
+
+    @Test
+    void saveAll_은_한번에_기록하고_loadAll_은_없는_계좌를_건너뛴다() throws Exception {
+        try (var journal = new JournalAccountPersistenceAdapter(dir)) {
+            journal.saveAll(List.of(Account.of("123", "Alice", 1000L), Account.of("456", "Bob", 500L)));
+
+            List<Account> loaded = journal.loadAll(List.of("123", "456", "noAccount"));
+            assertEquals(2, loaded.size());
+        }
+        try (var reopened = new JournalAccountPersistenceAdapter(dir)) {
+            assertEquals(500L, reopened.load("456").getBalance());
+        }
+    }
+
+    @Test
+    void 먼저_저장된_버전과_다르면_충돌() throws Exception {
+        try (var journal = new JournalAccountPersistenceAdapter(dir)) {
+            journal.save(Account.of("123", "Alice", 1000L));
+
+            Account first = journal.load("123");
+            Account second = journal.load("123");
+            assertEquals(1L, first.getVersion());
+
+            first.deposit(new Amount(100L));
+            journal.save(first);
+            assertEquals(2L, first.getVersion());
+
+            second.deposit(new Amount(200L));
+            assertThrows(AccountVersionConflictException.class, () -> journal.save(second));
+            assertEquals(1100L, journal.load("123").getBalance());
+        }
+        try (var reopened = new JournalAccountPersistenceAdapter(dir)) {
+            assertEquals(2L, reopened.load("123").getVersion());
+        }
+    }
+
+    @Test
+    void group_commit_배치에서는_충돌한_저장만_실패() throws Exception {
+        try (var journal = new JournalAccountPersistenceAdapter(dir, JournalAccountPersistenceAdapter.DEFAULT_SEGMENT_SIZE,
+                Duration.ofMillis(1), 64)) {
+            journal.save(Account.of("123", "Alice", 1000L));
+            journal.save(Account.of("456", "Bob", 500L));
+            Account stale = journal.load("123");
+            journal.save(journal.load("123"));
+
+            assertThrows(AccountVersionConflictException.class,
+                    () -> journal.saveAll(List.of(journal.load("456"), stale)));
+            assertEquals(2L, journal.load("456").getVersion());
+            assertEquals(2L, journal.load("123").getVersion());
+        }
+    }
+
+    @Test
+    void 인덱스_순서대로_keyset_목록_조회() throws Exception {
+        try (var journal = new JournalAccountPersistenceAdapter(dir)) {
+            for (int i = 9; i >= 0; i--) {
+                journal.save(Account.of("acc-" + i, "name-" + i, i));
+            }
+
+            List<Account> first = journal.listAccounts(null, 4);
+            List<Account> second = journal.listAccounts(first.get(3).getAccountNumber(), 4);
+            assertEquals(List.of("acc-0", "acc-1", "acc-2", "acc-3"),
+                    first.stream().map(Account::getAccountNumber).toList());
+            assertEquals("acc-4", second.get(0).getAccountNumber());
+
+            List<Account> all = new ArrayList<>();
+            journal.streamAccounts(all::add);
+            assertEquals(10, all.size());
+        }
+    }
+
+    @Test
+    void slot_은_저널_레코드로_남고_계좌_목록에는_섞이지_않는다() throws Exception {
+        try (var journal = new JournalAccountPersistenceAdapter(dir, 128)) {
+            journal.save(Account.of("hot", "Hot", 100L));
+            journal.save(Account.of("hou", "Next", 1L));
+            assertThrows(AccountNotFoundException.class, () -> journal.createSlots("none", 4));
+            journal.createSlots("hot", 4);
+            journal.addToSlot("hot", 0, 10L);
+            journal.rebalanceSlots("hot");
+            assertTrue(journal.takeFromSlot("hot", 1, 3L));
+            assertTrue(journal.snapshot());
+            journal.addToSlot("hot", 3, 5L);
+        }
+
+        try (var reopened = new JournalAccountPersistenceAdapter(dir, 128)) {
+            assertEquals(Map.of("hot", 4), reopened.loadSlotCounts());
+            assertArrayEquals(new long[]{3, 0, 2, 7}, reopened.loadSlots("hot"));
+            assertEquals(List.of("hot", "hou"),
+                    reopened.listAccounts(null, 10).stream().map(Account::getAccountNumber).toList());
+            assertEquals(List.of("hou"),
+                    reopened.listAccounts("hot", 10).stream().map(Account::getAccountNumber).toList());
+            List<Account> all = new ArrayList<>();
+            reopened.streamAccounts(all::add);
+            assertEquals(2, all.size());
+            assertThrows(AccountNotFoundException.class, () -> reopened.load("hot\u0000#"));
+            assertThrows(IllegalArgumentException.class, () -> reopened.save(Account.of("hot\u00000", "", 1L)));
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.account.adapter.out.file;
+
+import com.example.account.domain.exception.AccountNotFoundException;
+import com.example.account.domain.model.Account;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MappedAccountPersistenceAdapterTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void save_and_load() throws Exception {
+        try (var store = new MappedAccountPersistenceAdapter(dir)) {
+            store.save(Account.of("123", "Alice", 1000L));
+            store.save(Account.of("계좌-1", "홍길동", 10L));
+
+            assertEquals(1000L, store.load("123").getBalance());
+            assertEquals("홍길동", store.load("계좌-1").getName());
+            assertThrows(AccountNotFoundException.class, () -> store.load("noAccount"));
+        }
+    }
+
+    @Test
+    void 잔액변경은_슬롯을_새로_쓰지_않고_제자리에서_갱신() throws Exception {
+        try (var store = new MappedAccountPersistenceAdapter(dir)) {
+            store.save(Account.of("123", "Alice", 1000L));
+            store.save(Account.of("123", "Alice", 1500L));
+
+            assertEquals(1, store.size());
+            assertEquals(1500L, store.load("123").getBalance());
+        }
+    }
+
+    @Test
+    void 적재율을_넘으면_재매핑으로_확장() throws Exception {
+        try (var store = new MappedAccountPersistenceAdapter(dir, 16)) {
+            for (int i = 0; i < 100; i++) {
+                store.save(Account.of("acc-" + i, "name-" + i, i));
+            }
+            assertTrue(store.capacity() >= 128);
+            assertEquals(100, store.size());
+            assertEquals(42L, store.load("acc-42").getBalance());
+        }
+
+        try (var reopened = new MappedAccountPersistenceAdapter(dir, 16)) {
+            assertEquals(100, reopened.size());
+            assertEquals(99L, reopened.load("acc-99").getBalance());
+        }
+    }
+
+    @Test
+    void 기록중_깨진_슬롯은_버리고_나머지는_복구() throws Exception {
+        try (var store = new MappedAccountPersistenceAdapter(dir, 16)) {
+            for (int i = 0; i < 10; i++) {
+                store.save(Account.of("acc-" + i, "name-" + i, i));
+            }
+        }
+        // 첫 번째로 사용 중인 슬롯의 이름 영역을 덮어써서 체크섬을 깨뜨린다.
+        Path file = dir.resolve(MappedAccountPersistenceAdapter.FILE_NAME);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long offset = MappedAccountPersistenceAdapter.HEADER_SIZE;
+            ByteBuffer state = ByteBuffer.allocate(1);
+            while (true) {
+                state.clear();
+                channel.read(state, offset);
+                if (state.get(0) == 1) break;
+                offset += MappedAccountPersistenceAdapter.SLOT_SIZE;
+            }
+            channel.write(ByteBuffer.wrap(new byte[]{'X', 'X'}), offset + 16 + MappedAccountPersistenceAdapter.MAX_KEY_BYTES);
+        }
+        Files.writeString(dir.resolve(MappedAccountPersistenceAdapter.FILE_NAME + ".resize"), "partial");
+
+        try (var recovered = new MappedAccountPersistenceAdapter(dir, 16)) {
+            assertEquals(9, recovered.size());
+            int found = 0;
+            for (int i = 0; i < 10; i++) {
+                try {
+                    assertEquals(i, recovered.load("acc-" + i).getBalance());
+                    found++;
+                } catch (AccountNotFoundException ignored) {
+                }
+            }
+            assertEquals(9, found);
+        }
+        assertFalse(Files.exists(dir.resolve(MappedAccountPersistenceAdapter.FILE_NAME + ".resize")));
+    }
+}
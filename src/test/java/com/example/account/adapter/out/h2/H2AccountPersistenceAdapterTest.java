@@ -1,12 +1,30 @@
 package com.example.account.adapter.out.h2;
 
+import com.example.account.adapter.out.h2.mapper.IdempotencyKeyMapper;
+import com.example.account.application.port.out.ListAccountsPort;
 import com.example.account.application.port.out.LoadAccountPort;
 import com.example.account.application.port.out.SaveAccountPort;
+import com.example.account.application.port.out.SubBalancePort;
+import com.example.account.application.port.out.UpdateBalancePort;
+import com.example.account.domain.exception.AccountNotFoundException;
+import com.example.account.domain.exception.AccountVersionConflictException;
 import com.example.account.domain.model.Account;
 import org.junit.jupiter.api.*;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -20,6 +38,18 @@ class H2AccountPersistenceAdapterTest {
     @Autowired
     SaveAccountPort saveAccountPort;
 
+    @Autowired
+    UpdateBalancePort updateBalancePort;
+
+    @Autowired
+    ListAccountsPort listAccountsPort;
+
+    @Autowired
+    SubBalancePort subBalancePort;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
     @Test @Order(1)
     void save() {
         Account account = Account.of("123", "Alice", 1000L);
@@ -34,4 +64,153 @@ class H2AccountPersistenceAdapterTest {
         Assertions.assertEquals(1000L, account.getBalance());
     }
 
-}
\ No newline at end of file
+    @Test @Order(3)
+    void saveAll_and_loadAll() {
+        List<Account> accounts = new ArrayList<>();
+        List<String> accountNumbers = new ArrayList<>();
+        for (int i = 0; i < 1200; i++) {
+            accounts.add(Account.of("bulk-" + i, "name-" + i, i));
+            accountNumbers.add("bulk-" + i);
+        }
+        accounts.add(Account.of("bulk-7", "name-7", 777L));  // 같은 계좌는 마지막 상태로 저장
+        saveAccountPort.saveAll(accounts);
+
+        accountNumbers.add("noAccount");
+        List<Account> loaded = loadAccountPort.loadAll(accountNumbers);
+
+        assertEquals(1200, loaded.size());
+        assertEquals(777L, loadAccountPort.load("bulk-7").getBalance());
+        assertEquals(1199L, loadAccountPort.load("bulk-1199").getBalance());
+    }
+
+    @Test @Order(4)
+    void addBalance_동시_증감에도_갱신_유실이_없다() throws Exception {
+        saveAccountPort.save(Account.of("hot", "Hot", 0L));
+
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < 400; i++) {
+                futures.add(pool.submit(() -> updateBalancePort.addBalance("hot", 10L)));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            pool.shutdown();
+        }
+
+        assertEquals(4000L, loadAccountPort.load("hot").getBalance());
+        assertEquals(3000L, updateBalancePort.addBalance("hot", -1000L).getBalance());
+        assertThrows(IllegalStateException.class, () -> updateBalancePort.addBalance("hot", -3001L));
+        assertThrows(AccountNotFoundException.class, () -> updateBalancePort.addBalance("noAccount", 1L));
+        assertEquals(3000L, loadAccountPort.load("hot").getBalance());
+    }
+
+    @Test @Order(5)
+    void save_먼저_저장된_버전과_다르면_충돌() {
+        saveAccountPort.save(Account.of("ver", "Version", 100L));
+        Account first = loadAccountPort.load("ver");
+        Account second = loadAccountPort.load("ver");
+
+        saveAccountPort.save(Account.of("ver", "Version", 150L, first.getVersion()));
+        assertThrows(AccountVersionConflictException.class,
+                () -> saveAccountPort.save(Account.of("ver", "Version", 200L, second.getVersion())));
+        assertThrows(AccountVersionConflictException.class,
+                () -> saveAccountPort.saveAll(List.of(Account.of("ver", "Version", 300L, second.getVersion()))));
+
+        Account stored = loadAccountPort.load("ver");
+        assertEquals(150L, stored.getBalance());
+        assertEquals(first.getVersion() + 1, stored.getVersion());
+    }
+
+    @Test @Order(6)
+    void listAccounts_keyset_과_cursor_스트리밍() {
+        for (int i = 0; i < 30; i++) {
+            saveAccountPort.save(Account.of(String.format("page-%03d", i), "name", i));
+        }
+
+        List<Account> first = listAccountsPort.listAccounts("page-", 10);
+        List<Account> second = listAccountsPort.listAccounts(first.get(9).getAccountNumber(), 10);
+        assertEquals("page-000", first.get(0).getAccountNumber());
+        assertEquals("page-010", second.get(0).getAccountNumber());
+
+        // Cursor 는 트랜잭션 안에서 끝까지 읽어야 한다.
+        List<String> streamed = new ArrayList<>();
+        transactionTemplate.executeWithoutResult(status ->
+                listAccountsPort.streamAccounts(account -> streamed.add(account.getAccountNumber())));
+        assertTrue(streamed.containsAll(List.of("page-000", "page-029", "hot")));
+        assertEquals(streamed.stream().sorted().toList(), streamed);
+    }
+
+    @Test @Order(7)
+    void slot_차감은_음수가_되지_않고_재분배는_합계를_유지한다() {
+        saveAccountPort.save(Account.of("split", "Split", 100L));
+        subBalancePort.createSlots("split", 4);
+        subBalancePort.createSlots("split", 2);   // 줄이지 않음
+        assertEquals(4, subBalancePort.loadSlotCounts().get("split"));
+        assertThrows(AccountNotFoundException.class, () -> subBalancePort.createSlots("none", 4));
+
+        subBalancePort.addToSlot("split", 1, 70L);
+        subBalancePort.addToSlot("split", 3, 10L);
+        assertFalse(subBalancePort.takeFromSlot("split", 3, 11L));
+        assertTrue(subBalancePort.takeFromSlot("split", 3, 10L));
+        assertEquals(0L, subBalancePort.takeUpTo("split", 0, 50L));
+        assertEquals(50L, subBalancePort.takeUpTo("split", 1, 50L));
+        assertEquals(20L, subBalancePort.takeUpTo("split", 1, 50L));
+        assertArrayEquals(new long[]{0, 0, 0, 0}, subBalancePort.loadSlots("split"));
+
+        subBalancePort.addToSlot("split", 2, 10L);
+        subBalancePort.rebalanceSlots("split");
+        assertArrayEquals(new long[]{3, 3, 2, 2}, subBalancePort.loadSlots("split"));
+
+        subBalancePort.clearSlots("split");
+        assertArrayEquals(new long[]{0, 0, 0, 0}, subBalancePort.loadSlots("split"));
+        // base 잔액은 slot 과 따로
+        assertEquals(100L, loadAccountPort.load("split").getBalance());
+    }
+
+    @Autowired
+    IdempotencyKeyMapper idempotencyKeyMapper;
+
+    @Test @Order(8)
+    void idempotency_key_는_ttl_동안_유지되고_만료되면_정리된다() {
+        MutableClock clock = new MutableClock(Instant.parse("2026-01-01T00:00:00Z"));
+        H2IdempotencyAdapter adapter = new H2IdempotencyAdapter(idempotencyKeyMapper, Duration.ofMinutes(10), Duration.ZERO, clock);
+
+        adapter.save("idem-1", 7L, Account.of("123", "Alice", 1500L, 4L));
+        Account replayed = adapter.find("idem-1", 7L);
+        assertEquals(1500L, replayed.getBalance());
+        assertEquals(4L, replayed.getVersion());
+        assertThrows(IllegalArgumentException.class, () -> adapter.find("idem-1", 8L));
+
+        clock.now = clock.now.plus(Duration.ofMinutes(10));
+        assertNull(adapter.find("idem-1", 7L));
+        // 다음 저장 때 만료된 행 삭제
+        adapter.save("idem-2", 7L, Account.of("123", "Alice", 1600L, 5L));
+        assertNull(idempotencyKeyMapper.findUnexpired("idem-1", Instant.EPOCH));
+    }
+
+    static class MutableClock extends Clock {
+        Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
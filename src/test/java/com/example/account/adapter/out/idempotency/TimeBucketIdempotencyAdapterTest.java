@@ -0,0 +1,87 @@
+package com.example.account.adapter.out.idempotency;
+
+import com.example.account.domain.model.Account;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimeBucketIdempotencyAdapterTest {
+
+    final AtomicLong now = new AtomicLong();
+    // ttl 10초, 1초 구간 10개
+    final TimeBucketIdempotencyAdapter adapter = new TimeBucketIdempotencyAdapter(Duration.ofSeconds(10), 10, now::get);
+
+    @Test
+    void ttl_동안은_저장된_결과를_돌려주고_지나면_없는_것으로_본다() {
+        adapter.save("key-1", 42L, Account.of("123", "Alice", 1500L, 3L));
+
+        now.set(Duration.ofSeconds(8).toNanos());
+        Account replayed = adapter.find("key-1", 42L);
+        assertEquals(1500L, replayed.getBalance());
+        assertEquals(3L, replayed.getVersion());
+        assertNull(adapter.find("key-2", 42L));
+
+        now.set(Duration.ofSeconds(10).toNanos());
+        assertNull(adapter.find("key-1", 42L));
+        assertEquals(0, adapter.size());
+    }
+
+    @Test
+    void 같은_key_를_다른_요청에_쓰면_거부한다() {
+        adapter.save("key-1", 42L, Account.of("123", "Alice", 1500L));
+
+        assertThrows(IllegalArgumentException.class, () -> adapter.find("key-1", 43L));
+    }
+
+    @Test
+    void 구간_테이블은_늘어나고_ring_이_돌면_재사용된다() {
+        int keys = TimeBucketIdempotencyAdapter.INITIAL_CAPACITY * 10;
+        for (int i = 0; i < keys; i++) {
+            adapter.save("key-" + i, i, Account.of("acc-" + i, "name", i));
+        }
+        assertEquals(keys, adapter.size());
+        for (int i = 0; i < keys; i++) {
+            assertEquals(i, adapter.find("key-" + i, i).getBalance());
+        }
+
+        // 한 바퀴 뒤 같은 구간에 저장하면 이전 key 는 모두 비워진다.
+        now.set(Duration.ofSeconds(10).toNanos());
+        adapter.save("later", 1L, Account.of("later", "name", 1L));
+        assertEquals(1, adapter.size());
+        assertNull(adapter.find("key-0", 0L));
+    }
+
+    @Test
+    void 트랜잭션_안에서_저장하면_커밋된_뒤에_보인다() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            adapter.save("key-1", 42L, Account.of("123", "Alice", 1500L));
+            assertNull(adapter.find("key-1", 42L));
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+            assertEquals(1500L, adapter.find("key-1", 42L).getBalance());
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void 트랜잭션이_롤백되면_저장되지_않는다() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            adapter.save("key-1", 42L, Account.of("123", "Alice", 1500L));
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertNull(adapter.find("key-1", 42L));
+        assertEquals(0, adapter.size());
+    }
+}
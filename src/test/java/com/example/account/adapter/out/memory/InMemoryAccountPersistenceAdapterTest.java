@@ -0,0 +1,108 @@
+package com.example.account.adapter.out.memory;
+
+import com.example.account.domain.exception.AccountNotFoundException;
+import com.example.account.domain.exception.AccountVersionConflictException;
+import com.example.account.domain.model.Account;
+import com.example.account.domain.model.Amount;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InMemoryAccountPersistenceAdapterTest {
+
+    @Test
+    void 저장한_계좌를_조회한다() {
+        var adapter = new InMemoryAccountPersistenceAdapter();
+        adapter.save(Account.of("123", "Alice", 1000L));
+        adapter.save(Account.of("계좌-1", "홍길동", 500L));
+
+        Account account = adapter.load("123");
+        assertEquals("Alice", account.getName());
+        assertEquals(1000L, account.getBalance());
+        assertEquals("홍길동", adapter.load("계좌-1").getName());
+        assertThrows(AccountNotFoundException.class, () -> adapter.load("404"));
+    }
+
+    @Test
+    void 다른_요청이_먼저_저장했으면_버전_충돌() {
+        var adapter = new InMemoryAccountPersistenceAdapter();
+        adapter.save(Account.of("123", "Alice", 1000L));
+
+        Account first = adapter.load("123");
+        Account second = adapter.load("123");
+        first.deposit(new Amount(100L));
+        adapter.save(first);
+
+        assertThrows(AccountVersionConflictException.class, () -> adapter.save(second));
+        assertEquals(1100L, adapter.load("123").getBalance());
+    }
+
+    @Test
+    void 잔액_증감은_음수가_되지_않는다() {
+        var adapter = new InMemoryAccountPersistenceAdapter();
+        adapter.save(Account.of("123", "Alice", 1000L));
+
+        assertEquals(700L, adapter.addBalance("123", -300L).getBalance());
+        assertThrows(IllegalStateException.class, () -> adapter.addBalance("123", -701L));
+        assertThrows(AccountNotFoundException.class, () -> adapter.addBalance("404", 1L));
+    }
+
+    @Test
+    void 확장_중에도_조회는_계속되고_모든_계좌가_남는다() throws Exception {
+        var adapter = new InMemoryAccountPersistenceAdapter(2, 4);
+        adapter.save(Account.of("hot", "Hot", 0L));
+        AtomicBoolean writing = new AtomicBoolean(true);
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> readers = new ArrayList<>();
+            for (int r = 0; r < 3; r++) {
+                readers.add(pool.submit(() -> {
+                    start.await();
+                    while (writing.get()) {
+                        assertEquals("Hot", adapter.load("hot").getName());
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (int i = 0; i < 20_000; i++) {
+                adapter.save(Account.of("acc-" + i, "name-" + i, i));
+                adapter.addBalance("hot", 1L);
+            }
+            writing.set(false);
+            for (Future<?> reader : readers) {
+                reader.get();
+            }
+        } finally {
+            pool.shutdown();
+        }
+
+        assertEquals(20_001, adapter.size());
+        assertEquals(20_000L, adapter.load("hot").getBalance());
+        for (int i = 0; i < 20_000; i += 997) {
+            assertEquals(i, adapter.load("acc-" + i).getBalance());
+            assertEquals("name-" + i, adapter.load("acc-" + i).getName());
+        }
+    }
+
+    @Test
+    void 목록은_계좌번호_순서로_after_다음부터() {
+        var adapter = new InMemoryAccountPersistenceAdapter();
+        for (int i = 0; i < 50; i++) {
+            adapter.save(Account.of(String.format("acc-%03d", i), "name", i));
+        }
+
+        List<Account> page = adapter.listAccounts("acc-009", 5);
+        assertEquals(List.of("acc-010", "acc-011", "acc-012", "acc-013", "acc-014"),
+                page.stream().map(Account::getAccountNumber).toList());
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.account.application.service;
+
+import com.example.account.application.port.in.command.CreateAccountCommand;
+import com.example.account.application.port.out.SubBalancePort;
+import com.example.account.domain.model.Account;
+import com.example.account.support.NoOpMetricsPort;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AccountImportServiceTest {
+
+    final ShardedBalanceCommandExecutorTest.InMemoryStore store = new ShardedBalanceCommandExecutorTest.InMemoryStore();
+    final List<String> replaced = new ArrayList<>();
+    final BalanceCommandExecutor executor = new BalanceCommandExecutor() {
+        @Override
+        public Account apply(String accountNumber, long delta) {
+            throw new AssertionError("import must not go through the executor");
+        }
+
+        @Override
+        public void accountReplaced(String accountNumber) {
+            replaced.add(accountNumber);
+        }
+    };
+    final SplitBalanceLedger ledger = new SplitBalanceLedger((SubBalancePort) null, store, executor,
+            NoOpMetricsPort.INSTANCE, Duration.ZERO, Duration.ZERO);
+    final AccountImportService service = new AccountImportService(store, executor,
+            new AccountExistenceFilter(null, NoOpMetricsPort.INSTANCE, false, 100, 0.01),
+            ledger, NoOpMetricsPort.INSTANCE);
+
+    @AfterEach
+    void tearDown() {
+        ledger.shutdown();
+    }
+
+    @Test
+    void 묶음을_한_번에_저장하고_같은_계좌번호는_마지막_것만_남긴다() {
+        store.accounts.put("1", Account.of("1", "Old", 999L));
+
+        service.importAccounts(List.of(
+                new CreateAccountCommand("1", "Alice", 10L),
+                new CreateAccountCommand("2", "Bob", 20L),
+                new CreateAccountCommand("1", "Alice", 15L)));
+
+        assertEquals(1, store.saveCalls.get());
+        assertEquals(15L, store.accounts.get("1").getBalance());
+        assertEquals(20L, store.accounts.get("2").getBalance());
+        assertEquals(List.of("1", "2"), replaced);
+    }
+}
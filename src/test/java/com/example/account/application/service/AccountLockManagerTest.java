@@ -0,0 +1,112 @@
+package com.example.account.application.service;
+
+import com.example.account.application.exception.AccountLockTimeoutException;
+import com.example.account.application.port.out.MetricsPort;
+import com.example.account.domain.model.Account;
+import com.example.account.domain.model.Amount;
+import com.example.account.support.Concurrently;
+import com.example.account.support.NoOpMetricsPort;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AccountLockManagerTest {
+
+    @Test
+    void 동시_출금이_같은_잔액을_보고_함께_통과하지_않는다() throws Exception {
+        var lockManager = new AccountLockManager(NoOpMetricsPort.INSTANCE, 16, false, Duration.ofSeconds(5));
+        // 저장소 대신 "조회 시 복사, 저장 시 덮어쓰기" 하는 계좌 하나
+        Account[] stored = {Account.of("123", "Alice", 1000L)};
+        AtomicInteger rejected = new AtomicInteger();
+        Concurrently.run(20, thread -> lockManager.withLock("123", () -> {
+            Account account = Account.of("123", "Alice", stored[0].getBalance());
+            try {
+                account.withdraw(new Amount(100L));
+            } catch (IllegalStateException e) {
+                rejected.incrementAndGet();
+                return null;
+            }
+            Thread.yield();
+            stored[0] = account;
+            return null;
+        }));
+
+        assertEquals(0L, stored[0].getBalance());
+        assertEquals(10, rejected.get());
+    }
+
+    @Test
+    void 제한시간_안에_잠금을_얻지_못하면_예외() throws Exception {
+        var lockManager = new AccountLockManager(NoOpMetricsPort.INSTANCE, 16, true, Duration.ofMillis(20));
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Thread holder = new Thread(() -> lockManager.withLock("123", () -> {
+            locked.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return null;
+        }));
+        holder.start();
+        locked.await();
+        try {
+            assertThrows(AccountLockTimeoutException.class, () -> lockManager.withLock("123", () -> null));
+
+            // 다른 stripe 의 계좌는 기다리지 않는다.
+            String other = "124";
+            while (lockManager.stripeOf(other) == lockManager.stripeOf("123")) {
+                other = other + "0";
+            }
+            assertEquals("ok", lockManager.withLock(other, () -> "ok"));
+        } finally {
+            release.countDown();
+            holder.join();
+        }
+    }
+
+    @Test
+    void stripe_수는_2의_거듭제곱으로_올림() {
+        assertEquals(1, new AccountLockManager(NoOpMetricsPort.INSTANCE, 1, false, Duration.ofSeconds(1)).stripeCount());
+        assertEquals(64, new AccountLockManager(NoOpMetricsPort.INSTANCE, 50, false, Duration.ofSeconds(1)).stripeCount());
+        assertEquals(64, new AccountLockManager(NoOpMetricsPort.INSTANCE, 64, false, Duration.ofSeconds(1)).stripeCount());
+    }
+
+    @Test
+    void 경합_지표의_태그는_stripe_수와_관계없이_16개_이하() {
+        Set<String> tags = ConcurrentHashMap.newKeySet();
+        MetricsPort metrics = new MetricsPort() {
+            @Override
+            public void increment(String name, String... tagPairs) {
+                if (name.equals("account.lock.contended")) {
+                    tags.add(String.join("=", tagPairs));
+                }
+            }
+
+            @Override
+            public void recordNanos(String name, long nanos, String... tagPairs) {
+            }
+
+            @Override
+            public void gauge(String name, Supplier<Number> value, String... tagPairs) {
+            }
+        };
+        var lockManager = new AccountLockManager(metrics, 1 << 16, true, Duration.ofSeconds(1));
+        // fair 잠금을 같은 스레드에서 다시 잡으면 잠긴 상태에서 기다린 것으로 기록된다.
+        for (int i = 0; i < 1000; i++) {
+            String accountNumber = "acc-" + i;
+            lockManager.withLock(accountNumber, () -> lockManager.withLock(accountNumber, () -> null));
+        }
+
+        assertEquals(16, tags.size());
+        assertTrue(tags.stream().allMatch(tag -> tag.startsWith("bucket=")));
+    }
+}
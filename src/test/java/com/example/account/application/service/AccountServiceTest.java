@@ -4,6 +4,7 @@ import com.example.account.application.port.in.GetAccountQuery;
 import com.example.account.application.port.in.command.DepositCommand;
 import com.example.account.application.port.in.command.WithdrawCommand;
 import com.example.account.domain.exception.AccountNotFoundException;
+import com.example.account.domain.exception.InsufficientBalanceException;
 import com.example.account.domain.model.Amount;
 import com.example.account.application.port.in.CreateAccountUseCase;
 import com.example.account.application.port.in.DepositUseCase;
@@ -51,4 +52,20 @@ class AccountServiceTest {
             getAccountQuery.getAccount("noAccount");
         });
     }
+
+    @Test
+    void 잔액_부족과_없는_계좌는_stack_trace_없이_거절된다() {
+        createAccountUseCase.createAccount("stackless-1", "Bob", 100L);
+
+        var insufficient = assertThrows(InsufficientBalanceException.class,
+                () -> withdrawUseCase.withdraw(new WithdrawCommand("stackless-1", 101)));
+        assertEquals(0, insufficient.getStackTrace().length);
+        // 기존처럼 IllegalStateException 으로도 잡힌다.
+        assertInstanceOf(IllegalStateException.class, insufficient);
+
+        var notFound = assertThrows(AccountNotFoundException.class,
+                () -> depositUseCase.deposit(new DepositCommand("stackless-404", 1)));
+        assertEquals(0, notFound.getStackTrace().length);
+        assertEquals(100L, getAccountQuery.getAccount("stackless-1").getBalance());
+    }
 }
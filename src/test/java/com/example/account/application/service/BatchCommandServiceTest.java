@@ -0,0 +1,203 @@
+package com.example.account.application.service;
+
+import com.example.account.application.port.in.BatchCommandUseCase;
+import com.example.account.application.port.in.command.BalanceCommand;
+import com.example.account.application.port.in.command.DepositCommand;
+import com.example.account.application.port.in.command.WithdrawCommand;
+import com.example.account.adapter.out.file.FileAccountPersistenceAdapter;
+import com.example.account.application.port.out.LoadAccountPort;
+import com.example.account.application.port.out.SaveAccountPort;
+import com.example.account.application.port.out.SubBalancePort;
+import com.example.account.domain.exception.AccountNotFoundException;
+import com.example.account.domain.exception.AccountVersionConflictException;
+import com.example.account.domain.model.Account;
+import com.example.account.support.Concurrently;
+import com.example.account.support.NoOpMetricsPort;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BatchCommandServiceTest {
+
+    /**
+     * 결과를 index 순서대로 모아 두는 listener (실패는 예외, 성공은 잔액)
+     */
+    static class RecordingListener implements BatchCommandUseCase.ResultListener {
+        final List<Object> results = new ArrayList<>();
+
+        @Override
+        public void onSuccess(int index, Account account) {
+            assertEquals(results.size(), index);
+            results.add(account.getBalance());
+        }
+
+        @Override
+        public void onFailure(int index, RuntimeException error) {
+            assertEquals(results.size(), index);
+            results.add(error);
+        }
+    }
+
+    final List<Runnable> shutdowns = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        shutdowns.forEach(Runnable::run);
+    }
+
+    private BatchCommandService service(LoadAccountPort loadAccountPort, BalanceCommandExecutor executor) {
+        var ledger = new SplitBalanceLedger((SubBalancePort) null, loadAccountPort, executor,
+                NoOpMetricsPort.INSTANCE, Duration.ZERO, Duration.ZERO);
+        shutdowns.add(ledger::shutdown);
+        return new BatchCommandService(executor,
+                new AccountExistenceFilter(null, NoOpMetricsPort.INSTANCE, false, 100, 0.01),
+                ledger, NoOpMetricsPort.INSTANCE);
+    }
+
+    private static <S extends LoadAccountPort & SaveAccountPort> DirectBalanceCommandExecutor direct(S store) {
+        return new DirectBalanceCommandExecutor(store, store,
+                new OptimisticRetry(NoOpMetricsPort.INSTANCE, 5, Duration.ofMillis(1), Duration.ofMillis(10)),
+                new AccountLockManager(NoOpMetricsPort.INSTANCE, 64, false, Duration.ofSeconds(10)),
+                TransactionOperations.withoutTransaction());
+    }
+
+    private BatchCommandService service(ShardedBalanceCommandExecutorTest.InMemoryStore store) {
+        return service(store, direct(store));
+    }
+
+    @Test
+    void 계좌별로_순서대로_적용하고_실패한_명령만_실패로_남긴다() {
+        var store = new ShardedBalanceCommandExecutorTest.InMemoryStore();
+        store.accounts.put("A", Account.of("A", "Alice", 100L));
+        store.accounts.put("B", Account.of("B", "Bob", 0L));
+        BatchCommandService service = service(store);
+
+        List<BalanceCommand> commands = List.of(
+                new DepositCommand("A", 50L),     // 150
+                new WithdrawCommand("B", 10L),    // 잔액 부족
+                new WithdrawCommand("A", 120L),   // 30
+                new DepositCommand("404", 1L),    // 없는 계좌
+                new DepositCommand("B", -1L),     // 음수 금액
+                new DepositCommand("B", 5L),      // 5
+                new WithdrawCommand("A", 31L));   // 잔액 부족
+        var listener = new RecordingListener();
+        service.executeBatch(commands, listener);
+
+        assertEquals(150L, listener.results.get(0));
+        assertInstanceOf(IllegalStateException.class, listener.results.get(1));
+        assertEquals(30L, listener.results.get(2));
+        assertInstanceOf(AccountNotFoundException.class, listener.results.get(3));
+        assertEquals("Account not found: 404", ((RuntimeException) listener.results.get(3)).getMessage());
+        assertInstanceOf(IllegalArgumentException.class, listener.results.get(4));
+        assertEquals(5L, listener.results.get(5));
+        assertInstanceOf(IllegalStateException.class, listener.results.get(6));
+
+        assertEquals(30L, store.accounts.get("A").getBalance());
+        assertEquals(5L, store.accounts.get("B").getBalance());
+        assertEquals(1, store.saveCalls.get());
+    }
+
+    @Test
+    void 버전_충돌이면_조회부터_다시_하고_두_번_적용하지_않는다() {
+        AtomicBoolean conflicted = new AtomicBoolean();
+        var store = new ShardedBalanceCommandExecutorTest.InMemoryStore() {
+            @Override
+            public void saveAll(Collection<Account> batch) {
+                if (conflicted.compareAndSet(false, true)) {
+                    // 다른 경로가 먼저 저장한 것처럼
+                    accounts.put("A", Account.of("A", "Alice", 1000L));
+                    throw new AccountVersionConflictException("A");
+                }
+                super.saveAll(batch);
+            }
+        };
+        store.accounts.put("A", Account.of("A", "Alice", 100L));
+        BatchCommandService service = service(store);
+
+        var listener = new RecordingListener();
+        service.executeBatch(List.of(new DepositCommand("A", 10L), new WithdrawCommand("A", 500L)), listener);
+
+        assertEquals(List.<Object>of(1010L, 510L), listener.results);
+        assertEquals(510L, store.accounts.get("A").getBalance());
+    }
+
+    @Test
+    void 최대_크기를_넘는_배치는_받지_않는다() {
+        BatchCommandService service = service(new ShardedBalanceCommandExecutorTest.InMemoryStore());
+        List<BalanceCommand> commands = new ArrayList<>();
+        for (int i = 0; i <= BatchCommandUseCase.MAX_BATCH_SIZE; i++) {
+            commands.add(new DepositCommand("A", 1L));
+        }
+
+        assertThrows(IllegalArgumentException.class, () -> service.executeBatch(commands, new RecordingListener()));
+    }
+
+    /**
+     * 버전을 확인하지 않는 파일 저장소: 배치도 단건과 같은 계좌 잠금을 거쳐야 갱신이 유실되지 않는다.
+     */
+    @Test
+    void 파일_저장소에서_배치와_단건_입금이_동시에_들어와도_유실되지_않는다(@TempDir Path dir) throws Exception {
+        var store = new FileAccountPersistenceAdapter(dir, false);
+        store.save(Account.of("A", "Alice", 0L));
+        var executor = direct(store);
+        assertEquals(0L, runConcurrently(service(store, executor), executor));
+        assertEquals(EXPECTED_TOTAL, store.load("A").getBalance());
+    }
+
+    /**
+     * 링의 apply 단계가 들고 있는 계좌 상태를 배치가 우회하지 않는다.
+     */
+    @Test
+    void 링_방식에서_배치와_단건_입금이_동시에_들어와도_유실되지_않는다() throws Exception {
+        var store = new ShardedBalanceCommandExecutorTest.InMemoryStore();
+        store.accounts.put("A", Account.of("A", "Alice", 0L));
+        var executor = new RingBufferBalanceCommandExecutor(store, store, NoOpMetricsPort.INSTANCE,
+                8192, 256, Duration.ofNanos(10_000));
+        shutdowns.add(executor::shutdown);
+        assertEquals(0L, runConcurrently(service(store, executor), executor));
+        assertEquals(EXPECTED_TOTAL, store.accounts.get("A").getBalance());
+    }
+
+    private static final int SINGLE_THREADS = 4;
+    private static final int SINGLES_PER_THREAD = 200;
+    private static final int BATCHES = 20;
+    private static final int BATCH_SIZE = 50;
+    private static final long EXPECTED_TOTAL = SINGLE_THREADS * SINGLES_PER_THREAD + BATCHES * BATCH_SIZE;
+
+    /**
+     * 계좌 A 에 단건 입금(1원)과 배치 입금(1원 × BATCH_SIZE)을 동시에 넣고, 실패한 명령 수를 돌려준다.
+     */
+    private static long runConcurrently(BatchCommandService service, BalanceCommandExecutor executor) throws Exception {
+        List<BalanceCommand> batch = new ArrayList<>();
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            batch.add(new DepositCommand("A", 1L));
+        }
+        AtomicLong failed = new AtomicLong();
+        // 마지막 스레드만 배치를 보낸다.
+        Concurrently.run(SINGLE_THREADS + 1, thread -> {
+            if (thread < SINGLE_THREADS) {
+                for (int i = 0; i < SINGLES_PER_THREAD; i++) {
+                    executor.apply("A", 1L);
+                }
+                return;
+            }
+            for (int b = 0; b < BATCHES; b++) {
+                var listener = new RecordingListener();
+                service.executeBatch(batch, listener);
+                failed.addAndGet(listener.results.stream().filter(RuntimeException.class::isInstance).count());
+            }
+        });
+        return failed.get();
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.account.application.service;
+
+import com.example.account.domain.exception.AccountNotFoundException;
+import com.example.account.domain.model.Account;
+import com.example.account.support.Concurrently;
+import com.example.account.support.NoOpMetricsPort;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.*;
+
+class CoalescingBalanceCommandExecutorTest {
+
+    final ShardedBalanceCommandExecutorTest.InMemoryStore store = new ShardedBalanceCommandExecutorTest.InMemoryStore();
+    CoalescingBalanceCommandExecutor executor;
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    private CoalescingBalanceCommandExecutor executor(Duration window) {
+        return new CoalescingBalanceCommandExecutor(store, store,
+                new OptimisticRetry(NoOpMetricsPort.INSTANCE, 5, Duration.ofMillis(1), Duration.ofMillis(10)),
+                NoOpMetricsPort.INSTANCE, window, 1024, 10_000, 2);
+    }
+
+    @Test
+    void 한_계좌에_몰린_입금은_묶어서_저장하고_요청마다_자기_잔액을_돌려준다() throws Exception {
+        store.accounts.put("hot", Account.of("hot", "payroll", 0L));
+        executor = executor(Duration.ofMillis(2));
+
+        int threads = 16;
+        int perThread = 200;
+        Set<Long> balances = ConcurrentHashMap.newKeySet();
+        Concurrently.run(threads, thread -> {
+            for (int i = 0; i < perThread; i++) {
+                balances.add(executor.apply("hot", 1L).getBalance());
+            }
+        });
+
+        int total = threads * perThread;
+        assertEquals(total, store.accounts.get("hot").getBalance());
+        // 명령 직후 잔액은 모두 다르고 1 ~ total 을 빠짐없이 채운다.
+        assertEquals(LongStream.rangeClosed(1, total).boxed().collect(Collectors.toSet()), balances);
+        assertThat(store.saveCalls.get()).isLessThan(total / 4);
+    }
+
+    @Test
+    void 잔액을_넘는_출금만_실패하고_나머지는_한_번에_저장된다() throws Exception {
+        store.accounts.put("123", Account.of("123", "Alice", 100L));
+        executor = executor(Duration.ofMillis(300));
+
+        // 같은 window 안에 순서대로 도착: -60 → -60(잔액 부족) → +10
+        CompletableFuture<Account> first = CompletableFuture.supplyAsync(() -> executor.apply("123", -60L));
+        Thread.sleep(30);
+        CompletableFuture<Account> second = CompletableFuture.supplyAsync(() -> executor.apply("123", -60L));
+        Thread.sleep(30);
+        CompletableFuture<Account> third = CompletableFuture.supplyAsync(() -> executor.apply("123", 10L));
+
+        assertEquals(40L, first.get().getBalance());
+        ExecutionException rejected = assertThrows(ExecutionException.class, second::get);
+        assertInstanceOf(IllegalStateException.class, rejected.getCause());
+        assertEquals(50L, third.get().getBalance());
+
+        assertEquals(50L, store.accounts.get("123").getBalance());
+        assertEquals(1, store.saveCalls.get());
+    }
+
+    @Test
+    void 없는_계좌와_다른_계좌는_서로_영향을_주지_않는다() {
+        store.accounts.put("123", Account.of("123", "Alice", 1000L));
+        executor = executor(Duration.ZERO);
+
+        assertThrows(AccountNotFoundException.class, () -> executor.apply("404", 10L));
+        assertEquals(700L, executor.apply("123", -300L).getBalance());
+        assertThrows(IllegalStateException.class, () -> executor.apply("123", -701L));
+        assertEquals(700L, store.accounts.get("123").getBalance());
+    }
+}
@@ -0,0 +1,135 @@
+package com.example.account.application.service;
+
+import com.example.account.domain.model.Account;
+import com.example.account.domain.model.Amount;
+import com.example.account.support.NoOpMetricsPort;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * 저장소 I/O 가 느릴 때(조회/저장 각 5ms) 플랫폼 스레드 풀과 가상 스레드의 처리량/지연을 비교한다.
+ *
+ * - platform: Tomcat 기본값과 같은 200 개 스레드 풀에 요청을 한꺼번에 넣는다.
+ * - virtual: 요청마다 가상 스레드 (Java 21 이상에서만, 17 이면 건너뜀)
+ * - 요청 하나 = DirectBalanceCommandExecutor 입금 (계좌 잠금 → 조회 → 저장), 지연은 제출부터 완료까지
+ *
+ * 실행: ./gradlew benchmark -PjavaVersion=21 (기본 test 에서는 제외)
+ */
+@Tag("benchmark")
+class ExecutionModeBenchmark {
+
+    private static final int ACCOUNTS = 4_000;
+    private static final int REQUESTS = 20_000;
+    private static final long IO_MILLIS = 5;
+
+    /**
+     * 조회와 저장마다 IO_MILLIS 만큼 블로킹하는 저장소
+     */
+    static class SlowStore extends ShardedBalanceCommandExecutorTest.InMemoryStore {
+        @Override
+        public Account load(String accountNumber) {
+            sleep();
+            return super.load(accountNumber);
+        }
+
+        @Override
+        public void saveAll(Collection<Account> batch) {
+            sleep();
+            super.saveAll(batch);
+        }
+
+        private static void sleep() {
+            try {
+                Thread.sleep(IO_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+    @Test
+    void 느린_저장소에서_플랫폼_스레드와_가상_스레드_비교() throws Exception {
+        Result platform = run("platform(200)", Executors.newFixedThreadPool(200));
+        System.out.println(platform);
+
+        ExecutorService virtual = newVirtualThreadPerTaskExecutor();
+        assumeTrue(virtual != null, "virtual threads require Java 21+ (run with -PjavaVersion=21)");
+        Result result = run("virtual", virtual);
+        System.out.println(result);
+        System.out.printf("virtual/platform throughput: %.1fx%n", result.throughput() / platform.throughput());
+    }
+
+    private Result run(String name, ExecutorService pool) throws Exception {
+        SlowStore store = new SlowStore();
+        for (int i = 0; i < ACCOUNTS; i++) {
+            store.accounts.put("acc-" + i, Account.of("acc-" + i, "name", 0L));
+        }
+        var executor = new DirectBalanceCommandExecutor(store, store,
+                new OptimisticRetry(NoOpMetricsPort.INSTANCE, 5, Duration.ofMillis(2), Duration.ofMillis(50)),
+                new AccountLockManager(NoOpMetricsPort.INSTANCE, 8192, false, Duration.ofSeconds(60)));
+
+        long delta = Account.depositDelta(new Amount(1L));
+        long[] latencies = new long[REQUESTS];
+        List<Future<?>> futures = new ArrayList<>(REQUESTS);
+        long start = System.nanoTime();
+        try {
+            for (int i = 0; i < REQUESTS; i++) {
+                int index = i;
+                long submitted = System.nanoTime();
+                futures.add(pool.submit(() -> {
+                    executor.apply("acc-" + (index % ACCOUNTS), delta);
+                    latencies[index] = System.nanoTime() - submitted;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(5, TimeUnit.MINUTES);
+            }
+        } finally {
+            pool.shutdown();
+        }
+        long elapsed = System.nanoTime() - start;
+
+        long total = store.accounts.values().stream().mapToLong(Account::getBalance).sum();
+        assertEquals(REQUESTS, total);
+        Arrays.sort(latencies);
+        return new Result(name, elapsed, latencies[REQUESTS / 2], latencies[REQUESTS * 99 / 100]);
+    }
+
+    /**
+     * Java 17 에서도 컴파일되도록 리플렉션으로 호출한다. 없으면 null
+     */
+    private static ExecutorService newVirtualThreadPerTaskExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+
+    private record Result(String name, long elapsedNanos, long p50Nanos, long p99Nanos) {
+
+        double throughput() {
+            return REQUESTS / (elapsedNanos / 1e9);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%-14s %,8.0f req/s  p50 %,6d ms  p99 %,6d ms  (%d requests, %d ms I/O x2)",
+                    name, throughput(), p50Nanos / 1_000_000, p99Nanos / 1_000_000, REQUESTS, IO_MILLIS);
+        }
+    }
+}
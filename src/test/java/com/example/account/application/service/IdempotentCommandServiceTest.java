@@ -0,0 +1,107 @@
+package com.example.account.application.service;
+
+import com.example.account.application.port.in.command.DepositCommand;
+import com.example.account.application.port.in.command.WithdrawCommand;
+import com.example.account.application.port.out.IdempotencyPort;
+import com.example.account.domain.model.Account;
+import com.example.account.support.NoOpMetricsPort;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdempotentCommandServiceTest {
+
+    /**
+     * key → (요청 해시, 결과)
+     */
+    static class MapIdempotencyStore implements IdempotencyPort {
+        final Map<String, Map.Entry<Long, Account>> results = new ConcurrentHashMap<>();
+
+        @Override
+        public Account find(String key, long requestHash) {
+            Map.Entry<Long, Account> entry = results.get(key);
+            if (entry == null) {
+                return null;
+            }
+            if (entry.getKey() != requestHash) {
+                throw new IllegalArgumentException("different request");
+            }
+            return entry.getValue();
+        }
+
+        @Override
+        public void save(String key, long requestHash, Account result) {
+            results.put(key, Map.entry(requestHash, result));
+        }
+    }
+
+    final MapIdempotencyStore store = new MapIdempotencyStore();
+    final AtomicInteger deposits = new AtomicInteger();
+    final AtomicInteger withdrawals = new AtomicInteger();
+    final CountDownLatch depositEntered = new CountDownLatch(1);
+
+    private IdempotentCommandService service(CountDownLatch depositGate) {
+        return new IdempotentCommandService(store,
+                (accountNumber, name, balance) -> Account.of(accountNumber, name, balance),
+                command -> {
+                    depositEntered.countDown();
+                    try {
+                        depositGate.await(5, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return Account.of(command.accountNumber(), "Alice", 1000L + command.amount() * deposits.incrementAndGet());
+                },
+                command -> {
+                    withdrawals.incrementAndGet();
+                    throw new IllegalStateException("Insufficient balance");
+                },
+                NoOpMetricsPort.INSTANCE);
+    }
+
+    @Test
+    void 같은_key_의_재시도는_유스케이스를_다시_실행하지_않는다() {
+        IdempotentCommandService service = service(new CountDownLatch(0));
+
+        assertEquals(1100L, service.deposit("k1", new DepositCommand("123", 100)).getBalance());
+        assertEquals(1100L, service.deposit("k1", new DepositCommand("123", 100)).getBalance());
+        assertEquals(1, deposits.get());
+
+        assertThrows(IllegalArgumentException.class, () -> service.deposit("k1", new DepositCommand("123", 200)));
+        assertThrows(IllegalArgumentException.class, () -> service.withdraw("k1", new WithdrawCommand("123", 100)));
+        assertThrows(IllegalArgumentException.class, () -> service.deposit(" ", new DepositCommand("123", 100)));
+    }
+
+    @Test
+    void 실패한_요청은_저장하지_않아_다시_시도할_수_있다() {
+        IdempotentCommandService service = service(new CountDownLatch(0));
+
+        assertThrows(IllegalStateException.class, () -> service.withdraw("k2", new WithdrawCommand("123", 100)));
+        assertThrows(IllegalStateException.class, () -> service.withdraw("k2", new WithdrawCommand("123", 100)));
+        assertEquals(2, withdrawals.get());
+        assertTrue(store.results.isEmpty());
+    }
+
+    @Test
+    void 처리_중인_key_로_들어온_요청은_409() throws Exception {
+        CountDownLatch gate = new CountDownLatch(1);
+        IdempotentCommandService service = service(gate);
+
+        CompletableFuture<Account> first = CompletableFuture.supplyAsync(
+                () -> service.deposit("k3", new DepositCommand("123", 100)));
+        assertTrue(depositEntered.await(5, TimeUnit.SECONDS));
+        assertThrows(IllegalStateException.class, () -> service.deposit("k3", new DepositCommand("123", 100)));
+        gate.countDown();
+
+        assertEquals(1100L, first.get().getBalance());
+        assertEquals(1100L, service.deposit("k3", new DepositCommand("123", 100)).getBalance());
+        assertEquals(1, deposits.get());
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.account.application.service;
+
+import com.example.account.application.port.in.CreateAccountUseCase;
+import com.example.account.application.port.in.DepositUseCase;
+import com.example.account.application.port.in.GetAccountQuery;
+import com.example.account.application.port.in.IdempotentCommandUseCase;
+import com.example.account.application.port.in.command.DepositCommand;
+import com.example.account.support.Concurrently;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * shard 스레드가 저장하는 동안 요청 스레드가 DB 커넥션을 잡고 기다리지 않는지.
+ * 커넥션 풀(2개)보다 많은 요청이 동시에 들어와도 shard 가 커넥션을 얻어 모두 처리해야 한다.
+ */
+@SpringBootTest(properties = {
+        "account.command.mode=sharded",
+        "spring.datasource.hikari.maximum-pool-size=2",
+        "spring.datasource.hikari.connection-timeout=1000"
+})
+@ActiveProfiles("h2")
+class QueuedExecutionConnectionPoolTest {
+
+    private static final int THREADS = 16;
+    private static final int PER_THREAD = 20;
+
+    @Autowired CreateAccountUseCase createAccountUseCase;
+    @Autowired DepositUseCase depositUseCase;
+    @Autowired IdempotentCommandUseCase idempotentCommandUseCase;
+    @Autowired GetAccountQuery getAccountQuery;
+
+    @Test
+    void 커넥션_풀보다_많은_동시_입금도_모두_반영된다() throws Exception {
+        String accountNumber = "pool-" + UUID.randomUUID();
+        createAccountUseCase.createAccount(accountNumber, "Alice", 0L);
+
+        Concurrently.run(THREADS, thread -> {
+            for (int i = 0; i < PER_THREAD; i++) {
+                var command = new DepositCommand(accountNumber, 1L);
+                if (thread % 2 == 0) {
+                    idempotentCommandUseCase.deposit(UUID.randomUUID().toString(), command);
+                } else {
+                    depositUseCase.deposit(command);
+                }
+            }
+        });
+
+        assertEquals(THREADS * PER_THREAD, getAccountQuery.getAccount(accountNumber).getBalance());
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.account.application.service;
+
+import com.example.account.application.port.in.command.DepositCommand;
+import com.example.account.application.port.in.command.WithdrawCommand;
+import com.example.account.application.port.out.SubBalancePort;
+import com.example.account.domain.exception.InsufficientBalanceException;
+import com.example.account.domain.model.Account;
+import com.example.account.support.NoOpMetricsPort;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * 거절이 대부분인 출금(90% 잔액 부족)에서 stack trace 를 만드는 예외와 stackless 예외를 비교한다.
+ *
+ * - legacy: 잔액 부족을 예전처럼 stack trace 가 있는 IllegalStateException 으로 다시 던지는 executor
+ * - stackless: InsufficientBalanceException 그대로
+ * - 요청은 DEPTH 만큼 깊은 호출 스택(서블릿 필터/MVC/프록시 흉내) 아래에서 AccountService.withdraw 로 들어간다.
+ * - 시간은 요청당 평균, 할당량은 현재 스레드의 누적 할당 바이트 차이
+ *
+ * 실행: ./gradlew benchmark (기본 test 에서는 제외)
+ */
+@Tag("benchmark")
+class RejectionBenchmark {
+
+    private static final int DEPTH = 100;
+    private static final int WARMUP = 100_000;
+    private static final int REQUESTS = 500_000;
+
+    @Test
+    void 거절이_많은_출금에서_stack_trace_비용_비교() {
+        var threads = ManagementFactory.getThreadMXBean();
+        assumeTrue(threads instanceof com.sun.management.ThreadMXBean,
+                "per-thread allocation counter is not available on this JVM");
+        var allocation = (com.sun.management.ThreadMXBean) threads;
+
+        Result legacy = run("legacy", true, allocation);
+        Result stackless = run("stackless", false, allocation);
+        System.out.println(legacy);
+        System.out.println(stackless);
+        System.out.printf("time: %.1fx faster, allocation: %.1fx less%n",
+                legacy.nanosPerOp() / stackless.nanosPerOp(), legacy.bytesPerOp() / stackless.bytesPerOp());
+
+        assertTrue(stackless.nanosPerOp() < legacy.nanosPerOp());
+    }
+
+    private Result run(String name, boolean fullStackTrace, com.sun.management.ThreadMXBean allocation) {
+        var store = new ShardedBalanceCommandExecutorTest.InMemoryStore();
+        store.accounts.put("hot", Account.of("hot", "Hot", 0L));
+        BalanceCommandExecutor direct = new DirectBalanceCommandExecutor(store, store,
+                new OptimisticRetry(NoOpMetricsPort.INSTANCE, 5, Duration.ofMillis(1), Duration.ofMillis(10)),
+                new AccountLockManager(NoOpMetricsPort.INSTANCE, 1024, false, Duration.ofSeconds(1)));
+        BalanceCommandExecutor executor = !fullStackTrace ? direct : (accountNumber, delta) -> {
+            try {
+                return direct.apply(accountNumber, delta);
+            } catch (InsufficientBalanceException e) {
+                throw new IllegalStateException(e.getMessage());
+            }
+        };
+        var ledger = new SplitBalanceLedger((SubBalancePort) null, store, executor,
+                NoOpMetricsPort.INSTANCE, Duration.ZERO, Duration.ZERO);
+        var service = new AccountService(store, executor,
+                new AccountExistenceFilter(null, NoOpMetricsPort.INSTANCE, false, 100, 0.01), ledger);
+        var deposit = new DepositCommand("hot", 1L);
+        var withdraw = new WithdrawCommand("hot", 10L);
+
+        // 10 번 중 1 번만 입금 → 출금은 대부분 잔액 부족
+        Supplier<Object> request = new Supplier<>() {
+            int i;
+
+            @Override
+            public Object get() {
+                try {
+                    return (i++ % 10 == 0) ? service.deposit(deposit) : service.withdraw(withdraw);
+                } catch (IllegalStateException e) {
+                    return e;
+                }
+            }
+        };
+        try {
+            for (int i = 0; i < WARMUP; i++) {
+                atDepth(DEPTH, request);
+            }
+            long threadId = Thread.currentThread().getId();
+            long startBytes = allocation.getThreadAllocatedBytes(threadId);
+            long start = System.nanoTime();
+            for (int i = 0; i < REQUESTS; i++) {
+                atDepth(DEPTH, request);
+            }
+            long elapsed = System.nanoTime() - start;
+            long allocated = allocation.getThreadAllocatedBytes(threadId) - startBytes;
+            return new Result(name, (double) elapsed / REQUESTS, (double) allocated / REQUESTS);
+        } finally {
+            ledger.shutdown();
+        }
+    }
+
+    private static Object atDepth(int depth, Supplier<Object> request) {
+        return depth == 0 ? request.get() : atDepth(depth - 1, request);
+    }
+
+    record Result(String name, double nanosPerOp, double bytesPerOp) {
+        @Override
+        public String toString() {
+            return String.format("%-10s %8.1f ns/op %8.1f bytes/op (%d%% rejected, stack depth %d)",
+                    name, nanosPerOp, bytesPerOp, 90, DEPTH);
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.account.application.service;
+
+import com.example.account.application.exception.CommandRejectedException;
+import com.example.account.domain.exception.AccountNotFoundException;
+import com.example.account.domain.exception.AccountVersionConflictException;
+import com.example.account.domain.model.Account;
+import com.example.account.support.Concurrently;
+import com.example.account.support.NoOpMetricsPort;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.*;
+
+class RingBufferBalanceCommandExecutorTest {
+
+    final ShardedBalanceCommandExecutorTest.InMemoryStore store = new ShardedBalanceCommandExecutorTest.InMemoryStore();
+    RingBufferBalanceCommandExecutor executor;
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    void 동시_입출금은_순서대로_모두_반영되고_배치로_저장된다() throws Exception {
+        store.accounts.put("123", Account.of("123", "Alice", 0L));
+        executor = new RingBufferBalanceCommandExecutor(store, store, NoOpMetricsPort.INSTANCE,
+                1024, 256, Duration.ofNanos(10_000));
+
+        int threads = 16;
+        int perThread = 300;
+        Concurrently.run(threads, thread -> {
+            for (int i = 0; i < perThread; i++) {
+                executor.apply("123", 10L);
+            }
+        });
+
+        assertEquals(threads * perThread * 10L, store.accounts.get("123").getBalance());
+        assertThat(store.saveCalls.get()).isLessThan(threads * perThread);
+        assertThrows(IllegalStateException.class, () -> executor.apply("123", -1_000_000L));
+        assertThrows(AccountNotFoundException.class, () -> executor.apply("404", 10L));
+    }
+
+    @Test
+    void 링이_가득_차면_기다리지_않고_거절한다() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        var slowStore = new ShardedBalanceCommandExecutorTest.InMemoryStore() {
+            @Override
+            public void saveAll(Collection<Account> batch) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                super.saveAll(batch);
+            }
+        };
+        slowStore.accounts.put("123", Account.of("123", "Alice", 0L));
+        executor = new RingBufferBalanceCommandExecutor(slowStore, slowStore, NoOpMetricsPort.INSTANCE,
+                4, 1, Duration.ofNanos(10_000));
+
+        List<CompletableFuture<Account>> pending = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            pending.add(CompletableFuture.supplyAsync(() -> executor.apply("123", 10L)));
+        }
+        // 네 명령이 모두 slot 을 차지할 때까지 기다린 뒤 다섯 번째는 거절
+        assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+            while (true) {
+                try {
+                    executor.accountReplaced("other");
+                } catch (CommandRejectedException e) {
+                    return;
+                }
+                Thread.sleep(1);
+            }
+        });
+
+        release.countDown();
+        for (CompletableFuture<Account> future : pending) {
+            future.get();
+        }
+        assertEquals(40L, slowStore.accounts.get("123").getBalance());
+    }
+
+    @Test
+    void 저장한_버전을_돌려주고_먼저_커밋된_계좌_교체를_덮어쓰지_않는다() {
+        var versioned = new ShardedBalanceCommandExecutorTest.VersionedStore();
+        versioned.accounts.put("123", Account.of("123", "Alice", 0L, 1L));
+        executor = new RingBufferBalanceCommandExecutor(versioned, versioned, NoOpMetricsPort.INSTANCE,
+                16, 16, Duration.ofNanos(10_000));
+
+        // 메모리의 계좌는 버전 1 에 읽었지만, 저장할 때마다 이어서 조건부 저장한다.
+        assertEquals(2L, executor.apply("123", 10L).getVersion());
+        assertEquals(3L, executor.apply("123", 10L).getVersion());
+        assertEquals(20L, versioned.accounts.get("123").getBalance());
+
+        // createAccount 가 계좌를 바꿔 커밋했지만 아직 accountReplaced 가 오지 않은 사이의 명령
+        versioned.accounts.put("123", Account.of("123", "Alice", 1000L, 7L));
+        assertThrows(AccountVersionConflictException.class, () -> executor.apply("123", 10L));
+        assertEquals(1000L, versioned.accounts.get("123").getBalance());
+
+        // 충돌 뒤에는 저장소에서 다시 읽는다.
+        Account account = executor.apply("123", 10L);
+        assertEquals(1010L, account.getBalance());
+        assertEquals(8L, account.getVersion());
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.account.application.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScalableBloomFilterTest {
+
+    @Test
+    void 추가한_계좌번호는_용량을_넘어도_항상_있다고_판단한다() {
+        var filter = new ScalableBloomFilter(1_000, 0.01);
+        long before = filter.memoryBytes();
+        for (int i = 0; i < 10_000; i++) {
+            filter.add("acc-" + i);
+        }
+
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(filter.mightContain("acc-" + i), "acc-" + i);
+        }
+        assertThat(filter.memoryBytes()).isGreaterThan(before);
+    }
+
+    @Test
+    void 오탐률은_목표의_두배를_넘지_않는다() {
+        var filter = new ScalableBloomFilter(1_000, 0.01);
+        for (int i = 0; i < 20_000; i++) {
+            filter.add("acc-" + i);
+        }
+
+        int falsePositives = 0;
+        int probes = 100_000;
+        for (int i = 0; i < probes; i++) {
+            if (filter.mightContain("unknown-" + i)) {
+                falsePositives++;
+            }
+        }
+        assertThat((double) falsePositives / probes).isLessThan(0.02);
+        assertThat(filter.expectedFpp()).isLessThan(0.02);
+    }
+
+    @Test
+    void 같은_계좌번호를_다시_추가해도_크기는_늘지_않는다() {
+        var filter = new ScalableBloomFilter(100, 0.01);
+        assertTrue(filter.add("123"));
+        assertFalse(filter.add("123"));
+        assertEquals(1, filter.size());
+    }
+}
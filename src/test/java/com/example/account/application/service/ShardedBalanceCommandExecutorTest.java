@@ -0,0 +1,247 @@
+package com.example.account.application.service;
+
+import com.example.account.application.port.out.LoadAccountPort;
+import com.example.account.application.port.out.MetricsPort;
+import com.example.account.application.port.out.SaveAccountPort;
+import com.example.account.domain.exception.AccountNotFoundException;
+import com.example.account.domain.exception.AccountVersionConflictException;
+import com.example.account.domain.model.Account;
+import com.example.account.support.Concurrently;
+import com.example.account.support.NoOpMetricsPort;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.*;
+
+class ShardedBalanceCommandExecutorTest {
+
+    /**
+     * 저장 호출 수를 세는 메모리 저장소
+     */
+    static class InMemoryStore implements LoadAccountPort, SaveAccountPort {
+        final Map<String, Account> accounts = new ConcurrentHashMap<>();
+        final AtomicInteger saveCalls = new AtomicInteger();
+
+        @Override
+        public Account load(String accountNumber) {
+            Account account = accounts.get(accountNumber);
+            if (account == null) {
+                throw new AccountNotFoundException(accountNumber);
+            }
+            return Account.of(account.getAccountNumber(), account.getName(), account.getBalance());
+        }
+
+        @Override
+        public void save(Account account) {
+            saveAll(List.of(account));
+        }
+
+        @Override
+        public void saveAll(Collection<Account> batch) {
+            saveCalls.incrementAndGet();
+            for (Account account : batch) {
+                accounts.put(account.getAccountNumber(),
+                        Account.of(account.getAccountNumber(), account.getName(), account.getBalance()));
+            }
+        }
+    }
+
+    final InMemoryStore store = new InMemoryStore();
+    ShardedBalanceCommandExecutor executor;
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    void 동시_입금은_모두_반영되고_배치로_저장된다() throws Exception {
+        for (int i = 0; i < 4; i++) {
+            store.accounts.put("acc-" + i, Account.of("acc-" + i, "name", 0L));
+        }
+        executor = new ShardedBalanceCommandExecutor(store, store, NoOpMetricsPort.INSTANCE,
+                2, 1024, 256, 1000, Duration.ofSeconds(1));
+
+        int threads = 16;
+        int perThread = 200;
+        Concurrently.run(threads, thread -> {
+            for (int i = 0; i < perThread; i++) {
+                executor.apply("acc-" + (thread % 4), 10L);
+            }
+        });
+
+        long total = 0;
+        for (int i = 0; i < 4; i++) {
+            total += store.accounts.get("acc-" + i).getBalance();
+        }
+        assertEquals(threads * perThread * 10L, total);
+        assertThat(store.saveCalls.get()).isLessThan(threads * perThread);
+    }
+
+    @Test
+    void 잔액_부족과_없는_계좌는_해당_명령만_실패한다() {
+        store.accounts.put("123", Account.of("123", "Alice", 1000L));
+        executor = new ShardedBalanceCommandExecutor(store, store, NoOpMetricsPort.INSTANCE,
+                1, 16, 16, 16, Duration.ofSeconds(1));
+
+        assertThrows(IllegalStateException.class, () -> executor.apply("123", -1001L));
+        assertThrows(AccountNotFoundException.class, () -> executor.apply("404", 10L));
+        assertEquals(700L, executor.apply("123", -300L).getBalance());
+        assertEquals(700L, store.accounts.get("123").getBalance());
+    }
+
+    @Test
+    void 계좌가_다시_만들어지면_메모리의_잔액을_버린다() {
+        store.accounts.put("123", Account.of("123", "Alice", 1000L));
+        executor = new ShardedBalanceCommandExecutor(store, store, NoOpMetricsPort.INSTANCE,
+                1, 16, 16, 16, Duration.ofSeconds(1));
+        assertEquals(1100L, executor.apply("123", 100L).getBalance());
+
+        store.accounts.put("123", Account.of("123", "Alice", 0L));
+        executor.accountReplaced("123");
+
+        assertEquals(100L, executor.apply("123", 100L).getBalance());
+    }
+
+    @Test
+    void 배치_저장에서_한_계좌가_충돌하면_그_계좌의_명령만_실패한다() throws Exception {
+        CountDownLatch gateEntered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        var versioned = new VersionedStore() {
+            @Override
+            public void saveAll(Collection<Account> batch) {
+                if (batch.stream().anyMatch(account -> account.getAccountNumber().equals("gate"))) {
+                    gateEntered.countDown();
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                super.saveAll(batch);
+            }
+        };
+        for (String accountNumber : List.of("gate", "A", "X", "B")) {
+            versioned.accounts.put(accountNumber, Account.of(accountNumber, "name", 0L, 1L));
+        }
+        Map<String, Supplier<Number>> gauges = new ConcurrentHashMap<>();
+        executor = new ShardedBalanceCommandExecutor(versioned, versioned, gaugeRecorder(gauges),
+                versioned.rollingBack(), 1, 16, 16, 16, Duration.ofSeconds(1));
+
+        // shard 메모리에 X(버전 2)를 올려 둔 뒤 다른 경로가 X 를 바꿔 버전을 앞서게 한다.
+        executor.apply("X", 1L);
+        versioned.accounts.put("X", Account.of("X", "name", 100L, 5L));
+
+        // gate 저장이 막혀 있는 동안 A, X, B 를 대기열에 쌓아 한 배치로 처리되게 한다.
+        CompletableFuture<Account> gate = CompletableFuture.supplyAsync(() -> executor.apply("gate", 1L));
+        assertTrue(gateEntered.await(5, TimeUnit.SECONDS));
+        Account[] results = new Account[3];
+        RuntimeException[] failures = new RuntimeException[3];
+        CompletableFuture<Void> batch = CompletableFuture.runAsync(
+                () -> executor.applyAll(List.of("A", "X", "B"), new long[]{10L, 10L, 10L}, results, failures));
+        assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+            while (gauges.get("account.command.queue.depth").get().intValue() < 3) {
+                Thread.sleep(1);
+            }
+        });
+        release.countDown();
+        batch.get(5, TimeUnit.SECONDS);
+        gate.get(5, TimeUnit.SECONDS);
+
+        assertNull(failures[0]);
+        assertInstanceOf(AccountVersionConflictException.class, failures[1]);
+        assertNull(failures[2]);
+        assertEquals(10L, results[0].getBalance());
+        assertEquals(10L, results[2].getBalance());
+        // 롤백된 배치 저장 뒤 A, B 는 한 번씩만 저장되고 X 는 다른 경로의 값이 남는다.
+        assertEquals(10L, versioned.accounts.get("A").getBalance());
+        assertEquals(10L, versioned.accounts.get("B").getBalance());
+        assertEquals(100L, versioned.accounts.get("X").getBalance());
+        // X 는 메모리에서 버려져 다음 명령은 저장소의 값에 반영된다.
+        assertEquals(110L, executor.apply("X", 10L).getBalance());
+    }
+
+    /**
+     * 버전이 맞을 때만 저장하는 메모리 저장소 (버전 0 은 확인 없이 저장).
+     * saveAll 은 계좌 하나씩 쓰다가 충돌하면 멈춘다. (앞서 쓴 계좌는 남음)
+     */
+    static class VersionedStore extends InMemoryStore {
+
+        @Override
+        public Account load(String accountNumber) {
+            Account account = accounts.get(accountNumber);
+            if (account == null) {
+                throw new AccountNotFoundException(accountNumber);
+            }
+            return Account.of(account.getAccountNumber(), account.getName(), account.getBalance(), account.getVersion());
+        }
+
+        @Override
+        public synchronized void saveAll(Collection<Account> batch) {
+            saveCalls.incrementAndGet();
+            for (Account account : batch) {
+                Account current = accounts.get(account.getAccountNumber());
+                long currentVersion = current == null ? 0 : current.getVersion();
+                if (account.getVersion() != 0 && currentVersion != account.getVersion()) {
+                    throw new AccountVersionConflictException(account.getAccountNumber());
+                }
+                long version = currentVersion + 1;
+                accounts.put(account.getAccountNumber(),
+                        Account.of(account.getAccountNumber(), account.getName(), account.getBalance(), version));
+                account.markSaved(version);
+            }
+        }
+
+        /**
+         * 실패하면 저장소를 트랜잭션 시작 전 상태로 되돌리는 트랜잭션
+         */
+        TransactionOperations rollingBack() {
+            return new TransactionOperations() {
+                @Override
+                public <T> T execute(TransactionCallback<T> action) {
+                    Map<String, Account> before = new HashMap<>(accounts);
+                    try {
+                        return action.doInTransaction(new SimpleTransactionStatus());
+                    } catch (RuntimeException e) {
+                        accounts.clear();
+                        accounts.putAll(before);
+                        throw e;
+                    }
+                }
+            };
+        }
+    }
+
+    private static MetricsPort gaugeRecorder(Map<String, Supplier<Number>> gauges) {
+        return new MetricsPort() {
+            @Override
+            public void increment(String name, String... tags) {
+            }
+
+            @Override
+            public void recordNanos(String name, long nanos, String... tags) {
+            }
+
+            @Override
+            public void gauge(String name, Supplier<Number> value, String... tags) {
+                gauges.put(name, value);
+            }
+        };
+    }
+}
@@ -0,0 +1,194 @@
+package com.example.account.application.service;
+
+import com.example.account.application.port.out.SubBalancePort;
+import com.example.account.domain.model.Account;
+import com.example.account.support.Concurrently;
+import com.example.account.support.NoOpMetricsPort;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SplitBalanceLedgerTest {
+
+    /**
+     * slot 을 AtomicLongArray 로 들고 있는 SubBalancePort (차감은 CAS 로 조건부)
+     */
+    static class InMemorySlots implements SubBalancePort {
+        final Map<String, AtomicLongArray> slots = new ConcurrentHashMap<>();
+        final AtomicLong rebalances = new AtomicLong();
+
+        @Override
+        public Map<String, Integer> loadSlotCounts() {
+            Map<String, Integer> counts = new ConcurrentHashMap<>();
+            slots.forEach((accountNumber, balances) -> counts.put(accountNumber, balances.length()));
+            return counts;
+        }
+
+        @Override
+        public void createSlots(String accountNumber, int slotCount) {
+            slots.putIfAbsent(accountNumber, new AtomicLongArray(slotCount));
+        }
+
+        @Override
+        public void addToSlot(String accountNumber, int slot, long amount) {
+            slots.get(accountNumber).addAndGet(slot, amount);
+        }
+
+        @Override
+        public boolean takeFromSlot(String accountNumber, int slot, long amount) {
+            AtomicLongArray balances = slots.get(accountNumber);
+            while (true) {
+                long balance = balances.get(slot);
+                if (balance < amount) {
+                    return false;
+                }
+                if (balances.compareAndSet(slot, balance, balance - amount)) {
+                    return true;
+                }
+            }
+        }
+
+        @Override
+        public long takeUpTo(String accountNumber, int slot, long max) {
+            AtomicLongArray balances = slots.get(accountNumber);
+            while (true) {
+                long balance = balances.get(slot);
+                long taken = Math.min(balance, max);
+                if (balances.compareAndSet(slot, balance, balance - taken)) {
+                    return taken;
+                }
+            }
+        }
+
+        @Override
+        public long[] loadSlots(String accountNumber) {
+            AtomicLongArray balances = slots.get(accountNumber);
+            long[] copy = new long[balances.length()];
+            for (int i = 0; i < copy.length; i++) {
+                copy[i] = balances.get(i);
+            }
+            return copy;
+        }
+
+        @Override
+        public void rebalanceSlots(String accountNumber) {
+            // 합계 유지 여부만 보면 되므로 호출 횟수만 센다.
+            rebalances.incrementAndGet();
+        }
+
+        @Override
+        public void clearSlots(String accountNumber) {
+            AtomicLongArray balances = slots.get(accountNumber);
+            for (int i = 0; i < balances.length(); i++) {
+                balances.set(i, 0);
+            }
+        }
+    }
+
+    final ShardedBalanceCommandExecutorTest.InMemoryStore store = new ShardedBalanceCommandExecutorTest.InMemoryStore();
+    final InMemorySlots slots = new InMemorySlots();
+    // base 출금: 조회 → 변경 → 저장 (동시 호출은 직렬화)
+    final BalanceCommandExecutor baseExecutor = (accountNumber, delta) -> {
+        synchronized (store) {
+            Account account = store.load(accountNumber);
+            BalanceCommandExecutor.applyDelta(account, delta);
+            store.save(account);
+            return account;
+        }
+    };
+    SplitBalanceLedger ledger;
+
+    @AfterEach
+    void tearDown() {
+        ledger.shutdown();
+    }
+
+    private SplitBalanceLedger ledger(SubBalancePort port, Duration totalCacheTtl) {
+        return new SplitBalanceLedger(port, store, baseExecutor, NoOpMetricsPort.INSTANCE,
+                totalCacheTtl, Duration.ZERO);
+    }
+
+    @Test
+    void 나눈_계좌의_잔액은_base_와_slot_의_합이고_출금은_slot_부터_base_까지_꺼낸다() {
+        store.accounts.put("hot", Account.of("hot", "Hot", 100L));
+        ledger = ledger(slots, Duration.ZERO);
+
+        assertEquals(100L, ledger.split("hot", 4).getBalance());
+        assertTrue(ledger.isSplit("hot"));
+        assertEquals(150L, ledger.deposit("hot", 50L).getBalance());
+        assertEquals(100L, store.accounts.get("hot").getBalance());
+
+        // slot 합계(50)를 넘는 출금은 slot 을 모두 비우고 나머지를 base 에서
+        assertEquals(30L, ledger.withdraw("hot", 120L).getBalance());
+        assertArrayEquals(new long[4], slots.loadSlots("hot"));
+        assertEquals(30L, store.accounts.get("hot").getBalance());
+
+        // 합계를 넘는 출금은 실패하고 아무것도 바뀌지 않는다.
+        ledger.deposit("hot", 5L);
+        assertThrows(IllegalStateException.class, () -> ledger.withdraw("hot", 36L));
+        assertEquals(35L, ledger.total("hot").getBalance());
+        assertEquals(30L, store.accounts.get("hot").getBalance());
+
+        ledger.accountReplaced("hot");
+        assertEquals(30L, ledger.total("hot").getBalance());
+    }
+
+    @Test
+    void 동시_입출금에도_합계가_맞고_음수가_되지_않는다() throws Exception {
+        store.accounts.put("hot", Account.of("hot", "Hot", 0L));
+        ledger = ledger(slots, Duration.ZERO);
+        ledger.split("hot", 8);
+
+        int threads = 16;
+        int perThread = 500;
+        AtomicLong withdrawn = new AtomicLong();
+        Concurrently.run(threads, thread -> {
+            for (int i = 0; i < perThread; i++) {
+                ledger.deposit("hot", 3L);
+                try {
+                    ledger.withdraw("hot", 5L);
+                    withdrawn.addAndGet(5L);
+                } catch (IllegalStateException e) {
+                    // 잔액 부족
+                }
+            }
+        });
+
+        long deposited = 3L * threads * perThread;
+        assertEquals(deposited - withdrawn.get(), ledger.total("hot").getBalance());
+        for (long balance : slots.loadSlots("hot")) {
+            assertTrue(balance >= 0);
+        }
+        assertEquals(0L, store.accounts.get("hot").getBalance());
+    }
+
+    @Test
+    void 합계_캐시는_ttl_동안_재사용된다() {
+        store.accounts.put("hot", Account.of("hot", "Hot", 10L));
+        ledger = ledger(slots, Duration.ofMinutes(1));
+        ledger.split("hot", 2);
+        ledger.deposit("hot", 5L);
+
+        slots.addToSlot("hot", 0, 100L); // 다른 프로세스가 쓴 것처럼
+        assertEquals(15L, ledger.total("hot").getBalance());
+        assertEquals(115L, ledger.withSlots(store.load("hot")).getBalance());
+    }
+
+    @Test
+    void slot_을_지원하지_않는_저장소에서는_나눌_수_없다() {
+        store.accounts.put("123", Account.of("123", "Alice", 10L));
+        ledger = ledger(null, Duration.ZERO);
+
+        assertThrows(IllegalStateException.class, () -> ledger.split("123", 4));
+        assertThrows(IllegalArgumentException.class, () -> ledger.split("123", 1));
+        assertFalse(ledger.isSplit("123"));
+        assertSame(store.accounts.get("123"), ledger.withSlots(store.accounts.get("123")));
+    }
+}
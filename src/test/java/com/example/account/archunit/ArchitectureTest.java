@@ -81,7 +81,7 @@ public class ArchitectureTest {
             classes().that().resideInAPackage(ADAPTER_IN)
                     .should().onlyDependOnClassesThat().resideInAnyPackage(
                             ADAPTER_IN, APPLICATION, APP_PORT_IN, APP_PORT_IN_COMMAND, APP_SERVICE, DOMAIN,
-                            "java..", "javax..", "jakarta..", "org..", "com..", "io.."
+                            "java..", "javax..", "jakarta..", "org..", "com..", "io..", "reactor.."
                     );
 
 
@@ -0,0 +1,49 @@
+package com.example.account.support;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * 동시성 테스트용: 스레드 threads 개가 한꺼번에 출발해 task 를 실행하고, 모두 끝날 때까지 기다린다.
+ * 한 스레드라도 예외를 던지면 ExecutionException 으로 감싸 던진다.
+ */
+public final class Concurrently {
+
+    @FunctionalInterface
+    public interface Task {
+
+        /**
+         * @param thread 0 부터 threads - 1 까지의 스레드 번호
+         */
+        void run(int thread) throws Exception;
+    }
+
+    private Concurrently() {
+    }
+
+    public static void run(int threads, Task task) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                int thread = t;
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    task.run(thread);
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.account.support;
+
+import com.example.account.application.port.out.MetricsPort;
+
+import java.util.function.Supplier;
+
+/**
+ * 지표를 남기지 않는 MetricsPort. 지표를 검증하지 않는 테스트에서 쓴다.
+ */
+public final class NoOpMetricsPort implements MetricsPort {
+
+    public static final MetricsPort INSTANCE = new NoOpMetricsPort();
+
+    private NoOpMetricsPort() {
+    }
+
+    @Override
+    public void increment(String name, String... tags) {
+    }
+
+    @Override
+    public void recordNanos(String name, long nanos, String... tags) {
+    }
+
+    @Override
+    public void gauge(String name, Supplier<Number> value, String... tags) {
+    }
+}